@@ -0,0 +1,47 @@
+package com.example.common.archive;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * 보관 대상 행 타입과 세그먼트 컬럼 사이의 변환
+ * 
+ * 0~2번 컬럼(ID, 조회 키, 생성 시각)은 Segment가 색인용으로 직접 기록하고,
+ * 나머지 컬럼은 FIRST_CODEC_COLUMN부터 코덱이 기록/해석함.
+ */
+public interface ArchiveCodec<T> {
+    
+    int ID_COLUMN = 0;
+    int KEY_COLUMN = 1;
+    int CREATED_AT_COLUMN = 2;
+    int FIRST_CODEC_COLUMN = 3;
+    
+    long id(T row);
+    
+    String key(T row);
+    
+    LocalDateTime createdAt(T row);
+    
+    void encode(List<T> rows, ColumnWriter columns);
+    
+    T decode(BlockReader block, int row);
+    
+    /**
+     * LocalDateTime ↔ 마이크로초 (DB timestamp 정밀도, 시간대 변환 없이 값 그대로)
+     */
+    static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return ColumnWriter.NULL_LONG;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+    
+    static LocalDateTime fromMicros(long micros) {
+        if (micros == ColumnWriter.NULL_LONG) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+            (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.common.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 보관 세그먼트 디렉터리 (append-only, 세그먼트는 한 번 쓰면 바뀌지 않음)
+ * 
+ * - append(): 임시 파일에 쓰고 fsync 후 원자적 rename → 읽는 쪽은 완성된 세그먼트만 봄
+ * - 조회는 최신 세그먼트부터 (같은 키가 두 번 보관되었으면 나중 것이 우선)
+ * - 다른 인스턴스가 같은 디렉터리(공유 볼륨)에 추가한 세그먼트는 조회 시 refresh 간격마다 디렉터리를 다시 읽어 반영
+ * - tryLock(): 잠금 파일로 보관 작업(쓰기)은 한 번에 한 인스턴스만 수행
+ * 
+ * 행 타입별 컬럼 변환은 각 서비스의 ArchiveCodec 구현이 맡음 (주문/Outbox 이벤트/결제).
+ */
+@Slf4j
+public class ArchiveStore<T> {
+    
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String LOCK_FILE = ".archive.lock";
+    
+    private final Path directory;
+    private final String name;
+    private final ArchiveCodec<T> codec;
+    private final int blockRows;
+    private final long refreshIntervalNanos;
+    private final Pattern segmentFileName;
+    private final Counter hits;
+    private final Counter misses;
+    
+    /**
+     * 최신 세그먼트가 앞 (파일 이름의 일련번호 역순)
+     */
+    private volatile List<Segment<T>> segments = List.of();
+    private volatile long lastRefreshNanos;
+    private final Set<Path> unreadable = new HashSet<>();
+    
+    public ArchiveStore(Path directory, String name, ArchiveCodec<T> codec, int blockRows,
+                        long refreshIntervalMillis, MeterRegistry meterRegistry) {
+        this.directory = directory;
+        this.name = name;
+        this.codec = codec;
+        this.blockRows = blockRows;
+        this.refreshIntervalNanos = refreshIntervalMillis * 1_000_000;
+        this.segmentFileName = Pattern.compile(Pattern.quote(name) + "-(\\d+)" + Pattern.quote(SEGMENT_SUFFIX));
+        this.hits = meterRegistry.counter("archive.lookups", "archive", name, "result", "hit");
+        this.misses = meterRegistry.counter("archive.lookups", "archive", name, "result", "miss");
+        Gauge.builder("archive.segments", this, ArchiveStore::segmentCount)
+            .tag("archive", name)
+            .description("Number of archive segment files")
+            .register(meterRegistry);
+        Gauge.builder("archive.rows", this, ArchiveStore::rowCount)
+            .tag("archive", name)
+            .description("Number of rows held in archive segments")
+            .register(meterRegistry);
+        
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create archive directory: " + directory, e);
+        }
+        refresh();
+        log.info("Archive {} opened: directory={}, segments={}, rows={}", name, directory, segments.size(), rowCount());
+    }
+    
+    public Optional<T> findByKey(String key) {
+        return find(segment -> segment.findByKey(key));
+    }
+    
+    public Optional<T> findById(long id) {
+        return find(segment -> segment.findById(id));
+    }
+    
+    /**
+     * 보관 작업이 같은 행을 두 번 쓰지 않도록 확인하는 용도 (조회 메트릭에 포함하지 않음)
+     */
+    public boolean containsKey(String key) {
+        return segments.stream().anyMatch(segment -> segment.findByKey(key).isPresent());
+    }
+    
+    public boolean containsId(long id) {
+        return segments.stream().anyMatch(segment -> segment.findById(id).isPresent());
+    }
+    
+    /**
+     * 생성 시각이 [from, to)인 보관 행을 이른 순으로 최대 limit개
+     */
+    public List<T> findCreatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        refreshIfStale();
+        long fromMicros = ArchiveCodec.toMicros(from);
+        long toMicros = ArchiveCodec.toMicros(to);
+        return segments.stream()
+            .flatMap(segment -> segment.findCreatedBetween(fromMicros, toMicros, limit).stream())
+            .sorted(Comparator.comparing(codec::createdAt))
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * (생성 시각, ID) 순서에서 (after, afterId) 다음 행부터 to 전까지 최대 limit개
+     * - 이전 페이지 마지막 행을 커서로 넘기면 같은 시각의 행이 여럿이어도 빠짐/중복 없이 이어 읽음
+     */
+    public List<T> findCreatedAfter(LocalDateTime after, long afterId, LocalDateTime to, int limit) {
+        refreshIfStale();
+        long afterMicros = ArchiveCodec.toMicros(after);
+        long toMicros = ArchiveCodec.toMicros(to);
+        Comparator<T> order = Comparator.comparing(codec::createdAt);
+        return segments.stream()
+            .flatMap(segment -> segment.findCreatedAfter(afterMicros, afterId, toMicros, limit).stream())
+            .sorted(order.thenComparingLong(codec::id))
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * 행 목록을 새 세그먼트 하나로 기록 (tryLock()으로 얻은 잠금을 쥔 상태에서 호출)
+     */
+    public synchronized void append(List<T> rows) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        // 다른 인스턴스가 쓴 세그먼트까지 읽은 뒤 다음 일련번호 결정
+        refresh();
+        Path target = directory.resolve(String.format("%s-%08d%s", name, nextSequence(), SEGMENT_SUFFIX));
+        Path temp = Files.createTempFile(directory, name + "-", ".tmp");
+        try {
+            Segment.write(temp, rows, codec, blockRows);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        syncDirectory();
+        
+        Segment<T> segment = Segment.open(target, codec);
+        List<Segment<T>> updated = new ArrayList<>(segments.size() + 1);
+        updated.add(segment);
+        updated.addAll(segments);
+        segments = List.copyOf(updated);
+        log.info("Archive {} segment written: file={}, rows={}, bytes={}",
+            name, target.getFileName(), segment.rowCount(), Files.size(target));
+    }
+    
+    /**
+     * 보관 작업 잠금 (다른 인스턴스/스레드가 쥐고 있으면 null)
+     */
+    public ArchiveLock tryLock() throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock != null) {
+                return new ArchiveLock(channel);
+            }
+        } catch (OverlappingFileLockException e) {
+            // 같은 JVM의 다른 스레드가 쥐고 있음
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        channel.close();
+        return null;
+    }
+    
+    public long rowCount() {
+        return segments.stream().mapToLong(Segment::rowCount).sum();
+    }
+    
+    public int segmentCount() {
+        return segments.size();
+    }
+    
+    /**
+     * 아직 열지 않은 세그먼트 파일을 열어 목록에 추가
+     */
+    public synchronized void refresh() {
+        lastRefreshNanos = System.nanoTime();
+        Set<Path> known = segments.stream().map(Segment::path).collect(Collectors.toSet());
+        known.addAll(unreadable);
+        List<Segment<T>> updated = new ArrayList<>(segments);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(this::isSegmentFile).filter(file -> !known.contains(file)).toList()) {
+                try {
+                    updated.add(Segment.open(file, codec));
+                } catch (IOException | RuntimeException e) {
+                    unreadable.add(file);
+                    log.error("Skipping unreadable archive segment: {}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to list archive directory: {}", directory, e);
+            return;
+        }
+        if (updated.size() != segments.size()) {
+            updated.sort(Comparator.comparing((Segment<T> segment) -> segment.path().getFileName().toString())
+                .reversed());
+            segments = List.copyOf(updated);
+        }
+    }
+    
+    private Optional<T> find(Function<Segment<T>, Optional<T>> lookup) {
+        refreshIfStale();
+        for (Segment<T> segment : segments) {
+            Optional<T> row = lookup.apply(segment);
+            if (row.isPresent()) {
+                hits.increment();
+                return row;
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+    
+    private void refreshIfStale() {
+        if (System.nanoTime() - lastRefreshNanos > refreshIntervalNanos) {
+            refresh();
+        }
+    }
+    
+    private boolean isSegmentFile(Path file) {
+        return segmentFileName.matcher(file.getFileName().toString()).matches();
+    }
+    
+    /**
+     * 열지 못한 파일의 번호도 피하도록 디렉터리 기준으로 결정 (rename이 기존 파일을 덮어쓰지 않게)
+     */
+    private long nextSequence() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(file -> segmentFileName.matcher(file.getFileName().toString()))
+                .filter(Matcher::matches)
+                .mapToLong(matcher -> Long.parseLong(matcher.group(1)))
+                .max()
+                .orElse(0) + 1;
+        }
+    }
+    
+    private void syncDirectory() {
+        // rename이 디스크에 반영되도록 디렉터리도 fsync (지원하지 않는 플랫폼에서는 무시)
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Directory fsync not supported: {}", directory);
+        }
+    }
+    
+    /**
+     * 보관 작업 잠금 (close 시 해제)
+     */
+    public static final class ArchiveLock implements AutoCloseable {
+        
+        private final FileChannel channel;
+        
+        private ArchiveLock(FileChannel channel) {
+            this.channel = channel;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.common.archive;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 세그먼트 블록 하나의 컬럼 디코더 (ColumnWriter의 역)
+ * 
+ * 요청된 컬럼만 메모리 매핑된 파일에서 바로 압축을 풀고(복사 없이 Inflater에 전달), 디코딩 결과는 캐시.
+ * 한 번의 조회 안에서만 쓰는 객체이므로 스레드 안전하지 않음.
+ */
+public final class BlockReader {
+    
+    private final ByteBuffer file;
+    private final Segment.BlockIndex block;
+    private final Object[] decoded;
+    
+    BlockReader(ByteBuffer file, Segment.BlockIndex block) {
+        this.file = file;
+        this.block = block;
+        this.decoded = new Object[block.compressedLengths().length];
+    }
+    
+    public long[] longs(int column) {
+        if (decoded[column] == null) {
+            Cursor in = inflate(column);
+            long[] values = new long[block.rows()];
+            long previous = 0;
+            for (int row = 0; row < values.length; row++) {
+                previous += unzigzag(in.readVarLong());
+                values[row] = previous;
+            }
+            decoded[column] = values;
+        }
+        return (long[]) decoded[column];
+    }
+    
+    public String[] strings(int column) {
+        if (decoded[column] == null) {
+            Cursor in = inflate(column);
+            String[] values = new String[block.rows()];
+            if (in.readByte() == 1) {
+                String[] dictionary = new String[(int) in.readVarLong()];
+                for (int i = 0; i < dictionary.length; i++) {
+                    dictionary[i] = in.readString();
+                }
+                for (int row = 0; row < values.length; row++) {
+                    int index = (int) in.readVarLong();
+                    values[row] = index == 0 ? null : dictionary[index - 1];
+                }
+            } else {
+                for (int row = 0; row < values.length; row++) {
+                    values[row] = in.readString();
+                }
+            }
+            decoded[column] = values;
+        }
+        return (String[]) decoded[column];
+    }
+    
+    public BigDecimal[] decimals(int column) {
+        if (decoded[column] == null) {
+            Cursor in = inflate(column);
+            BigDecimal[] values = new BigDecimal[block.rows()];
+            for (int row = 0; row < values.length; row++) {
+                int scale = (int) in.readVarLong() - 1;
+                values[row] = scale < 0 ? null
+                    : new BigDecimal(BigInteger.valueOf(unzigzag(in.readVarLong())), scale);
+            }
+            decoded[column] = values;
+        }
+        return (BigDecimal[]) decoded[column];
+    }
+    
+    private Cursor inflate(int column) {
+        long offset = block.offset();
+        for (int i = 0; i < column; i++) {
+            offset += block.compressedLengths()[i];
+        }
+        byte[] raw = new byte[block.rawLengths()[column]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(file.slice((int) offset, block.compressedLengths()[column]));
+            int read = 0;
+            while (read < raw.length) {
+                int n = inflater.inflate(raw, read, raw.length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("Truncated archive column " + column + " at offset " + offset);
+                }
+                read += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt archive column " + column + " at offset " + offset, e);
+        } finally {
+            inflater.end();
+        }
+        return new Cursor(raw);
+    }
+    
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    private static final class Cursor {
+        
+        private final byte[] bytes;
+        private int position;
+        
+        private Cursor(byte[] bytes) {
+            this.bytes = bytes;
+        }
+        
+        int readByte() {
+            return bytes[position++];
+        }
+        
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+        
+        String readString() {
+            int length = (int) readVarLong() - 1;
+            if (length < 0) {
+                return null;
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
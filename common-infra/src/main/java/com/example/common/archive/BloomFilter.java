@@ -0,0 +1,87 @@
+package com.example.common.archive;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 세그먼트 단위 블룸 필터 (조회 키 + ID)
+ * 
+ * 조회 키(주문 번호)는 세그먼트 안에서만 정렬되어 있어 세그먼트마다 키 범위가 거의 전체를 덮음
+ * → 필터 없이는 없는 주문/결제 조회(404)가 모든 세그먼트에서 블록 하나씩 압축을 풀게 됨.
+ * 키/ID당 10비트, 해시 7개 (오탐률 약 1%).
+ */
+final class BloomFilter {
+    
+    private static final int BITS_PER_ENTRY = 10;
+    private static final int HASHES = 7;
+    
+    private final long[] words;
+    
+    BloomFilter(int expectedEntries) {
+        this(new long[Math.max(1, (expectedEntries * BITS_PER_ENTRY + 63) / 64)]);
+    }
+    
+    BloomFilter(long[] words) {
+        this.words = words;
+    }
+    
+    long[] words() {
+        return words;
+    }
+    
+    void addKey(String key) {
+        add(hashKey(key));
+    }
+    
+    void addId(long id) {
+        add(hashId(id));
+    }
+    
+    boolean mightContainKey(String key) {
+        return mightContain(hashKey(key));
+    }
+    
+    boolean mightContainId(long id) {
+        return mightContain(hashId(id));
+    }
+    
+    private void add(long hash) {
+        long bits = (long) words.length * 64;
+        long step = mix(hash) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Math.floorMod(hash + i * step, bits);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+    
+    private boolean mightContain(long hash) {
+        long bits = (long) words.length * 64;
+        long step = mix(hash) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Math.floorMod(hash + i * step, bits);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static long hashKey(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+    
+    private static long hashId(long id) {
+        // 키 해시와 다른 공간에 놓이도록 상수를 더한 뒤 섞음
+        return mix(id + 0x9E3779B97F4A7C15L);
+    }
+    
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.common.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * 세그먼트 블록 하나의 컬럼 인코더
+ * 
+ * 같은 컬럼의 값끼리 모아 인코딩한 뒤 컬럼마다 따로 Deflate 압축
+ * (조회 시 필요한 컬럼만 풀 수 있도록):
+ * - long: 이전 값과의 차이를 zigzag varint로 (정렬되었거나 가까운 ID/시각은 1~3바이트)
+ * - 문자열: 고유 값이 행 수의 절반 이하이면 사전 + 인덱스, 아니면 길이 + UTF-8
+ *   (길이는 +1 해서 기록하고 0은 null)
+ * - 금액: scale(+1, 0은 null) + unscaled 값 zigzag varint
+ */
+public final class ColumnWriter {
+    
+    public static final long NULL_LONG = Long.MIN_VALUE;
+    
+    private static final int RAW_STRINGS = 0;
+    private static final int DICTIONARY_STRINGS = 1;
+    
+    private final List<byte[]> rawColumns = new ArrayList<>();
+    
+    public void longs(long[] values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(values.length * 2);
+        long previous = 0;
+        for (long value : values) {
+            writeVarLong(out, zigzag(value - previous));
+            previous = value;
+        }
+        rawColumns.add(out.toByteArray());
+    }
+    
+    public void strings(String[] values) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        for (String value : values) {
+            if (value != null) {
+                dictionary.putIfAbsent(value, dictionary.size());
+            }
+        }
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream(values.length * 8);
+        if (dictionary.size() <= values.length / 2) {
+            out.write(DICTIONARY_STRINGS);
+            String[] entries = new String[dictionary.size()];
+            dictionary.forEach((value, index) -> entries[index] = value);
+            writeVarLong(out, entries.length);
+            for (String entry : entries) {
+                writeString(out, entry);
+            }
+            for (String value : values) {
+                writeVarLong(out, value == null ? 0 : dictionary.get(value) + 1);
+            }
+        } else {
+            out.write(RAW_STRINGS);
+            for (String value : values) {
+                writeString(out, value);
+            }
+        }
+        rawColumns.add(out.toByteArray());
+    }
+    
+    public void decimals(BigDecimal[] values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(values.length * 4);
+        for (BigDecimal value : values) {
+            if (value == null) {
+                writeVarLong(out, 0);
+                continue;
+            }
+            writeVarLong(out, value.scale() + 1L);
+            writeVarLong(out, zigzag(value.unscaledValue().longValueExact()));
+        }
+        rawColumns.add(out.toByteArray());
+    }
+    
+    /**
+     * 컬럼별 (압축 바이트, 원본 길이) 목록
+     */
+    List<Chunk> finish() {
+        List<Chunk> chunks = new ArrayList<>(rawColumns.size());
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            for (byte[] raw : rawColumns) {
+                deflater.reset();
+                deflater.setInput(raw);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+                byte[] buffer = new byte[8192];
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+                chunks.add(new Chunk(out.toByteArray(), raw.length));
+            }
+        } finally {
+            deflater.end();
+        }
+        return chunks;
+    }
+    
+    record Chunk(byte[] compressed, int rawLength) {
+    }
+    
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes, 0, bytes.length);
+    }
+    
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.common.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 불변 컬럼형 세그먼트 파일 하나 (쓰기 + 메모리 매핑 읽기)
+ * 
+ * 파일 구조:
+ * - 헤더: MAGIC, VERSION
+ * - 블록들: 행을 조회 키(주문 번호) 순으로 정렬해 blockRows개씩 나눈 뒤, 블록마다 컬럼별 압축 청크를 이어 붙임
+ * - 푸터: 세그먼트 생성 시각 범위, 블룸 필터, 블록별 희소 인덱스
+ *   (첫/마지막 키, ID 최소/최대, 생성 시각 최소/최대, 컬럼별 압축/원본 길이)
+ * - 트레일러: 푸터 위치, MAGIC
+ * 
+ * 조회:
+ * - 키: 블룸 필터 → 블록 첫 키로 이진 탐색 → 그 블록의 키 컬럼만 풀어 이진 탐색 → 해당 행 디코딩
+ * - ID: 블룸 필터 → ID 범위가 맞는 블록의 ID 컬럼만 풀어 탐색
+ * - 생성 시각 범위: 세그먼트/블록 시각 범위로 건너뛰고, 겹치는 블록의 시각 컬럼만 풀어 필터
+ * 
+ * 파일 전체를 READ_ONLY로 매핑하므로 세그먼트 하나는 2GB 미만이어야 함 (segment-rows로 제한).
+ * 매핑은 스레드 간 공유하되 읽을 때마다 절대 위치 slice를 쓰므로 동시 조회에 안전.
+ */
+final class Segment<T> {
+    
+    private static final int MAGIC = 0x4F415243; // "OARC"
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + 1;
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+    private static final Comparator<Match> MATCH_ORDER =
+        Comparator.comparingLong(Match::createdAt).thenComparingLong(Match::id);
+    
+    private final Path path;
+    private final ArchiveCodec<T> codec;
+    private final ByteBuffer file;
+    private final int rowCount;
+    private final long minCreatedAt;
+    private final long maxCreatedAt;
+    private final BloomFilter bloomFilter;
+    private final List<BlockIndex> blocks;
+    
+    private Segment(Path path, ArchiveCodec<T> codec, ByteBuffer file, int rowCount, long minCreatedAt,
+                    long maxCreatedAt, BloomFilter bloomFilter, List<BlockIndex> blocks) {
+        this.path = path;
+        this.codec = codec;
+        this.file = file;
+        this.rowCount = rowCount;
+        this.minCreatedAt = minCreatedAt;
+        this.maxCreatedAt = maxCreatedAt;
+        this.bloomFilter = bloomFilter;
+        this.blocks = blocks;
+    }
+    
+    record BlockIndex(long offset, int rows, String firstKey, String lastKey, long minId, long maxId,
+                      long minCreatedAt, long maxCreatedAt, int[] compressedLengths, int[] rawLengths) {
+    }
+    
+    static <T> void write(Path path, List<T> rows, ArchiveCodec<T> codec, int blockRows) throws IOException {
+        List<T> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(codec::key));
+        BloomFilter bloomFilter = new BloomFilter(sorted.size() * 2);
+        List<BlockIndex> blocks = new ArrayList<>();
+        
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            
+            for (int from = 0; from < sorted.size(); from += blockRows) {
+                List<T> slice = sorted.subList(from, Math.min(sorted.size(), from + blockRows));
+                long[] ids = new long[slice.size()];
+                String[] keys = new String[slice.size()];
+                long[] createdAt = new long[slice.size()];
+                for (int i = 0; i < slice.size(); i++) {
+                    ids[i] = codec.id(slice.get(i));
+                    keys[i] = codec.key(slice.get(i));
+                    createdAt[i] = ArchiveCodec.toMicros(codec.createdAt(slice.get(i)));
+                    bloomFilter.addKey(keys[i]);
+                    bloomFilter.addId(ids[i]);
+                }
+                
+                ColumnWriter columns = new ColumnWriter();
+                columns.longs(ids);
+                columns.strings(keys);
+                columns.longs(createdAt);
+                codec.encode(slice, columns);
+                List<ColumnWriter.Chunk> chunks = columns.finish();
+                
+                long offset = out.size();
+                int[] compressedLengths = new int[chunks.size()];
+                int[] rawLengths = new int[chunks.size()];
+                for (int c = 0; c < chunks.size(); c++) {
+                    out.write(chunks.get(c).compressed());
+                    compressedLengths[c] = chunks.get(c).compressed().length;
+                    rawLengths[c] = chunks.get(c).rawLength();
+                }
+                blocks.add(new BlockIndex(offset, slice.size(), keys[0], keys[keys.length - 1],
+                    Arrays.stream(ids).min().getAsLong(), Arrays.stream(ids).max().getAsLong(),
+                    Arrays.stream(createdAt).min().getAsLong(), Arrays.stream(createdAt).max().getAsLong(),
+                    compressedLengths, rawLengths));
+            }
+            // DataOutputStream.size()는 Integer.MAX_VALUE에서 멈춤 → 매핑 한도를 넘었다는 뜻
+            if (out.size() == Integer.MAX_VALUE) {
+                throw new IOException("Archive segment exceeds 2GB, lower segment-rows: " + path);
+            }
+            
+            long footerOffset = out.size();
+            out.writeInt(sorted.size());
+            out.writeLong(blocks.stream().mapToLong(BlockIndex::minCreatedAt).min().orElse(Long.MAX_VALUE));
+            out.writeLong(blocks.stream().mapToLong(BlockIndex::maxCreatedAt).max().orElse(Long.MIN_VALUE));
+            out.writeInt(bloomFilter.words().length);
+            for (long word : bloomFilter.words()) {
+                out.writeLong(word);
+            }
+            out.writeInt(blocks.size());
+            for (BlockIndex block : blocks) {
+                out.writeLong(block.offset());
+                out.writeInt(block.rows());
+                writeString(out, block.firstKey());
+                writeString(out, block.lastKey());
+                out.writeLong(block.minId());
+                out.writeLong(block.maxId());
+                out.writeLong(block.minCreatedAt());
+                out.writeLong(block.maxCreatedAt());
+                out.writeInt(block.compressedLengths().length);
+                for (int c = 0; c < block.compressedLengths().length; c++) {
+                    out.writeInt(block.compressedLengths()[c]);
+                    out.writeInt(block.rawLengths()[c]);
+                }
+            }
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+        }
+    }
+    
+    static <T> Segment<T> open(Path path, ArchiveCodec<T> codec) throws IOException {
+        ByteBuffer file;
+        // 매핑은 채널을 닫아도 유지됨 (GC될 때 해제)
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int size = file.capacity();
+        if (size < HEADER_BYTES + TRAILER_BYTES || file.getInt(0) != MAGIC || file.getInt(size - Integer.BYTES) != MAGIC) {
+            throw new IOException("Not an archive segment: " + path);
+        }
+        if (file.get(Integer.BYTES) != VERSION) {
+            throw new IOException("Unsupported archive segment version " + file.get(Integer.BYTES) + ": " + path);
+        }
+        
+        int footerOffset = (int) file.getLong(size - TRAILER_BYTES);
+        ByteBuffer in = file.slice(footerOffset, size - TRAILER_BYTES - footerOffset);
+        int rowCount = in.getInt();
+        long minCreatedAt = in.getLong();
+        long maxCreatedAt = in.getLong();
+        long[] bloomWords = new long[in.getInt()];
+        for (int i = 0; i < bloomWords.length; i++) {
+            bloomWords[i] = in.getLong();
+        }
+        int blockCount = in.getInt();
+        List<BlockIndex> blocks = new ArrayList<>(blockCount);
+        for (int b = 0; b < blockCount; b++) {
+            long offset = in.getLong();
+            int rows = in.getInt();
+            String firstKey = readString(in);
+            String lastKey = readString(in);
+            long minId = in.getLong();
+            long maxId = in.getLong();
+            long blockMinCreatedAt = in.getLong();
+            long blockMaxCreatedAt = in.getLong();
+            int columns = in.getInt();
+            int[] compressedLengths = new int[columns];
+            int[] rawLengths = new int[columns];
+            for (int c = 0; c < columns; c++) {
+                compressedLengths[c] = in.getInt();
+                rawLengths[c] = in.getInt();
+            }
+            blocks.add(new BlockIndex(offset, rows, firstKey, lastKey, minId, maxId,
+                blockMinCreatedAt, blockMaxCreatedAt, compressedLengths, rawLengths));
+        }
+        return new Segment<>(path, codec, file, rowCount, minCreatedAt, maxCreatedAt,
+            new BloomFilter(bloomWords), List.copyOf(blocks));
+    }
+    
+    Path path() {
+        return path;
+    }
+    
+    int rowCount() {
+        return rowCount;
+    }
+    
+    Optional<T> findByKey(String key) {
+        if (!bloomFilter.mightContainKey(key)) {
+            return Optional.empty();
+        }
+        // 첫 키가 key 이하인 마지막 블록
+        int low = 0;
+        int high = blocks.size() - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blocks.get(mid).firstKey().compareTo(key) <= 0) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (candidate < 0 || key.compareTo(blocks.get(candidate).lastKey()) > 0) {
+            return Optional.empty();
+        }
+        
+        BlockReader reader = new BlockReader(file, blocks.get(candidate));
+        int row = Arrays.binarySearch(reader.strings(ArchiveCodec.KEY_COLUMN), key);
+        return row >= 0 ? Optional.of(codec.decode(reader, row)) : Optional.empty();
+    }
+    
+    Optional<T> findById(long id) {
+        if (!bloomFilter.mightContainId(id)) {
+            return Optional.empty();
+        }
+        for (BlockIndex block : blocks) {
+            if (id < block.minId() || id > block.maxId()) {
+                continue;
+            }
+            BlockReader reader = new BlockReader(file, block);
+            long[] ids = reader.longs(ArchiveCodec.ID_COLUMN);
+            for (int row = 0; row < ids.length; row++) {
+                if (ids[row] == id) {
+                    return Optional.of(codec.decode(reader, row));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * 생성 시각이 [fromMicros, toMicros)인 행 중 이른 순으로 최대 limit개
+     */
+    List<T> findCreatedBetween(long fromMicros, long toMicros, int limit) {
+        return findCreatedAfter(fromMicros, Long.MIN_VALUE, toMicros, limit);
+    }
+    
+    /**
+     * (생성 시각, ID) 순서에서 (afterMicros, afterId) 다음 행부터 toMicros 전까지 최대 limit개 (keyset 페이지)
+     */
+    List<T> findCreatedAfter(long afterMicros, long afterId, long toMicros, int limit) {
+        if (maxCreatedAt < afterMicros || minCreatedAt >= toMicros) {
+            return List.of();
+        }
+        // 행 디코딩은 정렬/limit 이후에만 (시각/ID 컬럼만으로 후보를 고름)
+        List<Match> matches = new ArrayList<>();
+        for (BlockIndex block : blocks) {
+            if (block.maxCreatedAt() < afterMicros || block.minCreatedAt() >= toMicros) {
+                continue;
+            }
+            BlockReader reader = new BlockReader(file, block);
+            long[] createdAt = reader.longs(ArchiveCodec.CREATED_AT_COLUMN);
+            long[] ids = reader.longs(ArchiveCodec.ID_COLUMN);
+            for (int row = 0; row < createdAt.length; row++) {
+                boolean after = createdAt[row] > afterMicros || (createdAt[row] == afterMicros && ids[row] > afterId);
+                if (after && createdAt[row] < toMicros) {
+                    matches.add(new Match(createdAt[row], ids[row], reader, row));
+                }
+            }
+        }
+        return matches.stream()
+            .sorted(MATCH_ORDER)
+            .limit(limit)
+            .map(match -> codec.decode(match.reader(), match.row()))
+            .toList();
+    }
+    
+    private record Match(long createdAt, long id, BlockReader reader, int row) {
+    }
+    
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.common.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * DLT 일괄 재처리
+ * 
+ * <topic>-dlt에 쌓인 레코드를 원래 토픽으로 다시 발행.
+ * 장애 원인(예: DB 장애, 버그)을 해결한 뒤 운영자가 API로 호출하는 용도.
+ * 각 서비스가 자기 리스너의 토픽/그룹으로 빈을 등록함
+ * (Order: payment-events, Payment: order-events, KafkaConsumerConfig 참고).
+ * 
+ * 동작 방식:
+ * - 전용 컨슈머 그룹(<group>-dlt-redrive)으로 DLT를 읽으므로 재처리 진행 위치가 커밋 오프셋으로 남음
+ *   → 여러 번 호출해도 이미 재처리한 레코드는 다시 보내지 않음
+ * - 호출 시점의 끝 오프셋까지만 처리 (재처리 중 새로 들어온 DLT 레코드를 쫓아가지 않음)
+ * - 값/키는 byte[] 그대로 복사 (역직렬화 실패 레코드도 손실 없이 되돌림)
+ * - 재시도/DLT 메타데이터 헤더는 제거: 남아 있으면 재시도 횟수가 이어져 바로 DLT로 돌아감
+ * - 배치마다 발행 완료를 확인한 뒤 오프셋 커밋 (최소 한 번 전달, 컨슈머 쪽 멱등성으로 중복 흡수)
+ */
+@Slf4j
+public class DeadLetterRedriveService {
+    
+    private static final String DLT_SUFFIX = "-dlt";
+    private static final String REDRIVE_GROUP_SUFFIX = "-dlt-redrive";
+    private static final String REDRIVEN_AT_HEADER = "x-redriven-at";
+    private static final List<String> STRIPPED_HEADER_PREFIXES = List.of("kafka_dlt-", "retry_topic-", "kafka_backoff");
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final int MAX_EMPTY_POLLS = 3;
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+    
+    private final String targetTopic;
+    private final String deadLetterTopic;
+    private final Supplier<Consumer<byte[], byte[]>> consumerSupplier;
+    private final Producer<byte[], byte[]> producer;
+    private final Counter redrivenCounter;
+    
+    /**
+     * @param groupId 원래 리스너의 컨슈머 그룹 (재처리 그룹은 여기에 -dlt-redrive를 붙임)
+     * @param targetTopic 원래 토픽 (DLT는 targetTopic-dlt)
+     */
+    public DeadLetterRedriveService(String bootstrapServers, String groupId, String targetTopic,
+                                    MeterRegistry meterRegistry) {
+        this(targetTopic, newConsumerFactory(bootstrapServers, groupId + REDRIVE_GROUP_SUFFIX)::createConsumer,
+            newProducer(bootstrapServers), meterRegistry);
+    }
+    
+    /**
+     * 컨슈머/프로듀서를 직접 받는 생성자 (테스트에서 MockConsumer/MockProducer 주입)
+     */
+    DeadLetterRedriveService(String targetTopic,
+                             Supplier<Consumer<byte[], byte[]>> consumerSupplier,
+                             Producer<byte[], byte[]> producer,
+                             MeterRegistry meterRegistry) {
+        this.targetTopic = targetTopic;
+        this.deadLetterTopic = targetTopic + DLT_SUFFIX;
+        this.consumerSupplier = consumerSupplier;
+        this.producer = producer;
+        this.redrivenCounter = Counter.builder("kafka.dlt.redriven")
+            .description("Records re-published from the dead-letter topic")
+            .tag("topic", deadLetterTopic)
+            .register(meterRegistry);
+    }
+    
+    private static DefaultKafkaConsumerFactory<byte[], byte[]> newConsumerFactory(String bootstrapServers,
+                                                                                  String groupId) {
+        Map<String, Object> consumerConfig = new HashMap<>();
+        consumerConfig.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        consumerConfig.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        consumerConfig.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerConfig.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new DefaultKafkaConsumerFactory<>(
+            consumerConfig, new ByteArrayDeserializer(), new ByteArrayDeserializer());
+    }
+    
+    private static Producer<byte[], byte[]> newProducer(String bootstrapServers) {
+        Map<String, Object> producerConfig = new HashMap<>();
+        producerConfig.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        return new DefaultKafkaProducerFactory<>(
+            producerConfig, new ByteArraySerializer(), new ByteArraySerializer()).createProducer();
+    }
+    
+    /**
+     * DLT 레코드를 원래 토픽으로 재발행
+     * 
+     * 동시에 두 번 실행되면 같은 레코드를 중복 발행하므로 인스턴스 내에서는 직렬화
+     * 
+     * @param maxRecords 이번 호출에서 재발행할 최대 건수
+     * @return 재발행한 건수
+     */
+    public synchronized int redrive(int maxRecords) {
+        try (Consumer<byte[], byte[]> consumer = consumerSupplier.get()) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(deadLetterTopic);
+            if (partitionInfos == null || partitionInfos.isEmpty()) {
+                log.info("Dead-letter topic {} does not exist, nothing to re-drive", deadLetterTopic);
+                return 0;
+            }
+            List<TopicPartition> partitions = partitionInfos.stream()
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .toList();
+            consumer.assign(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            
+            int redriven = 0;
+            int emptyPolls = 0;
+            while (redriven < maxRecords && !caughtUp(consumer, endOffsets) && emptyPolls < MAX_EMPTY_POLLS) {
+                ConsumerRecords<byte[], byte[]> records = consumer.poll(POLL_TIMEOUT);
+                emptyPolls = records.isEmpty() ? emptyPolls + 1 : 0;
+                
+                Map<TopicPartition, OffsetAndMetadata> processed = new HashMap<>();
+                List<Future<?>> sends = new ArrayList<>();
+                for (ConsumerRecord<byte[], byte[]> record : records) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    // 한도/스냅샷을 넘어 읽은 레코드는 커밋하지 않으므로 다음 호출에서 다시 읽음
+                    if (redriven >= maxRecords || record.offset() >= endOffsets.get(partition)) {
+                        continue;
+                    }
+                    sends.add(producer.send(new ProducerRecord<>(
+                        targetTopic, null, record.key(), record.value(), redriveHeaders(record))));
+                    processed.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                    redriven++;
+                }
+                
+                awaitSends(sends);
+                if (!processed.isEmpty()) {
+                    consumer.commitSync(processed);
+                }
+            }
+            
+            redrivenCounter.increment(redriven);
+            log.info("Re-drove {} records from {} to {}", redriven, deadLetterTopic, targetTopic);
+            return redriven;
+        }
+    }
+    
+    private static boolean caughtUp(Consumer<byte[], byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> entry : endOffsets.entrySet()) {
+            if (consumer.position(entry.getKey()) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static RecordHeaders redriveHeaders(ConsumerRecord<byte[], byte[]> record) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (STRIPPED_HEADER_PREFIXES.stream().noneMatch(header.key()::startsWith)) {
+                headers.add(header);
+            }
+        }
+        headers.add(REDRIVEN_AT_HEADER, Instant.now().toString().getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+    
+    private static void awaitSends(List<Future<?>> sends) {
+        try {
+            for (Future<?> send : sends) {
+                send.get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while re-driving dead letters", e);
+        } catch (ExecutionException | TimeoutException e) {
+            // 커밋 전에 중단하므로 다음 호출에서 같은 위치부터 다시 시도
+            throw new IllegalStateException("Failed to re-publish dead letter", e);
+        }
+    }
+    
+    /**
+     * 프로듀서 종료 (@Bean으로 등록하면 컨텍스트 종료 시 close()가 자동 호출됨)
+     */
+    public void close() {
+        producer.close(Duration.ofSeconds(SEND_TIMEOUT_SECONDS));
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.common.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 커넥션 점유 시간 프로파일러
+ * 
+ * 커넥션 풀 고갈의 흔한 원인은 DB 작업이 아니라 트랜잭션 안에서 하는 느린 비DB 작업
+ * (재고 서비스/PG사 호출, Kafka 전송, sleep 등). 이 동안 커넥션은 놀면서 풀에서 빠져 있음.
+ * 
+ * 측정 방식:
+ * - 실제 풀 커넥션을 얻은 순간부터 close(반납)까지를 점유 시간으로 기록
+ * - Connection/Statement/ResultSet 호출을 감싸 JDBC 호출 안에서 보낸 시간을 합산
+ * - 점유 시간 - JDBC 시간 = JDBC 밖 시간 (커넥션을 쥔 채 다른 일을 한 시간)
+ * - 커넥션을 얻게 한 메서드별로 집계: @Transactional 메서드 이름, 없으면 호출 스택의 첫 애플리케이션 메서드
+ *   (애플리케이션 패키지는 서비스가 지정, 예: com.example.orderservice.)
+ * 
+ * 예산(budget-ms):
+ * - 점유 시간이 예산을 넘으면 위반으로 기록하고 메서드별로 1분에 한 번 경고 로그
+ * - assertWithinBudget()으로 테스트에서 위반 시 실패시킬 수 있음
+ * 
+ * 메트릭:
+ * - db.connection.hold{method}: 커넥션 점유 시간
+ * - db.connection.hold.outside.jdbc{method}: 그중 JDBC 밖에서 보낸 시간
+ * - db.connection.hold.budget.exceeded{method}: 예산 초과 횟수
+ * 
+ * 조회: GET /api/admin/db/connection-holds (JDBC 밖 최대 시간 순)
+ * 각 서비스가 hold-profiler 설정으로 빈을 등록함 (MetricsConfig)
+ */
+@Slf4j
+public class ConnectionHoldProfiler {
+    
+    private static final int MAX_RECENT_VIOLATIONS = 100;
+    private static final long WARN_INTERVAL_MILLIS = 60_000;
+    
+    private final String appPackage;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long budgetNanos;
+    private final Map<String, MethodStats> statsByMethod = new ConcurrentHashMap<>();
+    private final Deque<String> recentViolations = new ArrayDeque<>();
+    
+    /**
+     * @param appPackage 메서드 이름을 찾을 애플리케이션 패키지 접두사 (예: com.example.orderservice.)
+     */
+    public ConnectionHoldProfiler(String appPackage, MeterRegistry meterRegistry, boolean enabled,
+                                  long budgetMillis) {
+        this.appPackage = appPackage;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+    
+    /**
+     * 프로파일링 DataSource로 감쌈 (비활성이면 그대로 반환)
+     * 
+     * 실제 풀 커넥션 획득/반납이 일어나는 위치(LazyConnectionDataSourceProxy 안쪽)에 두어야 함
+     */
+    public DataSource wrap(DataSource dataSource) {
+        if (!enabled) {
+            return dataSource;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return profile(super.getConnection());
+            }
+            
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return profile(super.getConnection(username, password));
+            }
+        };
+    }
+    
+    private Connection profile(Connection connection) {
+        Hold hold = new Hold(resolveMethod());
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, new TimingHandler(connection, hold, true));
+    }
+    
+    /**
+     * 커넥션을 얻게 한 메서드 이름 (SimpleClassName.method)
+     */
+    private String resolveMethod() {
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName != null && transactionName.startsWith(appPackage)) {
+            return shortName(transactionName);
+        }
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(appPackage)
+                && !frame.getClassName().equals(ConnectionHoldProfiler.class.getName())
+                && !frame.getClassName().startsWith(ConnectionHoldProfiler.class.getName() + "$")
+                && !frame.getClassName().contains("$$"))
+            .findFirst()
+            .map(frame -> simpleClassName(frame.getClassName()) + "." + methodName(frame.getMethodName()))
+            .orElse(transactionName != null ? shortName(transactionName) : "unknown"));
+    }
+    
+    private void release(Hold hold) {
+        long holdNanos = System.nanoTime() - hold.acquiredAt;
+        long outsideNanos = Math.max(0, holdNanos - hold.jdbcNanos);
+        boolean exceeded = holdNanos > budgetNanos;
+        
+        MethodStats stats = statsByMethod.computeIfAbsent(hold.method, MethodStats::new);
+        stats.record(holdNanos, outsideNanos, exceeded);
+        
+        if (exceeded) {
+            String violation = String.format("%s held a connection for %dms (%dms outside JDBC, budget %dms)",
+                hold.method, TimeUnit.NANOSECONDS.toMillis(holdNanos), TimeUnit.NANOSECONDS.toMillis(outsideNanos),
+                TimeUnit.NANOSECONDS.toMillis(budgetNanos));
+            synchronized (recentViolations) {
+                if (recentViolations.size() == MAX_RECENT_VIOLATIONS) {
+                    recentViolations.removeFirst();
+                }
+                recentViolations.addLast(violation);
+            }
+            if (stats.shouldWarn()) {
+                log.warn("Connection hold budget exceeded: {}", violation);
+            }
+        }
+    }
+    
+    /**
+     * 메서드별 점유 통계 (JDBC 밖 최대 시간 순)
+     */
+    public List<ConnectionHoldStatsResponse> getWorstOffenders(int limit) {
+        return statsByMethod.values().stream()
+            .map(MethodStats::toResponse)
+            .sorted(Comparator.comparingLong(ConnectionHoldStatsResponse::getMaxOutsideJdbcMillis).reversed())
+            .limit(limit)
+            .toList();
+    }
+    
+    /**
+     * 예산 초과가 있었으면 실패 (테스트용)
+     * 
+     * @throws IllegalStateException 최근 위반 목록 포함
+     */
+    public void assertWithinBudget() {
+        List<String> violations;
+        synchronized (recentViolations) {
+            violations = new ArrayList<>(recentViolations);
+        }
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Connection hold budget exceeded:\n  " + String.join("\n  ", violations));
+        }
+    }
+    
+    public void reset() {
+        statsByMethod.values().forEach(MethodStats::reset);
+        synchronized (recentViolations) {
+            recentViolations.clear();
+        }
+    }
+    
+    private static String shortName(String qualifiedMethod) {
+        int methodDot = qualifiedMethod.lastIndexOf('.');
+        int classDot = qualifiedMethod.lastIndexOf('.', methodDot - 1);
+        return qualifiedMethod.substring(classDot + 1);
+    }
+    
+    private static String simpleClassName(String className) {
+        String simple = className.substring(className.lastIndexOf('.') + 1);
+        int inner = simple.indexOf('$');
+        return inner > 0 ? simple.substring(0, inner) : simple;
+    }
+    
+    /**
+     * 람다 프레임(lambda$createOrder$0 등)은 감싼 메서드 이름으로
+     */
+    private static String methodName(String frameMethod) {
+        if (frameMethod.startsWith("lambda$")) {
+            int end = frameMethod.indexOf('$', "lambda$".length());
+            return frameMethod.substring("lambda$".length(), end > 0 ? end : frameMethod.length());
+        }
+        return frameMethod;
+    }
+    
+    /**
+     * 커넥션 1개의 점유 기록 (사용하는 스레드 하나에서만 갱신)
+     */
+    private static class Hold {
+        
+        private final String method;
+        private final long acquiredAt = System.nanoTime();
+        private long jdbcNanos;
+        
+        private Hold(String method) {
+            this.method = method;
+        }
+    }
+    
+    /**
+     * JDBC 호출 시간 측정 (Statement/ResultSet 반환값도 같은 방식으로 감쌈)
+     */
+    private class TimingHandler implements InvocationHandler {
+        
+        private final Object target;
+        private final Hold hold;
+        private final boolean connection;
+        private boolean released;
+        
+        private TimingHandler(Object target, Hold hold, boolean connection) {
+            this.target = target;
+            this.hold = hold;
+            this.connection = connection;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            } finally {
+                hold.jdbcNanos += System.nanoTime() - start;
+            }
+            
+            if (connection && "close".equals(method.getName()) && !released) {
+                released = true;
+                release(hold);
+            }
+            return wrapResult(method.getReturnType(), result);
+        }
+        
+        private Object wrapResult(Class<?> returnType, Object result) {
+            if (result == null || !returnType.isInterface()
+                    || !(Statement.class.isAssignableFrom(returnType) || ResultSet.class.isAssignableFrom(returnType))) {
+                return result;
+            }
+            return Proxy.newProxyInstance(returnType.getClassLoader(), new Class<?>[]{returnType},
+                new TimingHandler(result, hold, false));
+        }
+    }
+    
+    private class MethodStats {
+        
+        private final String method;
+        private final Timer holdTimer;
+        private final Timer outsideJdbcTimer;
+        private final Counter budgetExceededCounter;
+        
+        private long count;
+        private long totalHoldNanos;
+        private long maxHoldNanos;
+        private long totalOutsideNanos;
+        private long maxOutsideNanos;
+        private long budgetViolations;
+        private long lastWarnMillis;
+        
+        private MethodStats(String method) {
+            this.method = method;
+            this.holdTimer = Timer.builder("db.connection.hold")
+                .description("Time a pooled connection was held, from acquire to release")
+                .tag("method", method)
+                .register(meterRegistry);
+            this.outsideJdbcTimer = Timer.builder("db.connection.hold.outside.jdbc")
+                .description("Part of the connection hold time spent outside JDBC calls")
+                .tag("method", method)
+                .register(meterRegistry);
+            this.budgetExceededCounter = Counter.builder("db.connection.hold.budget.exceeded")
+                .description("Connection holds longer than the configured budget")
+                .tag("method", method)
+                .register(meterRegistry);
+        }
+        
+        private void record(long holdNanos, long outsideNanos, boolean exceeded) {
+            holdTimer.record(holdNanos, TimeUnit.NANOSECONDS);
+            outsideJdbcTimer.record(outsideNanos, TimeUnit.NANOSECONDS);
+            if (exceeded) {
+                budgetExceededCounter.increment();
+            }
+            synchronized (this) {
+                count++;
+                totalHoldNanos += holdNanos;
+                maxHoldNanos = Math.max(maxHoldNanos, holdNanos);
+                totalOutsideNanos += outsideNanos;
+                maxOutsideNanos = Math.max(maxOutsideNanos, outsideNanos);
+                if (exceeded) {
+                    budgetViolations++;
+                }
+            }
+        }
+        
+        private synchronized boolean shouldWarn() {
+            long now = System.currentTimeMillis();
+            if (now - lastWarnMillis < WARN_INTERVAL_MILLIS) {
+                return false;
+            }
+            lastWarnMillis = now;
+            return true;
+        }
+        
+        private synchronized void reset() {
+            count = 0;
+            totalHoldNanos = 0;
+            maxHoldNanos = 0;
+            totalOutsideNanos = 0;
+            maxOutsideNanos = 0;
+            budgetViolations = 0;
+        }
+        
+        private synchronized ConnectionHoldStatsResponse toResponse() {
+            return ConnectionHoldStatsResponse.builder()
+                .method(method)
+                .count(count)
+                .avgHoldMillis(count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalHoldNanos / count))
+                .maxHoldMillis(TimeUnit.NANOSECONDS.toMillis(maxHoldNanos))
+                .avgOutsideJdbcMillis(count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalOutsideNanos / count))
+                .maxOutsideJdbcMillis(TimeUnit.NANOSECONDS.toMillis(maxOutsideNanos))
+                .outsideJdbcRatio(totalHoldNanos == 0 ? 0 : (double) totalOutsideNanos / totalHoldNanos)
+                .budgetViolations(budgetViolations)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.common.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 메서드별 커넥션 점유 통계 (ConnectionHoldProfiler)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionHoldStatsResponse {
+    
+    private String method;
+    private long count;
+    private long avgHoldMillis;
+    private long maxHoldMillis;
+    private long avgOutsideJdbcMillis; // 커넥션을 쥔 채 JDBC 밖에서 보낸 시간
+    private long maxOutsideJdbcMillis;
+    private double outsideJdbcRatio;
+    private long budgetViolations;
+}
@@ -0,0 +1,152 @@
+package com.example.common.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 컨슈머 그룹 파티션별 Lag 메트릭
+ * 
+ * 각 서비스가 자기 리스너의 그룹/토픽으로 빈을 등록함 (MetricsConfig)
+ * - Order Service: payment-events 토픽, order-service-group
+ * - Payment Service: order-events 토픽, payment-service-group
+ * KEDA/HPA가 CPU 대신 실제 대기 메시지 수로 스케일링할 수 있도록 Lag을 Micrometer 게이지로 노출.
+ * 
+ * 계산 방식 (KEDA Kafka scaler와 같은 정의):
+ * - lag = 파티션 끝 오프셋(latest) - 그룹 커밋 오프셋
+ * - 커밋 이력이 없는 파티션은 earliest 기준
+ *   (두 서비스 모두 spring.kafka.consumer.auto-offset-reset: earliest로 리스너가 처음부터 읽으므로 같은 기준)
+ * - AdminClient로 주기적으로 한 번에 조회하여 캐시, 게이지는 캐시 값만 읽음 (scrape 시 브로커 호출 없음)
+ * 
+ * 메트릭:
+ * - kafka.consumer.group.lag{group, topic, partition}
+ * - kafka.consumer.group.lag.total{group, topic}
+ * 
+ * 그룹 전체 값이므로 레플리카마다 같은 값을 보고함 → 쿼리 시 max()로 집계
+ */
+@Slf4j
+public class ConsumerLagMonitor {
+    
+    private static final long ADMIN_TIMEOUT_SECONDS = 10;
+    
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+    private final String groupId;
+    private final String topic;
+    private final Map<TopicPartition, AtomicLong> partitionLags = new ConcurrentHashMap<>();
+    private final AtomicLong totalLag = new AtomicLong();
+    
+    private volatile AdminClient adminClient;
+    
+    public ConsumerLagMonitor(KafkaAdmin kafkaAdmin, MeterRegistry meterRegistry, String groupId, String topic) {
+        this.kafkaAdmin = kafkaAdmin;
+        this.meterRegistry = meterRegistry;
+        this.groupId = groupId;
+        this.topic = topic;
+        
+        Gauge.builder("kafka.consumer.group.lag.total", totalLag, AtomicLong::get)
+            .description("Total consumer group lag (end offset - committed offset)")
+            .tags("group", groupId, "topic", topic)
+            .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${kafka.lag-monitor.interval-ms:15000}", initialDelay = 10000)
+    public void refresh() {
+        try {
+            AdminClient admin = adminClient();
+            
+            TopicDescription description = admin.describeTopics(List.of(topic))
+                .allTopicNames().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS).get(topic);
+            Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            
+            Map<TopicPartition, OffsetSpec> latestRequest = new HashMap<>();
+            Map<TopicPartition, OffsetSpec> earliestRequest = new HashMap<>();
+            description.partitions().forEach(info -> {
+                TopicPartition tp = new TopicPartition(topic, info.partition());
+                latestRequest.put(tp, OffsetSpec.latest());
+                if (committed.get(tp) == null) {
+                    earliestRequest.put(tp, OffsetSpec.earliest());
+                }
+            });
+            
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> latest = admin.listOffsets(latestRequest)
+                .all().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> earliest = earliestRequest.isEmpty()
+                ? Map.of()
+                : admin.listOffsets(earliestRequest).all().get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            
+            long total = 0;
+            for (Map.Entry<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> entry : latest.entrySet()) {
+                TopicPartition tp = entry.getKey();
+                OffsetAndMetadata committedOffset = committed.get(tp);
+                long position = committedOffset != null
+                    ? committedOffset.offset()
+                    : earliest.get(tp).offset();
+                long lag = Math.max(0, entry.getValue().offset() - position);
+                partitionGauge(tp).set(lag);
+                total += lag;
+            }
+            totalLag.set(total);
+            
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Failed to refresh consumer lag: group={}, topic={}, error={}", groupId, topic, e.getMessage());
+        }
+    }
+    
+    public long getTotalLag() {
+        return totalLag.get();
+    }
+    
+    private AtomicLong partitionGauge(TopicPartition tp) {
+        return partitionLags.computeIfAbsent(tp, key -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("kafka.consumer.group.lag", value, AtomicLong::get)
+                .description("Consumer group lag per partition (end offset - committed offset)")
+                .tags("group", groupId, "topic", key.topic(), "partition", String.valueOf(key.partition()))
+                .register(meterRegistry);
+            return value;
+        });
+    }
+    
+    private AdminClient adminClient() {
+        AdminClient admin = adminClient;
+        if (admin == null) {
+            synchronized (this) {
+                admin = adminClient;
+                if (admin == null) {
+                    admin = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+                    adminClient = admin;
+                }
+            }
+        }
+        return admin;
+    }
+    
+    /**
+     * @Bean으로 등록하면 컨텍스트 종료 시 close()가 자동 호출됨
+     */
+    public void close() {
+        AdminClient admin = adminClient;
+        if (admin != null) {
+            admin.close();
+        }
+    }
+}
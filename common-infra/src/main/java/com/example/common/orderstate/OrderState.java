@@ -0,0 +1,36 @@
+package com.example.common.orderstate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * order-state 토픽 값 (Order Service가 발행, 키 = 주문 번호, 주문별 최신 상태 하나)
+ * 
+ * version은 Order Service의 OrderStatusIndex.lifecycleVersion과 같은 값 (전이마다 증가)
+ * → 토픽을 재생하는 쪽(Order 상태 인덱스, Payment 주문 상태 캐시)도 더 큰 버전만 반영하면 됨
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderState {
+    
+    private String orderNumber;
+    private String status;
+    private long version;
+    private LocalDateTime updatedAt;
+    
+    /**
+     * 둘 중 버전이 더 큰 상태 (같으면 기존 상태 유지)
+     */
+    public static OrderState newer(OrderState current, OrderState candidate) {
+        if (current == null || candidate.getVersion() > current.getVersion()) {
+            return candidate;
+        }
+        return current;
+    }
+}
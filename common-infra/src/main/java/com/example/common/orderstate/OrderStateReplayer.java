@@ -0,0 +1,161 @@
+package com.example.common.orderstate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * order-state 토픽 재생 (기동 시 메모리 캐시/인덱스 적재용)
+ * 
+ * 컨슈머 그룹 없이 파티션을 직접 할당(assign)하고 처음부터 읽음 → 리밸런싱을 기다리지 않고 오프셋도 커밋하지 않음.
+ * - 파티션을 replay-threads개 컨슈머에 나눠 병렬로 읽음
+ * - 시작 시점의 끝 오프셋까지만 읽고 종료 (그 이후 변경은 각 서비스의 실시간 리스너가 반영)
+ * - tombstone(null 값)과 형식이 잘못된 레코드는 건너뜀
+ * - replay-timeout 안에 끝나지 않으면 예외 → 호출하는 쪽이 대체 (Order 상태 인덱스는 DB 적재, Payment 캐시는 빈 채로 시작)
+ * 
+ * sink는 여러 스레드에서 동시에 호출되므로 스레드 안전해야 함.
+ */
+@Slf4j
+public class OrderStateReplayer {
+    
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    
+    private final String topic;
+    private final Supplier<Consumer<String, String>> consumerFactory;
+    private final ObjectReader stateReader;
+    private final int threads;
+    private final Duration timeout;
+    
+    public OrderStateReplayer(String topic,
+                              Supplier<Consumer<String, String>> consumerFactory,
+                              ObjectMapper objectMapper,
+                              int threads,
+                              Duration timeout) {
+        this.topic = topic;
+        this.consumerFactory = consumerFactory;
+        this.stateReader = objectMapper.readerFor(OrderState.class);
+        this.threads = Math.max(1, threads);
+        this.timeout = timeout;
+    }
+    
+    /**
+     * 토픽 전체를 sink에 전달
+     * 
+     * @throws IllegalStateException 시간 초과 또는 컨슈머 오류
+     */
+    public ReplayResult replay(java.util.function.Consumer<OrderState> sink) {
+        long started = System.nanoTime();
+        long deadline = started + timeout.toNanos();
+        
+        List<TopicPartition> partitions;
+        try (Consumer<String, String> consumer = consumerFactory.get()) {
+            partitions = consumer.partitionsFor(topic, timeout).stream()
+                .map(info -> new TopicPartition(topic, info.partition()))
+                .toList();
+        }
+        if (partitions.isEmpty()) {
+            return new ReplayResult(0, 0, elapsedMillis(started));
+        }
+        
+        // 파티션을 라운드 로빈으로 나눔
+        int workers = Math.min(threads, partitions.size());
+        List<List<TopicPartition>> assignments = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            assignments.add(new ArrayList<>());
+        }
+        for (int i = 0; i < partitions.size(); i++) {
+            assignments.get(i % workers).add(partitions.get(i));
+        }
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "order-state-replay-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Long>> futures = assignments.stream()
+                .map(assigned -> executor.submit(() -> replayPartitions(assigned, sink, deadline)))
+                .toList();
+            long records = 0;
+            for (Future<Long> future : futures) {
+                records += future.get();
+            }
+            return new ReplayResult(partitions.size(), records, elapsedMillis(started));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to replay " + topic, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying " + topic, e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private long replayPartitions(List<TopicPartition> partitions,
+                                  java.util.function.Consumer<OrderState> sink,
+                                  long deadline) {
+        try (Consumer<String, String> consumer = consumerFactory.get()) {
+            consumer.assign(partitions);
+            consumer.seekToBeginning(partitions);
+            Map<TopicPartition, Long> remaining = new HashMap<>(consumer.endOffsets(partitions));
+            remaining.entrySet().removeIf(end -> consumer.position(end.getKey()) >= end.getValue());
+            
+            long applied = 0;
+            while (!remaining.isEmpty()) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Timed out replaying " + topic + " after " + timeout
+                        + ", partitions left: " + remaining.keySet());
+                }
+                for (ConsumerRecord<String, String> record : consumer.poll(POLL_TIMEOUT)) {
+                    OrderState state = parse(record);
+                    if (state != null) {
+                        sink.accept(state);
+                        applied++;
+                    }
+                }
+                remaining.entrySet().removeIf(end -> consumer.position(end.getKey()) >= end.getValue());
+            }
+            return applied;
+        }
+    }
+    
+    private OrderState parse(ConsumerRecord<String, String> record) {
+        if (record.value() == null) {
+            return null;
+        }
+        try {
+            return stateReader.readValue(record.value());
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping malformed order state: partition={}, offset={}, error={}",
+                record.partition(), record.offset(), e.getMessage());
+            return null;
+        }
+    }
+    
+    private static long elapsedMillis(long started) {
+        return Duration.ofNanos(System.nanoTime() - started).toMillis();
+    }
+    
+    /**
+     * @param records sink에 전달한 상태 수 (compaction 전 구간이 남아 있으면 주문 수보다 많을 수 있음)
+     */
+    public record ReplayResult(int partitions, long records, long elapsedMillis) {
+    }
+}
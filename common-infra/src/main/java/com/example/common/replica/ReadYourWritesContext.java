@@ -0,0 +1,46 @@
+package com.example.common.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드의 읽기를 primary로 보내야 하는지 여부 (read-your-writes)
+ * 
+ * 클라이언트가 방금 쓴 데이터를 바로 다시 읽을 때 replica가 아직 따라오지 못했으면
+ * "방금 만든 주문이 없음"처럼 보임 → 쓰기 직후 일정 시간은 그 클라이언트의 읽기를 primary로 보냄.
+ * 
+ * 각 서비스의 ReadYourWritesFilter가 요청 단위로 설정하고,
+ * 다른 스레드에서 읽는 경우(주문 서비스의 ShardRouter.scatterGather)는 callWith로 전달함.
+ */
+public final class ReadYourWritesContext {
+    
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+    
+    private ReadYourWritesContext() {
+    }
+    
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+    
+    public static <T> T callWith(boolean primaryRequired, Supplier<T> action) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        set(primaryRequired);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                clear();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        }
+    }
+    
+    public static void set(boolean primaryRequired) {
+        PRIMARY_REQUIRED.set(primaryRequired);
+    }
+    
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+}
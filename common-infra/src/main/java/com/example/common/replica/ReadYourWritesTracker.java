@@ -0,0 +1,40 @@
+package com.example.common.replica;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 클라이언트별 마지막 쓰기 시각
+ * 
+ * 마지막 쓰기 후 window 안에 들어온 같은 클라이언트의 읽기는 primary로 라우팅.
+ * window는 평상시 복제 지연보다 충분히 길게 설정 (기본 5초, replica 허용 지연은 1초).
+ * 
+ * window가 지난 항목은 주기적으로 제거하므로 추적하는 클라이언트 수는 최근 쓰기를 한 클라이언트로 한정됨.
+ * (각 서비스의 ReadYourWritesConfig가 빈 등록과 evictExpired() 주기 호출을 맡음)
+ */
+public class ReadYourWritesTracker {
+    
+    private final ConcurrentHashMap<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+    
+    public void recordWrite(String clientKey) {
+        lastWriteMillis.put(clientKey, System.currentTimeMillis());
+    }
+    
+    public boolean isWithinWindow(String clientKey) {
+        Long lastWrite = lastWriteMillis.get(clientKey);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < windowMillis;
+    }
+    
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - windowMillis;
+        lastWriteMillis.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+    
+    public int trackedClients() {
+        return lastWriteMillis.size();
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.common.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Primary 1개 + 읽기 복제본(replica) N개를 하나의 DataSource로 묶는 라우팅 DataSource
+ * 
+ * 라우팅 규칙 (커넥션을 얻는 시점 기준):
+ * - 읽기 전용 트랜잭션(@Transactional(readOnly = true))이 아니면 primary
+ * - 최근에 쓰기를 한 클라이언트의 요청이면 primary (ReadYourWritesContext)
+ * - 그 외에는 복제 지연이 maxLag 이하인 replica 중 하나, 없으면 primary
+ * 
+ * replica 선택 (power of two choices):
+ * - 허용 범위 안의 replica 2개를 무작위로 고르고 지연이 작은 쪽 사용
+ * - 항상 지연이 가장 작은 replica만 고르면 그 replica에 부하가 몰림 → 무작위성으로 분산하면서 지연이 큰 쪽은 피함
+ * 
+ * LazyConnectionDataSourceProxy 뒤에 있어야 함:
+ * - 트랜잭션 매니저는 readOnly 여부가 TransactionSynchronizationManager에 기록되기 전에 커넥션을 요청함
+ * - 프록시가 실제 커넥션 획득을 첫 SQL까지 미루므로 그때는 readOnly 여부를 알 수 있음
+ * 
+ * 지연 값은 각 서비스의 ReplicaLagMonitor가 주기적으로 갱신. 확인 전/조회 실패 시 무한대로 보고 사용하지 않음.
+ * 
+ * 메트릭:
+ * - db.routing.connections{datasource, target, reason}: 커넥션 라우팅 횟수 (primary/replica 부하 비율)
+ * - db.replica.lag{datasource, replica}: replica별 복제 지연 (초)
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+    
+    private final String name;
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final Map<Route, Counter> routeCounters = new EnumMap<>(Route.class);
+    
+    public ReplicaRoutingDataSource(String name, DataSource primary, List<Replica> replicas,
+                                    double maxLagSeconds, MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required: " + name);
+        }
+        this.name = name;
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = maxLagSeconds;
+        
+        for (Route route : Route.values()) {
+            routeCounters.put(route, Counter.builder("db.routing.connections")
+                .description("Connections routed to the primary or a read replica")
+                .tags("datasource", name, "target", route.target, "reason", route.reason)
+                .register(meterRegistry));
+        }
+        for (Replica replica : this.replicas) {
+            Gauge.builder("db.replica.lag", replica, Replica::getLagSeconds)
+                .description("Replication lag of a read replica (+Inf when unreachable)")
+                .tags("datasource", name, "replica", replica.getName())
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        }
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTarget().getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTarget().getConnection(username, password);
+    }
+    
+    DataSource determineTarget() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return route(Route.WRITE, primary);
+        }
+        if (ReadYourWritesContext.isPrimaryRequired()) {
+            return route(Route.READ_YOUR_WRITES, primary);
+        }
+        Replica replica = selectReplica();
+        if (replica == null) {
+            return route(Route.REPLICA_LAG, primary);
+        }
+        return route(Route.READ, replica.getDataSource());
+    }
+    
+    private Replica selectReplica() {
+        List<Replica> eligible = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.getLagSeconds() <= maxLagSeconds) {
+                eligible.add(replica);
+            }
+        }
+        if (eligible.size() <= 1) {
+            return eligible.isEmpty() ? null : eligible.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Replica first = eligible.get(random.nextInt(eligible.size()));
+        Replica second = eligible.get(random.nextInt(eligible.size()));
+        return second.getLagSeconds() < first.getLagSeconds() ? second : first;
+    }
+    
+    private DataSource route(Route route, DataSource target) {
+        routeCounters.get(route).increment();
+        return target;
+    }
+    
+    /**
+     * replica별 복제 지연 조회 (ReplicaLagMonitor에서 주기적으로 호출)
+     * 
+     * @param lagQuery 지연(초)을 단일 숫자로 반환하는 쿼리
+     */
+    public void refreshReplicaLag(String lagQuery) {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.getDataSource().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+                try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                    replica.lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.POSITIVE_INFINITY;
+                }
+            } catch (SQLException e) {
+                replica.lagSeconds = Double.POSITIVE_INFINITY;
+                log.warn("Failed to check replication lag: datasource={}, replica={}, error={}",
+                    name, replica.getName(), e.getMessage());
+            }
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+    
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+    
+    private enum Route {
+        WRITE("primary", "write"),
+        READ_YOUR_WRITES("primary", "read_your_writes"),
+        REPLICA_LAG("primary", "replica_lag"),
+        READ("replica", "read");
+        
+        private final String target;
+        private final String reason;
+        
+        Route(String target, String reason) {
+            this.target = target;
+            this.reason = reason;
+        }
+    }
+    
+    public static class Replica {
+        
+        private final String name;
+        private final DataSource dataSource;
+        
+        private volatile double lagSeconds = Double.POSITIVE_INFINITY;
+        
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+        
+        public double getLagSeconds() {
+            return lagSeconds;
+        }
+    }
+}
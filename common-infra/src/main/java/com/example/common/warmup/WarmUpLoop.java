@@ -0,0 +1,87 @@
+package com.example.common.warmup;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 워밍업 반복 실행과 전/후 지연 측정
+ * 
+ * 반복마다 걸린 시간을 기록하고, 처음 measure-window회(인터프리터/C1 구간)와
+ * 마지막 measure-window회(C2 컴파일 이후)의 평균/p99를 비교함.
+ * 시간 예산을 넘기면 남은 반복은 건너뜀 (readiness가 무한정 늦어지지 않도록).
+ * 각 서비스의 JitWarmUpRunner가 서비스별 반복 작업을 넘겨 실행함.
+ */
+public final class WarmUpLoop {
+    
+    private WarmUpLoop() {
+    }
+    
+    /**
+     * @param iteration 반복 번호를 받아 한 번 실행 (예외는 그대로 전파 → 호출하는 쪽이 워밍업 중단)
+     */
+    public static Result run(IterationAction iteration, int iterations, Duration timeBudget, int measureWindow)
+            throws Exception {
+        long started = System.nanoTime();
+        long deadline = started + timeBudget.toNanos();
+        long[] latencies = new long[iterations];
+        int completed = 0;
+        while (completed < iterations && System.nanoTime() < deadline) {
+            long iterationStarted = System.nanoTime();
+            iteration.run(completed);
+            latencies[completed++] = System.nanoTime() - iterationStarted;
+        }
+        
+        int window = Math.max(1, Math.min(measureWindow, completed / 2));
+        return new Result(completed, Duration.ofNanos(System.nanoTime() - started).toMillis(), completed < iterations,
+            completed == 0 ? 0 : latencies[0] / 1000,
+            stats(latencies, 0, Math.min(window, completed)),
+            stats(latencies, Math.max(0, completed - window), completed));
+    }
+    
+    private static WindowStats stats(long[] latencies, int from, int to) {
+        if (from >= to) {
+            return new WindowStats(0, 0);
+        }
+        long[] window = Arrays.copyOfRange(latencies, from, to);
+        Arrays.sort(window);
+        long sum = 0;
+        for (long latency : window) {
+            sum += latency;
+        }
+        int p99Index = Math.min(window.length - 1, (int) Math.ceil(window.length * 0.99) - 1);
+        return new WindowStats(sum / window.length / 1000, window[p99Index] / 1000);
+    }
+    
+    @FunctionalInterface
+    public interface IterationAction {
+        void run(int iteration) throws Exception;
+    }
+    
+    public record WindowStats(long avgMicros, long p99Micros) {
+    }
+    
+    /**
+     * @param budgetExpired 시간 예산 때문에 반복을 다 채우지 못함
+     * @param firstMicros 첫 반복 지연 (클래스 로딩/지연 초기화 포함)
+     * @param before 처음 measure-window회
+     * @param after 마지막 measure-window회
+     */
+    public record Result(int iterations, long elapsedMillis, boolean budgetExpired, long firstMicros,
+                         WindowStats before, WindowStats after) {
+        
+        public Map<String, Object> toDetails() {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("iterations", iterations);
+            details.put("elapsedMillis", elapsedMillis);
+            details.put("budgetExpired", budgetExpired);
+            details.put("firstMicros", firstMicros);
+            details.put("beforeAvgMicros", before.avgMicros());
+            details.put("beforeP99Micros", before.p99Micros());
+            details.put("afterAvgMicros", after.avgMicros());
+            details.put("afterP99Micros", after.p99Micros());
+            return details;
+        }
+    }
+}
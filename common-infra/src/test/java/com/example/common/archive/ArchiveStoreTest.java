@@ -0,0 +1,155 @@
+package com.example.common.archive;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 보관 세그먼트 쓰기/조회 단위 테스트 (행 타입은 테스트용 Row, 서비스별 코덱은 각 서비스에서 검증)
+ * - 여러 블록에 걸친 키/ID 조회, 생성 시각 범위 조회, 다른 인스턴스가 쓴 세그먼트 반영
+ * - long/문자열(사전·원본)/금액 컬럼과 null 값이 그대로 복원되는지
+ */
+class ArchiveStoreTest {
+    
+    private static final int BLOCK_ROWS = 16;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123_456_000);
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void shouldFindArchivedOrdersByNumberAndIdAcrossBlocks() throws Exception {
+        // Given - 블록 여러 개에 걸친 100건
+        ArchiveStore<Row> archive = newStore();
+        List<Row> orders = orders(0, 100);
+        archive.append(orders);
+        
+        // Then - 모든 컬럼이 그대로 복원됨
+        for (Row order : orders) {
+            assertThat(archive.findByKey(order.key())).contains(order);
+            assertThat(archive.findById(order.id())).contains(order);
+        }
+        assertThat(archive.findByKey("ORD-MISSING")).isEmpty();
+        assertThat(archive.findById(999_999L)).isEmpty();
+        assertThat(archive.rowCount()).isEqualTo(100);
+    }
+    
+    @Test
+    void shouldReturnCreatedAtRangeInOrderAcrossSegments() throws Exception {
+        // Given - 세그먼트 두 개
+        ArchiveStore<Row> archive = newStore();
+        archive.append(orders(0, 50));
+        archive.append(orders(50, 100));
+        
+        // When - 40~59분 사이 (두 세그먼트에 걸침), 최대 15건
+        List<Row> found = archive.findCreatedBetween(BASE_TIME.plusMinutes(40), BASE_TIME.plusMinutes(60), 15);
+        
+        // Then
+        assertThat(found).extracting(Row::id)
+            .containsExactlyElementsOf(IntStream.range(40, 55).mapToObj(i -> (long) i + 1).toList());
+    }
+    
+    @Test
+    void shouldPickUpSegmentsWrittenByAnotherInstance() throws Exception {
+        // Given - 같은 디렉터리를 보는 두 인스턴스
+        ArchiveStore<Row> writer = newStore();
+        ArchiveStore<Row> reader = newStore();
+        
+        // When - 한쪽이 잠금을 쥐고 기록
+        try (ArchiveStore.ArchiveLock lock = writer.tryLock()) {
+            assertThat(lock).isNotNull();
+            assertThat(reader.tryLock()).isNull();
+            writer.append(orders(0, 10));
+        }
+        
+        // Then - 다른 쪽 조회에 반영되고, 새 세그먼트 번호는 기존 파일 다음
+        assertThat(reader.findByKey("ORD-00000995")).isPresent();
+        reader.append(orders(10, 20));
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString()).filter(name -> name.endsWith(".seg")))
+                .containsExactlyInAnyOrder("orders-00000001.seg", "orders-00000002.seg");
+        }
+    }
+    
+    private ArchiveStore<Row> newStore() {
+        return new ArchiveStore<>(directory, "orders", new RowCodec(), BLOCK_ROWS, 0,
+            new SimpleMeterRegistry());
+    }
+    
+    private static List<Row> orders(int from, int to) {
+        // 주문 번호 순서와 ID/생성 시각 순서가 다르도록 역순 번호 사용
+        return IntStream.range(from, to)
+            .mapToObj(i -> new Row(
+                i + 1L,
+                String.format("ORD-%08d", 1000 - i),
+                BASE_TIME.plusMinutes(i),
+                i % 3 == 0 ? "Keyboard" : "Mouse",
+                i % 5 + 1,
+                new BigDecimal("19.90").multiply(BigDecimal.valueOf(i % 5 + 1)),
+                i % 6 == 0 ? null : "Customer " + i,
+                i % 7 == 0 ? null : BASE_TIME.plusMinutes(i).plusSeconds(5)))
+            .toList();
+    }
+    
+    record Row(long id, String key, LocalDateTime createdAt, String productName, long quantity,
+               BigDecimal amount, String customerName, LocalDateTime updatedAt) {
+    }
+    
+    /**
+     * 서비스 코덱과 같은 방식으로 FIRST_CODEC_COLUMN부터 컬럼을 기록
+     */
+    static final class RowCodec implements ArchiveCodec<Row> {
+        
+        private static final int PRODUCT_NAME = FIRST_CODEC_COLUMN;
+        private static final int QUANTITY = FIRST_CODEC_COLUMN + 1;
+        private static final int AMOUNT = FIRST_CODEC_COLUMN + 2;
+        private static final int CUSTOMER_NAME = FIRST_CODEC_COLUMN + 3;
+        private static final int UPDATED_AT = FIRST_CODEC_COLUMN + 4;
+        
+        @Override
+        public long id(Row row) {
+            return row.id();
+        }
+        
+        @Override
+        public String key(Row row) {
+            return row.key();
+        }
+        
+        @Override
+        public LocalDateTime createdAt(Row row) {
+            return row.createdAt();
+        }
+        
+        @Override
+        public void encode(List<Row> rows, ColumnWriter columns) {
+            columns.strings(rows.stream().map(Row::productName).toArray(String[]::new));
+            columns.longs(rows.stream().mapToLong(Row::quantity).toArray());
+            columns.decimals(rows.stream().map(Row::amount).toArray(BigDecimal[]::new));
+            columns.strings(rows.stream().map(Row::customerName).toArray(String[]::new));
+            columns.longs(rows.stream().mapToLong(row -> ArchiveCodec.toMicros(row.updatedAt())).toArray());
+        }
+        
+        @Override
+        public Row decode(BlockReader block, int row) {
+            return new Row(
+                block.longs(ID_COLUMN)[row],
+                block.strings(KEY_COLUMN)[row],
+                ArchiveCodec.fromMicros(block.longs(CREATED_AT_COLUMN)[row]),
+                block.strings(PRODUCT_NAME)[row],
+                block.longs(QUANTITY)[row],
+                block.decimals(AMOUNT)[row],
+                block.strings(CUSTOMER_NAME)[row],
+                ArchiveCodec.fromMicros(block.longs(UPDATED_AT)[row]));
+        }
+    }
+}
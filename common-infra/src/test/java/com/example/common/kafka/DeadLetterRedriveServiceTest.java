@@ -0,0 +1,163 @@
+package com.example.common.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * DLT 일괄 재처리 단위 테스트 (MockConsumer/MockProducer, 재처리 그룹의 커밋 오프셋은 호출 사이에 유지)
+ * - 호출 시점의 끝 오프셋까지만 원래 토픽으로 재발행하고 재시도/DLT 헤더를 제거하는지 검증
+ * - 건수 한도에서 멈춘 뒤 다음 호출이 커밋 위치부터 이어서 처리하는지, 발행 실패 시 커밋하지 않는지 검증
+ */
+class DeadLetterRedriveServiceTest {
+    
+    private static final String TOPIC = "payment-events";
+    private static final TopicPartition DLT_PARTITION = new TopicPartition(TOPIC + "-dlt", 0);
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockProducer<byte[], byte[]> producer =
+        new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer());
+    private final Map<TopicPartition, OffsetAndMetadata> committedOffsets = new HashMap<>();
+    private final List<ConsumerRecord<byte[], byte[]>> deadLetters = new ArrayList<>();
+    
+    private long snapshotEndOffset;
+    
+    @Test
+    void shouldRepublishUpToSnapshotAndStripRetryHeaders() {
+        // Given - 호출 시점 끝 오프셋은 3, 재처리 중에 4번째 레코드가 도착
+        snapshotEndOffset = 3;
+        for (int offset = 0; offset < 4; offset++) {
+            deadLetters.add(deadLetter(offset));
+        }
+        
+        // When
+        int redriven = newService().redrive(100);
+        
+        // Then
+        assertThat(redriven).isEqualTo(3);
+        assertThat(producer.history()).extracting(ProducerRecord::topic).containsOnly(TOPIC);
+        assertThat(producer.history()).extracting(record -> new String(record.key(), StandardCharsets.UTF_8))
+            .containsExactly("ORD-0", "ORD-1", "ORD-2");
+        ProducerRecord<byte[], byte[]> first = producer.history().get(0);
+        assertThat(first.headers().lastHeader("kafka_dlt-exception-message")).isNull();
+        assertThat(first.headers().lastHeader("retry_topic-attempts")).isNull();
+        assertThat(first.headers().lastHeader("kafka_backoff-timestamp")).isNull();
+        assertThat(first.headers().lastHeader("traceparent")).isNotNull();
+        assertThat(first.headers().lastHeader("x-redriven-at")).isNotNull();
+        assertThat(committedOffsets.get(DLT_PARTITION).offset()).isEqualTo(3);
+        assertThat(meterRegistry.get("kafka.dlt.redriven").counter().count()).isEqualTo(3.0);
+    }
+    
+    @Test
+    void shouldResumeFromCommittedOffsetAfterStoppingAtLimit() {
+        // Given
+        snapshotEndOffset = 5;
+        for (int offset = 0; offset < 5; offset++) {
+            deadLetters.add(deadLetter(offset));
+        }
+        DeadLetterRedriveService service = newService();
+        
+        // When - 한도 2건씩 나눠 호출
+        int firstCall = service.redrive(2);
+        int secondCall = service.redrive(2);
+        int thirdCall = service.redrive(2);
+        int fourthCall = service.redrive(2);
+        
+        // Then - 같은 레코드를 두 번 보내지 않음
+        assertThat(List.of(firstCall, secondCall, thirdCall, fourthCall)).containsExactly(2, 2, 1, 0);
+        assertThat(producer.history()).extracting(record -> new String(record.key(), StandardCharsets.UTF_8))
+            .containsExactly("ORD-0", "ORD-1", "ORD-2", "ORD-3", "ORD-4");
+        assertThat(committedOffsets.get(DLT_PARTITION).offset()).isEqualTo(5);
+    }
+    
+    @Test
+    void shouldNotCommitWhenRepublishFails() {
+        // Given
+        snapshotEndOffset = 2;
+        deadLetters.add(deadLetter(0));
+        deadLetters.add(deadLetter(1));
+        MockProducer<byte[], byte[]> failingProducer =
+            new MockProducer<>(true, new ByteArraySerializer(), new ByteArraySerializer()) {
+                @Override
+                public synchronized Future<RecordMetadata> send(ProducerRecord<byte[], byte[]> record) {
+                    return CompletableFuture.failedFuture(new TimeoutException("broker unavailable"));
+                }
+            };
+        DeadLetterRedriveService service =
+            new DeadLetterRedriveService(TOPIC, this::newConsumer, failingProducer, meterRegistry);
+        
+        // When & Then - 커밋 전에 중단하므로 다음 호출에서 같은 위치부터 다시 시도
+        assertThatThrownBy(() -> service.redrive(100))
+            .isInstanceOf(IllegalStateException.class)
+            .hasCauseInstanceOf(ExecutionException.class);
+        assertThat(committedOffsets).doesNotContainKey(DLT_PARTITION);
+    }
+    
+    private DeadLetterRedriveService newService() {
+        return new DeadLetterRedriveService(TOPIC, this::newConsumer, producer, meterRegistry);
+    }
+    
+    /**
+     * 호출마다 새 컨슈머를 만들되, 커밋한 오프셋은 브로커처럼 호출 사이에 유지
+     */
+    private MockConsumer<byte[], byte[]> newConsumer() {
+        MockConsumer<byte[], byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+            @Override
+            public synchronized void assign(Collection<TopicPartition> partitions) {
+                // MockConsumer는 assign 시 커밋 오프셋을 비우므로 이전 호출의 커밋을 다시 반영
+                super.assign(partitions);
+                super.commitSync(new HashMap<>(committedOffsets));
+            }
+            
+            @Override
+            public synchronized void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
+                super.commitSync(offsets);
+                committedOffsets.putAll(offsets);
+            }
+        };
+        consumer.updatePartitions(DLT_PARTITION.topic(),
+            List.of(new PartitionInfo(DLT_PARTITION.topic(), DLT_PARTITION.partition(), null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(DLT_PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(DLT_PARTITION, snapshotEndOffset));
+        consumer.schedulePollTask(() -> deadLetters.forEach(consumer::addRecord));
+        return consumer;
+    }
+    
+    private static ConsumerRecord<byte[], byte[]> deadLetter(long offset) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("kafka_dlt-exception-message", "DB down".getBytes(StandardCharsets.UTF_8));
+        headers.add("retry_topic-attempts", new byte[] {3});
+        headers.add("kafka_backoff-timestamp", new byte[8]);
+        headers.add("traceparent", "00-trace-span-01".getBytes(StandardCharsets.UTF_8));
+        return new ConsumerRecord<>(DLT_PARTITION.topic(), DLT_PARTITION.partition(), offset,
+            0L, TimestampType.CREATE_TIME, 0, 0,
+            ("ORD-" + offset).getBytes(StandardCharsets.UTF_8), "{}".getBytes(StandardCharsets.UTF_8),
+            headers, Optional.empty());
+    }
+}
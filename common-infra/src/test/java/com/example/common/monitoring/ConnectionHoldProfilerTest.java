@@ -0,0 +1,120 @@
+package com.example.common.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 커넥션 점유 시간 프로파일러 단위 테스트
+ * - 느린 쿼리(JDBC 안)와 느린 비DB 작업(JDBC 밖)을 구분하여 기록하는지 검증
+ * - 예산 초과 시 assertWithinBudget()이 실패하는지 검증
+ */
+class ConnectionHoldProfilerTest {
+    
+    private static final String APP_PACKAGE = "com.example.";
+    private static final long BUDGET_MS = 100;
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionHoldProfiler profiler =
+        new ConnectionHoldProfiler(APP_PACKAGE, meterRegistry, true, BUDGET_MS);
+    
+    private Connection rawConnection;
+    private DataSource dataSource;
+    
+    @BeforeEach
+    void setUp() throws SQLException {
+        rawConnection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(rawConnection);
+        when(rawConnection.prepareStatement(anyString())).thenReturn(statement);
+        // 느린 쿼리: 60ms 동안 JDBC 안에 있음
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            Thread.sleep(60);
+            return resultSet;
+        });
+        dataSource = profiler.wrap(pool);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionName(null);
+    }
+    
+    @Test
+    void shouldSeparateTimeInsideAndOutsideJdbc() throws Exception {
+        // When - 쿼리 60ms + 커넥션을 쥔 채 비DB 작업 150ms
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("SELECT 1").executeQuery();
+            Thread.sleep(150);
+        }
+        
+        // Then
+        ConnectionHoldStatsResponse stats = profiler.getWorstOffenders(10).get(0);
+        assertThat(stats.getMethod()).isEqualTo("ConnectionHoldProfilerTest.shouldSeparateTimeInsideAndOutsideJdbc");
+        assertThat(stats.getCount()).isEqualTo(1);
+        assertThat(stats.getMaxHoldMillis()).isGreaterThanOrEqualTo(210);
+        assertThat(stats.getMaxOutsideJdbcMillis()).isBetween(150L, stats.getMaxHoldMillis() - 60);
+        assertThat(meterRegistry.get("db.connection.hold.budget.exceeded").counter().count()).isEqualTo(1);
+        verify(rawConnection).close();
+    }
+    
+    @Test
+    void shouldAttributeHoldToTransactionalMethod() throws Exception {
+        // Given - @Transactional 메서드 안에서 얻은 커넥션
+        TransactionSynchronizationManager.setCurrentTransactionName(
+            "com.example.orderservice.service.OrderService.getOrderById");
+        
+        // When
+        dataSource.getConnection().close();
+        
+        // Then
+        assertThat(profiler.getWorstOffenders(10))
+            .extracting(ConnectionHoldStatsResponse::getMethod)
+            .containsExactly("OrderService.getOrderById");
+    }
+    
+    @Test
+    void shouldFailBudgetAssertionWhenConnectionIsHeldTooLong() throws Exception {
+        // Given - 예산 안의 짧은 점유
+        dataSource.getConnection().close();
+        assertThatCode(profiler::assertWithinBudget).doesNotThrowAnyException();
+        
+        // When - 예산(100ms)을 넘는 비DB 작업
+        try (Connection ignored = dataSource.getConnection()) {
+            Thread.sleep(BUDGET_MS + 20);
+        }
+        
+        // Then
+        assertThatThrownBy(profiler::assertWithinBudget)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("shouldFailBudgetAssertionWhenConnectionIsHeldTooLong");
+        
+        profiler.reset();
+        assertThatCode(profiler::assertWithinBudget).doesNotThrowAnyException();
+    }
+    
+    @Test
+    void shouldReturnDataSourceUnchangedWhenDisabled() {
+        DataSource pool = mock(DataSource.class);
+        
+        assertThat(new ConnectionHoldProfiler(APP_PACKAGE, meterRegistry, false, BUDGET_MS).wrap(pool)).isSameAs(pool);
+    }
+}
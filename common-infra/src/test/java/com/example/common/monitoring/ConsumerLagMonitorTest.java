@@ -0,0 +1,135 @@
+package com.example.common.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+/**
+ * 컨슈머 그룹 Lag 메트릭 단위 테스트 (AdminClient는 목)
+ * - lag = 끝 오프셋 - 커밋 오프셋, 커밋 이력이 없는 파티션은 earliest 기준인지 검증
+ * - 브로커 조회가 실패하면 마지막으로 계산한 값을 유지하는지 검증
+ */
+class ConsumerLagMonitorTest {
+    
+    private static final String GROUP = "order-service-group";
+    private static final String TOPIC = "payment-events";
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdminClient admin = mock(AdminClient.class);
+    private final Map<Integer, Long> latestOffsets = new HashMap<>();
+    private final Map<Integer, Long> earliestOffsets = new HashMap<>();
+    private final Map<TopicPartition, OffsetAndMetadata> committedOffsets = new HashMap<>();
+    
+    private MockedStatic<AdminClient> adminFactory;
+    private ConsumerLagMonitor monitor;
+    
+    @BeforeEach
+    void setUp() {
+        adminFactory = mockStatic(AdminClient.class);
+        adminFactory.when(() -> AdminClient.create(anyMap())).thenReturn(admin);
+        KafkaAdmin kafkaAdmin = mock(KafkaAdmin.class);
+        when(kafkaAdmin.getConfigurationProperties()).thenReturn(Map.of());
+        monitor = new ConsumerLagMonitor(kafkaAdmin, meterRegistry, GROUP, TOPIC);
+        
+        // 파티션 3개 - 0, 1은 커밋 이력 있음, 2는 아직 한 번도 커밋하지 않음
+        TopicDescription description = new TopicDescription(TOPIC, false, List.of(
+            new TopicPartitionInfo(0, null, List.of(), List.of()),
+            new TopicPartitionInfo(1, null, List.of(), List.of()),
+            new TopicPartitionInfo(2, null, List.of(), List.of())));
+        DescribeTopicsResult describeResult = mock(DescribeTopicsResult.class);
+        when(describeResult.allTopicNames()).thenReturn(KafkaFuture.completedFuture(Map.of(TOPIC, description)));
+        when(admin.describeTopics(anyCollection())).thenReturn(describeResult);
+        
+        ListConsumerGroupOffsetsResult offsetsResult = mock(ListConsumerGroupOffsetsResult.class);
+        when(offsetsResult.partitionsToOffsetAndMetadata())
+            .thenAnswer(invocation -> KafkaFuture.completedFuture(new HashMap<>(committedOffsets)));
+        when(admin.listConsumerGroupOffsets(GROUP)).thenReturn(offsetsResult);
+        
+        when(admin.listOffsets(anyMap())).thenAnswer(invocation -> {
+            Map<TopicPartition, OffsetSpec> request = invocation.getArgument(0);
+            Map<TopicPartition, KafkaFuture<ListOffsetsResult.ListOffsetsResultInfo>> result = new HashMap<>();
+            request.forEach((tp, spec) -> {
+                long offset = spec instanceof OffsetSpec.EarliestSpec
+                    ? earliestOffsets.get(tp.partition())
+                    : latestOffsets.get(tp.partition());
+                result.put(tp, KafkaFuture.completedFuture(
+                    new ListOffsetsResult.ListOffsetsResultInfo(offset, -1, Optional.empty())));
+            });
+            return new ListOffsetsResult(result);
+        });
+    }
+    
+    @AfterEach
+    void tearDown() {
+        adminFactory.close();
+    }
+    
+    @Test
+    void shouldMeasureLagFromCommittedOffsetOrEarliestWhenNeverCommitted() {
+        // Given
+        latestOffsets.putAll(Map.of(0, 100L, 1, 50L, 2, 30L));
+        earliestOffsets.put(2, 10L);
+        committedOffsets.put(new TopicPartition(TOPIC, 0), new OffsetAndMetadata(40));
+        committedOffsets.put(new TopicPartition(TOPIC, 1), new OffsetAndMetadata(50));
+        
+        // When
+        monitor.refresh();
+        
+        // Then - 60 + 0 + (30 - 10)
+        assertThat(monitor.getTotalLag()).isEqualTo(80);
+        assertThat(partitionLag(0)).isEqualTo(60.0);
+        assertThat(partitionLag(1)).isZero();
+        assertThat(partitionLag(2)).isEqualTo(20.0);
+        assertThat(meterRegistry.get("kafka.consumer.group.lag.total")
+            .tags("group", GROUP, "topic", TOPIC).gauge().value()).isEqualTo(80.0);
+    }
+    
+    @Test
+    void shouldKeepLastLagWhenBrokerQueryFails() {
+        // Given
+        latestOffsets.putAll(Map.of(0, 100L, 1, 50L, 2, 30L));
+        earliestOffsets.put(2, 10L);
+        committedOffsets.put(new TopicPartition(TOPIC, 0), new OffsetAndMetadata(40));
+        committedOffsets.put(new TopicPartition(TOPIC, 1), new OffsetAndMetadata(50));
+        monitor.refresh();
+        
+        // When - 브로커 응답 실패
+        when(admin.listConsumerGroupOffsets(GROUP)).thenThrow(new IllegalStateException("broker unavailable"));
+        monitor.refresh();
+        
+        // Then
+        assertThat(monitor.getTotalLag()).isEqualTo(80);
+        assertThat(partitionLag(0)).isEqualTo(60.0);
+    }
+    
+    private double partitionLag(int partition) {
+        return meterRegistry.get("kafka.consumer.group.lag")
+            .tags("group", GROUP, "topic", TOPIC, "partition", String.valueOf(partition))
+            .gauge().value();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.common.orderstate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * order-state 토픽 재생 단위 테스트 (MockConsumer, 브로커 없이)
+ * - 여러 컨슈머가 파티션을 나눠 끝 오프셋까지 읽음, tombstone/잘못된 레코드는 건너뜀
+ * - 끝 오프셋에 도달하지 못하면 시간 초과
+ */
+class OrderStateReplayerTest {
+    
+    private static final String TOPIC = "order-state";
+    private static final int PARTITIONS = 3;
+    
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final Map<TopicPartition, List<ConsumerRecord<String, String>>> log = new HashMap<>();
+    private final Map<TopicPartition, Long> endOffsetOverrides = new HashMap<>();
+    private final Set<Thread> consumerThreads = ConcurrentHashMap.newKeySet();
+    
+    @Test
+    void shouldReplayAllPartitionsInParallelKeepingHighestVersion() throws Exception {
+        // Given - 파티션마다 주문 10건, 일부는 compaction 전이라 이전 상태가 함께 남아 있음
+        for (int i = 0; i < 30; i++) {
+            String orderNumber = "ORD-" + i;
+            append(i % PARTITIONS, orderNumber, json(orderNumber, "PENDING", 1));
+            if (i % 2 == 0) {
+                append(i % PARTITIONS, orderNumber, json(orderNumber, "COMPLETED", 3));
+            }
+        }
+        append(0, "ORD-DELETED", null);
+        append(1, "ORD-BROKEN", "not json");
+        
+        // When - 컨슈머 2개
+        Map<String, OrderState> states = new ConcurrentHashMap<>();
+        OrderStateReplayer.ReplayResult result = replayer(2, Duration.ofSeconds(10))
+            .replay(state -> states.merge(state.getOrderNumber(), state, OrderState::newer));
+        
+        // Then
+        assertThat(result.partitions()).isEqualTo(PARTITIONS);
+        assertThat(result.records()).isEqualTo(45);
+        assertThat(states).hasSize(30);
+        IntStream.range(0, 30).forEach(i -> assertThat(states.get("ORD-" + i).getStatus())
+            .isEqualTo(i % 2 == 0 ? "COMPLETED" : "PENDING"));
+        assertThat(consumerThreads).hasSize(2);
+    }
+    
+    @Test
+    void shouldFailWhenEndOffsetIsNotReachedInTime() {
+        // Given - 끝 오프셋이 실제 레코드보다 뒤에 있음 (브로커가 응답하지 않는 상황)
+        append(0, "ORD-1", json("ORD-1", "PENDING", 1));
+        endOffsetOverrides.put(new TopicPartition(TOPIC, 0), 100L);
+        
+        // When & Then
+        assertThatThrownBy(() -> replayer(1, Duration.ofMillis(300)).replay(state -> { }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Failed to replay")
+            .hasRootCauseMessage("Timed out replaying order-state after PT0.3S, partitions left: [order-state-0]");
+    }
+    
+    private OrderStateReplayer replayer(int threads, Duration timeout) {
+        Supplier<Consumer<String, String>> factory = this::consumer;
+        return new OrderStateReplayer(TOPIC, factory, objectMapper, threads, timeout);
+    }
+    
+    /**
+     * 할당받은 파티션의 레코드와 오프셋 범위를 채우는 MockConsumer
+     */
+    private MockConsumer<String, String> consumer() {
+        MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+            @Override
+            public synchronized void assign(Collection<TopicPartition> partitions) {
+                super.assign(partitions);
+                consumerThreads.add(Thread.currentThread());
+                Map<TopicPartition, Long> beginning = new HashMap<>();
+                Map<TopicPartition, Long> end = new HashMap<>();
+                for (TopicPartition partition : partitions) {
+                    List<ConsumerRecord<String, String>> records = log.getOrDefault(partition, List.of());
+                    beginning.put(partition, 0L);
+                    end.put(partition, endOffsetOverrides.getOrDefault(partition, (long) records.size()));
+                    records.forEach(this::addRecord);
+                }
+                updateBeginningOffsets(beginning);
+                updateEndOffsets(end);
+            }
+        };
+        List<PartitionInfo> partitions = IntStream.range(0, PARTITIONS)
+            .mapToObj(partition -> new PartitionInfo(TOPIC, partition, null, null, null))
+            .toList();
+        consumer.updatePartitions(TOPIC, partitions);
+        return consumer;
+    }
+    
+    private void append(int partition, String key, String value) {
+        List<ConsumerRecord<String, String>> records =
+            log.computeIfAbsent(new TopicPartition(TOPIC, partition), tp -> new ArrayList<>());
+        records.add(new ConsumerRecord<>(TOPIC, partition, records.size(), key, value));
+    }
+    
+    private String json(String orderNumber, String status, long version) {
+        try {
+            return objectMapper.writeValueAsString(
+                OrderState.builder().orderNumber(orderNumber).status(status).version(version).build());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
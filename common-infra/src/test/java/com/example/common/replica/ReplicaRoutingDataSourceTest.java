@@ -0,0 +1,169 @@
+package com.example.common.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * primary/replica 라우팅 테스트 (primary와 replica마다 별도 H2 인메모리 DB)
+ */
+class ReplicaRoutingDataSourceTest {
+    
+    // 각 DB의 replica_lag 테이블 값을 지연으로 사용
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private DataSource primary;
+    private DataSource replica0;
+    private DataSource replica1;
+    private ReplicaRoutingDataSource routing;
+    
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        primary = database(run, "primary");
+        replica0 = database(run, "replica-0");
+        replica1 = database(run, "replica-1");
+        routing = new ReplicaRoutingDataSource("db-0", primary, List.of(
+            new ReplicaRoutingDataSource.Replica("db-0-replica-0", replica0),
+            new ReplicaRoutingDataSource.Replica("db-0-replica-1", replica1)), 1.0, meterRegistry);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContext.clear();
+    }
+    
+    @Test
+    void shouldRouteWritesToPrimary() {
+        routing.refreshReplicaLag(LAG_QUERY);
+        
+        assertThat(routing.determineTarget()).isSameAs(primary);
+        assertThat(routedCount("primary", "write")).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldSpreadReadOnlyTransactionsOverReplicas() {
+        // Given
+        routing.refreshReplicaLag(LAG_QUERY);
+        
+        // When
+        long toReplica0 = 0;
+        for (int i = 0; i < 200; i++) {
+            DataSource target = readOnly(routing::determineTarget);
+            assertThat(target).isIn(replica0, replica1);
+            if (target == replica0) {
+                toReplica0++;
+            }
+        }
+        
+        // Then
+        assertThat(toReplica0).isBetween(50L, 150L);
+        assertThat(routedCount("replica", "read")).isEqualTo(200);
+    }
+    
+    @Test
+    void shouldSkipReplicasLaggingBeyondTheLimit() {
+        // Given
+        setLag(replica0, 5.0);
+        routing.refreshReplicaLag(LAG_QUERY);
+        
+        // Then
+        for (int i = 0; i < 20; i++) {
+            assertThat(readOnly(routing::determineTarget)).isSameAs(replica1);
+        }
+    }
+    
+    @Test
+    void shouldFallBackToPrimaryWhenEveryReplicaLagsOrIsUnchecked() {
+        // Given - 지연 확인 전
+        assertThat(readOnly(routing::determineTarget)).isSameAs(primary);
+        
+        // Given - 모든 replica가 허용 지연 초과
+        setLag(replica0, 5.0);
+        setLag(replica1, 2.0);
+        routing.refreshReplicaLag(LAG_QUERY);
+        
+        // Then
+        assertThat(readOnly(routing::determineTarget)).isSameAs(primary);
+        assertThat(routedCount("primary", "replica_lag")).isEqualTo(2);
+    }
+    
+    @Test
+    void shouldTreatUnreachableReplicaAsInfinitelyLagging() {
+        // Given - replica-0에는 lag 쿼리가 실패하도록 테이블 제거
+        new JdbcTemplate(replica0).execute("DROP TABLE replica_lag");
+        routing.refreshReplicaLag(LAG_QUERY);
+        
+        // Then
+        assertThat(routing.getReplicas().get(0).getLagSeconds()).isInfinite();
+        assertThat(readOnly(routing::determineTarget)).isSameAs(replica1);
+    }
+    
+    @Test
+    void shouldReadFromPrimaryWithinReadYourWritesWindow() {
+        // Given
+        routing.refreshReplicaLag(LAG_QUERY);
+        
+        // When
+        DataSource target = ReadYourWritesContext.callWith(true, () -> readOnly(routing::determineTarget));
+        
+        // Then
+        assertThat(target).isSameAs(primary);
+        assertThat(routedCount("primary", "read_your_writes")).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldExpireReadYourWritesWindow() throws InterruptedException {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(50);
+        tracker.recordWrite("client-a");
+        
+        assertThat(tracker.isWithinWindow("client-a")).isTrue();
+        assertThat(tracker.isWithinWindow("client-b")).isFalse();
+        
+        Thread.sleep(60);
+        tracker.evictExpired();
+        
+        assertThat(tracker.isWithinWindow("client-a")).isFalse();
+        assertThat(tracker.trackedClients()).isZero();
+    }
+    
+    private static <T> T readOnly(Supplier<T> action) {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return action.get();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+    
+    private double routedCount(String target, String reason) {
+        return meterRegistry.get("db.routing.connections").tag("target", target).tag("reason", reason)
+            .counter().count();
+    }
+    
+    private static DataSource database(String run, String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:replica-" + run + "-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION NOT NULL)");
+        jdbc.update("INSERT INTO replica_lag VALUES (0)");
+        return dataSource;
+    }
+    
+    private static void setLag(DataSource replica, double seconds) {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = ?", seconds);
+    }
+}
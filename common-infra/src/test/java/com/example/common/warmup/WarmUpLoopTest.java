@@ -0,0 +1,63 @@
+package com.example.common.warmup;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 워밍업 반복 단위 테스트
+ * - 전/후 지연 구간, 시간 예산 초과 시 중단, 반복 중 예외 전파
+ */
+class WarmUpLoopTest {
+    
+    @Test
+    void shouldCompareFirstAndLastWindows() throws Exception {
+        // Given - 처음 10회는 느리고(인터프리터 구간 흉내) 이후는 빠른 반복
+        WarmUpLoop.IterationAction iteration = i -> {
+            if (i < 10) {
+                Thread.sleep(5);
+            }
+        };
+        
+        // When
+        WarmUpLoop.Result result = WarmUpLoop.run(iteration, 100, Duration.ofSeconds(30), 10);
+        
+        // Then
+        assertThat(result.iterations()).isEqualTo(100);
+        assertThat(result.budgetExpired()).isFalse();
+        assertThat(result.firstMicros()).isGreaterThanOrEqualTo(5_000);
+        assertThat(result.before().avgMicros()).isGreaterThanOrEqualTo(5_000);
+        assertThat(result.before().p99Micros()).isGreaterThanOrEqualTo(5_000);
+        assertThat(result.after().avgMicros()).isLessThan(result.before().avgMicros());
+        assertThat(result.toDetails())
+            .containsEntry("iterations", 100)
+            .containsEntry("budgetExpired", false)
+            .containsKeys("beforeAvgMicros", "afterAvgMicros", "beforeP99Micros", "afterP99Micros");
+    }
+    
+    @Test
+    void shouldStopWhenTimeBudgetExpires() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        
+        WarmUpLoop.Result result = WarmUpLoop.run(i -> {
+            calls.incrementAndGet();
+            Thread.sleep(20);
+        }, 1_000, Duration.ofMillis(100), 10);
+        
+        assertThat(result.budgetExpired()).isTrue();
+        assertThat(result.iterations()).isEqualTo(calls.get()).isLessThan(1_000);
+    }
+    
+    @Test
+    void shouldPropagateIterationFailure() {
+        assertThatThrownBy(() -> WarmUpLoop.run(i -> {
+            throw new IllegalStateException("db down");
+        }, 10, Duration.ofSeconds(1), 5))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("db down");
+    }
+}
@@ -12,6 +12,8 @@ CREATE TABLE IF NOT EXISTS orders (
     customer_name VARCHAR(255) NOT NULL,
     customer_email VARCHAR(255) NOT NULL,
     status VARCHAR(50) NOT NULL,
+    -- 상태 전이 조건부 UPDATE의 낙관적 잠금 버전 (OrderTransitionService)
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -27,13 +29,42 @@ CREATE TABLE IF NOT EXISTS outbox_events (
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     published_at TIMESTAMP,
     error_message TEXT,
-    retry_count INTEGER NOT NULL DEFAULT 0
+    retry_count INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 재시도를 소진한 Outbox 이벤트 (Relay 조회 대상에서 제외, 운영 API로 재처리)
+CREATE TABLE IF NOT EXISTS parked_outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_id VARCHAR(255) NOT NULL UNIQUE,
+    aggregate_type VARCHAR(100) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    retry_count INTEGER NOT NULL,
+    error_message TEXT,
+    parked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 주문 생성 Idempotency-Key → 처음 응답 (주문과 같은 트랜잭션에 기록, 만료일 단위로 삭제)
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id BIGSERIAL PRIMARY KEY,
+    key_hash VARCHAR(64) NOT NULL UNIQUE,
+    request_hash VARCHAR(64) NOT NULL,
+    order_number VARCHAR(255) NOT NULL,
+    response_body TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    expires_on DATE NOT NULL
 );
 
 -- 인덱스 생성
 CREATE INDEX IF NOT EXISTS idx_orders_status ON orders(status);
 CREATE INDEX IF NOT EXISTS idx_orders_created_at ON orders(created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_expires_on ON idempotency_keys(expires_on);
 CREATE INDEX IF NOT EXISTS idx_outbox_published_created ON outbox_events(published, created_at) WHERE published = false;
+-- Relay는 발행 시각이 된 행만 조회 (백오프 중인 행은 범위 밖)
+CREATE INDEX IF NOT EXISTS idx_outbox_next_attempt ON outbox_events(next_attempt_at) WHERE published = false;
 
 -- 샘플 데이터 (선택사항)
 -- INSERT INTO orders (order_number, product_name, quantity, price, total_amount, customer_name, customer_email, status)
@@ -0,0 +1,25 @@
+package com.example.orderservice.analytics;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 윈도우 하나의 사가 완료 지연 (건수/합계/최대)
+ */
+@Data
+@NoArgsConstructor
+public class LatencyStats {
+    
+    private long count;
+    private long sumMillis;
+    private long maxMillis;
+    
+    LatencyStats record(long latencyMillis) {
+        if (latencyMillis >= 0) {
+            count++;
+            sumMillis += latencyMillis;
+            maxMillis = Math.max(maxMillis, latencyMillis);
+        }
+        return this;
+    }
+}
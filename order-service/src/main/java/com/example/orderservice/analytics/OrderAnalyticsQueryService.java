@@ -0,0 +1,224 @@
+package com.example.orderservice.analytics;
+
+import com.example.orderservice.dto.PaymentFailureRateResponse;
+import com.example.orderservice.dto.ProductRevenueResponse;
+import com.example.orderservice.dto.SagaLatencyResponse;
+import com.example.orderservice.dto.WindowCountResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static com.example.orderservice.analytics.OrderAnalyticsTopology.*;
+
+/**
+ * 스트리밍 집계 조회 (Interactive Queries)
+ * 
+ * 집계는 모두 키 "all" 하나에 있으므로 조회는 윈도우 저장소에서 키 하나의 윈도우 몇 개만 읽음
+ * (주문/결제 건수와 무관하게 요청한 분 수에만 비례).
+ * 
+ * 인스턴스가 여러 대이면 "all" 키를 담당하는 태스크는 한 인스턴스에만 있음
+ * → 담당 인스턴스(application.server)가 다르면 그쪽으로 요청을 전달 (local=true로 재전달 방지).
+ * 리밸런싱/복원 중이라 저장소를 읽을 수 없으면 빈 값 (컨트롤러에서 503).
+ */
+@Slf4j
+@Service
+public class OrderAnalyticsQueryService {
+    
+    public static final int MAX_MINUTES = (int) RETENTION.toMinutes();
+    
+    private static final int FORWARD_CONNECT_TIMEOUT_MS = 1000;
+    private static final int FORWARD_READ_TIMEOUT_MS = 3000;
+    
+    private final StreamsBuilderFactoryBean streamsBuilderFactoryBean;
+    private final HostInfo self;
+    private final RestClient restClient;
+    
+    public OrderAnalyticsQueryService(
+            @Qualifier("&" + KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_BUILDER_BEAN_NAME)
+            StreamsBuilderFactoryBean streamsBuilderFactoryBean,
+            @Value("${spring.kafka.streams.properties.application.server:localhost:8080}") String applicationServer,
+            RestClient.Builder restClientBuilder) {
+        this.streamsBuilderFactoryBean = streamsBuilderFactoryBean;
+        this.self = HostInfo.buildFromEndpoint(applicationServer);
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(FORWARD_CONNECT_TIMEOUT_MS);
+        requestFactory.setReadTimeout(FORWARD_READ_TIMEOUT_MS);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+    }
+    
+    /**
+     * 최근 minutes분의 분당 주문 수 (오래된 순, 주문이 없는 분은 0)
+     */
+    public Optional<List<WindowCountResponse>> getOrdersPerMinute(int minutes, boolean localOnly) {
+        return query(ORDERS_PER_MINUTE_STORE, localOnly, "/api/analytics/orders-per-minute?minutes=" + minutes,
+            new ParameterizedTypeReference<>() {},
+            streams -> {
+                ReadOnlyWindowStore<String, Long> store = windowStore(streams, ORDERS_PER_MINUTE_STORE);
+                long size = TUMBLING_WINDOW.toMillis();
+                long to = windowStart(System.currentTimeMillis(), size);
+                long from = to - (minutes - 1) * size;
+                long[] counts = new long[minutes];
+                try (WindowStoreIterator<Long> windows =
+                         store.fetch(ALL, Instant.ofEpochMilli(from), Instant.ofEpochMilli(to))) {
+                    windows.forEachRemaining(window -> counts[(int) ((window.key - from) / size)] = window.value);
+                }
+                return IntStream.range(0, minutes)
+                    .mapToObj(i -> new WindowCountResponse(Instant.ofEpochMilli(from + i * size), counts[i]))
+                    .toList();
+            });
+    }
+    
+    /**
+     * 최근 minutes분의 상품별 매출 (1분 윈도우 합산)
+     */
+    public Optional<ProductRevenueResponse> getRevenueByProduct(int minutes, boolean localOnly) {
+        return query(REVENUE_BY_PRODUCT_STORE, localOnly, "/api/analytics/revenue-by-product?minutes=" + minutes,
+            new ParameterizedTypeReference<>() {},
+            streams -> {
+                ReadOnlyWindowStore<String, ProductRevenue> store = windowStore(streams, REVENUE_BY_PRODUCT_STORE);
+                long size = TUMBLING_WINDOW.toMillis();
+                long to = windowStart(System.currentTimeMillis(), size);
+                long from = to - (minutes - 1) * size;
+                Map<String, BigDecimal> revenue = new TreeMap<>();
+                try (WindowStoreIterator<ProductRevenue> windows =
+                         store.fetch(ALL, Instant.ofEpochMilli(from), Instant.ofEpochMilli(to))) {
+                    windows.forEachRemaining(window ->
+                        window.value.getRevenue().forEach((product, amount) -> revenue.merge(product, amount, BigDecimal::add)));
+                }
+                return ProductRevenueResponse.builder()
+                    .from(Instant.ofEpochMilli(from))
+                    .to(Instant.ofEpochMilli(to + size))
+                    .revenueByProduct(revenue)
+                    .totalRevenue(revenue.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add))
+                    .build();
+            });
+    }
+    
+    /**
+     * 현재 시각을 포함하는 최근 5분 윈도우의 결제 수단별 실패율 (실패율 높은 순)
+     */
+    public Optional<PaymentFailureRateResponse> getPaymentFailureRate(boolean localOnly) {
+        return query(PAYMENT_OUTCOMES_STORE, localOnly, "/api/analytics/payment-failure-rate",
+            new ParameterizedTypeReference<>() {},
+            streams -> {
+                long start = latestSlidingWindowStart(System.currentTimeMillis());
+                ReadOnlyWindowStore<String, PaymentOutcomes> store = windowStore(streams, PAYMENT_OUTCOMES_STORE);
+                PaymentOutcomes outcomes = Optional.ofNullable(store.fetch(ALL, start)).orElseGet(PaymentOutcomes::new);
+                List<PaymentFailureRateResponse.MethodFailureRate> methods = outcomes.getMethods().entrySet().stream()
+                    .map(entry -> PaymentFailureRateResponse.MethodFailureRate.builder()
+                        .paymentMethod(entry.getKey())
+                        .attempts(entry.getValue().getAttempts())
+                        .failures(entry.getValue().getFailures())
+                        .failureRate((double) entry.getValue().getFailures() / entry.getValue().getAttempts())
+                        .build())
+                    .sorted(Comparator.comparingDouble(PaymentFailureRateResponse.MethodFailureRate::getFailureRate)
+                        .reversed())
+                    .toList();
+                return PaymentFailureRateResponse.builder()
+                    .windowStart(Instant.ofEpochMilli(start))
+                    .windowEnd(Instant.ofEpochMilli(start + SLIDING_WINDOW.toMillis()))
+                    .methods(methods)
+                    .build();
+            });
+    }
+    
+    /**
+     * 현재 시각을 포함하는 최근 5분 윈도우의 사가 완료 지연
+     */
+    public Optional<SagaLatencyResponse> getSagaLatency(boolean localOnly) {
+        return query(SAGA_LATENCY_STORE, localOnly, "/api/analytics/saga-latency",
+            new ParameterizedTypeReference<>() {},
+            streams -> {
+                long start = latestSlidingWindowStart(System.currentTimeMillis());
+                ReadOnlyWindowStore<String, LatencyStats> store = windowStore(streams, SAGA_LATENCY_STORE);
+                LatencyStats stats = Optional.ofNullable(store.fetch(ALL, start)).orElseGet(LatencyStats::new);
+                return SagaLatencyResponse.builder()
+                    .windowStart(Instant.ofEpochMilli(start))
+                    .windowEnd(Instant.ofEpochMilli(start + SLIDING_WINDOW.toMillis()))
+                    .completed(stats.getCount())
+                    .avgLatencyMillis(stats.getCount() == 0 ? 0 : stats.getSumMillis() / stats.getCount())
+                    .maxLatencyMillis(stats.getMaxMillis())
+                    .build();
+            });
+    }
+    
+    private <T> Optional<T> query(String storeName, boolean localOnly, String path,
+                                  ParameterizedTypeReference<T> responseType, Function<KafkaStreams, T> localQuery) {
+        KafkaStreams streams = streamsBuilderFactoryBean.getKafkaStreams();
+        if (streams == null) {
+            return Optional.empty();
+        }
+        try {
+            if (!localOnly) {
+                KeyQueryMetadata metadata = streams.queryMetadataForKey(storeName, ALL, Serdes.String().serializer());
+                if (metadata == null || KeyQueryMetadata.NOT_AVAILABLE.equals(metadata)) {
+                    return Optional.empty();
+                }
+                if (!self.equals(metadata.activeHost())) {
+                    return forward(metadata.activeHost(), path, responseType);
+                }
+            }
+            return Optional.of(localQuery.apply(streams));
+        } catch (InvalidStateStoreException e) {
+            log.debug("Analytics store {} not queryable: {}", storeName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    private <T> Optional<T> forward(HostInfo owner, String path, ParameterizedTypeReference<T> responseType) {
+        try {
+            return Optional.ofNullable(restClient.get()
+                .uri(UriComponentsBuilder.fromUriString("http://" + owner.host() + ":" + owner.port() + path)
+                    .queryParam("local", true)
+                    .build()
+                    .toUri())
+                .retrieve()
+                .body(responseType));
+        } catch (RestClientException e) {
+            log.warn("Failed to forward analytics query to {}: {}", owner, e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    private static <V> ReadOnlyWindowStore<String, V> windowStore(KafkaStreams streams, String storeName) {
+        return streams.store(StoreQueryParameters.fromNameAndType(storeName, QueryableStoreTypes.windowStore()));
+    }
+    
+    private static long windowStart(long timestamp, long size) {
+        return timestamp - timestamp % size;
+    }
+    
+    /**
+     * now를 포함하는 슬라이딩 윈도우 중 가장 먼저 시작한 것 = 최근 5분 전체를 덮는 윈도우
+     */
+    static long latestSlidingWindowStart(long now) {
+        return windowStart(now, SLIDING_ADVANCE.toMillis()) - SLIDING_WINDOW.toMillis() + SLIDING_ADVANCE.toMillis();
+    }
+}
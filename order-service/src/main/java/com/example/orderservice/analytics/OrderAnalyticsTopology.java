@@ -0,0 +1,179 @@
+package com.example.orderservice.analytics;
+
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.PaymentEventConsumer;
+import com.example.orderservice.event.PaymentEventDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.JoinWindows;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.StreamJoined;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 주문/결제 이벤트 스트리밍 집계 (Kafka Streams)
+ * 
+ * 대시보드 통계를 위해 전체 주문/결제 목록을 받아 계산하던 것을 대체:
+ * 이벤트가 도착할 때마다 윈도우 집계를 갱신하고, 조회는 상태 저장소에서 윈도우 몇 개만 읽음.
+ * 
+ * 집계 (모두 키 "all" 하나로 모음 → 한 태스크가 담당하고 조회도 키 하나만 찾음):
+ * - orders-per-minute: ORDER_CREATED 수, 1분 텀블링 윈도우
+ * - revenue-by-product: 결제 완료된 주문의 상품별 매출, 1분 텀블링 윈도우
+ * - payment-outcomes: 결제 수단별 시도/실패 수, 5분 슬라이딩 윈도우 (1분 간격 hopping)
+ * - saga-latency: 주문 생성 → 결제 결과까지 걸린 시간, 5분 슬라이딩 윈도우
+ * 
+ * 매출과 사가 지연은 order-events ⋈ payment-events (키 = 주문 번호, 10분 조인 윈도우)로 구함
+ * → 두 토픽의 파티션 수가 같아야 함 (co-partitioning. 자동 생성 토픽은 기본 파티션 수가 같음).
+ * 
+ * 상태는 RocksDB 로컬 저장소에 증분 갱신되고 changelog 토픽으로 백업됨
+ * (commit.interval.ms마다 오프셋과 함께 체크포인트, 재시작/재배치 시 changelog에서 복원).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderAnalyticsTopology {
+    
+    /**
+     * OutboxEventRelayService가 주문 이벤트를 발행하는 토픽
+     */
+    public static final String ORDER_TOPIC = "order-events";
+    public static final String PAYMENT_TOPIC = PaymentEventConsumer.TOPIC;
+    
+    public static final String ORDERS_PER_MINUTE_STORE = "orders-per-minute";
+    public static final String REVENUE_BY_PRODUCT_STORE = "revenue-by-product";
+    public static final String PAYMENT_OUTCOMES_STORE = "payment-outcomes";
+    public static final String SAGA_LATENCY_STORE = "saga-latency";
+    
+    /**
+     * 모든 집계가 모이는 단일 키
+     */
+    public static final String ALL = "all";
+    
+    static final String ORDER_CREATED = "ORDER_CREATED";
+    static final String PAYMENT_COMPLETED = "PAYMENT_COMPLETED";
+    static final String PAYMENT_FAILED = "PAYMENT_FAILED";
+    
+    public static final Duration TUMBLING_WINDOW = Duration.ofMinutes(1);
+    public static final Duration SLIDING_WINDOW = Duration.ofMinutes(5);
+    public static final Duration SLIDING_ADVANCE = Duration.ofMinutes(1);
+    static final Duration JOIN_WINDOW = Duration.ofMinutes(10);
+    /**
+     * 늦게 도착한 이벤트를 반영하는 유예 시간
+     */
+    static final Duration GRACE = Duration.ofSeconds(30);
+    /**
+     * 윈도우 저장소 보존 기간 (조회 가능한 최대 과거 범위)
+     */
+    public static final Duration RETENTION = Duration.ofHours(1);
+    
+    private final ObjectMapper objectMapper;
+    
+    @Autowired
+    public void buildPipeline(@Qualifier(KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_BUILDER_BEAN_NAME)
+                              StreamsBuilder builder) {
+        Serde<OrderEvent> orderSerde = json(OrderEvent.class);
+        Serde<PaymentEventDTO> paymentSerde = json(PaymentEventDTO.class);
+        Serde<SagaCompletion> completionSerde = json(SagaCompletion.class);
+        
+        KStream<String, OrderEvent> createdOrders = builder
+            .stream(ORDER_TOPIC, Consumed.with(Serdes.String(), Serdes.String()).withName("order-events-source"))
+            .mapValues(value -> parse(value, OrderEvent.class))
+            .filter((orderNumber, order) -> order != null && ORDER_CREATED.equals(order.getEventType()));
+        
+        KStream<String, PaymentEventDTO> paymentResults = builder
+            .stream(PAYMENT_TOPIC, Consumed.with(Serdes.String(), Serdes.String()).withName("payment-events-source"))
+            .mapValues(value -> parse(value, PaymentEventDTO.class))
+            .filter((orderNumber, payment) -> payment != null
+                && (PAYMENT_COMPLETED.equals(payment.getEventType()) || PAYMENT_FAILED.equals(payment.getEventType())));
+        
+        // 1. 분당 주문 수 (재파티션 토픽에는 주문 번호만 실어 보냄)
+        createdOrders
+            .map((orderNumber, order) -> KeyValue.pair(ALL, orderNumber))
+            .groupByKey(Grouped.with(ORDERS_PER_MINUTE_STORE, Serdes.String(), Serdes.String()))
+            .windowedBy(TimeWindows.ofSizeAndGrace(TUMBLING_WINDOW, GRACE))
+            .count(Materialized.<String, Long, WindowStore<Bytes, byte[]>>as(ORDERS_PER_MINUTE_STORE)
+                .withRetention(RETENTION));
+        
+        // 2. 결제 수단별 실패율
+        paymentResults
+            .map((orderNumber, payment) -> KeyValue.pair(ALL, payment))
+            .groupByKey(Grouped.with(PAYMENT_OUTCOMES_STORE, Serdes.String(), paymentSerde))
+            .windowedBy(TimeWindows.ofSizeAndGrace(SLIDING_WINDOW, GRACE).advanceBy(SLIDING_ADVANCE))
+            .aggregate(PaymentOutcomes::new,
+                (key, payment, outcomes) ->
+                    outcomes.record(payment.getPaymentMethod(), PAYMENT_FAILED.equals(payment.getEventType())),
+                Materialized.<String, PaymentOutcomes, WindowStore<Bytes, byte[]>>as(PAYMENT_OUTCOMES_STORE)
+                    .withKeySerde(Serdes.String())
+                    .withValueSerde(json(PaymentOutcomes.class))
+                    .withRetention(RETENTION));
+        
+        // 3. 주문 생성 ⋈ 결제 결과 → 사가 종료
+        KStream<String, SagaCompletion> completions = createdOrders.join(paymentResults,
+                SagaCompletion::of,
+                JoinWindows.ofTimeDifferenceAndGrace(JOIN_WINDOW, GRACE),
+                StreamJoined.with(Serdes.String(), orderSerde, paymentSerde)
+                    .withName("saga-join")
+                    .withStoreName("saga-join"))
+            .map((orderNumber, completion) -> KeyValue.pair(ALL, completion));
+        
+        // 4. 상품별 매출 (결제 완료만)
+        completions
+            .filter((key, completion) -> completion.isPaid())
+            .groupByKey(Grouped.with(REVENUE_BY_PRODUCT_STORE, Serdes.String(), completionSerde))
+            .windowedBy(TimeWindows.ofSizeAndGrace(TUMBLING_WINDOW, GRACE))
+            .aggregate(ProductRevenue::new,
+                (key, completion, revenue) -> revenue.add(completion.getProductName(), completion.getAmount()),
+                Materialized.<String, ProductRevenue, WindowStore<Bytes, byte[]>>as(REVENUE_BY_PRODUCT_STORE)
+                    .withKeySerde(Serdes.String())
+                    .withValueSerde(json(ProductRevenue.class))
+                    .withRetention(RETENTION));
+        
+        // 5. 사가 완료 지연 (성공/실패 모두)
+        completions
+            .groupByKey(Grouped.with(SAGA_LATENCY_STORE, Serdes.String(), completionSerde))
+            .windowedBy(TimeWindows.ofSizeAndGrace(SLIDING_WINDOW, GRACE).advanceBy(SLIDING_ADVANCE))
+            .aggregate(LatencyStats::new,
+                (key, completion, stats) -> stats.record(completion.getLatencyMillis()),
+                Materialized.<String, LatencyStats, WindowStore<Bytes, byte[]>>as(SAGA_LATENCY_STORE)
+                    .withKeySerde(Serdes.String())
+                    .withValueSerde(json(LatencyStats.class))
+                    .withRetention(RETENTION));
+    }
+    
+    private <T> Serde<T> json(Class<T> type) {
+        return new JsonSerde<>(type, objectMapper).noTypeInfo();
+    }
+    
+    /**
+     * 형식이 잘못된 이벤트는 건너뜀 (집계 하나 때문에 스트림 전체를 멈추지 않음)
+     */
+    private <T> T parse(String value, Class<T> type) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, type);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping malformed event for analytics ({}): {}", type.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+}
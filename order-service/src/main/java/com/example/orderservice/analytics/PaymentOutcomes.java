@@ -0,0 +1,39 @@
+package com.example.orderservice.analytics;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 윈도우 하나의 결제 수단별 시도/실패 수
+ */
+@Data
+@NoArgsConstructor
+public class PaymentOutcomes {
+    
+    /**
+     * paymentMethod가 없는 이벤트 (필드 추가 전 발행된 이벤트)
+     */
+    static final String UNKNOWN_METHOD = "UNKNOWN";
+    
+    private Map<String, Outcome> methods = new HashMap<>();
+    
+    PaymentOutcomes record(String paymentMethod, boolean failed) {
+        Outcome outcome = methods.computeIfAbsent(
+            paymentMethod != null ? paymentMethod : UNKNOWN_METHOD, method -> new Outcome());
+        outcome.attempts++;
+        if (failed) {
+            outcome.failures++;
+        }
+        return this;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    public static class Outcome {
+        private long attempts;
+        private long failures;
+    }
+}
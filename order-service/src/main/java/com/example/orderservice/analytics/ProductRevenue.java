@@ -0,0 +1,25 @@
+package com.example.orderservice.analytics;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 윈도우 하나의 상품별 매출 (결제 완료 기준)
+ */
+@Data
+@NoArgsConstructor
+public class ProductRevenue {
+    
+    private Map<String, BigDecimal> revenue = new HashMap<>();
+    
+    ProductRevenue add(String productName, BigDecimal amount) {
+        if (productName != null && amount != null) {
+            revenue.merge(productName, amount, BigDecimal::add);
+        }
+        return this;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.orderservice.analytics;
+
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.PaymentEventDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * 주문 생성 이벤트와 결제 결과 이벤트의 조인 결과 (사가 1건 종료)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SagaCompletion {
+    
+    private String productName;
+    private BigDecimal amount;
+    private boolean paid;
+    /**
+     * 주문 생성 → 결제 결과까지 걸린 시간 (이벤트 시각 기준, 알 수 없으면 -1)
+     */
+    private long latencyMillis;
+    
+    static SagaCompletion of(OrderEvent order, PaymentEventDTO payment) {
+        long latency = -1;
+        if (order.getEventTime() != null && payment.getEventTime() != null) {
+            // 두 서비스의 시계 차이로 음수가 나올 수 있음
+            latency = Math.max(0, Duration.between(order.getEventTime(), payment.getEventTime()).toMillis());
+        }
+        BigDecimal amount = payment.getAmount() != null ? payment.getAmount() : order.getTotalAmount();
+        return new SagaCompletion(order.getProductName(), amount,
+            OrderAnalyticsTopology.PAYMENT_COMPLETED.equals(payment.getEventType()), latency);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.orderservice.archive;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.entity.OutboxEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * 완료 주문 보관소 설정
+ * 
+ * 세그먼트 파일 이름: orders-00000001.seg (일련번호가 클수록 최신)
+ * 발행 완료 Outbox 이벤트는 하위 디렉터리 outbox-events/에 따로 보관 (보관 잠금 파일도 따로)
+ */
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArchiveConfig {
+    
+    @Bean
+    public ArchiveStore<Order> orderArchive(ArchiveProperties archiveProperties, MeterRegistry meterRegistry) {
+        return new ArchiveStore<>(Path.of(archiveProperties.getDirectory()), "orders", new OrderArchiveCodec(),
+            archiveProperties.getBlockRows(), archiveProperties.getRefreshIntervalMs(), meterRegistry);
+    }
+    
+    @Bean
+    public ArchiveStore<OutboxEvent> outboxArchive(ArchiveProperties archiveProperties, MeterRegistry meterRegistry) {
+        return openOutboxArchive(Path.of(archiveProperties.getDirectory()), archiveProperties.getBlockRows(),
+            archiveProperties.getRefreshIntervalMs(), meterRegistry);
+    }
+    
+    /**
+     * 애플리케이션 밖(OutboxReplayTool CLI)에서도 같은 레이아웃으로 열 수 있도록 공개
+     * 
+     * @param directory order.archive.directory (하위 outbox-events/를 염)
+     */
+    public static ArchiveStore<OutboxEvent> openOutboxArchive(Path directory, int blockRows,
+                                                             long refreshIntervalMs, MeterRegistry meterRegistry) {
+        return new ArchiveStore<>(directory.resolve("outbox-events"), "outbox-events", new OutboxEventArchiveCodec(),
+            blockRows, refreshIntervalMs, meterRegistry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.orderservice.archive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 완료 주문/발행 완료 Outbox 이벤트 보관 설정 (order.archive.*)
+ * 
+ * enabled는 주기 보관 작업만 켜고 끔. 이미 보관된 세그먼트 조회(조회 API fallback)는 항상 동작.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.archive")
+public class ArchiveProperties {
+    
+    private boolean enabled = false;
+    
+    /**
+     * 발행 완료 Outbox 이벤트 정리(매일 새벽 2시) 때 삭제 전에 세그먼트로 옮길지 여부
+     * (끄면 7일이 지난 이벤트는 그냥 삭제되어 리플레이 도구의 archive 소스로 읽을 수 없음)
+     */
+    private boolean outboxEnabled = false;
+    
+    /**
+     * 세그먼트 파일 디렉터리 (여러 인스턴스가 같이 읽으려면 공유 볼륨)
+     */
+    private String directory = "./data/archive";
+    
+    /**
+     * 생성 후 이 일수가 지난 완료/취소 주문을 보관
+     */
+    private int retentionDays = 90;
+    
+    /**
+     * 세그먼트 하나(DB 삭제 트랜잭션 하나)에 담을 최대 행 수
+     */
+    private int segmentRows = 10_000;
+    
+    /**
+     * 블록(압축/희소 인덱스 단위) 행 수: 작을수록 키 조회 시 푸는 양이 줄고 인덱스는 커짐
+     */
+    private int blockRows = 1024;
+    
+    /**
+     * 다른 인스턴스가 추가한 세그먼트를 확인하는 최소 간격
+     */
+    private long refreshIntervalMs = 1000;
+}
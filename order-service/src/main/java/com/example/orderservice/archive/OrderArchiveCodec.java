@@ -0,0 +1,91 @@
+package com.example.orderservice.archive;
+
+import com.example.common.archive.ArchiveCodec;
+import com.example.common.archive.BlockReader;
+import com.example.common.archive.ColumnWriter;
+import com.example.orderservice.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 행 ↔ 세그먼트 컬럼
+ * 
+ * ID 컬럼에는 샤드가 인코딩된 전역 ID를 저장 (보관 후에도 같은 ID로 조회되도록)
+ */
+final class OrderArchiveCodec implements ArchiveCodec<Order> {
+    
+    private static final int PRODUCT_NAME = FIRST_CODEC_COLUMN;
+    private static final int QUANTITY = FIRST_CODEC_COLUMN + 1;
+    private static final int PRICE = FIRST_CODEC_COLUMN + 2;
+    private static final int TOTAL_AMOUNT = FIRST_CODEC_COLUMN + 3;
+    private static final int CUSTOMER_NAME = FIRST_CODEC_COLUMN + 4;
+    private static final int CUSTOMER_EMAIL = FIRST_CODEC_COLUMN + 5;
+    private static final int STATUS = FIRST_CODEC_COLUMN + 6;
+    private static final int UPDATED_AT = FIRST_CODEC_COLUMN + 7;
+    
+    @Override
+    public long id(Order order) {
+        return order.getId();
+    }
+    
+    @Override
+    public String key(Order order) {
+        return order.getOrderNumber();
+    }
+    
+    @Override
+    public LocalDateTime createdAt(Order order) {
+        return order.getCreatedAt();
+    }
+    
+    @Override
+    public void encode(List<Order> orders, ColumnWriter columns) {
+        int rows = orders.size();
+        String[] productNames = new String[rows];
+        long[] quantities = new long[rows];
+        BigDecimal[] prices = new BigDecimal[rows];
+        BigDecimal[] totalAmounts = new BigDecimal[rows];
+        String[] customerNames = new String[rows];
+        String[] customerEmails = new String[rows];
+        String[] statuses = new String[rows];
+        long[] updatedAt = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            Order order = orders.get(i);
+            productNames[i] = order.getProductName();
+            quantities[i] = order.getQuantity();
+            prices[i] = order.getPrice();
+            totalAmounts[i] = order.getTotalAmount();
+            customerNames[i] = order.getCustomerName();
+            customerEmails[i] = order.getCustomerEmail();
+            statuses[i] = order.getStatus().name();
+            updatedAt[i] = ArchiveCodec.toMicros(order.getUpdatedAt());
+        }
+        columns.strings(productNames);
+        columns.longs(quantities);
+        columns.decimals(prices);
+        columns.decimals(totalAmounts);
+        columns.strings(customerNames);
+        columns.strings(customerEmails);
+        columns.strings(statuses);
+        columns.longs(updatedAt);
+    }
+    
+    @Override
+    public Order decode(BlockReader block, int row) {
+        return Order.builder()
+            .id(block.longs(ID_COLUMN)[row])
+            .orderNumber(block.strings(KEY_COLUMN)[row])
+            .createdAt(ArchiveCodec.fromMicros(block.longs(CREATED_AT_COLUMN)[row]))
+            .productName(block.strings(PRODUCT_NAME)[row])
+            .quantity((int) block.longs(QUANTITY)[row])
+            .price(block.decimals(PRICE)[row])
+            .totalAmount(block.decimals(TOTAL_AMOUNT)[row])
+            .customerName(block.strings(CUSTOMER_NAME)[row])
+            .customerEmail(block.strings(CUSTOMER_EMAIL)[row])
+            .status(Order.OrderStatus.valueOf(block.strings(STATUS)[row]))
+            .updatedAt(ArchiveCodec.fromMicros(block.longs(UPDATED_AT)[row]))
+            .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.orderservice.archive;
+
+import com.example.common.archive.ArchiveCodec;
+import com.example.common.archive.BlockReader;
+import com.example.common.archive.ColumnWriter;
+import com.example.orderservice.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 발행 완료 Outbox 이벤트 행 ↔ 세그먼트 컬럼
+ * 
+ * 리플레이에 필요한 값만 보관 (재시도 횟수, 오류 메시지 등 발행 과정의 상태는 버림).
+ * ID 컬럼에는 주문과 같이 샤드가 인코딩된 전역 ID를 저장.
+ */
+final class OutboxEventArchiveCodec implements ArchiveCodec<OutboxEvent> {
+    
+    private static final int AGGREGATE_TYPE = FIRST_CODEC_COLUMN;
+    private static final int EVENT_TYPE = FIRST_CODEC_COLUMN + 1;
+    private static final int PAYLOAD = FIRST_CODEC_COLUMN + 2;
+    private static final int PUBLISHED_AT = FIRST_CODEC_COLUMN + 3;
+    
+    @Override
+    public long id(OutboxEvent event) {
+        return event.getId();
+    }
+    
+    @Override
+    public String key(OutboxEvent event) {
+        return event.getAggregateId();
+    }
+    
+    @Override
+    public LocalDateTime createdAt(OutboxEvent event) {
+        return event.getCreatedAt();
+    }
+    
+    @Override
+    public void encode(List<OutboxEvent> events, ColumnWriter columns) {
+        int rows = events.size();
+        String[] aggregateTypes = new String[rows];
+        String[] eventTypes = new String[rows];
+        String[] payloads = new String[rows];
+        long[] publishedAt = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            OutboxEvent event = events.get(i);
+            aggregateTypes[i] = event.getAggregateType();
+            eventTypes[i] = event.getEventType();
+            payloads[i] = event.getPayload();
+            publishedAt[i] = ArchiveCodec.toMicros(event.getPublishedAt());
+        }
+        columns.strings(aggregateTypes);
+        columns.strings(eventTypes);
+        columns.strings(payloads);
+        columns.longs(publishedAt);
+    }
+    
+    @Override
+    public OutboxEvent decode(BlockReader block, int row) {
+        return OutboxEvent.builder()
+            .id(block.longs(ID_COLUMN)[row])
+            .aggregateId(block.strings(KEY_COLUMN)[row])
+            .createdAt(ArchiveCodec.fromMicros(block.longs(CREATED_AT_COLUMN)[row]))
+            .aggregateType(block.strings(AGGREGATE_TYPE)[row])
+            .eventType(block.strings(EVENT_TYPE)[row])
+            .payload(block.strings(PAYLOAD)[row])
+            .published(true)
+            .publishedAt(ArchiveCodec.fromMicros(block.longs(PUBLISHED_AT)[row]))
+            .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.orderservice.config;
+
+import com.example.common.kafka.DeadLetterRedriveService;
+import com.example.orderservice.event.EventTypeRecordFilter;
+import com.example.orderservice.event.PaymentEventConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+
+/**
+ * Kafka Consumer 설정
+ * 
+ * 컨슈머 팩토리는 Spring Boot 기본값(StringDeserializer) 사용, 여기서는 리스너별 레코드 필터만 등록.
+ * 필터는 eventType 헤더로 판단하므로 리스너가 JSON을 파싱하기 전에 처리 대상이 아닌 레코드를 버림.
+ * payment-events-dlt 재처리(DeadLetterRedriveService)도 결제 이벤트 리스너의 토픽/그룹으로 등록.
+ */
+@Configuration
+public class KafkaConsumerConfig {
+    
+    @Bean(PaymentEventConsumer.FILTER)
+    public RecordFilterStrategy<String, String> paymentEventFilter(MeterRegistry meterRegistry) {
+        return new EventTypeRecordFilter<>(PaymentEventConsumer.HANDLED_EVENT_TYPES, meterRegistry);
+    }
+    
+    @Bean
+    public DeadLetterRedriveService deadLetterRedriveService(
+            @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers, MeterRegistry meterRegistry) {
+        return new DeadLetterRedriveService(bootstrapServers, PaymentEventConsumer.GROUP_ID,
+            PaymentEventConsumer.TOPIC, meterRegistry);
+    }
+}
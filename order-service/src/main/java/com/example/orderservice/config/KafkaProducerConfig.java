@@ -19,6 +19,7 @@ import java.util.Map;
  * 두 가지 타입의 KafkaTemplate을 제공:
  * 1. KafkaTemplate<String, Object>: OrderEvent 등 객체를 JSON으로 직접 발행 (현재 미사용)
  * 2. KafkaTemplate<String, String>: OutboxEventRelayService에서 사용, JSON 문자열을 발행
+ *    (PaymentEventConsumer의 재시도/DLT 토픽 발행에도 사용)
  * 
  * 왜 String KafkaTemplate을 사용하는가:
  * - Outbox 테이블에 이미 JSON 문자열로 저장되어 있음
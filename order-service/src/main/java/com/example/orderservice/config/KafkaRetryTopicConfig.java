@@ -0,0 +1,25 @@
+package com.example.orderservice.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationSupport;
+
+import java.util.List;
+
+/**
+ * 논블로킹 재시도 토픽 공통 설정
+ * 
+ * 실패한 레코드는 @RetryableTopic이 payment-events-retry-N 토픽으로 옮기고 메인 파티션은 바로 다음 오프셋으로 진행.
+ * 재시도 토픽 컨슈머는 백오프 시각까지 해당 파티션만 pause하므로 지연이 메인 처리량에 영향을 주지 않음.
+ * 
+ * 잘못된 JSON은 몇 번을 다시 읽어도 실패하므로 재시도 없이 바로 DLT로 보냄
+ * (기본 치명 예외: DeserializationException, MessageConversionException, ClassCastException 등)
+ */
+@Configuration
+public class KafkaRetryTopicConfig extends RetryTopicConfigurationSupport {
+    
+    @Override
+    protected void manageNonBlockingFatalExceptions(List<Class<? extends Throwable>> nonBlockingFatalExceptions) {
+        nonBlockingFatalExceptions.add(JsonProcessingException.class);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.orderservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.StreamsUncaughtExceptionHandler;
+import org.springframework.boot.autoconfigure.kafka.StreamsBuilderFactoryBeanCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.streams.KafkaStreamsMicrometerListener;
+
+/**
+ * Kafka Streams 설정 (주문/결제 이벤트 윈도우 집계, OrderAnalyticsTopology)
+ * 
+ * 스트림 설정(application-id, state-dir, application.server 등)은 spring.kafka.streams에서 읽음.
+ * 아래 설정은 주문 상태 changelog 애플리케이션(OrderStateConfig)에도 같이 적용:
+ * - 처리 중 예외: 스트림 스레드를 교체해 계속 처리 (집계 하나의 오류로 인스턴스 전체 집계가 멈추지 않도록)
+ * - Kafka Streams 메트릭을 Micrometer에 등록 (kafka.stream.*)
+ */
+@Slf4j
+@Configuration
+@EnableKafkaStreams
+public class KafkaStreamsConfig {
+    
+    @Bean
+    public StreamsBuilderFactoryBeanCustomizer streamsCustomizer(MeterRegistry meterRegistry) {
+        return factoryBean -> {
+            Object applicationId = factoryBean.getStreamsConfiguration().get(StreamsConfig.APPLICATION_ID_CONFIG);
+            factoryBean.setStreamsUncaughtExceptionHandler(e -> {
+                log.error("Stream thread of {} failed, replacing thread", applicationId, e);
+                return StreamsUncaughtExceptionHandler.StreamThreadExceptionResponse.REPLACE_THREAD;
+            });
+            factoryBean.setStateListener((newState, oldState) ->
+                log.info("Streams {} state {} -> {}", applicationId, oldState, newState));
+            factoryBean.addListener(new KafkaStreamsMicrometerListener(meterRegistry));
+        };
+    }
+}
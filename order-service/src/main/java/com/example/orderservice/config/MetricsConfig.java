@@ -0,0 +1,58 @@
+package com.example.orderservice.config;
+
+import com.example.common.monitoring.ConnectionHoldProfiler;
+import com.example.common.monitoring.ConsumerLagMonitor;
+import com.example.orderservice.service.OutboxBacklogTracker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaAdmin;
+
+/**
+ * 오토스케일링용 메트릭 등록
+ * 
+ * - outbox.backlog.depth: 미발행 Outbox 이벤트 수
+ * - outbox.backlog.oldest.age: 가장 오래된 미발행 이벤트의 대기 시간 (초)
+ * 
+ * 값은 OutboxBacklogTracker의 메모리 카운터를 읽기만 하므로 scrape 시 DB 조회가 없음.
+ * 컨슈머 Lag 메트릭은 ConsumerLagMonitor(common-infra) 참고, 이 서비스 리스너의 그룹/토픽으로 여기서 등록.
+ * 
+ * 커넥션 점유 시간 프로파일러(common-infra)도 여기서 order.db.hold-profiler 설정으로 등록
+ * (db.connection.hold* 메트릭, 이 서비스 패키지의 메서드 기준으로 집계)
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public MeterBinder outboxBacklogMetrics(OutboxBacklogTracker outboxBacklogTracker) {
+        return registry -> {
+            Gauge.builder("outbox.backlog.depth", outboxBacklogTracker, OutboxBacklogTracker::getDepth)
+                .description("Unpublished outbox events")
+                .register(registry);
+            Gauge.builder("outbox.backlog.oldest.age", outboxBacklogTracker, t -> t.getOldestAgeMillis() / 1000.0)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(registry);
+        };
+    }
+    
+    @Bean
+    public ConsumerLagMonitor consumerLagMonitor(
+            KafkaAdmin kafkaAdmin,
+            MeterRegistry meterRegistry,
+            @Value("${kafka.lag-monitor.group-id:order-service-group}") String groupId,
+            @Value("${kafka.lag-monitor.topic:payment-events}") String topic) {
+        return new ConsumerLagMonitor(kafkaAdmin, meterRegistry, groupId, topic);
+    }
+    
+    @Bean
+    public ConnectionHoldProfiler connectionHoldProfiler(
+            MeterRegistry meterRegistry,
+            @Value("${order.db.hold-profiler.enabled:true}") boolean enabled,
+            @Value("${order.db.hold-profiler.budget-ms:500}") long budgetMillis) {
+        return new ConnectionHoldProfiler("com.example.orderservice.", meterRegistry, enabled, budgetMillis);
+    }
+}
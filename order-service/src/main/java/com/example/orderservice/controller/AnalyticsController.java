@@ -0,0 +1,77 @@
+package com.example.orderservice.controller;
+
+import com.example.orderservice.analytics.OrderAnalyticsQueryService;
+import com.example.orderservice.dto.PaymentFailureRateResponse;
+import com.example.orderservice.dto.ProductRevenueResponse;
+import com.example.orderservice.dto.SagaLatencyResponse;
+import com.example.orderservice.dto.WindowCountResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 주문/결제 스트리밍 집계 조회 API (OrderAnalyticsTopology)
+ * 
+ * 대시보드가 전체 목록 대신 이 API로 통계를 가져감.
+ * local=true는 다른 인스턴스가 전달한 요청 (다시 전달하지 않고 이 인스턴스의 저장소만 읽음).
+ * 집계 저장소가 준비되지 않았으면 (기동/리밸런싱/복원 중) 503 + Retry-After.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+    
+    private static final String RETRY_AFTER_SECONDS = "5";
+    
+    private final OrderAnalyticsQueryService orderAnalyticsQueryService;
+    
+    @GetMapping("/orders-per-minute")
+    public ResponseEntity<List<WindowCountResponse>> getOrdersPerMinute(
+            @RequestParam(defaultValue = "15") int minutes,
+            @RequestParam(defaultValue = "false") boolean local) {
+        log.info("GET /api/analytics/orders-per-minute - minutes={}", minutes);
+        if (minutes <= 0 || minutes > OrderAnalyticsQueryService.MAX_MINUTES) {
+            return ResponseEntity.badRequest().build();
+        }
+        return toResponse(orderAnalyticsQueryService.getOrdersPerMinute(minutes, local));
+    }
+    
+    @GetMapping("/revenue-by-product")
+    public ResponseEntity<ProductRevenueResponse> getRevenueByProduct(
+            @RequestParam(defaultValue = "60") int minutes,
+            @RequestParam(defaultValue = "false") boolean local) {
+        log.info("GET /api/analytics/revenue-by-product - minutes={}", minutes);
+        if (minutes <= 0 || minutes > OrderAnalyticsQueryService.MAX_MINUTES) {
+            return ResponseEntity.badRequest().build();
+        }
+        return toResponse(orderAnalyticsQueryService.getRevenueByProduct(minutes, local));
+    }
+    
+    @GetMapping("/payment-failure-rate")
+    public ResponseEntity<PaymentFailureRateResponse> getPaymentFailureRate(
+            @RequestParam(defaultValue = "false") boolean local) {
+        log.info("GET /api/analytics/payment-failure-rate");
+        return toResponse(orderAnalyticsQueryService.getPaymentFailureRate(local));
+    }
+    
+    @GetMapping("/saga-latency")
+    public ResponseEntity<SagaLatencyResponse> getSagaLatency(
+            @RequestParam(defaultValue = "false") boolean local) {
+        log.info("GET /api/analytics/saga-latency");
+        return toResponse(orderAnalyticsQueryService.getSagaLatency(local));
+    }
+    
+    private static <T> ResponseEntity<T> toResponse(Optional<T> result) {
+        return result.map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build());
+    }
+}
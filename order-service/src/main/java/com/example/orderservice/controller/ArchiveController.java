@@ -0,0 +1,54 @@
+package com.example.orderservice.controller;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.service.OrderArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 보관소 운영 API
+ * 
+ * 단건 조회(/api/orders/{id}, /api/orders/number/{orderNumber})는 보관소를 자동으로 찾으므로
+ * 여기서는 생성 시각 범위 조회와 수동 보관 실행만 제공
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/archive")
+@RequiredArgsConstructor
+public class ArchiveController {
+    
+    private static final int MAX_LIMIT = 10_000;
+    
+    private final ArchiveStore<Order> orderArchive;
+    private final OrderArchiveService orderArchiveService;
+    
+    @GetMapping("/orders")
+    public ResponseEntity<List<OrderResponse>> getArchivedOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("GET /api/admin/archive/orders - from={}, to={}, limit={}", from, to, limit);
+        if (limit <= 0 || limit > MAX_LIMIT || !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(orderArchive.findCreatedBetween(from, to, limit).stream()
+            .map(OrderResponse::fromEntity)
+            .collect(Collectors.toList()));
+    }
+    
+    @PostMapping("/orders/run")
+    public ResponseEntity<Map<String, Object>> archiveOrders() {
+        log.info("POST /api/admin/archive/orders/run");
+        return ResponseEntity.ok(Map.of("archived", orderArchiveService.archiveFinalizedOrders()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.orderservice.controller;
+
+import com.example.common.monitoring.ConnectionHoldProfiler;
+import com.example.common.monitoring.ConnectionHoldStatsResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 커넥션 점유 시간 운영 API
+ * 
+ * 트랜잭션 안에서 커넥션을 오래 쥐고 있는 메서드를 JDBC 밖 시간이 큰 순서로 조회
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/db")
+@RequiredArgsConstructor
+public class ConnectionHoldController {
+    
+    private static final int MAX_LIMIT = 100;
+    
+    private final ConnectionHoldProfiler connectionHoldProfiler;
+    
+    @GetMapping("/connection-holds")
+    public ResponseEntity<List<ConnectionHoldStatsResponse>> getWorstOffenders(
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("GET /api/admin/db/connection-holds - limit={}", limit);
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(connectionHoldProfiler.getWorstOffenders(limit));
+    }
+    
+    @PostMapping("/connection-holds/reset")
+    public ResponseEntity<Void> reset() {
+        log.info("POST /api/admin/db/connection-holds/reset");
+        connectionHoldProfiler.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,15 +2,24 @@ package com.example.orderservice.controller;
 
 import com.example.orderservice.dto.OrderRequest;
 import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.dto.OrderStatusResponse;
+import com.example.orderservice.idempotency.IdempotencyKeyReuseException;
+import com.example.orderservice.idempotency.IdempotencyService;
+import com.example.orderservice.service.CustomerRateLimiter;
+import com.example.orderservice.service.FairIntakeScheduler;
+import com.example.orderservice.service.OrderAdmissionControl;
 import com.example.orderservice.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -20,12 +29,75 @@ import java.util.List;
 public class OrderController {
     
     private final OrderService orderService;
+    private final OrderAdmissionControl orderAdmissionControl;
+    private final CustomerRateLimiter customerRateLimiter;
+    private final FairIntakeScheduler fairIntakeScheduler;
+    private final IdempotencyService idempotencyService;
     
+    /**
+     * 주문 생성
+     * 
+     * Idempotency-Key 헤더가 있으면 같은 고객의 같은 키 재시도에 처음 응답을 그대로 돌려줌
+     * (Idempotent-Replayed: true, 새 주문/결제 없음). 같은 키에 다른 내용이면 422
+     */
     @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody OrderRequest request) {
+    public ResponseEntity<?> createOrder(
+            @Valid @RequestBody OrderRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey)
+            throws InterruptedException {
         log.info("POST /api/orders - Create order request: {}", request);
-        OrderResponse response = orderService.createOrder(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        boolean idempotent = idempotencyKey != null && idempotencyService.isEnabled();
+        if (idempotent && !idempotencyService.isValidKey(idempotencyKey)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid " + IdempotencyService.HEADER));
+        }
+        try {
+            // 이미 응답한 키의 재시도는 접수 제어/속도 제한을 거치지 않고 메모리에서 바로 응답
+            if (idempotent) {
+                Optional<IdempotencyService.Result> cached = idempotencyService.findCached(idempotencyKey, request);
+                if (cached.isPresent()) {
+                    return created(cached.get());
+                }
+            }
+            
+            // Outbox 백로그가 밀려 있으면 새 주문을 일부/전부 거절 (429 + Retry-After)
+            if (!orderAdmissionControl.tryAdmit()) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(orderAdmissionControl.getRetryAfterSeconds()))
+                    .build();
+            }
+            
+            // 고객별 속도 제한 (한 고객이 DB 커넥션/Outbox 슬롯을 독점하지 못하도록)
+            long waitMillis = customerRateLimiter.tryAcquire(request.getCustomerEmail());
+            if (waitMillis > 0) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf((waitMillis + 999) / 1000))
+                    .build();
+            }
+            
+            // 포화 시 고객별 가중 공정 큐잉
+            if (!fairIntakeScheduler.acquire(request.getCustomerEmail())) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(orderAdmissionControl.getRetryAfterSeconds()))
+                    .build();
+            }
+            try {
+                if (idempotent) {
+                    return created(idempotencyService.execute(idempotencyKey, request));
+                }
+                OrderResponse response = orderService.createOrder(request);
+                return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            } finally {
+                fairIntakeScheduler.release();
+            }
+        } catch (IdempotencyKeyReuseException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    private static ResponseEntity<OrderResponse> created(IdempotencyService.Result result) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+            .body(result.response());
     }
     
     @GetMapping
@@ -48,4 +120,12 @@ public class OrderController {
         OrderResponse order = orderService.getOrderByNumber(orderNumber);
         return ResponseEntity.ok(order);
     }
+    
+    /**
+     * 상태 폴링용 경량 조회 (메모리 상태 인덱스. 호출량이 가장 많아 요청 로그를 남기지 않음)
+     */
+    @GetMapping("/number/{orderNumber}/status")
+    public ResponseEntity<OrderStatusResponse> getOrderStatus(@PathVariable String orderNumber) {
+        return ResponseEntity.ok(orderService.getOrderStatus(orderNumber));
+    }
 }
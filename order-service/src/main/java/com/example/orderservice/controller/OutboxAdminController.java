@@ -0,0 +1,138 @@
+package com.example.orderservice.controller;
+
+import com.example.orderservice.dto.CoalescedOutboxEventResponse;
+import com.example.orderservice.dto.OutboxReplayRequest;
+import com.example.orderservice.dto.OutboxReplayStatusResponse;
+import com.example.orderservice.dto.ParkedOutboxEventResponse;
+import com.example.orderservice.replay.OutboxReplayService;
+import com.example.orderservice.replay.ReplayCheckpoint;
+import com.example.orderservice.service.OutboxCoalescer;
+import com.example.orderservice.service.OutboxParkingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outbox 운영 API
+ * 
+ * 재시도를 소진해 parked_outbox_events로 옮겨진 이벤트를 조회하고 outbox_events로 되돌림
+ * 백로그 병합으로 발행하지 않고 건너뛴 이벤트 조회 (감사용)
+ * 발행 완료 이벤트 리플레이 (복구/백필, 백그라운드 실행 + 체크포인트로 이어 하기, OutboxReplayService)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/outbox")
+@RequiredArgsConstructor
+public class OutboxAdminController {
+    
+    private static final int MAX_LIMIT = 10_000;
+    
+    private final OutboxParkingService outboxParkingService;
+    private final OutboxCoalescer outboxCoalescer;
+    private final OutboxReplayService outboxReplayService;
+    
+    @GetMapping("/parked")
+    public ResponseEntity<List<ParkedOutboxEventResponse>> getParkedEvents(@RequestParam(defaultValue = "100") int limit) {
+        log.info("GET /api/admin/outbox/parked - limit={}", limit);
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(outboxParkingService.findParked(limit));
+    }
+    
+    @PostMapping("/parked/redrive")
+    public ResponseEntity<Map<String, Object>> redriveParkedEvents(@RequestParam(defaultValue = "1000") int limit) {
+        log.info("POST /api/admin/outbox/parked/redrive - limit={}", limit);
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "limit must be between 1 and " + MAX_LIMIT));
+        }
+        return ResponseEntity.ok(Map.of("redriven", outboxParkingService.redrive(limit)));
+    }
+    
+    @PostMapping("/parked/{id}/redrive")
+    public ResponseEntity<Void> redriveParkedEvent(@PathVariable Long id) {
+        log.info("POST /api/admin/outbox/parked/{}/redrive", id);
+        return outboxParkingService.redrive(id)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+    
+    @GetMapping("/coalesced")
+    public ResponseEntity<List<CoalescedOutboxEventResponse>> getCoalescedEvents(
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("GET /api/admin/outbox/coalesced - limit={}", limit);
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(outboxCoalescer.findCoalesced(limit));
+    }
+    
+    @PostMapping("/replay")
+    public ResponseEntity<?> startReplay(@Valid @RequestBody OutboxReplayRequest request) throws IOException {
+        log.info("POST /api/admin/outbox/replay - {}", request);
+        try {
+            return ResponseEntity.accepted().body(OutboxReplayStatusResponse.from(
+                outboxReplayService.start(request.toReplayRequest(outboxReplayService.defaultRatePerSecond()))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/replay/{replayId}")
+    public ResponseEntity<OutboxReplayStatusResponse> getReplay(@PathVariable String replayId) throws IOException {
+        log.info("GET /api/admin/outbox/replay/{}", replayId);
+        try {
+            ReplayCheckpoint.validateId(replayId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return outboxReplayService.status(replayId)
+            .map(OutboxReplayStatusResponse::from)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * 중단/실패/취소된 리플레이를 체크포인트 다음부터 이어 함 (ratePerSecond로 속도만 바꿀 수 있음)
+     */
+    @PostMapping("/replay/{replayId}/resume")
+    public ResponseEntity<?> resumeReplay(@PathVariable String replayId,
+                                          @RequestParam(required = false) Double ratePerSecond) throws IOException {
+        log.info("POST /api/admin/outbox/replay/{}/resume - ratePerSecond={}", replayId, ratePerSecond);
+        if (ratePerSecond != null && ratePerSecond < 0) {
+            return ResponseEntity.badRequest().body(Map.of("error", "ratePerSecond must not be negative"));
+        }
+        try {
+            return ResponseEntity.accepted().body(OutboxReplayStatusResponse.from(
+                outboxReplayService.resume(replayId, ratePerSecond)));
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * 실행 중인 리플레이 취소 (확인된 페이지까지 체크포인트에 남으므로 나중에 resume 가능)
+     */
+    @DeleteMapping("/replay/{replayId}")
+    public ResponseEntity<Void> cancelReplay(@PathVariable String replayId) {
+        log.info("DELETE /api/admin/outbox/replay/{}", replayId);
+        return outboxReplayService.cancel(replayId)
+            ? ResponseEntity.accepted().build()
+            : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.orderservice.dto;
+
+import com.example.orderservice.entity.OutboxEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 백로그를 비우는 중 나중 이벤트에 대체되어 발행하지 않은 Outbox 이벤트 (감사용)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoalescedOutboxEventResponse {
+    
+    private Long id;
+    private String aggregateId;
+    private String eventType;
+    private Long supersededBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime coalescedAt;
+    
+    public static CoalescedOutboxEventResponse fromEntity(OutboxEvent event) {
+        return CoalescedOutboxEventResponse.builder()
+                .id(event.getId())
+                .aggregateId(event.getAggregateId())
+                .eventType(event.getEventType())
+                .supersededBy(event.getSupersededBy())
+                .createdAt(event.getCreatedAt())
+                .coalescedAt(event.getPublishedAt())
+                .build();
+    }
+}
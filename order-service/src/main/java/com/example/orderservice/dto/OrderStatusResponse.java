@@ -0,0 +1,20 @@
+package com.example.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 주문 상태 조회 응답 (상태 폴링용, 주문 전체 대신 상태와 버전만)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusResponse {
+    
+    private String orderNumber;
+    private String status;
+    private int version; // 상태가 바뀔 때마다 증가 (폴링 측 변경 감지용)
+}
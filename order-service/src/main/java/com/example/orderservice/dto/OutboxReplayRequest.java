@@ -0,0 +1,44 @@
+package com.example.orderservice.dto;
+
+import com.example.orderservice.replay.ReplayRequest;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxReplayRequest {
+    
+    @NotNull(message = "시작 시각은 필수입니다")
+    private LocalDateTime from;
+    
+    @NotNull(message = "종료 시각은 필수입니다")
+    private LocalDateTime to;
+    
+    private String aggregateType;
+    
+    private String eventType;
+    
+    /**
+     * 없으면 ALL (live + archive)
+     */
+    private ReplayRequest.Source source;
+    
+    /**
+     * 초당 최대 발행 수, 없으면 order.outbox-replay.default-rate-per-second (0이면 제한 없음)
+     */
+    @DecimalMin(value = "0", message = "발행 속도는 0 이상이어야 합니다")
+    private Double ratePerSecond;
+    
+    public ReplayRequest toReplayRequest(double defaultRatePerSecond) {
+        return new ReplayRequest(from, to, aggregateType, eventType, source,
+            ratePerSecond != null ? ratePerSecond : defaultRatePerSecond);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.orderservice.dto;
+
+import com.example.orderservice.replay.ReplayProgress;
+import com.example.orderservice.replay.ReplayRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxReplayStatusResponse {
+    
+    private String replayId;
+    private ReplayProgress.State state;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String aggregateType;
+    private String eventType;
+    private ReplayRequest.Source source;
+    private Double ratePerSecond;
+    private Long sent;
+    private Double progress;
+    private Long slicesDone;
+    private Integer sliceCount;
+    private Double eventsPerSecond;
+    private Long elapsedMillis;
+    private String error;
+    
+    public static OutboxReplayStatusResponse from(ReplayProgress replay) {
+        ReplayRequest request = replay.getRequest();
+        return OutboxReplayStatusResponse.builder()
+                .replayId(replay.getReplayId())
+                .state(replay.getState())
+                .from(request.from())
+                .to(request.to())
+                .aggregateType(request.aggregateType())
+                .eventType(request.eventType())
+                .source(request.source())
+                .ratePerSecond(request.ratePerSecond())
+                .sent(replay.getSent())
+                .progress(replay.getProgress())
+                .slicesDone(replay.getSlicesDone())
+                .sliceCount(replay.getSliceCount())
+                .eventsPerSecond(replay.getEventsPerSecond())
+                .elapsedMillis(replay.getElapsedMillis())
+                .error(replay.getError())
+                .build();
+    }
+}
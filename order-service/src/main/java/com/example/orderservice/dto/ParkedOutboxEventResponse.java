@@ -0,0 +1,38 @@
+package com.example.orderservice.dto;
+
+import com.example.orderservice.entity.ParkedOutboxEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParkedOutboxEventResponse {
+    
+    private Long id;
+    private String aggregateId;
+    private String aggregateType;
+    private String eventType;
+    private Integer retryCount;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime parkedAt;
+    
+    public static ParkedOutboxEventResponse fromEntity(ParkedOutboxEvent event) {
+        return ParkedOutboxEventResponse.builder()
+                .id(event.getId())
+                .aggregateId(event.getAggregateId())
+                .aggregateType(event.getAggregateType())
+                .eventType(event.getEventType())
+                .retryCount(event.getRetryCount())
+                .errorMessage(event.getErrorMessage())
+                .createdAt(event.getCreatedAt())
+                .parkedAt(event.getParkedAt())
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 최근 5분 결제 수단별 실패율 (OrderAnalyticsTopology)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentFailureRateResponse {
+    
+    private Instant windowStart;
+    private Instant windowEnd;
+    private List<MethodFailureRate> methods;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MethodFailureRate {
+        private String paymentMethod;
+        private long attempts;
+        private long failures;
+        private double failureRate;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 기간 내 상품별 매출 (결제 완료 기준, OrderAnalyticsTopology)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRevenueResponse {
+    
+    private Instant from;
+    private Instant to;
+    private Map<String, BigDecimal> revenueByProduct;
+    private BigDecimal totalRevenue;
+}
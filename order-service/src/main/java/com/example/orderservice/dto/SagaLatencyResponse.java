@@ -0,0 +1,24 @@
+package com.example.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 최근 5분 사가 완료 지연 (주문 생성 → 결제 결과, OrderAnalyticsTopology)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SagaLatencyResponse {
+    
+    private Instant windowStart;
+    private Instant windowEnd;
+    private long completed;
+    private long avgLatencyMillis;
+    private long maxLatencyMillis;
+}
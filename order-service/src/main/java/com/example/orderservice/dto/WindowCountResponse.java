@@ -0,0 +1,21 @@
+package com.example.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 1분 윈도우 하나의 주문 수 (OrderAnalyticsTopology)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WindowCountResponse {
+    
+    private Instant windowStart;
+    private long count;
+}
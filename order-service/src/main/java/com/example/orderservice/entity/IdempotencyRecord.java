@@ -0,0 +1,53 @@
+package com.example.orderservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 주문 생성 요청의 Idempotency-Key와 처음 돌려준 응답 (IdempotencyService)
+ * 
+ * keyHash = SHA-256(고객 이메일 + 키): 고객마다 키 공간을 나눔, 키 해시로 정한 샤드에 저장.
+ * 생성한 주문과 같은 트랜잭션에서 INSERT 되므로 기록이 있으면 주문도 커밋된 것.
+ * keyHash가 unique라 여러 인스턴스가 같은 키로 동시에 주문을 만들면 하나만 커밋됨.
+ * 
+ * expiresOn: 만료일 단위 TTL 파티션. 만료일이 지난 파티션은 통째로 삭제 (idx_expires_on)
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_expires_on", columnList = "expiresOn")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, unique = true, length = 64)
+    private String keyHash;
+    
+    @Column(nullable = false, length = 64)
+    private String requestHash; // 같은 키로 다른 요청을 보냈는지 판단
+    
+    @Column(nullable = false)
+    private String orderNumber;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String responseBody; // 처음 응답한 OrderResponse JSON
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Column(nullable = false)
+    private LocalDate expiresOn;
+}
@@ -5,12 +5,22 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * 주문
+ * 
+ * 상태 전이는 엔티티를 고쳐 저장하지 않고 OrderTransitionService의 조건부 UPDATE 한 문장으로 적용
+ * (허용된 현재 상태일 때만, 읽은 뒤 바뀌었으면 version으로 거부)
+ */
 @Entity
 @Table(name = "orders")
 @Data
@@ -55,6 +65,14 @@ public class Order {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
     
+    /**
+     * 낙관적 잠금 버전 (상태 전이마다 증가, 컬럼 추가 전 행은 0)
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     public enum OrderStatus {
         PENDING,    // 주문 대기
         CONFIRMED,  // 주문 확인
@@ -62,6 +80,39 @@ public class Order {
         PAID,       // 결제 완료
         SHIPPED,    // 배송 중
         DELIVERED,  // 배송 완료
-        CANCELLED   // 주문 취소
+        CANCELLED;  // 주문 취소
+        
+        /**
+         * 전이 표: 대상 상태 → 그 상태로 바뀔 수 있는 현재 상태 (DELIVERED, CANCELLED는 최종 상태)
+         * 
+         * 결제 결과(COMPLETED/CANCELLED)는 결제를 기다리는 주문에만 적용 → 늦게 도착한 PAYMENT_COMPLETED가
+         * 이미 취소된 주문을 되살리거나, 늦은 PAYMENT_FAILED가 결제 완료 주문을 취소하지 못함
+         */
+        private static final Map<OrderStatus, Set<OrderStatus>> ALLOWED_SOURCES = new EnumMap<>(Map.of(
+            CONFIRMED, Set.of(PENDING),
+            COMPLETED, Set.of(PENDING, CONFIRMED),
+            PAID, Set.of(PENDING, CONFIRMED),
+            SHIPPED, Set.of(COMPLETED, PAID),
+            DELIVERED, Set.of(SHIPPED),
+            CANCELLED, Set.of(PENDING, CONFIRMED)));
+        
+        /**
+         * 결제 결과를 기다리는 상태 (Saga 진행 중)
+         */
+        public boolean isAwaitingPayment() {
+            return this == PENDING || this == CONFIRMED;
+        }
+        
+        /**
+         * 이 상태로 전이할 수 있는 현재 상태 (PENDING은 생성 시에만 설정되므로 비어 있음)
+         */
+        public Set<OrderStatus> allowedSources() {
+            Set<OrderStatus> sources = ALLOWED_SOURCES.get(this);
+            return sources == null ? Set.of() : sources;
+        }
+        
+        public boolean canTransitionTo(OrderStatus target) {
+            return target.allowedSources().contains(this);
+        }
     }
 }
@@ -9,10 +9,23 @@ import java.time.LocalDateTime;
 /**
  * Transactional Outbox Pattern 구현
  * DB 업데이트와 이벤트 발행의 원자성을 보장
+ * 
+ * 발행 실패 시 nextAttemptAt을 지수 백오프로 미루고, 재시도를 소진하면
+ * parked_outbox_events로 옮겨 Relay가 읽는 인덱스를 작게 유지 (OutboxRetryPolicy, OutboxParkingService)
+ * 
+ * 백로그를 비우는 중 같은 주문의 나중 이벤트에 대체되어 발행하지 않은 이벤트는
+ * published = true, supersededBy = 대체한 이벤트 ID로 남김 (감사용, OutboxCoalescer)
+ * 
+ * idx_outbox_next_attempt: Relay의 발행 대상 조회 (findDueEvents). init-db.sql이 같은 이름의 부분 인덱스
+ * (WHERE published = false)를 만들며, ddl-auto는 이름이 같은 인덱스가 있으면 새로 만들지 않음
+ * 
+ * idx_created_id: 리플레이 도구가 생성 시각 범위를 (createdAt, id) keyset으로 페이지 단위로 읽음 (OutboxReplayTool)
  */
 @Entity
 @Table(name = "outbox_events", indexes = {
-    @Index(name = "idx_published_created", columnList = "published,createdAt")
+    @Index(name = "idx_published_created", columnList = "published,createdAt"),
+    @Index(name = "idx_outbox_next_attempt", columnList = "nextAttemptAt"),
+    @Index(name = "idx_created_id", columnList = "createdAt,id")
 })
 @Getter
 @Setter
@@ -21,6 +34,11 @@ import java.time.LocalDateTime;
 @Builder
 public class OutboxEvent {
     
+    /**
+     * 보상 이벤트의 aggregateId 접미사 (aggregateId가 unique라 같은 주문의 두 번째 이벤트에 붙임)
+     */
+    public static final String COMPENSATION_SUFFIX = "-compensation";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -54,6 +72,18 @@ public class OutboxEvent {
     @Builder.Default
     private Integer retryCount = 0;
     
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt; // 이 시각 이후에만 Relay가 발행 시도
+    
+    private Long supersededBy; // 발행하지 않고 건너뛴 경우 대신 발행된 이벤트 ID
+    
+    @PrePersist
+    void initNextAttemptAt() {
+        if (nextAttemptAt == null) {
+            nextAttemptAt = LocalDateTime.now();
+        }
+    }
+    
     public void markAsPublished() {
         this.published = true;
         this.publishedAt = LocalDateTime.now();
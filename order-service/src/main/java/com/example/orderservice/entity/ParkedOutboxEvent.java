@@ -0,0 +1,52 @@
+package com.example.orderservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재시도를 모두 소진한 Outbox 이벤트 보관소
+ * 
+ * outbox_events에 남겨 두면 Relay가 매번 다시 읽고 인덱스도 계속 커지므로 별도 테이블로 이동.
+ * 원인을 해결한 뒤 OutboxParkingService.redrive()로 outbox_events에 되돌림.
+ */
+@Entity
+@Table(name = "parked_outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ParkedOutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, unique = true)
+    private String aggregateId;
+    
+    @Column(nullable = false)
+    private String aggregateType;
+    
+    @Column(nullable = false)
+    private String eventType;
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt; // 원래 Outbox 이벤트 생성 시각
+    
+    @Column(nullable = false)
+    private Integer retryCount;
+    
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage; // 마지막 발행 실패 사유
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime parkedAt;
+}
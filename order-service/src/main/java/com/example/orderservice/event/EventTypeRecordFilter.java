@@ -0,0 +1,39 @@
+package com.example.orderservice.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+
+import java.util.Set;
+
+/**
+ * 리스너 컨테이너 수준의 이벤트 타입 필터
+ * 
+ * eventType 헤더가 처리 대상이 아니면 리스너를 호출하지 않고 버림 (payload는 파싱하지 않음, 오프셋은 정상 커밋).
+ * 헤더가 없는 레코드는 통과시켜 리스너가 payload의 eventType으로 판단.
+ * 
+ * 버린 레코드 수: kafka.records.skipped{topic, eventType}
+ */
+public class EventTypeRecordFilter<V> implements RecordFilterStrategy<String, V> {
+    
+    private final Set<String> acceptedTypes;
+    private final MeterRegistry meterRegistry;
+    
+    public EventTypeRecordFilter(Set<String> acceptedTypes, MeterRegistry meterRegistry) {
+        this.acceptedTypes = Set.copyOf(acceptedTypes);
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * @return 버릴 레코드면 true
+     */
+    @Override
+    public boolean filter(ConsumerRecord<String, V> record) {
+        String eventType = EventHeaders.eventType(record.headers());
+        if (eventType == null || acceptedTypes.contains(eventType)) {
+            return false;
+        }
+        meterRegistry.counter("kafka.records.skipped", "topic", record.topic(), "eventType", eventType).increment();
+        return true;
+    }
+}
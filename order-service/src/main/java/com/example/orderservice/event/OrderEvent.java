@@ -14,6 +14,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class OrderEvent {
     
+    /**
+     * payload 스키마 버전 (schemaVersion 헤더). 필드를 호환되지 않게 바꾸면 올림
+     */
+    public static final int SCHEMA_VERSION = 1;
+    
     private Long orderId;
     private String orderNumber;
     private String productName;
@@ -1,18 +1,31 @@
 package com.example.orderservice.event;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.orderservice.entity.Order;
-import com.example.orderservice.entity.OutboxEvent;
 import com.example.orderservice.repository.OrderRepository;
-import com.example.orderservice.repository.OutboxEventRepository;
+import com.example.orderservice.saga.SagaTimeoutScheduler;
+import com.example.orderservice.service.OrderCompensationService;
+import com.example.orderservice.service.OrderTransitionService;
+import com.example.orderservice.sharding.ShardContext;
+import com.example.orderservice.sharding.ShardRouter;
 
-import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
 
 /**
  * Saga Pattern - Choreography 방식의 이벤트 컨슈머
@@ -32,15 +45,36 @@ import java.time.LocalDateTime;
  * 보상 트랜잭션(Compensation):
  * - 결제 실패 시 이미 생성된 주문을 취소하는 보상 로직 실행
  * - 분산 환경에서 롤백을 구현하는 방법
+ * 
+ * 에러 처리 (논블로킹 재시도):
+ * - 처리 실패 시 예외를 전파하여 payment-events-retry-0/1/2 토픽에서 지수 백오프로 재처리
+ *   (메인 파티션은 실패 레코드를 기다리지 않고 계속 진행)
+ * - 모두 실패하면 payment-events-dlt로 이동, 실패 정보는 kafka_dlt-* 헤더로 전달
+ * - JSON 파싱 실패처럼 재시도해도 결과가 같은 예외는 바로 DLT로 이동
+ * - DLT 레코드는 DeadLetterRedriveService로 일괄 재처리
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class PaymentEventConsumer {
     
+    public static final String TOPIC = "payment-events";
+    public static final String GROUP_ID = "order-service-group";
+    public static final String FILTER = "paymentEventFilter";
+    
+    /**
+     * 주문 상태를 바꾸는 결제 이벤트 (그 외 타입은 컨테이너의 EventTypeRecordFilter가 파싱 전에 버림)
+     */
+    public static final Set<String> HANDLED_EVENT_TYPES = Set.of("PAYMENT_COMPLETED", "PAYMENT_FAILED");
+    
     private final OrderRepository orderRepository;
-    private final OutboxEventRepository outboxEventRepository;
+    private final OrderCompensationService orderCompensationService;
+    private final OrderTransitionService orderTransitionService;
+    private final SagaTimeoutScheduler sagaTimeoutScheduler;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
     
     /**
      * 결제 이벤트 수신 및 처리
@@ -48,110 +82,106 @@ public class PaymentEventConsumer {
      * Kafka Consumer 설정:
      * - topics: payment-events (Payment Service가 발행하는 토픽)
      * - groupId: order-service-group (같은 그룹의 컨슈머는 메시지를 분산 처리)
+     * - filter: eventType 헤더가 HANDLED_EVENT_TYPES가 아니면 JSON 파싱 없이 버림 (kafka.records.skipped)
      * 
      * 이벤트 타입별 처리:
      * - PAYMENT_COMPLETED: 결제 성공 -> 주문 상태를 COMPLETED로 변경
      * - PAYMENT_FAILED: 결제 실패 -> 보상 트랜잭션으로 주문 취소 (Saga Pattern)
+     * - 둘 다 결제를 기다리는 주문에만 적용 (Order.OrderStatus 전이 표, 이미 결과가 반영된 주문이면 무시)
      * 
-     * @Transactional이 중요한 이유:
+     * 트랜잭션이 중요한 이유:
      * - 주문 상태 변경과 보상 이벤트 발행을 하나의 트랜잭션으로 처리
      * - 중간에 실패하면 전체 롤백되어 데이터 일관성 유지
+     * - 주문 번호로 샤드를 정한 뒤 그 샤드에서 트랜잭션 실행 (주문과 Outbox가 같은 샤드)
      */
-    @KafkaListener(topics = "payment-events", groupId = "order-service-group")
-    @Transactional
-    public void handlePaymentEvent(String message) {
-        try {
-            log.info("Received payment event: {}", message);
-            
-            PaymentEventDTO paymentEvent = objectMapper.readValue(message, PaymentEventDTO.class);
-            
-            if ("PAYMENT_FAILED".equals(paymentEvent.getEventType())) {
+    @RetryableTopic(
+        attempts = "${kafka.retry.attempts:4}",
+        backoff = @Backoff(
+            delayExpression = "${kafka.retry.initial-delay-ms:1000}",
+            multiplierExpression = "${kafka.retry.multiplier:5.0}",
+            maxDelayExpression = "${kafka.retry.max-delay-ms:60000}"),
+        topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+        kafkaTemplate = "stringKafkaTemplate"
+    )
+    @KafkaListener(topics = TOPIC, groupId = GROUP_ID, filter = FILTER)
+    public void handlePaymentEvent(ConsumerRecord<String, String> record) throws JsonProcessingException {
+        String message = record.value();
+        log.info("Received payment event: {}", message);
+        
+        // 처리 경로는 eventType 헤더로 결정 (헤더가 없는 이전 레코드는 payload의 eventType)
+        String eventType = EventHeaders.eventType(record.headers());
+        PaymentEventDTO paymentEvent = objectMapper.readValue(message, PaymentEventDTO.class);
+        int shard = shardRouter.shardFor(paymentEvent.getOrderNumber());
+        
+        Order.OrderStatus target = resultingStatus(eventType != null ? eventType : paymentEvent.getEventType());
+        
+        ShardContext.runOn(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+            if (target == Order.OrderStatus.CANCELLED) {
                 // 보상 트랜잭션: 주문 취소
-                compensateOrder(paymentEvent.getOrderNumber(), paymentEvent.getFailureReason());
-            } else if ("PAYMENT_COMPLETED".equals(paymentEvent.getEventType())) {
+                compensateOrder(paymentEvent.getOrderNumber(), paymentEvent.getFailureReason(), shard);
+            } else if (target == Order.OrderStatus.COMPLETED) {
                 // 주문 완료 처리
                 completeOrder(paymentEvent.getOrderNumber());
             }
-            
-        } catch (Exception e) {
-            log.error("Failed to process payment event", e);
-            // 실제로는 DLQ로 전송하거나 재시도 로직 추가
+        }));
+        
+        // 결제 결과가 반영되었으므로 사가 제한 시간 해제 (주문을 만든 인스턴스가 아니면 휠에 없음 → 만료 시 상태 확인으로 무시)
+        if (target != null) {
+            sagaTimeoutScheduler.cancel(paymentEvent.getOrderNumber());
         }
     }
     
     /**
-     * 보상 트랜잭션: 주문 취소 처리
-     * 
-     * 보상 트랜잭션이란:
-     * - 분산 환경에서 이미 커밋된 트랜잭션을 "논리적으로 취소"하는 작업
-     * - 실제 DB 롤백이 아닌, 반대 작업을 수행하여 효과를 상쇄
-     * - 예: 주문 생성의 보상 = 주문 취소, 재고 차감의 보상 = 재고 복구
+     * 결제 이벤트가 주문에 적용하는 상태 (주문 상태를 바꾸지 않는 이벤트는 null)
      * 
-     * 본 메서드의 처리 흐름:
-     * 1. 주문 상태를 CANCELLED로 변경
-     * 2. ORDER_CANCELLED 이벤트를 Outbox에 저장
-     * 3. 다른 서비스들이 이 이벤트를 받아 추가 보상 작업 수행 가능
-     *    (예: 재고 서비스가 차감한 재고를 복구)
+     * OrderStatusIndexUpdater도 같은 전이로 상태 인덱스를 갱신
+     */
+    public static Order.OrderStatus resultingStatus(String eventType) {
+        if ("PAYMENT_FAILED".equals(eventType)) {
+            return Order.OrderStatus.CANCELLED;
+        }
+        if ("PAYMENT_COMPLETED".equals(eventType)) {
+            return Order.OrderStatus.COMPLETED;
+        }
+        return null;
+    }
+    
+    /**
+     * 재시도를 모두 소진한 결제 이벤트 기록 (재처리는 DeadLetterRedriveService)
+     */
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, String> record) {
+        meterRegistry.counter("kafka.dlt.records", "topic", record.topic()).increment();
+        log.error("Payment event moved to DLT: topic={}, key={}, originalTopic={}, exception={}, message={}",
+            record.topic(), record.key(),
+            headerValue(record, KafkaHeaders.DLT_ORIGINAL_TOPIC),
+            headerValue(record, KafkaHeaders.DLT_EXCEPTION_FQCN),
+            headerValue(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE));
+    }
+    
+    private static String headerValue(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * 보상 트랜잭션: 결제 실패로 주문 취소 (OrderCompensationService)
      * 
      * @param orderNumber 취소할 주문 번호
      * @param reason 취소 사유 (결제 실패 원인)
+     * @param shard 주문이 저장된 샤드
      */
-    private void compensateOrder(String orderNumber, String reason) {
-        log.warn("Compensating order due to payment failure: orderNumber={}, reason={}", 
-            orderNumber, reason);
-        
+    private void compensateOrder(String orderNumber, String reason, int shard) {
         Order order = orderRepository.findByOrderNumber(orderNumber)
             .orElseThrow(() -> new RuntimeException("Order not found: " + orderNumber));
-        
-        // 주문 상태를 CANCELLED로 변경
-        order.setStatus(Order.OrderStatus.CANCELLED);
-        orderRepository.save(order);
-        
-        // 보상 트랜잭션 이벤트를 Outbox에 저장
-        try {
-            OrderEvent compensationEvent = OrderEvent.builder()
-                .orderId(order.getId())
-                .orderNumber(order.getOrderNumber())
-                .productName(order.getProductName())
-                .quantity(order.getQuantity())
-                .price(order.getPrice())
-                .totalAmount(order.getTotalAmount())
-                .customerName(order.getCustomerName())
-                .customerEmail(order.getCustomerEmail())
-                .status(Order.OrderStatus.CANCELLED.name())
-                .eventTime(LocalDateTime.now())
-                .eventType("ORDER_CANCELLED")
-                .build();
-            
-            OutboxEvent outboxEvent = OutboxEvent.builder()
-                .aggregateId(order.getOrderNumber() + "-compensation")
-                .aggregateType("ORDER")
-                .eventType("ORDER_CANCELLED")
-                .payload(objectMapper.writeValueAsString(compensationEvent))
-                .build();
-            
-            outboxEventRepository.save(outboxEvent);
-            
-            log.info("Order compensated successfully: orderNumber={}", orderNumber);
-            
-        } catch (Exception e) {
-            log.error("Failed to create compensation event", e);
-            throw new RuntimeException("Compensation failed", e);
-        }
+        orderCompensationService.compensate(order, reason, shard);
     }
     
     /**
-     * 주문 완료 처리
+     * 주문 완료 처리 (주문을 읽지 않는 조건부 UPDATE, 취소된 주문은 되살리지 않음)
      */
     private void completeOrder(String orderNumber) {
         log.info("Completing order: orderNumber={}", orderNumber);
-        
-        Order order = orderRepository.findByOrderNumber(orderNumber)
-            .orElseThrow(() -> new RuntimeException("Order not found: " + orderNumber));
-        
-        order.setStatus(Order.OrderStatus.COMPLETED);
-        orderRepository.save(order);
-        
-        log.info("Order completed successfully: orderNumber={}", orderNumber);
+        orderTransitionService.transition(orderNumber, Order.OrderStatus.COMPLETED);
     }
 }
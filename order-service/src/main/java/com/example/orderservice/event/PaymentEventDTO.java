@@ -22,6 +22,7 @@ public class PaymentEventDTO {
     private String paymentNumber;
     private BigDecimal amount;
     private String status;
+    private String paymentMethod; // CARD, BANK_TRANSFER, MOBILE
     private String eventType; // PAYMENT_COMPLETED, PAYMENT_FAILED
     private String failureReason;
     private LocalDateTime eventTime;
@@ -0,0 +1,13 @@
+package com.example.orderservice.idempotency;
+
+/**
+ * 이미 쓰인 Idempotency-Key로 다른 내용의 주문 요청을 보냄
+ * 
+ * 저장된 응답을 돌려주면 클라이언트가 다른 주문이 생성된 것으로 오인하므로 거절 (422)
+ */
+public class IdempotencyKeyReuseException extends RuntimeException {
+    
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.orderservice.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 주문 생성 Idempotency-Key 설정 (order.idempotency.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.idempotency")
+public class IdempotencyProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * 키 보관 기간 (지나면 같은 키도 새 요청으로 처리)
+     */
+    private Duration ttl = Duration.ofHours(24);
+    
+    /**
+     * 메모리 LRU에 보관할 최근 키 수 (넘치면 DB 테이블에서 찾음)
+     */
+    private int cacheSize = 10_000;
+    
+    private int maxKeyLength = 255;
+}
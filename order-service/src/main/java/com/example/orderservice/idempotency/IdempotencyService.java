@@ -0,0 +1,322 @@
+package com.example.orderservice.idempotency;
+
+import com.example.orderservice.dto.OrderRequest;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.entity.IdempotencyRecord;
+import com.example.orderservice.repository.IdempotencyRecordRepository;
+import com.example.orderservice.service.OrderService;
+import com.example.orderservice.sharding.ShardContext;
+import com.example.orderservice.sharding.ShardRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 주문 생성 Idempotency-Key 처리 (모바일 클라이언트의 타임아웃 재시도가 주문/결제를 중복 생성하지 않도록)
+ * 
+ * 같은 고객이 같은 키로 다시 보내면 처음 응답을 그대로 돌려줌 (주문 테이블은 읽지 않음):
+ * 1. 메모리 LRU (최근 cache-size개 키 → 응답)
+ * 2. idempotency_keys 테이블 (키 해시로 정한 샤드, primary에서 조회)
+ * 3. 없으면 그 샤드에 주문 생성 + 키 기록을 한 트랜잭션으로 커밋 (OrderService.createOrderOnShard)
+ * 
+ * 동시 중복 요청:
+ * - 같은 인스턴스: 먼저 온 요청만 실행하고 나머지는 그 결과를 기다려 공유
+ * - 다른 인스턴스: keyHash unique 제약으로 하나만 커밋, 진 쪽은 주문까지 롤백되고 커밋된 응답을 돌려줌
+ * 
+ * 같은 키에 다른 내용의 요청 → IdempotencyKeyReuseException (저장된 응답을 돌려주지 않음)
+ * 만료: ttl이 지난 키는 없는 것으로 처리, 만료일 파티션 단위로 매시간 삭제
+ * 
+ * 메트릭: order.idempotency.requests{outcome = created | cache | durable | collapsed | conflict},
+ *        order.idempotency.cache.size
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyService {
+    
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private final OrderService orderService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    private final ResponseCache cache;
+    private final Map<String, CompletableFuture<StoredResponse>> executions = new ConcurrentHashMap<>();
+    
+    public IdempotencyService(OrderService orderService,
+                              IdempotencyRecordRepository idempotencyRecordRepository,
+                              ShardRouter shardRouter,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              IdempotencyProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.cache = new ResponseCache(properties.getCacheSize());
+        Gauge.builder("order.idempotency.cache.size", cache, ResponseCache::size).register(meterRegistry);
+    }
+    
+    /**
+     * 처리 결과
+     * 
+     * @param replayed 이전 요청의 응답을 돌려준 것이면 true (이번 요청으로 주문이 생성되지 않음)
+     */
+    public record Result(OrderResponse response, boolean replayed) {
+    }
+    
+    /**
+     * 한 번 응답한 결과 (requestHash로 같은 요청인지 확인)
+     */
+    private record StoredResponse(String requestHash, OrderResponse response, LocalDateTime expiresAt) {
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    public boolean isValidKey(String idempotencyKey) {
+        return !idempotencyKey.isBlank() && idempotencyKey.length() <= properties.getMaxKeyLength();
+    }
+    
+    /**
+     * 메모리 LRU에서만 찾음 (접수 제어/속도 제한 전에 호출해 재시도는 싸게 응답)
+     */
+    public Optional<Result> findCached(String idempotencyKey, OrderRequest request) {
+        StoredResponse cached = cache.get(keyHash(idempotencyKey, request), LocalDateTime.now());
+        if (cached == null) {
+            return Optional.empty();
+        }
+        return Optional.of(replay(cached, requestHash(request), "cache"));
+    }
+    
+    /**
+     * 키에 저장된 응답을 돌려주거나, 없으면 주문을 생성하고 응답을 기록
+     */
+    public Result execute(String idempotencyKey, OrderRequest request) throws InterruptedException {
+        String keyHash = keyHash(idempotencyKey, request);
+        String requestHash = requestHash(request);
+        StoredResponse cached = cache.get(keyHash, LocalDateTime.now());
+        if (cached != null) {
+            return replay(cached, requestHash, "cache");
+        }
+        
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = executions.putIfAbsent(keyHash, execution);
+        if (running != null) {
+            // 같은 키의 요청이 이 인스턴스에서 실행 중 → 끝나기를 기다려 그 응답을 공유
+            return replay(await(running), requestHash, "collapsed");
+        }
+        try {
+            StoredResponse stored = findDurable(keyHash).orElse(null);
+            boolean created = false;
+            if (stored == null) {
+                try {
+                    stored = create(keyHash, requestHash, request);
+                    created = true;
+                } catch (DataIntegrityViolationException e) {
+                    // 다른 인스턴스가 같은 키를 먼저 커밋 → 이쪽 주문은 롤백됨, 그쪽 응답을 돌려줌
+                    log.info("Idempotency key committed concurrently by another instance: keyHash={}", keyHash);
+                    stored = findDurable(keyHash).orElseThrow(() -> e);
+                }
+            }
+            cache.put(keyHash, stored);
+            execution.complete(stored);
+            if (!created) {
+                return replay(stored, requestHash, "durable");
+            }
+            meterRegistry.counter("order.idempotency.requests", "outcome", "created").increment();
+            return new Result(stored.response(), false);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            executions.remove(keyHash, execution);
+        }
+    }
+    
+    /**
+     * 만료일이 지난 TTL 파티션 삭제 (샤드별, 파티션 하나씩 별도 트랜잭션)
+     */
+    @Scheduled(cron = "0 15 * * * *") // 매시 15분
+    public void purgeExpiredPartitions() {
+        LocalDate today = LocalDate.now();
+        shardRouter.forEachShard(shard -> {
+            List<LocalDate> partitions = idempotencyRecordRepository.findExpiredPartitions(today);
+            for (LocalDate partition : partitions) {
+                Integer deleted = transactionTemplate.execute(status ->
+                    idempotencyRecordRepository.deletePartition(partition));
+                log.info("Purged idempotency key partition: shard={}, expiresOn={}, rows={}",
+                    shard, partition, deleted);
+            }
+        });
+    }
+    
+    /**
+     * DB 기록 조회 (primary: 방금 다른 인스턴스가 커밋한 키도 보이도록 읽기 전용 트랜잭션을 쓰지 않음)
+     * 만료된 기록은 지워서 같은 키로 새 주문을 만들 수 있게 함
+     */
+    private Optional<StoredResponse> findDurable(String keyHash) {
+        LocalDateTime now = LocalDateTime.now();
+        return ShardContext.callOn(shardRouter.shardFor(keyHash), () -> transactionTemplate.execute(status -> {
+            Optional<IdempotencyRecord> record = idempotencyRecordRepository.findByKeyHash(keyHash);
+            if (record.isPresent() && !record.get().getExpiresAt().isAfter(now)) {
+                idempotencyRecordRepository.delete(record.get());
+                return Optional.<StoredResponse>empty();
+            }
+            return record.map(this::toStoredResponse);
+        }));
+    }
+    
+    /**
+     * 키 해시의 샤드에 주문 생성 + 키 기록 (같은 트랜잭션, 같은 키가 이미 커밋돼 있으면 unique 위반으로 전부 롤백)
+     */
+    private StoredResponse create(String keyHash, String requestHash, OrderRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(properties.getTtl());
+        OrderResponse response = orderService.createOrderOnShard(request, shardRouter.shardFor(keyHash), created ->
+            idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                .keyHash(keyHash)
+                .requestHash(requestHash)
+                .orderNumber(created.getOrderNumber())
+                .responseBody(toJson(created))
+                .createdAt(now)
+                .expiresAt(expiresAt)
+                .expiresOn(expiresAt.toLocalDate())
+                .build()));
+        return new StoredResponse(requestHash, response, expiresAt);
+    }
+    
+    private Result replay(StoredResponse stored, String requestHash, String outcome) {
+        if (!stored.requestHash().equals(requestHash)) {
+            meterRegistry.counter("order.idempotency.requests", "outcome", "conflict").increment();
+            throw new IdempotencyKeyReuseException(
+                "Idempotency-Key was already used for a different order request: orderNumber="
+                    + stored.response().getOrderNumber());
+        }
+        meterRegistry.counter("order.idempotency.requests", "outcome", outcome).increment();
+        log.info("Replaying stored order response: orderNumber={}, source={}",
+            stored.response().getOrderNumber(), outcome);
+        return new Result(stored.response(), true);
+    }
+    
+    private static StoredResponse await(CompletableFuture<StoredResponse> execution) throws InterruptedException {
+        try {
+            return execution.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Idempotent order creation failed", e.getCause());
+        }
+    }
+    
+    private StoredResponse toStoredResponse(IdempotencyRecord record) {
+        try {
+            OrderResponse response = objectMapper.readValue(record.getResponseBody(), OrderResponse.class);
+            return new StoredResponse(record.getRequestHash(), response, record.getExpiresAt());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored order response: id=" + record.getId(), e);
+        }
+    }
+    
+    private String toJson(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order response", e);
+        }
+    }
+    
+    /**
+     * 키는 고객별로 구분 (다른 고객이 같은 키를 써도 서로의 응답을 받지 않음)
+     */
+    private static String keyHash(String idempotencyKey, OrderRequest request) {
+        return sha256(request.getCustomerEmail() + "\n" + idempotencyKey);
+    }
+    
+    /**
+     * 요청 내용 지문 (가격은 스케일을 정규화: 10.0과 10.00은 같은 요청)
+     */
+    private static String requestHash(OrderRequest request) {
+        return sha256(String.join("\n",
+            request.getProductName(),
+            String.valueOf(request.getQuantity()),
+            request.getPrice().stripTrailingZeros().toPlainString(),
+            request.getCustomerName(),
+            request.getCustomerEmail()));
+    }
+    
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * 최근 키 → 응답 LRU (접근 순서, 만료된 항목은 조회 시 제거)
+     */
+    private static final class ResponseCache {
+        
+        private final Map<String, StoredResponse> entries;
+        
+        ResponseCache(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+        
+        synchronized StoredResponse get(String keyHash, LocalDateTime now) {
+            StoredResponse stored = entries.get(keyHash);
+            if (stored != null && !stored.expiresAt().isAfter(now)) {
+                entries.remove(keyHash);
+                return null;
+            }
+            return stored;
+        }
+        
+        synchronized void put(String keyHash, StoredResponse stored) {
+            entries.put(keyHash, stored);
+        }
+        
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
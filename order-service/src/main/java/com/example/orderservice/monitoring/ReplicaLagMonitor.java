@@ -0,0 +1,37 @@
+package com.example.orderservice.monitoring;
+
+import com.example.common.replica.ReplicaRoutingDataSource;
+import com.example.orderservice.replica.ReplicaProperties;
+import com.example.orderservice.sharding.ShardRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 읽기 복제본 지연 주기 확인
+ * 
+ * 샤드별 ReplicaRoutingDataSource의 replica마다 lag 쿼리를 실행하여 라우팅에 쓰는 지연 값을 갱신.
+ * 라우팅 시점에는 DB를 조회하지 않고 이 값만 읽음.
+ */
+@Component
+public class ReplicaLagMonitor {
+    
+    private final List<ReplicaRoutingDataSource> replicaRoutingDataSources;
+    private final String lagQuery;
+    
+    public ReplicaLagMonitor(ShardRoutingDataSource shardRoutingDataSource, ReplicaProperties replicaProperties) {
+        this.replicaRoutingDataSources = shardRoutingDataSource.getResolvedDataSources().values().stream()
+            .filter(ReplicaRoutingDataSource.class::isInstance)
+            .map(ReplicaRoutingDataSource.class::cast)
+            .toList();
+        this.lagQuery = replicaProperties.getLagQuery();
+    }
+    
+    @Scheduled(fixedDelayString = "${order.replica.lag-check-interval-ms:1000}")
+    public void refresh() {
+        for (ReplicaRoutingDataSource dataSource : replicaRoutingDataSources) {
+            dataSource.refreshReplicaLag(lagQuery);
+        }
+    }
+}
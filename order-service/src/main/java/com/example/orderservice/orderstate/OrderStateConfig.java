@@ -0,0 +1,91 @@
+package com.example.orderservice.orderstate;
+
+import com.example.common.orderstate.OrderStateReplayer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.streams.StreamsConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.autoconfigure.kafka.StreamsBuilderFactoryBeanCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 주문 상태 changelog 토픽 설정
+ * 
+ * - order-state 토픽 (cleanup.policy=compact): 활성 세그먼트는 compaction 대상이 아니므로 segment.ms를 1시간으로 두고,
+ *   min.cleanable.dirty.ratio를 낮춰 재생할 레코드 수가 주문 수에 가깝게 유지되도록 함
+ * - 토픽을 만드는 Kafka Streams 애플리케이션 (OrderStateTopology): 집계용 기본 애플리케이션(order-analytics)과
+ *   application-id를 분리 → 상태 저장소/컨슈머 그룹이 따로 복원·재배치됨
+ * - 기동 시 토픽을 읽는 재생기 (OrderStateReplayer)
+ */
+@Configuration
+@EnableConfigurationProperties(OrderStateProperties.class)
+public class OrderStateConfig {
+    
+    public static final String STREAMS_BUILDER = "orderStateStreamsBuilder";
+    
+    private static final Duration SEGMENT_ROLL = Duration.ofHours(1);
+    
+    /**
+     * 재생 시 파티션당 한 번에 가져오는 최대 크기 (기본 1MB보다 크게 잡아 왕복 횟수를 줄임)
+     */
+    private static final int REPLAY_FETCH_BYTES = 8 * 1024 * 1024;
+    
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+    
+    @Bean
+    public KafkaAdmin.NewTopics orderStateTopic(OrderStateProperties orderStateProperties) {
+        if (!orderStateProperties.isEnabled()) {
+            return new KafkaAdmin.NewTopics();
+        }
+        return new KafkaAdmin.NewTopics(TopicBuilder.name(orderStateProperties.getName())
+            .partitions(orderStateProperties.getPartitions())
+            .replicas(orderStateProperties.getReplicas())
+            .compact()
+            .config(TopicConfig.SEGMENT_MS_CONFIG, String.valueOf(SEGMENT_ROLL.toMillis()))
+            .config(TopicConfig.MIN_CLEANABLE_DIRTY_RATIO_CONFIG, "0.1")
+            .build());
+    }
+    
+    @Bean(name = STREAMS_BUILDER)
+    public StreamsBuilderFactoryBean orderStateStreamsBuilder(KafkaProperties kafkaProperties,
+                                                              OrderStateProperties orderStateProperties,
+                                                              StreamsBuilderFactoryBeanCustomizer streamsCustomizer) {
+        // spring.kafka.streams 설정을 그대로 쓰되 application-id만 바꿈 (대화형 조회가 없으므로 application.server 제외)
+        Map<String, Object> config = kafkaProperties.buildStreamsProperties(null);
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, orderStateProperties.getApplicationId());
+        config.remove(StreamsConfig.APPLICATION_SERVER_CONFIG);
+        StreamsBuilderFactoryBean factoryBean = new StreamsBuilderFactoryBean(new KafkaStreamsConfiguration(config));
+        factoryBean.setAutoStartup(orderStateProperties.isEnabled());
+        streamsCustomizer.customize(factoryBean);
+        return factoryBean;
+    }
+    
+    @Bean
+    public OrderStateReplayer orderStateReplayer(OrderStateProperties orderStateProperties, ObjectMapper objectMapper) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // 그룹 없이 assign으로 읽으므로 오프셋을 커밋하지 않음
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, REPLAY_FETCH_BYTES);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000);
+        return new OrderStateReplayer(orderStateProperties.getName(), () -> new KafkaConsumer<>(config),
+            objectMapper, orderStateProperties.getReplayThreads(), orderStateProperties.getReplayTimeout());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.orderservice.orderstate;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 주문 상태 changelog 토픽 설정 (order.state-topic.*)
+ * 
+ * enabled=false이면 토픽을 만들지 않고, 메모리 인덱스는 기존처럼 DB에서 적재
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.state-topic")
+public class OrderStateProperties {
+    
+    private boolean enabled = true;
+    
+    private String name = "order-state";
+    
+    /**
+     * order-events/payment-events와 같은 파티션 수 (같은 주문이 같은 파티션 번호에 모이도록)
+     */
+    private int partitions = 6;
+    
+    private short replicas = 1;
+    
+    /**
+     * 토픽을 만드는 Kafka Streams 애플리케이션 ID (집계용 order-analytics와 분리)
+     */
+    private String applicationId = "order-state-publisher";
+    
+    /**
+     * 기동 시 토픽을 나눠 읽는 컨슈머 수 (파티션 수보다 크면 파티션 수만큼만 사용)
+     */
+    private int replayThreads = 4;
+    
+    /**
+     * 재생이 이 시간 안에 끝나지 않으면 중단하고 DB 적재로 대체
+     */
+    private Duration replayTimeout = Duration.ofMinutes(2);
+}
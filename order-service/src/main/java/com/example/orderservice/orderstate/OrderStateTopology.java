@@ -0,0 +1,165 @@
+package com.example.orderservice.orderstate;
+
+import com.example.common.orderstate.OrderState;
+import com.example.orderservice.analytics.OrderAnalyticsTopology;
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.PaymentEventConsumer;
+import com.example.orderservice.event.PaymentEventDTO;
+import com.example.orderservice.statusindex.OrderStatusIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Branched;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Named;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.kstream.Repartitioned;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 주문별 최신 상태를 log compaction 토픽(order-state)으로 발행 (Kafka Streams)
+ * 
+ * 메모리 캐시/인덱스를 기동 시 채우려면 orders와 processed_events를 전부 읽어야 했음
+ * → 주문마다 마지막 상태 하나만 남는 토픽을 두고, 각 서비스는 이 토픽을 처음부터 읽어 채움
+ * (토픽 크기는 이벤트 수가 아니라 주문 수에 비례).
+ * 
+ * - order-events의 ORDER_CREATED → PENDING, ORDER_CANCELLED → CANCELLED
+ *   (Saga 타임아웃 보상 이벤트는 결제 결과 없이 발행되고 키가 "주문 번호 + -compensation"이므로
+ *    페이로드의 주문 번호로 키를 바꿔 재파티션한 뒤 합침)
+ * - payment-events의 결과 → PaymentEventConsumer.resultingStatus (COMPLETED / CANCELLED)
+ * 
+ * compaction은 마지막에 쓴 레코드를 남기므로, 결제 결과가 주문 생성보다 먼저 처리되어도 되돌아가지 않도록
+ * 주문 번호별로 더 큰 버전만 유지하는 저장소(order-state-store)를 거쳐 발행함.
+ * 버전이 더 커도 현재 상태에서 전이 표(Order.OrderStatus)상 허용되지 않으면 버림
+ * (늦게 도착한 PAYMENT_FAILED가 결제 완료 주문을 CANCELLED로 덮어쓰지 않도록).
+ * 두 입력 토픽 모두 키가 주문 번호이고 파티션 수가 같으므로 재파티션 없이 같은 태스크에서 합쳐짐
+ * (키가 주문 번호와 다른 보상 이벤트만 order-state-rekeyed 토픽을 거침).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderStateTopology {
+    
+    public static final String STORE = "order-state-store";
+    
+    private static final Set<String> ORDER_STATE_EVENTS = Set.of("ORDER_CREATED", "ORDER_CANCELLED");
+    private static final String REKEYED = "order-state-rekeyed";
+    
+    private final ObjectMapper objectMapper;
+    private final OrderStateProperties orderStateProperties;
+    
+    @Autowired
+    public void buildPipeline(@Qualifier(OrderStateConfig.STREAMS_BUILDER) StreamsBuilder builder) {
+        Serde<OrderState> stateSerde = new JsonSerde<>(OrderState.class, objectMapper).noTypeInfo();
+        
+        Map<String, KStream<String, OrderState>> orderTransitions = builder
+            .stream(OrderAnalyticsTopology.ORDER_TOPIC,
+                Consumed.with(Serdes.String(), Serdes.String()).withName("order-events-source"))
+            .mapValues(this::fromOrderEvent)
+            .filter((key, state) -> state != null)
+            .split(Named.as("order-events-"))
+            .branch((key, state) -> state.getOrderNumber().equals(key), Branched.as("keyed"))
+            .defaultBranch(Branched.as("compensation"));
+        
+        // 보상 이벤트만 주문 번호로 키를 바꿔 같은 주문의 다른 이벤트와 같은 파티션으로 보냄
+        KStream<String, OrderState> compensations = orderTransitions.get("order-events-compensation")
+            .selectKey((key, state) -> state.getOrderNumber(), Named.as("order-events-rekey"))
+            .repartition(Repartitioned.<String, OrderState>as(REKEYED)
+                .withKeySerde(Serdes.String())
+                .withValueSerde(stateSerde));
+        
+        KStream<String, OrderState> paymentResults = builder
+            .stream(OrderAnalyticsTopology.PAYMENT_TOPIC,
+                Consumed.with(Serdes.String(), Serdes.String()).withName("payment-events-source"))
+            .mapValues(this::fromPaymentEvent)
+            .filter((orderNumber, state) -> state != null);
+        
+        orderTransitions.get("order-events-keyed")
+            .merge(compensations, Named.as("order-transitions"))
+            .merge(paymentResults, Named.as("order-state-transitions"))
+            .groupByKey(Grouped.with(Serdes.String(), stateSerde))
+            .reduce(OrderStateTopology::transition,
+                Materialized.<String, OrderState, KeyValueStore<Bytes, byte[]>>as(STORE)
+                    .withKeySerde(Serdes.String())
+                    .withValueSerde(stateSerde))
+            .toStream(Named.as("order-state-changes"))
+            .to(orderStateProperties.getName(), Produced.with(Serdes.String(), stateSerde));
+    }
+    
+    /**
+     * 버전이 더 크고 현재 상태에서 전이할 수 있을 때만 새 상태 (아니면 기존 상태 유지)
+     */
+    private static OrderState transition(OrderState current, OrderState candidate) {
+        OrderState newer = OrderState.newer(current, candidate);
+        if (newer == current || current == null) {
+            return newer;
+        }
+        Order.OrderStatus from = Order.OrderStatus.valueOf(current.getStatus());
+        return from.canTransitionTo(Order.OrderStatus.valueOf(candidate.getStatus())) ? candidate : current;
+    }
+    
+    private OrderState fromOrderEvent(String value) {
+        OrderEvent order = parse(value, OrderEvent.class);
+        if (order == null || order.getOrderNumber() == null || order.getStatus() == null
+                || order.getEventType() == null || !ORDER_STATE_EVENTS.contains(order.getEventType())) {
+            return null;
+        }
+        try {
+            return state(order.getOrderNumber(), Order.OrderStatus.valueOf(order.getStatus()), order.getEventTime());
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping order event with unknown status: orderNumber={}, status={}",
+                order.getOrderNumber(), order.getStatus());
+            return null;
+        }
+    }
+    
+    private OrderState fromPaymentEvent(String value) {
+        PaymentEventDTO payment = parse(value, PaymentEventDTO.class);
+        if (payment == null) {
+            return null;
+        }
+        Order.OrderStatus status = PaymentEventConsumer.resultingStatus(payment.getEventType());
+        return status == null ? null : state(payment.getOrderNumber(), status, payment.getEventTime());
+    }
+    
+    private static OrderState state(String orderNumber, Order.OrderStatus status, LocalDateTime updatedAt) {
+        return OrderState.builder()
+            .orderNumber(orderNumber)
+            .status(status.name())
+            .version(OrderStatusIndex.lifecycleVersion(status))
+            .updatedAt(updatedAt)
+            .build();
+    }
+    
+    /**
+     * 형식이 잘못된 이벤트는 건너뜀 (해당 주문은 다음 이벤트나 DB 조회로 보완됨)
+     */
+    private <T> T parse(String value, Class<T> type) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, type);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping malformed event for order state ({}): {}", type.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+}
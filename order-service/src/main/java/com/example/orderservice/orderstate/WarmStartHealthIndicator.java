@@ -0,0 +1,42 @@
+package com.example.orderservice.orderstate;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 기동 시 메모리 캐시/인덱스 적재 완료 여부 (health 이름: warmStart)
+ * 
+ * 적재할 대상이 register로 등록하고 끝나면 complete → 하나라도 남아 있으면 OUT_OF_SERVICE.
+ * readiness 그룹에 포함되어 있어 (management.endpoint.health.group.readiness)
+ * 적재가 끝나기 전에는 트래픽을 받지 않음. 적재에 실패해도 DB 조회로 동작하므로 complete로 끝냄.
+ */
+@Component
+public class WarmStartHealthIndicator implements HealthIndicator {
+    
+    private final Map<String, Map<String, Object>> pending = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> completed = new ConcurrentHashMap<>();
+    
+    public void register(String name) {
+        pending.put(name, Map.of("state", "WARMING_UP"));
+    }
+    
+    public void complete(String name, Map<String, Object> details) {
+        Map<String, Object> result = new LinkedHashMap<>(details);
+        result.put("state", "READY");
+        completed.put(name, result);
+        pending.remove(name);
+    }
+    
+    @Override
+    public Health health() {
+        Health.Builder builder = pending.isEmpty() ? Health.up() : Health.outOfService();
+        completed.forEach(builder::withDetail);
+        pending.forEach(builder::withDetail);
+        return builder.build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.orderservice.reconciliation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 번호 구간 [from, to) - null이면 해당 방향으로 열린 구간
+ * 
+ * 주문 번호는 "ORD-" + UUID 앞 8자리(대문자 16진수)라 접두사 기준으로 고르게 나뉨.
+ * 첫 구간과 마지막 구간은 열려 있으므로 형식이 다른 키도 빠짐없이 어느 한 구간에 속함.
+ */
+public record KeyRange(String from, String to) {
+    
+    static final String ORDER_NUMBER_PREFIX = "ORD-";
+    private static final int KEY_SPACE = 1 << 16; // 16진수 4자리 접두사
+    
+    /**
+     * 주문 번호 공간을 parts개의 연속 구간으로 분할
+     */
+    public static List<KeyRange> split(int parts) {
+        if (parts < 1 || parts > KEY_SPACE) {
+            throw new IllegalArgumentException("Parts must be between 1 and " + KEY_SPACE + ": " + parts);
+        }
+        List<KeyRange> ranges = new ArrayList<>(parts);
+        String from = null;
+        for (int i = 1; i < parts; i++) {
+            String to = ORDER_NUMBER_PREFIX + String.format("%04X", (int) ((long) i * KEY_SPACE / parts));
+            ranges.add(new KeyRange(from, to));
+            from = to;
+        }
+        ranges.add(new KeyRange(from, null));
+        return ranges;
+    }
+}
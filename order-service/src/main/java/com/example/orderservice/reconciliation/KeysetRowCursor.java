@@ -0,0 +1,112 @@
+package com.example.orderservice.reconciliation;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 테이블 하나를 (order_number, id) keyset으로 청크 단위로 읽는 커서
+ * 
+ * - OFFSET 없이 마지막 키 다음부터 읽으므로 청크마다 인덱스 범위 스캔 (order_number 인덱스)
+ * - 메모리에는 현재 청크만 유지, 커넥션은 청크를 읽는 동안만 사용
+ * - 결제는 주문당 1건이 정상이지만 중복 행도 건너뛰지 않도록 id를 보조 키로 사용
+ * - 병합 조인은 DB 정렬과 String.compareTo 순서가 같다고 가정 → 어긋나면 즉시 실패
+ */
+class KeysetRowCursor implements RowCursor {
+    
+    private final DataSource dataSource;
+    private final String table;
+    private final KeyRange range;
+    private final Timestamp createdBefore;
+    private final int chunkSize;
+    private final int source;
+    
+    private List<Row> chunk = List.of();
+    private int position;
+    private Row last;
+    private boolean exhausted;
+    
+    /**
+     * @param createdBefore 이 시각 이전에 생성된 행만 (null이면 전체)
+     */
+    KeysetRowCursor(DataSource dataSource, String table, KeyRange range, Timestamp createdBefore,
+                    int chunkSize, int source) {
+        this.dataSource = dataSource;
+        this.table = table;
+        this.range = range;
+        this.createdBefore = createdBefore;
+        this.chunkSize = chunkSize;
+        this.source = source;
+    }
+    
+    @Override
+    public Row peek() throws SQLException {
+        if (position == chunk.size() && !exhausted) {
+            chunk = loadChunk();
+            position = 0;
+            exhausted = chunk.size() < chunkSize;
+        }
+        return position < chunk.size() ? chunk.get(position) : null;
+    }
+    
+    @Override
+    public Row next() throws SQLException {
+        Row row = peek();
+        if (row != null) {
+            position++;
+        }
+        return row;
+    }
+    
+    private List<Row> loadChunk() throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT order_number, id, status, created_at FROM ")
+            .append(table).append(" WHERE 1 = 1");
+        List<Object> parameters = new ArrayList<>();
+        if (createdBefore != null) {
+            sql.append(" AND created_at < ?");
+            parameters.add(createdBefore);
+        }
+        if (range.to() != null) {
+            sql.append(" AND order_number < ?");
+            parameters.add(range.to());
+        }
+        if (last != null) {
+            sql.append(" AND (order_number > ? OR (order_number = ? AND id > ?))");
+            parameters.add(last.orderNumber());
+            parameters.add(last.orderNumber());
+            parameters.add(last.id());
+        } else if (range.from() != null) {
+            sql.append(" AND order_number >= ?");
+            parameters.add(range.from());
+        }
+        sql.append(" ORDER BY order_number, id LIMIT ?");
+        parameters.add(chunkSize);
+        
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            List<Row> rows = new ArrayList<>(chunkSize);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    Timestamp createdAt = resultSet.getTimestamp(4);
+                    Row row = new Row(resultSet.getString(1), resultSet.getLong(2), resultSet.getString(3),
+                        createdAt == null ? null : createdAt.toLocalDateTime(), source);
+                    if (last != null && row.orderNumber().compareTo(last.orderNumber()) < 0) {
+                        throw new IllegalStateException("Rows of " + table + " are not in binary order_number order ("
+                            + last.orderNumber() + " > " + row.orderNumber() + "); use a C/binary collation");
+                    }
+                    rows.add(row);
+                    last = row;
+                }
+            }
+            return rows;
+        }
+    }
+}
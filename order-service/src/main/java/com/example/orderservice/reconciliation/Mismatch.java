@@ -0,0 +1,30 @@
+package com.example.orderservice.reconciliation;
+
+/**
+ * 주문/결제 대사 불일치 1건
+ * 
+ * @param orderStatus 주문 상태 (주문이 없으면 null, 여러 건이면 쉼표로 구분)
+ * @param paymentStatus 결제 상태 (결제가 없으면 null, 여러 건이면 쉼표로 구분)
+ * @param repaired 이벤트를 다시 발행하도록 Outbox에 넣었는지
+ */
+public record Mismatch(Type type, String orderNumber, String orderStatus, String paymentStatus, boolean repaired) {
+    
+    public enum Type {
+        MISSING_PAYMENT(true),      // 결제 대기 주문인데 결제 없음 (order-events 유실, 결제 처리 실패) → ORDER_CREATED 재발행
+        ORDER_NOT_UPDATED(true),    // 결제는 끝났는데 주문이 결제 대기 (payment-events 유실, 컨슈머 예외) → 결제 결과 재발행
+        STATUS_CONFLICT(false),     // 주문/결제 상태가 서로 맞지 않음 (예: 결제 완료된 취소 주문) → 수동 처리
+        ORPHAN_PAYMENT(false),      // 주문 없는 결제
+        DUPLICATE_PAYMENT(false),   // 한 주문에 결제 여러 건
+        DUPLICATE_ORDER(false);     // 같은 주문 번호가 여러 샤드에 존재 (중단된 리샤딩)
+        
+        private final boolean repairable;
+        
+        Type(boolean repairable) {
+            this.repairable = repairable;
+        }
+        
+        public boolean isRepairable() {
+            return repairable;
+        }
+    }
+}
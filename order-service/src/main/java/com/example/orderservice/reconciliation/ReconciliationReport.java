@@ -0,0 +1,88 @@
+package com.example.orderservice.reconciliation;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 대사 결과 집계 (구간별로 만든 뒤 merge로 합침)
+ */
+public class ReconciliationReport {
+    
+    private long orderRows;
+    private long paymentRows;
+    private long matched;
+    private long repaired;
+    private long elapsedMillis;
+    private final Map<Mismatch.Type, Long> mismatches = new EnumMap<>(Mismatch.Type.class);
+    
+    void recordRows(int orders, int payments) {
+        orderRows += orders;
+        paymentRows += payments;
+    }
+    
+    void recordMatched() {
+        matched++;
+    }
+    
+    void recordMismatch(Mismatch mismatch) {
+        mismatches.merge(mismatch.type(), 1L, Long::sum);
+        if (mismatch.repaired()) {
+            repaired++;
+        }
+    }
+    
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    ReconciliationReport merge(ReconciliationReport other) {
+        orderRows += other.orderRows;
+        paymentRows += other.paymentRows;
+        matched += other.matched;
+        repaired += other.repaired;
+        other.mismatches.forEach((type, count) -> mismatches.merge(type, count, Long::sum));
+        return this;
+    }
+    
+    public long getOrderRows() {
+        return orderRows;
+    }
+    
+    public long getPaymentRows() {
+        return paymentRows;
+    }
+    
+    public long getMatched() {
+        return matched;
+    }
+    
+    public long getRepaired() {
+        return repaired;
+    }
+    
+    public long getMismatches(Mismatch.Type type) {
+        return mismatches.getOrDefault(type, 0L);
+    }
+    
+    public long getTotalMismatches() {
+        return mismatches.values().stream().mapToLong(Long::longValue).sum();
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    /**
+     * 초당 처리 행 수 (주문 + 결제)
+     */
+    public long getRowsPerSecond() {
+        return (orderRows + paymentRows) * 1000 / Math.max(elapsedMillis, 1);
+    }
+    
+    @Override
+    public String toString() {
+        return "orders=" + orderRows + ", payments=" + paymentRows + ", matched=" + matched
+            + ", mismatches=" + mismatches + ", repaired=" + repaired
+            + ", elapsed=" + elapsedMillis + "ms, rows/sec=" + getRowsPerSecond();
+    }
+}
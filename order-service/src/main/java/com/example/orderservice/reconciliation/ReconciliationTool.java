@@ -0,0 +1,447 @@
+package com.example.orderservice.reconciliation;
+
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.PaymentEventDTO;
+import com.example.orderservice.sharding.ShardRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 주문/결제 대사 도구: 모든 주문에 맞는 결제가 있고 상태가 일치하는지 확인
+ * 
+ * 주문 DB(샤드)와 결제 DB가 분리되어 SQL 조인이 불가능하므로 양쪽을 order_number 순으로 읽어 병합 조인:
+ * - 각 테이블을 (order_number, id) keyset 청크로 스트리밍 (KeysetRowCursor), 샤드별 커서는 하나로 병합
+ * - 주문 번호 공간을 parallelism * 8개 구간으로 나누고 ForkJoinPool에서 구간을 반씩 쪼개 병렬 처리
+ *   (구간이 작아 한 작업자가 느린 구간에 오래 묶이지 않음, 남는 작업자는 다른 작업자의 구간을 훔쳐 옴)
+ * - 메모리는 작업자마다 (샤드 수 + 1) 청크로 일정, 불일치는 모으지 않고 바로 sink로 흘려보냄
+ * 
+ * 불일치 복구 (repair, Mismatch.Type 참고):
+ * - MISSING_PAYMENT: 주문 샤드의 ORDER_CREATED Outbox 행을 미발행으로 되돌림 (정리되어 없으면 주문 행으로 새로 만듦)
+ *   → Payment Service는 processed_events로 중복을 거르고, 승인 멱등성 키도 주문 번호라 이중 결제 없음
+ * - ORDER_NOT_UPDATED: 결제 DB의 결제 결과 Outbox 행을 같은 방식으로 되돌림 → PaymentEventConsumer가 주문 상태 반영
+ * - 나머지는 자동으로 고칠 수 없으므로 보고만 함 (예: 결제 완료된 취소 주문은 환불 필요)
+ * 
+ * 주의:
+ * - 생성 후 grace 시간이 지나지 않은 주문은 Saga 진행 중일 수 있으므로 제외
+ * - 보관(archive)된 주문/결제는 DB에 없으므로 양쪽 보관 시점이 다르면 불일치로 보일 수 있음
+ * - 병합 조인은 DB의 order_number 정렬이 바이트 순서와 같아야 함 (ORD-16진수 키는 일반 로케일에서도 동일)
+ * 
+ * 실행:
+ * ORDER_DB_USERNAME=... ORDER_DB_PASSWORD=... PAYMENT_DB_USERNAME=... PAYMENT_DB_PASSWORD=... \
+ *   java -cp order-service.jar -Dloader.main=com.example.orderservice.reconciliation.ReconciliationTool \
+ *   org.springframework.boot.loader.launch.PropertiesLauncher [--repair] [--parallelism=4] [--grace-minutes=60] \
+ *   jdbc:postgresql://paymentdb/paymentdb jdbc:postgresql://orderdb-0/orderdb ...
+ * 불일치는 한 줄씩 표준 출력, 복구되지 않은 불일치가 남으면 종료 코드 2
+ */
+@Slf4j
+public class ReconciliationTool {
+    
+    public static final int DEFAULT_CHUNK_SIZE = 1_000;
+    
+    private static final int RANGES_PER_WORKER = 8;
+    
+    private static final Set<Order.OrderStatus> PAID = EnumSet.of(Order.OrderStatus.COMPLETED,
+        Order.OrderStatus.PAID, Order.OrderStatus.SHIPPED, Order.OrderStatus.DELIVERED);
+    
+    // PaymentService가 실패 결제 이벤트에 넣는 사유 (payments 테이블에는 사유가 저장되지 않음)
+    private static final String PAYMENT_FAILURE_REASON = "PG사 승인 거절";
+    
+    private final List<DataSource> orderShards;
+    private final DataSource paymentDb;
+    private final int parallelism;
+    private final int chunkSize;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    
+    /**
+     * @param orderShards 샤드 번호 순서의 주문 DB
+     * @param paymentDb 결제 DB
+     * @param parallelism 동시에 처리할 구간 수 (DB 커넥션은 최대 parallelism * (샤드 수 + 1)개)
+     * @param chunkSize 한 번에 읽는 행 수
+     */
+    public ReconciliationTool(List<DataSource> orderShards, DataSource paymentDb, int parallelism, int chunkSize) {
+        if (orderShards.isEmpty() || orderShards.size() > ShardRouter.MAX_SHARDS) {
+            throw new IllegalArgumentException("Invalid shard list size: " + orderShards.size());
+        }
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be positive: "
+                + parallelism + ", " + chunkSize);
+        }
+        this.orderShards = List.copyOf(orderShards);
+        this.paymentDb = paymentDb;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+    
+    /**
+     * 전체 주문/결제 대사
+     * 
+     * @param createdBefore 이 시각 이전에 생성된 주문만 확인 (진행 중인 Saga 제외)
+     * @param repair 복구 가능한 불일치의 이벤트를 다시 발행할지
+     * @param sink 불일치를 받는 곳 (여러 작업자 스레드에서 동시에 호출됨)
+     */
+    public ReconciliationReport reconcile(LocalDateTime createdBefore, boolean repair, Consumer<Mismatch> sink)
+            throws SQLException {
+        long started = System.nanoTime();
+        Run run = new Run(Timestamp.valueOf(createdBefore), repair, sink);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            ReconciliationReport report = pool.invoke(new RangeTask(KeyRange.split(parallelism * RANGES_PER_WORKER), run));
+            report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return report;
+        } catch (RuntimeException e) {
+            // 작업자 스레드의 SQLException을 호출자에게 그대로 전달
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof SQLException sqlException) {
+                    throw sqlException;
+                }
+            }
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    private record Run(Timestamp createdBefore, boolean repair, Consumer<Mismatch> sink) {
+    }
+    
+    /**
+     * 구간 목록을 반씩 나눠 fork, 구간이 하나 남으면 병합 조인
+     */
+    private class RangeTask extends RecursiveTask<ReconciliationReport> {
+        
+        private final List<KeyRange> ranges;
+        private final Run run;
+        
+        RangeTask(List<KeyRange> ranges, Run run) {
+            this.ranges = ranges;
+            this.run = run;
+        }
+        
+        @Override
+        protected ReconciliationReport compute() {
+            if (ranges.size() == 1) {
+                try {
+                    return reconcileRange(ranges.get(0), run);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Reconciliation failed for range " + ranges.get(0), e);
+                }
+            }
+            int middle = ranges.size() / 2;
+            RangeTask left = new RangeTask(ranges.subList(0, middle), run);
+            left.fork();
+            ReconciliationReport right = new RangeTask(ranges.subList(middle, ranges.size()), run).compute();
+            return left.join().merge(right);
+        }
+    }
+    
+    private ReconciliationReport reconcileRange(KeyRange range, Run run) throws SQLException {
+        List<RowCursor> shardCursors = new ArrayList<>(orderShards.size());
+        for (int shard = 0; shard < orderShards.size(); shard++) {
+            shardCursors.add(new KeysetRowCursor(orderShards.get(shard), "orders", range, run.createdBefore(),
+                chunkSize, shard));
+        }
+        RowCursor orders = RowCursor.merge(shardCursors);
+        RowCursor payments = new KeysetRowCursor(paymentDb, "payments", range, null, chunkSize, 0);
+        
+        ReconciliationReport report = new ReconciliationReport();
+        List<RowCursor.Row> orderGroup = new ArrayList<>(1);
+        List<RowCursor.Row> paymentGroup = new ArrayList<>(1);
+        while (true) {
+            RowCursor.Row nextOrder = orders.peek();
+            RowCursor.Row nextPayment = payments.peek();
+            if (nextOrder == null && nextPayment == null) {
+                return report;
+            }
+            String key = nextOrder == null ? nextPayment.orderNumber()
+                : nextPayment == null || nextOrder.orderNumber().compareTo(nextPayment.orderNumber()) <= 0
+                ? nextOrder.orderNumber() : nextPayment.orderNumber();
+            takeGroup(orders, key, orderGroup);
+            takeGroup(payments, key, paymentGroup);
+            report.recordRows(orderGroup.size(), paymentGroup.size());
+            
+            Mismatch.Type type = classify(orderGroup, paymentGroup);
+            if (type == null) {
+                report.recordMatched();
+            } else if (type == Mismatch.Type.ORPHAN_PAYMENT
+                    && !paymentGroup.get(0).createdAt().isBefore(run.createdBefore().toLocalDateTime())) {
+                // 유예 시간 안에 생성된 주문의 결제 (주문은 읽지 않았으므로 짝이 없어 보임)
+                continue;
+            } else {
+                boolean repaired = run.repair() && type.isRepairable() && repair(type, orderGroup, paymentGroup);
+                Mismatch mismatch = new Mismatch(type, key, statuses(orderGroup), statuses(paymentGroup), repaired);
+                report.recordMismatch(mismatch);
+                run.sink().accept(mismatch);
+            }
+        }
+    }
+    
+    private static void takeGroup(RowCursor cursor, String key, List<RowCursor.Row> group) throws SQLException {
+        group.clear();
+        while (cursor.peek() != null && cursor.peek().orderNumber().equals(key)) {
+            group.add(cursor.next());
+        }
+    }
+    
+    private static String statuses(List<RowCursor.Row> rows) {
+        return rows.isEmpty() ? null : rows.stream().map(RowCursor.Row::status).collect(Collectors.joining(","));
+    }
+    
+    /**
+     * 같은 주문 번호의 주문/결제 행 비교 (일치하면 null)
+     */
+    private static Mismatch.Type classify(List<RowCursor.Row> orders, List<RowCursor.Row> payments) {
+        if (orders.isEmpty()) {
+            return Mismatch.Type.ORPHAN_PAYMENT;
+        }
+        if (orders.size() > 1) {
+            return Mismatch.Type.DUPLICATE_ORDER;
+        }
+        if (payments.size() > 1) {
+            return Mismatch.Type.DUPLICATE_PAYMENT;
+        }
+        Order.OrderStatus orderStatus = Order.OrderStatus.valueOf(orders.get(0).status());
+        if (payments.isEmpty()) {
+            if (orderStatus.isAwaitingPayment()) {
+                return Mismatch.Type.MISSING_PAYMENT;
+            }
+            // 결제 없이 취소된 주문은 정상, 결제 없이 결제 이후 상태인 주문은 충돌
+            return PAID.contains(orderStatus) ? Mismatch.Type.STATUS_CONFLICT : null;
+        }
+        String paymentStatus = payments.get(0).status();
+        boolean settled = "COMPLETED".equals(paymentStatus) || "FAILED".equals(paymentStatus);
+        if (settled && orderStatus.isAwaitingPayment()) {
+            return Mismatch.Type.ORDER_NOT_UPDATED;
+        }
+        boolean consistent = switch (paymentStatus) {
+            case "COMPLETED" -> PAID.contains(orderStatus);
+            case "FAILED", "REFUNDED" -> orderStatus == Order.OrderStatus.CANCELLED;
+            default -> false; // 결제는 최종 상태로만 저장되므로 PENDING/PROCESSING은 비정상
+        };
+        return consistent ? null : Mismatch.Type.STATUS_CONFLICT;
+    }
+    
+    private boolean repair(Mismatch.Type type, List<RowCursor.Row> orders, List<RowCursor.Row> payments)
+            throws SQLException {
+        return type == Mismatch.Type.MISSING_PAYMENT
+            ? reemitOrderCreated(orders.get(0))
+            : reemitPaymentResult(payments.get(0));
+    }
+    
+    /**
+     * 주문 샤드의 ORDER_CREATED 이벤트를 다시 발행 대상으로 만듦
+     * 
+     * @return 보관(parked) 상태라 되돌리지 못하면 false (/api/admin/outbox/parked/{id}/redrive로 처리)
+     */
+    private boolean reemitOrderCreated(RowCursor.Row order) throws SQLException {
+        String orderNumber = order.orderNumber();
+        LocalDateTime now = LocalDateTime.now();
+        try (Connection connection = orderShards.get(order.source()).getConnection()) {
+            connection.setAutoCommit(false);
+            if (update(connection, "UPDATE outbox_events SET published = FALSE, published_at = NULL, retry_count = 0, "
+                    + "error_message = NULL, superseded_by = NULL, next_attempt_at = ? WHERE aggregate_id = ?",
+                    Timestamp.valueOf(now), orderNumber) == 0) {
+                if (exists(connection, "parked_outbox_events", orderNumber)) {
+                    log.warn("ORDER_CREATED of {} is parked on shard {}, re-drive it instead", orderNumber, order.source());
+                    connection.rollback();
+                    return false;
+                }
+                update(connection, "INSERT INTO outbox_events (aggregate_id, aggregate_type, event_type, payload, "
+                        + "published, created_at, retry_count, next_attempt_at) VALUES (?, 'ORDER', 'ORDER_CREATED', ?, "
+                        + "FALSE, ?, 0, ?)",
+                    orderNumber, orderCreatedPayload(connection, order), Timestamp.valueOf(now), Timestamp.valueOf(now));
+            }
+            connection.commit();
+        }
+        log.info("Re-emitting ORDER_CREATED: orderNumber={}, shard={}", orderNumber, order.source());
+        return true;
+    }
+    
+    /**
+     * 결제 DB의 결제 결과 이벤트를 다시 발행 대상으로 만듦
+     */
+    private boolean reemitPaymentResult(RowCursor.Row payment) throws SQLException {
+        String orderNumber = payment.orderNumber();
+        try (Connection connection = paymentDb.getConnection()) {
+            connection.setAutoCommit(false);
+            if (update(connection, "UPDATE outbox_events SET published = FALSE, published_at = NULL, retry_count = 0, "
+                    + "error_message = NULL WHERE aggregate_id = ?", orderNumber) == 0) {
+                PaymentEventDTO event = paymentResultEvent(connection, payment);
+                update(connection, "INSERT INTO outbox_events (aggregate_id, aggregate_type, event_type, payload, "
+                        + "published, created_at, retry_count) VALUES (?, 'PAYMENT', ?, ?, FALSE, ?, 0)",
+                    orderNumber, event.getEventType(), toJson(event), Timestamp.valueOf(LocalDateTime.now()));
+            }
+            connection.commit();
+        }
+        log.info("Re-emitting payment result: orderNumber={}, status={}", orderNumber, payment.status());
+        return true;
+    }
+    
+    /**
+     * OrderService가 주문 생성 시 만드는 것과 같은 ORDER_CREATED 이벤트 (이벤트 시각은 주문 생성 시각)
+     */
+    private String orderCreatedPayload(Connection connection, RowCursor.Row order) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id, product_name, quantity, price, "
+                + "total_amount, customer_name, customer_email, status FROM orders WHERE id = ?")) {
+            statement.setLong(1, order.id());
+            try (ResultSet row = statement.executeQuery()) {
+                if (!row.next()) {
+                    throw new SQLException("Order disappeared during reconciliation: " + order.orderNumber());
+                }
+                return toJson(OrderEvent.builder()
+                    .orderId(ShardRouter.toGlobalId(order.source(), row.getLong("id"), orderShards.size()))
+                    .orderNumber(order.orderNumber())
+                    .productName(row.getString("product_name"))
+                    .quantity(row.getInt("quantity"))
+                    .price(row.getBigDecimal("price"))
+                    .totalAmount(row.getBigDecimal("total_amount"))
+                    .customerName(row.getString("customer_name"))
+                    .customerEmail(row.getString("customer_email"))
+                    .status(row.getString("status"))
+                    .eventTime(order.createdAt())
+                    .eventType("ORDER_CREATED")
+                    .build());
+            }
+        }
+    }
+    
+    /**
+     * PaymentService가 결제 후 만드는 것과 같은 결제 결과 이벤트
+     */
+    private static PaymentEventDTO paymentResultEvent(Connection connection, RowCursor.Row payment)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id, order_id, payment_number, amount, "
+                + "status, payment_method FROM payments WHERE id = ?")) {
+            statement.setLong(1, payment.id());
+            try (ResultSet row = statement.executeQuery()) {
+                if (!row.next()) {
+                    throw new SQLException("Payment disappeared during reconciliation: " + payment.orderNumber());
+                }
+                boolean completed = "COMPLETED".equals(row.getString("status"));
+                return PaymentEventDTO.builder()
+                    .paymentId(row.getLong("id"))
+                    .orderId(row.getLong("order_id"))
+                    .orderNumber(payment.orderNumber())
+                    .paymentNumber(row.getString("payment_number"))
+                    .amount(row.getBigDecimal("amount"))
+                    .status(row.getString("status"))
+                    .paymentMethod(row.getString("payment_method"))
+                    .eventType(completed ? "PAYMENT_COMPLETED" : "PAYMENT_FAILED")
+                    .failureReason(completed ? null : PAYMENT_FAILURE_REASON)
+                    .eventTime(LocalDateTime.now())
+                    .build();
+            }
+        }
+    }
+    
+    private String toJson(Object event) throws SQLException {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Failed to serialize re-emitted event", e);
+        }
+    }
+    
+    private static int update(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            return statement.executeUpdate();
+        }
+    }
+    
+    private static boolean exists(Connection connection, String table, String aggregateId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM " + table + " WHERE aggregate_id = ?")) {
+            statement.setString(1, aggregateId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+    
+    /**
+     * @param args [--repair] [--parallelism=N] [--grace-minutes=N] 결제 DB JDBC URL, 주문 샤드 0 JDBC URL, ...
+     */
+    public static void main(String[] args) throws SQLException {
+        boolean repair = false;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long graceMinutes = 60;
+        List<String> urls = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--repair")) {
+                repair = true;
+            } else if (arg.startsWith("--parallelism=")) {
+                parallelism = Integer.parseInt(arg.substring("--parallelism=".length()));
+            } else if (arg.startsWith("--grace-minutes=")) {
+                graceMinutes = Long.parseLong(arg.substring("--grace-minutes=".length()));
+            } else {
+                urls.add(arg);
+            }
+        }
+        if (urls.size() < 2) {
+            System.err.println("Usage: ReconciliationTool [--repair] [--parallelism=N] [--grace-minutes=N] "
+                + "<paymentJdbcUrl> <orderJdbcUrl-0> [<orderJdbcUrl-1> ...]");
+            System.exit(1);
+        }
+        
+        int poolSize = parallelism + 1;
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        dataSources.add(pooledDataSource(urls.get(0), "PAYMENT", poolSize));
+        for (String url : urls.subList(1, urls.size())) {
+            dataSources.add(pooledDataSource(url, "ORDER", poolSize));
+        }
+        ReconciliationReport report;
+        try {
+            report = new ReconciliationTool(List.copyOf(dataSources.subList(1, dataSources.size())),
+                dataSources.get(0), parallelism, DEFAULT_CHUNK_SIZE)
+                .reconcile(LocalDateTime.now().minusMinutes(graceMinutes), repair, mismatch ->
+                    System.out.println(mismatch.type() + "\t" + mismatch.orderNumber()
+                        + "\torder=" + mismatch.orderStatus() + "\tpayment=" + mismatch.paymentStatus()
+                        + "\trepaired=" + mismatch.repaired()));
+        } finally {
+            dataSources.forEach(HikariDataSource::close);
+        }
+        log.info("Reconciliation complete: {}", report);
+        if (report.getTotalMismatches() > report.getRepaired()) {
+            System.exit(2);
+        }
+    }
+    
+    /**
+     * 청크마다 커넥션을 새로 맺지 않도록 작업자 수만큼 풀링
+     */
+    private static HikariDataSource pooledDataSource(String url, String envPrefix, int poolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(System.getenv(envPrefix + "_DB_USERNAME"));
+        dataSource.setPassword(System.getenv(envPrefix + "_DB_PASSWORD"));
+        dataSource.setMaximumPoolSize(poolSize);
+        return dataSource;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.orderservice.reconciliation;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 번호 순으로 정렬된 행 스트림
+ */
+interface RowCursor {
+    
+    /**
+     * 다음 행 (소비하지 않음), 끝이면 null
+     */
+    Row peek() throws SQLException;
+    
+    /**
+     * 다음 행을 소비, 끝이면 null
+     */
+    Row next() throws SQLException;
+    
+    /**
+     * @param source 행을 읽은 DB 번호 (주문은 샤드 번호, 결제는 0)
+     */
+    record Row(String orderNumber, long id, String status, LocalDateTime createdAt, int source) {
+    }
+    
+    /**
+     * 여러 샤드의 커서를 하나의 정렬된 스트림으로 합침
+     * 
+     * 샤드 수가 많지 않으므로 힙 대신 매번 각 커서의 첫 행을 비교 (행당 O(샤드 수))
+     */
+    static RowCursor merge(List<RowCursor> cursors) {
+        if (cursors.size() == 1) {
+            return cursors.get(0);
+        }
+        return new RowCursor() {
+            
+            @Override
+            public Row peek() throws SQLException {
+                RowCursor cursor = smallest();
+                return cursor == null ? null : cursor.peek();
+            }
+            
+            @Override
+            public Row next() throws SQLException {
+                RowCursor cursor = smallest();
+                return cursor == null ? null : cursor.next();
+            }
+            
+            private RowCursor smallest() throws SQLException {
+                RowCursor smallest = null;
+                String smallestKey = null;
+                for (RowCursor cursor : cursors) {
+                    Row row = cursor.peek();
+                    if (row != null && (smallestKey == null || row.orderNumber().compareTo(smallestKey) < 0)) {
+                        smallest = cursor;
+                        smallestKey = row.orderNumber();
+                    }
+                }
+                return smallest;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.orderservice.replay;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.orderservice.entity.OutboxEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outbox 보관 세그먼트를 (생성 시각, 전역 ID) keyset으로 읽음
+ * 
+ * 세그먼트는 시각 범위가 겹치는 블록을 모두 풀어 보므로, 매 페이지를 [커서, 슬라이스 끝)으로 물으면
+ * 남은 구간 전체를 페이지마다 다시 훑게 됨 → 커서부터 창(window) 크기만큼만 묻고
+ * 창이 다 차면 반으로, 창 안의 행을 다 읽으면 두 배로 조정해 페이지당 푸는 블록 수를 일정하게 유지.
+ * 타입 조건은 페이지를 읽은 뒤 메모리에서 거름.
+ */
+class ArchiveReplaySource implements ReplaySource {
+    
+    private static final Duration INITIAL_WINDOW = Duration.ofMinutes(1);
+    private static final Duration MIN_WINDOW = Duration.ofMillis(1);
+    private static final Duration MAX_WINDOW = Duration.ofDays(1);
+    
+    private final ArchiveStore<OutboxEvent> archive;
+    private final ReplayRequest request;
+    private Duration window = INITIAL_WINDOW;
+    
+    ArchiveReplaySource(ArchiveStore<OutboxEvent> archive, ReplayRequest request) {
+        this.archive = archive;
+        this.request = request;
+    }
+    
+    @Override
+    public Page next(ReplaySlice slice, int limit) {
+        LocalDateTime windowEnd = slice.getCursorCreatedAt().plus(window);
+        if (windowEnd.isAfter(slice.getTo())) {
+            windowEnd = slice.getTo();
+        }
+        List<OutboxEvent> rows = archive.findCreatedAfter(slice.getCursorCreatedAt(), slice.getCursorId(),
+            windowEnd, limit);
+        List<OutboxEvent> matched = rows.stream().filter(request::matches).toList();
+        
+        if (rows.size() == limit) {
+            window = max(window.dividedBy(2), MIN_WINDOW);
+            OutboxEvent last = rows.get(rows.size() - 1);
+            return new Page(matched, last.getCreatedAt(), last.getId(), false);
+        }
+        // 창 안의 행을 모두 읽음 → 창 끝 시각의 행부터 다시 (창 상한은 제외였으므로)
+        window = min(window.multipliedBy(2), MAX_WINDOW);
+        boolean exhausted = windowEnd.equals(slice.getTo());
+        return new Page(matched, windowEnd, Long.MIN_VALUE, exhausted);
+    }
+    
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+    
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.orderservice.replay;
+
+import com.example.orderservice.entity.OutboxEvent;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 샤드 하나의 outbox_events를 (created_at, id) keyset으로 읽음 (idx_created_id 범위 스캔, OFFSET 없음)
+ * 
+ * 발행 완료이고 다른 이벤트에 대체되지 않은 행만 (미발행 행은 Relay가 곧 발행하므로 제외).
+ * 타입 조건은 SQL에서 거름.
+ */
+class LiveReplaySource implements ReplaySource {
+    
+    private final DataSource dataSource;
+    private final ReplayRequest request;
+    
+    LiveReplaySource(DataSource dataSource, ReplayRequest request) {
+        this.dataSource = dataSource;
+        this.request = request;
+    }
+    
+    @Override
+    public Page next(ReplaySlice slice, int limit) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT id, aggregate_id, aggregate_type, event_type, payload, "
+            + "created_at, published_at FROM outbox_events WHERE published = TRUE AND superseded_by IS NULL "
+            + "AND created_at < ? AND (created_at > ? OR (created_at = ? AND id > ?))");
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(Timestamp.valueOf(slice.getTo()));
+        parameters.add(Timestamp.valueOf(slice.getCursorCreatedAt()));
+        parameters.add(Timestamp.valueOf(slice.getCursorCreatedAt()));
+        parameters.add(slice.getCursorId());
+        if (request.aggregateType() != null) {
+            sql.append(" AND aggregate_type = ?");
+            parameters.add(request.aggregateType());
+        }
+        if (request.eventType() != null) {
+            sql.append(" AND event_type = ?");
+            parameters.add(request.eventType());
+        }
+        sql.append(" ORDER BY created_at, id LIMIT ?");
+        parameters.add(limit);
+        
+        List<OutboxEvent> rows = new ArrayList<>(limit);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    Timestamp publishedAt = resultSet.getTimestamp("published_at");
+                    rows.add(OutboxEvent.builder()
+                        .id(resultSet.getLong("id"))
+                        .aggregateId(resultSet.getString("aggregate_id"))
+                        .aggregateType(resultSet.getString("aggregate_type"))
+                        .eventType(resultSet.getString("event_type"))
+                        .payload(resultSet.getString("payload"))
+                        .published(true)
+                        .createdAt(resultSet.getTimestamp("created_at").toLocalDateTime())
+                        .publishedAt(publishedAt == null ? null : publishedAt.toLocalDateTime())
+                        .build());
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return new Page(rows, slice.getCursorCreatedAt(), slice.getCursorId(), true);
+        }
+        OutboxEvent last = rows.get(rows.size() - 1);
+        return new Page(rows, last.getCreatedAt(), last.getId(), rows.size() < limit);
+    }
+}
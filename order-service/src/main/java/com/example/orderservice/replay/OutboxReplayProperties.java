@@ -0,0 +1,34 @@
+package com.example.orderservice.replay;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Outbox 리플레이 설정 (order.outbox-replay.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.outbox-replay")
+public class OutboxReplayProperties {
+    
+    /**
+     * 요청에 속도가 없을 때 초당 최대 발행 수 (0이면 제한 없음)
+     */
+    private double defaultRatePerSecond = 1000;
+    
+    /**
+     * 발행 스레드(KafkaProducer) 수 = 소스별 시간 구간 수
+     */
+    private int producers = 4;
+    
+    /**
+     * 한 페이지에서 읽는 행 수 (페이지마다 발행 확인 후 체크포인트 저장)
+     */
+    private int batchSize = 500;
+    
+    /**
+     * 체크포인트 파일 디렉터리 (다른 인스턴스에서 이어 하려면 공유 볼륨)
+     */
+    private String checkpointDirectory = "./data/outbox-replay";
+}
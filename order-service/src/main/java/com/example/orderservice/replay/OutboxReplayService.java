@@ -0,0 +1,161 @@
+package com.example.orderservice.replay;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.sharding.ShardRoutingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * 운영 API용 Outbox 리플레이 실행기 (OutboxAdminController)
+ * 
+ * 인스턴스당 한 번에 리플레이 하나를 백그라운드 스레드에서 실행하고 진행 상황을 메트릭으로 노출:
+ * - outbox.replay.events{source}: 다시 발행한 이벤트 수 (OutboxReplayTool)
+ * - outbox.replay.progress: 실행 중인 리플레이의 시간 기준 진행률 (0~1, 없으면 NaN)
+ * - outbox.replay.throughput: 실행 중인 리플레이의 초당 발행 수
+ * 
+ * KafkaProducer는 애플리케이션의 stringProducerFactory 설정으로 발행 스레드마다 따로 만듦
+ * (공유 producer 하나로는 스레드를 늘려도 배치/전송이 한 곳에 몰림).
+ * 인스턴스가 재시작되어 중단된 리플레이는 체크포인트가 남아 있으므로 resume으로 이어 함.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(OutboxReplayProperties.class)
+public class OutboxReplayService {
+    
+    private final OutboxReplayProperties properties;
+    private final OutboxReplayTool tool;
+    private final Path checkpointDirectory;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private volatile ReplayProgress current;
+    
+    public OutboxReplayService(OutboxReplayProperties properties,
+                               ShardRoutingDataSource shardRoutingDataSource,
+                               ArchiveStore<OutboxEvent> outboxArchive,
+                               ProducerFactory<String, String> stringProducerFactory,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.checkpointDirectory = Path.of(properties.getCheckpointDirectory());
+        Map<Object, DataSource> resolved = shardRoutingDataSource.getResolvedDataSources();
+        List<DataSource> shards = IntStream.range(0, resolved.size())
+            .mapToObj(resolved::get)
+            .toList();
+        Map<String, Object> producerConfig = new HashMap<>(stringProducerFactory.getConfigurationProperties());
+        producerConfig.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, 5);
+        this.tool = new OutboxReplayTool(shards, outboxArchive, () -> new KafkaProducer<>(producerConfig),
+            properties.getProducers(), properties.getBatchSize(), checkpointDirectory, meterRegistry);
+        
+        Gauge.builder("outbox.replay.progress", this, service -> service.activeMetric(ReplayProgress::getProgress))
+            .description("Time-range fraction covered by the running outbox replay")
+            .register(meterRegistry);
+        Gauge.builder("outbox.replay.throughput", this,
+                service -> service.activeMetric(ReplayProgress::getEventsPerSecond))
+            .description("Events per second re-published by the running outbox replay")
+            .baseUnit("events")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * @throws IllegalStateException 이 인스턴스에서 다른 리플레이가 실행 중
+     */
+    public synchronized ReplayProgress start(ReplayRequest request) throws IOException {
+        ensureIdle();
+        return submit(tool.create(OutboxReplayTool.newReplayId(), request));
+    }
+    
+    /**
+     * @param ratePerSecond null이면 체크포인트에 저장된 속도 그대로
+     */
+    public synchronized ReplayProgress resume(String replayId, Double ratePerSecond) throws IOException {
+        ensureIdle();
+        ReplayProgress progress = tool.load(replayId, ratePerSecond);
+        if (progress.getCheckpoint().isComplete()) {
+            return ReplayProgress.ofCheckpoint(progress.getCheckpoint());
+        }
+        return submit(progress);
+    }
+    
+    /**
+     * 요청에 속도가 없을 때 쓰는 값 (order.outbox-replay.default-rate-per-second)
+     */
+    public double defaultRatePerSecond() {
+        return properties.getDefaultRatePerSecond();
+    }
+    
+    /**
+     * @return 실행 중인 리플레이면 현재 상태, 아니면 체크포인트 파일 기준 상태
+     */
+    public Optional<ReplayProgress> status(String replayId) throws IOException {
+        ReplayProgress progress = current;
+        if (progress != null && progress.getReplayId().equals(replayId)) {
+            return Optional.of(progress);
+        }
+        if (!ReplayCheckpoint.exists(checkpointDirectory, replayId)) {
+            return Optional.empty();
+        }
+        return Optional.of(ReplayProgress.ofCheckpoint(ReplayCheckpoint.load(checkpointDirectory, replayId)));
+    }
+    
+    /**
+     * @return 이 인스턴스에서 실행 중인 리플레이에 취소를 요청했으면 true
+     */
+    public boolean cancel(String replayId) {
+        ReplayProgress progress = current;
+        if (progress == null || !progress.isActive() || !progress.getReplayId().equals(replayId)) {
+            return false;
+        }
+        progress.cancel();
+        return true;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        ReplayProgress progress = current;
+        if (progress != null) {
+            progress.cancel();
+        }
+        executor.shutdownNow();
+    }
+    
+    private void ensureIdle() {
+        ReplayProgress progress = current;
+        if (progress != null && progress.isActive()) {
+            throw new IllegalStateException("Replay " + progress.getReplayId() + " is already running");
+        }
+    }
+    
+    private ReplayProgress submit(ReplayProgress progress) {
+        current = progress;
+        executor.execute(() -> tool.run(progress));
+        return progress;
+    }
+    
+    private double activeMetric(ToDoubleFunction<ReplayProgress> metric) {
+        ReplayProgress progress = current;
+        return progress != null && progress.isActive() ? metric.applyAsDouble(progress) : Double.NaN;
+    }
+}
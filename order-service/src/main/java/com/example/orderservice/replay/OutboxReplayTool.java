@@ -0,0 +1,354 @@
+package com.example.orderservice.replay;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.orderservice.archive.ArchiveConfig;
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.service.OutboxEventRelayService;
+import com.example.orderservice.sharding.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Outbox 리플레이 도구: 생성 시각 범위의 발행 완료 이벤트를 order-events 토픽에 다시 발행
+ * 
+ * 용도: 컨슈머 버그 수정 후 재처리, 새 컨슈머 그룹 백필, 토픽 유실 복구.
+ * 
+ * 동작:
+ * - 소스(샤드별 outbox_events, Outbox 보관 세그먼트)마다 [from, to)를 producers개 시간 구간으로 나눈 슬라이스를 만들고
+ *   producers개 스레드가 슬라이스를 하나씩 가져가 처리 (스레드마다 자기 KafkaProducer)
+ * - 슬라이스는 (생성 시각, ID) keyset 페이지로 읽음 → 페이지를 모두 send() 한 뒤 응답을 기다리고 커서를 체크포인트에 저장
+ * - 발행 속도는 모든 스레드 합계로 제한 (ReplayPacer)
+ * - 레코드는 Relay와 같은 키/헤더에 x-replay-id 헤더를 더함 (컨슈머 로그/추적에서 리플레이 구분)
+ * - 중단되면 같은 replayId로 이어 함: 마지막 확인된 페이지 다음부터 (페이지 일부가 중복 발행될 수 있음)
+ * 
+ * 주의:
+ * - 주문 단위 발행 순서는 같은 소스/슬라이스 안에서만 유지됨 (슬라이스 경계를 넘는 같은 주문의 이벤트는 순서가 섞일 수 있음)
+ * - ALL 소스에서 보관과 삭제 사이에 중단된 정리 작업이 있었다면 같은 이벤트가 양쪽에서 한 번씩 발행될 수 있음
+ *   (어느 경우든 컨슈머는 processed_events로 중복을 거름)
+ * - LIVE 소스는 각 샤드 primary에서 읽음 (batch-size만큼씩 짧은 쿼리)
+ * 
+ * 실행 (CLI):
+ * ORDER_DB_USERNAME=... ORDER_DB_PASSWORD=... \
+ *   java -cp order-service.jar -Dloader.main=com.example.orderservice.replay.OutboxReplayTool \
+ *   org.springframework.boot.loader.launch.PropertiesLauncher --bootstrap-servers=kafka:9092 \
+ *   --from=2026-10-01T00:00 --to=2026-10-02T00:00 [--aggregate-type=ORDER] [--event-type=ORDER_CREATED] \
+ *   [--source=live|archive|all] [--rate=1000] [--producers=4] [--batch-size=500] \
+ *   [--archive-dir=./data/archive] [--checkpoint-dir=./data/outbox-replay] [--resume=<replayId>] \
+ *   jdbc:postgresql://orderdb-0/orderdb ...
+ * 진행 상황은 10초마다 로그, 모든 슬라이스를 끝내지 못하면 종료 코드 2 (--resume=<replayId>로 이어 함)
+ */
+@Slf4j
+public class OutboxReplayTool {
+    
+    public static final String REPLAY_ID_HEADER = "x-replay-id";
+    
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+    private static final DateTimeFormatter ID_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    private final List<DataSource> shards;
+    private final ArchiveStore<OutboxEvent> archive;
+    private final Supplier<Producer<String, String>> producerFactory;
+    private final int producers;
+    private final int batchSize;
+    private final Path checkpointDirectory;
+    private final Counter liveEvents;
+    private final Counter archiveEvents;
+    
+    /**
+     * @param shards 샤드 번호 순서의 주문 DB
+     * @param archive Outbox 보관소 (null이면 ARCHIVE 소스 사용 불가)
+     * @param producerFactory 발행 스레드마다 한 번 호출 (스레드가 끝나면 close)
+     * @param producers 발행 스레드 수 = 소스별 시간 구간 수
+     * @param batchSize 한 페이지에서 읽는 행 수 (체크포인트 간격)
+     */
+    public OutboxReplayTool(List<DataSource> shards, ArchiveStore<OutboxEvent> archive,
+                            Supplier<Producer<String, String>> producerFactory, int producers, int batchSize,
+                            Path checkpointDirectory, MeterRegistry meterRegistry) {
+        if (shards.isEmpty() || shards.size() > ShardRouter.MAX_SHARDS) {
+            throw new IllegalArgumentException("Invalid shard list size: " + shards.size());
+        }
+        if (producers < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Producers and batch size must be positive: "
+                + producers + ", " + batchSize);
+        }
+        this.shards = List.copyOf(shards);
+        this.archive = archive;
+        this.producerFactory = producerFactory;
+        this.producers = producers;
+        this.batchSize = batchSize;
+        this.checkpointDirectory = checkpointDirectory;
+        this.liveEvents = replayCounter(meterRegistry, "live");
+        this.archiveEvents = replayCounter(meterRegistry, "archive");
+    }
+    
+    private static Counter replayCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("outbox.replay.events")
+            .tag("source", source)
+            .description("Outbox events re-published by the replay tool")
+            .register(meterRegistry);
+    }
+    
+    public static String newReplayId() {
+        return "replay-" + LocalDateTime.now().format(ID_TIME) + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    /**
+     * 새 리플레이의 슬라이스를 만들고 체크포인트를 기록 (실행은 run())
+     */
+    public ReplayProgress create(String replayId, ReplayRequest request) throws IOException {
+        ReplayCheckpoint.validateId(replayId);
+        if (ReplayCheckpoint.exists(checkpointDirectory, replayId)) {
+            throw new IllegalArgumentException("Replay already exists: " + replayId);
+        }
+        if (request.source().includesArchive() && archive == null) {
+            throw new IllegalArgumentException("Archive source requested but no outbox archive is configured");
+        }
+        
+        List<ReplaySlice> slices = new ArrayList<>();
+        Duration part = Duration.between(request.from(), request.to()).dividedBy(producers);
+        for (int index = 0; index < producers; index++) {
+            LocalDateTime from = request.from().plus(part.multipliedBy(index));
+            LocalDateTime to = index == producers - 1
+                ? request.to()
+                : request.from().plus(part.multipliedBy(index + 1));
+            if (!from.isBefore(to)) {
+                continue;
+            }
+            if (request.source().includesLive()) {
+                for (int shard = 0; shard < shards.size(); shard++) {
+                    slices.add(ReplaySlice.of(shard, index, from, to));
+                }
+            }
+            if (request.source().includesArchive()) {
+                slices.add(ReplaySlice.of(ReplaySlice.ARCHIVE, index, from, to));
+            }
+        }
+        ReplayCheckpoint checkpoint = new ReplayCheckpoint(replayId, request, slices);
+        checkpoint.save(checkpointDirectory);
+        log.info("Replay {} created: request={}, slices={}", replayId, request, slices.size());
+        return new ReplayProgress(checkpoint);
+    }
+    
+    /**
+     * 체크포인트에서 이어 할 리플레이 (rate가 null이 아니면 발행 속도만 바꿔서)
+     */
+    public ReplayProgress load(String replayId, Double rate) throws IOException {
+        ReplayCheckpoint checkpoint = ReplayCheckpoint.load(checkpointDirectory, replayId);
+        if (rate != null) {
+            checkpoint.setRequest(checkpoint.getRequest().withRate(rate));
+        }
+        boolean unknownShard = checkpoint.getSlices().stream()
+            .anyMatch(slice -> !slice.isArchive() && slice.getShard() >= shards.size());
+        if (unknownShard) {
+            throw new IllegalArgumentException("Replay " + replayId + " was created with more shards than configured");
+        }
+        return new ReplayProgress(checkpoint);
+    }
+    
+    /**
+     * 끝나지 않은 슬라이스를 모두 발행할 때까지(또는 취소/실패까지) 호출 스레드를 막음
+     */
+    public void run(ReplayProgress progress) {
+        ReplayCheckpoint checkpoint = progress.getCheckpoint();
+        Queue<ReplaySlice> pending = new ConcurrentLinkedQueue<>(checkpoint.getSlices().stream()
+            .filter(slice -> !slice.isDone())
+            .sorted(Comparator.comparing(ReplaySlice::getFrom))
+            .toList());
+        ReplayPacer pacer = new ReplayPacer(checkpoint.getRequest().ratePerSecond());
+        int threads = Math.max(1, Math.min(producers, pending.size()));
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-replay-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        log.info("Replay {} starting: pendingSlices={}, producers={}, rate={}/s", progress.getReplayId(),
+            pending.size(), threads, checkpoint.getRequest().ratePerSecond());
+        progress.started();
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                futures.add(workers.submit(() -> drain(pending, pacer, progress)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.cancel();
+        } catch (ExecutionException e) {
+            progress.failed(e.getCause());
+        } finally {
+            workers.shutdownNow();
+            progress.finished();
+        }
+        log.info("Replay {} {}: sent={}, progress={}, rate={}/s, elapsed={}ms", progress.getReplayId(),
+            progress.getState(), progress.getSent(), String.format("%.3f", progress.getProgress()),
+            String.format("%.0f", progress.getEventsPerSecond()), progress.getElapsedMillis());
+    }
+    
+    private void drain(Queue<ReplaySlice> pending, ReplayPacer pacer, ReplayProgress progress) {
+        try (Producer<String, String> producer = producerFactory.get()) {
+            ReplaySlice slice;
+            while (!progress.shouldStop() && (slice = pending.poll()) != null) {
+                try {
+                    replaySlice(slice, producer, pacer, progress);
+                } catch (Exception e) {
+                    log.error("Replay {} failed on slice {}", progress.getReplayId(), slice.getId(), e);
+                    progress.failed(e);
+                }
+            }
+        }
+    }
+    
+    private void replaySlice(ReplaySlice slice, Producer<String, String> producer, ReplayPacer pacer,
+                             ReplayProgress progress) throws Exception {
+        ReplayRequest request = progress.getRequest();
+        ReplaySource source = slice.isArchive()
+            ? new ArchiveReplaySource(archive, request)
+            : new LiveReplaySource(shards.get(slice.getShard()), request);
+        Counter counter = slice.isArchive() ? archiveEvents : liveEvents;
+        byte[] replayId = progress.getReplayId().getBytes(StandardCharsets.UTF_8);
+        
+        while (!progress.shouldStop()) {
+            ReplaySource.Page page = source.next(slice, batchSize);
+            List<Future<RecordMetadata>> sends = new ArrayList<>(page.rows().size());
+            for (OutboxEvent event : page.rows()) {
+                pacer.acquire();
+                ProducerRecord<String, String> record = OutboxEventRelayService.toRecord(event);
+                record.headers().add(REPLAY_ID_HEADER, replayId);
+                sends.add(producer.send(record));
+            }
+            // 페이지 전체가 확인된 뒤에만 커서를 옮김 → 실패하면 이 페이지부터 다시
+            for (Future<RecordMetadata> send : sends) {
+                send.get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+            counter.increment(sends.size());
+            progress.recordSent(sends.size());
+            progress.getCheckpoint().advance(slice, page.cursorCreatedAt(), page.cursorId(), sends.size(),
+                page.exhausted(), checkpointDirectory);
+            if (page.exhausted()) {
+                log.debug("Replay {} slice {} done: sent={}", progress.getReplayId(), slice.getId(), slice.getSent());
+                return;
+            }
+        }
+    }
+    
+    /**
+     * @param args 옵션(클래스 Javadoc 참고), 주문 샤드 0 JDBC URL, ...
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> urls = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                urls.add(arg);
+            }
+        }
+        String resumeId = options.get("resume");
+        if (urls.isEmpty() || !options.containsKey("bootstrap-servers")
+                || (resumeId == null && (!options.containsKey("from") || !options.containsKey("to")))) {
+            System.err.println("Usage: OutboxReplayTool --bootstrap-servers=HOST:PORT "
+                + "(--from=ISO_DATETIME --to=ISO_DATETIME | --resume=REPLAY_ID) [--aggregate-type=T] [--event-type=T] "
+                + "[--source=live|archive|all] [--rate=N] [--producers=N] [--batch-size=N] [--archive-dir=DIR] "
+                + "[--checkpoint-dir=DIR] <orderJdbcUrl-0> [<orderJdbcUrl-1> ...]");
+            System.exit(1);
+        }
+        int producers = Integer.parseInt(options.getOrDefault("producers", "4"));
+        int batchSize = Integer.parseInt(options.getOrDefault("batch-size", "500"));
+        Double rate = options.containsKey("rate") ? Double.valueOf(options.get("rate")) : null;
+        
+        Map<String, Object> producerConfig = new HashMap<>();
+        producerConfig.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, options.get("bootstrap-servers"));
+        producerConfig.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ArchiveStore<OutboxEvent> archive = ArchiveConfig.openOutboxArchive(
+            Path.of(options.getOrDefault("archive-dir", "./data/archive")), 1024, 0, meterRegistry);
+        
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(url);
+            dataSource.setUsername(System.getenv("ORDER_DB_USERNAME"));
+            dataSource.setPassword(System.getenv("ORDER_DB_PASSWORD"));
+            dataSource.setMaximumPoolSize(producers);
+            dataSources.add(dataSource);
+        }
+        ReplayProgress progress;
+        try {
+            OutboxReplayTool tool = new OutboxReplayTool(List.copyOf(dataSources), archive,
+                () -> new KafkaProducer<>(producerConfig, new StringSerializer(), new StringSerializer()),
+                producers, batchSize, Path.of(options.getOrDefault("checkpoint-dir", "./data/outbox-replay")),
+                meterRegistry);
+            if (resumeId != null) {
+                progress = tool.load(resumeId, rate);
+            } else {
+                progress = tool.create(newReplayId(), new ReplayRequest(
+                    LocalDateTime.parse(options.get("from")), LocalDateTime.parse(options.get("to")),
+                    options.get("aggregate-type"), options.get("event-type"),
+                    ReplayRequest.Source.valueOf(options.getOrDefault("source", "all").toUpperCase()),
+                    rate == null ? 0 : rate));
+            }
+            
+            ReplayProgress running = progress;
+            Thread reporter = new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    log.info("Replay {}: sent={}, progress={}, rate={}/s", running.getReplayId(), running.getSent(),
+                        String.format("%.3f", running.getProgress()),
+                        String.format("%.0f", running.getEventsPerSecond()));
+                }
+            }, "outbox-replay-reporter");
+            reporter.setDaemon(true);
+            reporter.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(running::cancel));
+            tool.run(progress);
+            reporter.interrupt();
+        } finally {
+            dataSources.forEach(HikariDataSource::close);
+        }
+        System.out.println(progress.getReplayId() + "\t" + progress.getState() + "\tsent=" + progress.getSent());
+        if (progress.getState() != ReplayProgress.State.COMPLETED) {
+            System.exit(2);
+        }
+    }
+}
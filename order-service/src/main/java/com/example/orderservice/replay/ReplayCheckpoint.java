@@ -0,0 +1,116 @@
+package com.example.orderservice.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 리플레이 체크포인트 파일 (<checkpoint-directory>/<replayId>.json)
+ * 
+ * 슬라이스마다 페이지 발행이 모두 확인된 뒤에만 커서를 옮기고 저장 → 중단 후 이어 하면
+ * 마지막 페이지 일부가 다시 발행될 수 있지만 빠지는 이벤트는 없음 (컨슈머는 processed_events로 중복 처리).
+ * 저장은 임시 파일에 쓴 뒤 원자적 rename이라 중단 시점과 관계없이 이전 또는 새 내용 중 하나가 남음.
+ * 
+ * 슬라이스 구성도 함께 저장하므로 이어 할 때 발행 스레드 수가 달라도 같은 구간을 그대로 이어 감.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReplayCheckpoint {
+    
+    private static final Pattern REPLAY_ID = Pattern.compile("[A-Za-z0-9._-]{1,100}");
+    
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .build();
+    
+    private String replayId;
+    private ReplayRequest request;
+    private LocalDateTime createdAt;
+    private List<ReplaySlice> slices;
+    
+    ReplayCheckpoint(String replayId, ReplayRequest request, List<ReplaySlice> slices) {
+        this.replayId = replayId;
+        this.request = request;
+        this.createdAt = LocalDateTime.now();
+        this.slices = List.copyOf(slices);
+    }
+    
+    /**
+     * 파일 이름으로 쓰이므로 경로 문자가 없는 ID만 허용
+     */
+    public static String validateId(String replayId) {
+        if (replayId == null || !REPLAY_ID.matcher(replayId).matches()) {
+            throw new IllegalArgumentException("Invalid replay id: " + replayId);
+        }
+        return replayId;
+    }
+    
+    public static boolean exists(Path directory, String replayId) {
+        return Files.exists(file(directory, replayId));
+    }
+    
+    public static ReplayCheckpoint load(Path directory, String replayId) throws IOException {
+        return OBJECT_MAPPER.readValue(file(directory, replayId).toFile(), ReplayCheckpoint.class);
+    }
+    
+    /**
+     * 페이지 발행이 확인된 슬라이스의 커서를 옮기고 파일에 저장 (여러 발행 스레드가 호출하므로 직렬화)
+     */
+    synchronized void advance(ReplaySlice slice, LocalDateTime cursorCreatedAt, long cursorId, int sent,
+                              boolean done, Path directory) throws IOException {
+        slice.setCursorCreatedAt(cursorCreatedAt);
+        slice.setCursorId(cursorId);
+        slice.setSent(slice.getSent() + sent);
+        slice.setDone(done);
+        save(directory);
+    }
+    
+    synchronized void save(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, replayId + "-", ".tmp");
+        try {
+            Files.write(temp, OBJECT_MAPPER.writeValueAsBytes(this));
+            Files.move(temp, file(directory, replayId), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    synchronized long sent() {
+        return slices.stream().mapToLong(ReplaySlice::getSent).sum();
+    }
+    
+    /**
+     * 슬라이스 진행률의 평균 (시간 기준이라 구간별 이벤트 밀도가 다르면 실제 건수 비율과는 차이가 있음)
+     */
+    synchronized double progress() {
+        return slices.stream().mapToDouble(ReplaySlice::progress).average().orElse(1.0);
+    }
+    
+    synchronized boolean isComplete() {
+        return slices.stream().allMatch(ReplaySlice::isDone);
+    }
+    
+    synchronized long slicesDone() {
+        return slices.stream().filter(ReplaySlice::isDone).count();
+    }
+    
+    private static Path file(Path directory, String replayId) {
+        return directory.resolve(validateId(replayId) + ".json");
+    }
+}
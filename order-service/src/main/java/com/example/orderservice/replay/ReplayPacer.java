@@ -0,0 +1,39 @@
+package com.example.orderservice.replay;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 모든 발행 스레드가 공유하는 속도 제한 (초당 ratePerSecond건을 균등 간격으로)
+ * 
+ * 다음 발행 슬롯 시각 하나를 CAS로 당겨 가므로 스레드 수와 관계없이 합계 속도가 유지되고,
+ * 한동안 발행이 없었어도 지나간 슬롯을 모아 한꺼번에 보내지 않음 (컨슈머 쪽 급증 방지).
+ */
+final class ReplayPacer {
+    
+    private final long intervalNanos;
+    private final AtomicLong nextSlotNanos = new AtomicLong(System.nanoTime());
+    
+    /**
+     * @param ratePerSecond 0이면 제한 없음
+     */
+    ReplayPacer(double ratePerSecond) {
+        this.intervalNanos = ratePerSecond <= 0 ? 0 : Math.max(1, Math.round(1_000_000_000 / ratePerSecond));
+    }
+    
+    /**
+     * 이 호출에 배정된 슬롯 시각까지 대기
+     */
+    void acquire() {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long slot = nextSlotNanos.accumulateAndGet(now, (next, current) -> Math.max(next, current) + intervalNanos)
+            - intervalNanos;
+        long remaining;
+        while ((remaining = slot - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.orderservice.replay;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실행 중인(또는 끝난) 리플레이 한 건의 상태
+ * 
+ * 누적 발행 수와 진행률은 체크포인트 기준(이전 실행분 포함), 처리량은 이번 실행분 기준.
+ */
+public class ReplayProgress {
+    
+    public enum State {
+        PENDING, RUNNING, COMPLETED, CANCELLED, FAILED,
+        /**
+         * 체크포인트만 남아 있음 (인스턴스 재시작 등으로 중단됨, resume으로 이어 함)
+         */
+        INTERRUPTED
+    }
+    
+    @Getter
+    private final ReplayCheckpoint checkpoint;
+    private final AtomicLong sentThisRun = new AtomicLong();
+    private volatile State state;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    
+    ReplayProgress(ReplayCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+        this.state = State.PENDING;
+    }
+    
+    /**
+     * 실행 중이 아닌 체크포인트 파일의 상태
+     */
+    public static ReplayProgress ofCheckpoint(ReplayCheckpoint checkpoint) {
+        ReplayProgress progress = new ReplayProgress(checkpoint);
+        progress.state = checkpoint.isComplete() ? State.COMPLETED : State.INTERRUPTED;
+        return progress;
+    }
+    
+    public String getReplayId() {
+        return checkpoint.getReplayId();
+    }
+    
+    public ReplayRequest getRequest() {
+        return checkpoint.getRequest();
+    }
+    
+    public State getState() {
+        return state;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public boolean isActive() {
+        return state == State.PENDING || state == State.RUNNING;
+    }
+    
+    public long getSent() {
+        return checkpoint.sent();
+    }
+    
+    public double getProgress() {
+        return checkpoint.progress();
+    }
+    
+    public long getSlicesDone() {
+        return checkpoint.slicesDone();
+    }
+    
+    public int getSliceCount() {
+        return checkpoint.getSlices().size();
+    }
+    
+    public long getElapsedMillis() {
+        if (startedNanos == 0) {
+            return 0;
+        }
+        long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startedNanos);
+    }
+    
+    /**
+     * 이번 실행의 평균 초당 발행 수
+     */
+    public double getEventsPerSecond() {
+        long elapsedMillis = getElapsedMillis();
+        return elapsedMillis == 0 ? 0.0 : sentThisRun.get() * 1000.0 / elapsedMillis;
+    }
+    
+    /**
+     * 발행 스레드는 다음 페이지를 읽기 전에 확인하고 멈춤 (커서는 마지막으로 확인된 페이지에 남음)
+     */
+    public void cancel() {
+        cancelRequested = true;
+    }
+    
+    boolean shouldStop() {
+        return cancelRequested || state == State.FAILED;
+    }
+    
+    void started() {
+        startedNanos = System.nanoTime();
+        state = State.RUNNING;
+    }
+    
+    void recordSent(int count) {
+        sentThisRun.addAndGet(count);
+    }
+    
+    synchronized void failed(Throwable cause) {
+        if (state != State.FAILED) {
+            error = cause.toString();
+            state = State.FAILED;
+        }
+    }
+    
+    synchronized void finished() {
+        finishedNanos = System.nanoTime();
+        if (state == State.FAILED) {
+            return;
+        }
+        state = checkpoint.isComplete() ? State.COMPLETED : cancelRequested ? State.CANCELLED : State.FAILED;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.orderservice.replay;
+
+import com.example.orderservice.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * 리플레이 대상 범위와 발행 속도 (체크포인트에 함께 저장, 이어 하기는 저장된 범위를 그대로 사용)
+ * 
+ * @param from 생성 시각 하한 (포함)
+ * @param to 생성 시각 상한 (제외)
+ * @param aggregateType 애그리거트 타입 (null이면 전체)
+ * @param eventType 이벤트 타입 (null이면 전체)
+ * @param source 읽을 곳 (null이면 ALL)
+ * @param ratePerSecond 모든 발행 스레드를 합친 초당 최대 발행 수 (0이면 제한 없음)
+ */
+public record ReplayRequest(LocalDateTime from, LocalDateTime to, String aggregateType, String eventType,
+                            Source source, double ratePerSecond) {
+    
+    public enum Source {
+        /**
+         * 각 샤드의 outbox_events (정리 전 7일치)
+         */
+        LIVE,
+        /**
+         * 정리 때 옮겨진 Outbox 세그먼트 (order.archive.outbox-enabled)
+         */
+        ARCHIVE,
+        ALL;
+        
+        boolean includesLive() {
+            return this != ARCHIVE;
+        }
+        
+        boolean includesArchive() {
+            return this != LIVE;
+        }
+    }
+    
+    public ReplayRequest {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Replay range must satisfy from < to: " + from + ", " + to);
+        }
+        if (ratePerSecond < 0) {
+            throw new IllegalArgumentException("Replay rate must not be negative: " + ratePerSecond);
+        }
+        if (source == null) {
+            source = Source.ALL;
+        }
+    }
+    
+    public ReplayRequest withRate(double ratePerSecond) {
+        return new ReplayRequest(from, to, aggregateType, eventType, source, ratePerSecond);
+    }
+    
+    boolean matches(OutboxEvent event) {
+        return (aggregateType == null || aggregateType.equals(event.getAggregateType()))
+            && (eventType == null || eventType.equals(event.getEventType()));
+    }
+}
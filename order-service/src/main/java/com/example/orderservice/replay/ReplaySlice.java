@@ -0,0 +1,61 @@
+package com.example.orderservice.replay;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 리플레이 작업 단위: 소스 하나(샤드 또는 보관소)의 생성 시각 구간 [from, to)
+ * 
+ * 커서는 마지막으로 발행이 확인된 (생성 시각, ID) → 이어 하기는 그 다음 행부터.
+ * ID는 LIVE 슬라이스면 샤드 로컬 ID, ARCHIVE 슬라이스면 전역 ID.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReplaySlice {
+    
+    static final int ARCHIVE = -1;
+    
+    private String id;
+    private int shard;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private LocalDateTime cursorCreatedAt;
+    private long cursorId;
+    private long sent;
+    private boolean done;
+    
+    static ReplaySlice of(int shard, int part, LocalDateTime from, LocalDateTime to) {
+        ReplaySlice slice = new ReplaySlice();
+        slice.id = (shard == ARCHIVE ? "archive" : "shard-" + shard) + "/" + part;
+        slice.shard = shard;
+        slice.from = from;
+        slice.to = to;
+        // 구간 시작 시각의 행도 포함되도록 가장 작은 ID 다음부터
+        slice.cursorCreatedAt = from;
+        slice.cursorId = Long.MIN_VALUE;
+        return slice;
+    }
+    
+    @JsonIgnore
+    boolean isArchive() {
+        return shard == ARCHIVE;
+    }
+    
+    /**
+     * 커서가 지나간 시간 비율 (0~1)
+     */
+    double progress() {
+        if (done) {
+            return 1.0;
+        }
+        long total = Duration.between(from, to).toMillis();
+        long covered = Duration.between(from, cursorCreatedAt).toMillis();
+        return total <= 0 ? 0.0 : Math.min(1.0, (double) covered / total);
+    }
+}
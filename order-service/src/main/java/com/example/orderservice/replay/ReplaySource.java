@@ -0,0 +1,25 @@
+package com.example.orderservice.replay;
+
+import com.example.orderservice.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 슬라이스 하나의 이벤트를 (생성 시각, ID) 순서로 페이지 단위로 읽는 곳
+ */
+interface ReplaySource {
+    
+    /**
+     * 슬라이스 커서 다음부터 최대 limit개 (필터 전 행 수 기준)
+     */
+    Page next(ReplaySlice slice, int limit) throws Exception;
+    
+    /**
+     * @param rows 발행할 행 (요청의 타입 조건을 만족하는 것만)
+     * @param cursorCreatedAt 이 페이지를 발행한 뒤의 커서
+     * @param exhausted 슬라이스 끝까지 읽음
+     */
+    record Page(List<OutboxEvent> rows, LocalDateTime cursorCreatedAt, long cursorId, boolean exhausted) {
+    }
+}
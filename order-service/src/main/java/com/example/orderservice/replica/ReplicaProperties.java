@@ -0,0 +1,45 @@
+package com.example.orderservice.replica;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 복제본 설정 (order.replica.*)
+ * 
+ * replica 목록:
+ * - 샤딩 비활성(order.sharding.shards 비어 있음): order.replica.replicas가 spring.datasource의 replica
+ * - 샤딩 활성: 샤드마다 order.sharding.shards[i].replicas
+ * - 목록이 비어 있으면 해당 DB는 라우팅 없이 primary만 사용
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.replica")
+public class ReplicaProperties {
+    
+    private List<Replica> replicas = new ArrayList<>();
+    
+    /**
+     * 이 값보다 지연이 큰 replica에는 읽기를 보내지 않음
+     */
+    private long maxLagMs = 1000;
+    
+    /**
+     * 복제 지연(초)을 반환하는 쿼리 (PostgreSQL 스트리밍 복제 기준)
+     * - 재생할 WAL이 없으면 0 (쓰기가 없을 때 마지막 재생 시각 기준으로 지연이 계속 커지는 것 방지)
+     */
+    private String lagQuery = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+        + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+        + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+    
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    
+    Optional<IdempotencyRecord> findByKeyHash(String keyHash);
+    
+    /**
+     * 만료일이 today 이전인 TTL 파티션 (오래된 순)
+     */
+    @Query("select distinct r.expiresOn from IdempotencyRecord r where r.expiresOn < :today order by r.expiresOn")
+    List<LocalDate> findExpiredPartitions(@Param("today") LocalDate today);
+    
+    /**
+     * TTL 파티션 하나를 통째로 삭제
+     */
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresOn = :expiresOn")
+    int deletePartition(@Param("expiresOn") LocalDate expiresOn);
+}
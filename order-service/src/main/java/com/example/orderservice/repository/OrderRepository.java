@@ -1,13 +1,84 @@
 package com.example.orderservice.repository;
 
 import com.example.orderservice.entity.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     
     Optional<Order> findByOrderNumber(String orderNumber);
+    
+    /**
+     * 상태만 조회 (엔티티를 만들지 않음, 상태 인덱스에 없는 주문의 상태 조회용)
+     */
+    @Query("select o.status from Order o where o.orderNumber = :orderNumber")
+    Optional<Order.OrderStatus> findStatusByOrderNumber(@Param("orderNumber") String orderNumber);
+    
+    /**
+     * 상태 전이 (현재 상태가 allowedSources 중 하나일 때만, 엔티티를 읽지 않는 UPDATE 한 문장)
+     * 
+     * @return 바뀐 행 수 (0이면 주문이 없거나 전이가 허용되지 않는 상태)
+     */
+    @Modifying
+    @Query("update Order o set o.status = :target, o.version = o.version + 1, o.updatedAt = :now "
+        + "where o.orderNumber = :orderNumber and o.status in :allowedSources")
+    int transition(@Param("orderNumber") String orderNumber,
+                   @Param("allowedSources") Collection<Order.OrderStatus> allowedSources,
+                   @Param("target") Order.OrderStatus target,
+                   @Param("now") LocalDateTime now);
+    
+    /**
+     * 읽어 둔 주문의 상태 전이 (읽은 뒤 다른 트랜잭션이 바꿨으면 version이 달라 0)
+     */
+    @Modifying
+    @Query("update Order o set o.status = :target, o.version = o.version + 1, o.updatedAt = :now "
+        + "where o.orderNumber = :orderNumber and o.status in :allowedSources and o.version = :version")
+    int transition(@Param("orderNumber") String orderNumber,
+                   @Param("allowedSources") Collection<Order.OrderStatus> allowedSources,
+                   @Param("target") Order.OrderStatus target,
+                   @Param("version") long version,
+                   @Param("now") LocalDateTime now);
+    
+    /**
+     * ID 순 키셋 페이지로 주문 번호/상태만 조회 (상태 인덱스 적재용)
+     */
+    @Query("select o.id as id, o.orderNumber as orderNumber, o.status as status from Order o "
+        + "where o.id > :afterId order by o.id")
+    List<StatusRow> findStatusRowsAfter(@Param("afterId") long afterId, Pageable pageable);
+    
+    /**
+     * ID 순 키셋 페이지로 지정 상태 주문의 주문 번호/생성 시각만 조회 (사가 제한 시간 복구용, status 인덱스)
+     */
+    @Query("select o.id as id, o.orderNumber as orderNumber, o.createdAt as createdAt from Order o "
+        + "where o.status in :statuses and o.id > :afterId order by o.id")
+    List<DeadlineRow> findDeadlineRowsAfter(@Param("statuses") Collection<Order.OrderStatus> statuses,
+                                            @Param("afterId") long afterId, Pageable pageable);
+    
+    /**
+     * 보관 대상 (지정 상태이고 cutoff 이전에 생성된 주문, ID 순)
+     */
+    List<Order> findByStatusInAndCreatedAtBeforeOrderByIdAsc(Collection<Order.OrderStatus> statuses,
+                                                               LocalDateTime cutoff, Pageable pageable);
+    
+    interface StatusRow {
+        Long getId();
+        String getOrderNumber();
+        Order.OrderStatus getStatus();
+    }
+    
+    interface DeadlineRow {
+        Long getId();
+        String getOrderNumber();
+        LocalDateTime getCreatedAt();
+    }
 }
@@ -1,11 +1,16 @@
 package com.example.orderservice.repository;
 
 import com.example.orderservice.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,10 +18,25 @@ import java.util.Optional;
 public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
     
     /**
-     * 발행되지 않은 이벤트 조회 (오래된 순)
+     * 발행 시각이 된 미발행 이벤트 조회 (nextAttemptAt 순, 배치 크기만큼)
+     * 
+     * 백오프 중인 행은 nextAttemptAt이 미래이므로 인덱스 범위 밖 → 정상 이벤트 조회를 방해하지 않음
      */
-    @Query("SELECT o FROM OutboxEvent o WHERE o.published = false AND o.retryCount < 5 ORDER BY o.createdAt ASC")
-    List<OutboxEvent> findUnpublishedEvents();
+    @Query("SELECT o FROM OutboxEvent o WHERE o.published = false AND o.nextAttemptAt <= :now "
+        + "ORDER BY o.nextAttemptAt ASC, o.id ASC")
+    List<OutboxEvent> findDueEvents(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * 미발행 이벤트 수와 가장 오래된 생성 시각 (백오프 중인 행 포함)
+     */
+    @Query("SELECT COUNT(o) AS depth, MIN(o.createdAt) AS oldestCreatedAt FROM OutboxEvent o WHERE o.published = false")
+    BacklogStats getBacklogStats();
+    
+    /**
+     * 가장 오래된 미발행 이벤트의 생성 시각 (백오프 중인 행 포함, 미발행 부분 인덱스의 첫 항목만 읽음)
+     */
+    @Query("SELECT MIN(o.createdAt) FROM OutboxEvent o WHERE o.published = false")
+    LocalDateTime findOldestUnpublishedCreatedAt();
     
     /**
      * 특정 시간 이전에 발행되지 않은 이벤트 조회
@@ -28,9 +48,73 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>
      */
     Optional<OutboxEvent> findByAggregateId(String aggregateId);
     
+    /**
+     * 발행 완료 처리 (배치 단위 단일 UPDATE)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.published = true, o.publishedAt = :publishedAt WHERE o.id IN :ids")
+    int markAsPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+    
+    /**
+     * 나중 이벤트에 대체된 이벤트를 발행하지 않고 완료 처리 (감사용으로 대체한 이벤트 ID 기록)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.published = true, o.publishedAt = :publishedAt, o.supersededBy = :supersededBy "
+        + "WHERE o.id IN :ids")
+    int markAsSuperseded(@Param("ids") Collection<Long> ids,
+                         @Param("supersededBy") Long supersededBy,
+                         @Param("publishedAt") LocalDateTime publishedAt);
+    
+    /**
+     * 다음 시도 시각만 미룸 (재시도 횟수는 그대로, 대체할 이벤트가 재시도 대기에 들어간 경우)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.nextAttemptAt = :nextAttemptAt WHERE o.id IN :ids")
+    int deferTo(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+    
+    /**
+     * 대체되어 건너뛴 이벤트 (최근 순, 감사 조회용)
+     */
+    List<OutboxEvent> findBySupersededByIsNotNullOrderByPublishedAtDesc(Pageable pageable);
+    
+    /**
+     * 발행 실패 기록 및 다음 시도 시각 예약
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.retryCount = o.retryCount + 1, o.errorMessage = :errorMessage, "
+        + "o.nextAttemptAt = :nextAttemptAt WHERE o.id = :id")
+    int scheduleRetry(@Param("id") Long id,
+                      @Param("errorMessage") String errorMessage,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+    
+    /**
+     * 이벤트를 다시 발행 대상으로 되돌림 (재시도 횟수 초기화, 사가 제한 시간 초과 시 재발행용)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.published = false, o.publishedAt = null, o.retryCount = 0, "
+        + "o.errorMessage = null, o.supersededBy = null, o.nextAttemptAt = :now WHERE o.aggregateId = :aggregateId")
+    int requeue(@Param("aggregateId") String aggregateId, @Param("now") LocalDateTime now);
+    
     /**
      * 발행 완료된 오래된 이벤트 조회 (정리용)
      */
     @Query("SELECT o FROM OutboxEvent o WHERE o.published = true AND o.publishedAt < :cutoffDate")
     List<OutboxEvent> findOldPublishedEvents(LocalDateTime cutoffDate);
+    
+    /**
+     * 발행 완료된 오래된 이벤트를 ID 순으로 한 배치씩 조회 (보관 후 삭제용)
+     */
+    @Query("SELECT o FROM OutboxEvent o WHERE o.published = true AND o.publishedAt < :cutoffDate ORDER BY o.id ASC")
+    List<OutboxEvent> findOldPublishedEvents(@Param("cutoffDate") LocalDateTime cutoffDate, Pageable pageable);
+    
+    interface BacklogStats {
+        long getDepth();
+        
+        LocalDateTime getOldestCreatedAt();
+    }
 }
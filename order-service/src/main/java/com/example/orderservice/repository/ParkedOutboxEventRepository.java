@@ -0,0 +1,17 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.entity.ParkedOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ParkedOutboxEventRepository extends JpaRepository<ParkedOutboxEvent, Long> {
+    
+    /**
+     * 보관된 이벤트 조회 (오래 보관된 순)
+     */
+    List<ParkedOutboxEvent> findAllByOrderByParkedAtAsc(Pageable pageable);
+}
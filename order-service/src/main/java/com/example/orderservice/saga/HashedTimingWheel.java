@@ -0,0 +1,254 @@
+package com.example.orderservice.saga;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 해시 타이밍 휠 (Varghese & Lauck): int 키마다 마감 시각 하나
+ * 
+ * 마감 시각을 tick 단위로 바꿔 (tick mod wheelSize) 버킷에 넣고, 시간이 흐르면 지난 tick의 버킷만 확인.
+ * - 등록/취소/재등록 O(1), 만료는 지나간 버킷 수 + 만료된 타이머 수에 비례 (전체 타이머 수와 무관)
+ * - 한 바퀴(tick * wheelSize)보다 먼 마감은 버킷에 그대로 두고, 버킷을 지날 때 마감 tick이 지났는지로 판단
+ *   (Netty HashedWheelTimer의 remainingRounds 대신 마감 tick을 직접 비교)
+ * 
+ * 수백만 개를 담도록 타이머를 객체 없이 primitive 배열의 노드로 보관 (OrderStatusIndex와 같은 방식):
+ * - 노드 = keys/deadlines/next/prev 배열의 같은 인덱스, 버킷은 next/prev로 이은 이중 연결 리스트
+ * - 키 → 노드는 오픈 어드레싱 int 배열 (선형 탐사, 적재율 0.5 이하, 삭제는 backward shift)
+ * - 빈 노드는 free list로 재사용
+ * → 타이머당 노드 20바이트 + 키 테이블 8~16바이트
+ * 
+ * 동시성: 모든 연산을 인스턴스 락으로 직렬화 (연산이 모두 O(1)이고 만료 콜백은 락 밖에서 실행).
+ */
+public final class HashedTimingWheel {
+    
+    private static final int NONE = -1;
+    private static final int[] NO_KEYS = new int[0];
+    
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final int[] buckets;
+    
+    private int[] keys;
+    private long[] deadlines; // 마감 tick
+    private int[] next;
+    private int[] prev;
+    private int allocated;
+    private int freeHead = NONE;
+    
+    private int[] table; // 노드 + 1, 0은 빈 칸
+    private int size;
+    
+    private long processedTick;
+    
+    /**
+     * @param wheelSize 버킷 수 (2의 거듭제곱)
+     * @param expectedTimers 예상 타이머 수 (초기 배열 크기, 넘으면 두 배씩 확장)
+     * @param startMillis 0번 tick의 시각 (epoch millis)
+     */
+    public HashedTimingWheel(Duration tick, int wheelSize, int expectedTimers, long startMillis) {
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1ms: " + tick);
+        }
+        if (wheelSize < 1 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tick.toMillis();
+        this.startMillis = startMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new int[wheelSize];
+        Arrays.fill(buckets, NONE);
+        
+        int capacity = Math.max(16, expectedTimers);
+        keys = new int[capacity];
+        deadlines = new long[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        table = new int[Integer.highestOneBit(capacity - 1) << 2];
+    }
+    
+    /**
+     * 마감 시각 등록 (이미 있는 키면 마감 시각만 바꿈)
+     * 
+     * 이미 지난 마감은 다음 tick에 만료됨
+     */
+    public synchronized void schedule(int key, long deadlineMillis) {
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis),
+            processedTick + 1);
+        int slot = find(key);
+        int node;
+        if (table[slot] != 0) {
+            node = table[slot] - 1;
+            unlink(node);
+        } else {
+            node = allocate();
+            keys[node] = key;
+            table[slot] = node + 1;
+            if (++size > table.length / 2) {
+                rehash(table.length << 1);
+            }
+        }
+        deadlines[node] = deadlineTick;
+        link(node);
+    }
+    
+    /**
+     * @return 등록되어 있던 키면 true
+     */
+    public synchronized boolean cancel(int key) {
+        int slot = find(key);
+        if (table[slot] == 0) {
+            return false;
+        }
+        int node = table[slot] - 1;
+        removeSlot(slot);
+        unlink(node);
+        release(node);
+        return true;
+    }
+    
+    public synchronized boolean contains(int key) {
+        return table[find(key)] != 0;
+    }
+    
+    public synchronized int size() {
+        return size;
+    }
+    
+    /**
+     * 노드/키 테이블 배열이 차지하는 바이트 (배열 헤더 제외)
+     */
+    public synchronized long memoryBytes() {
+        return (long) keys.length * (Integer.BYTES * 3 + Long.BYTES)
+            + (long) table.length * Integer.BYTES + (long) buckets.length * Integer.BYTES;
+    }
+    
+    /**
+     * nowMillis까지 지난 tick의 버킷을 돌며 마감이 지난 타이머를 꺼냄
+     * 
+     * @return 만료된 키 (휠에서 제거됨)
+     */
+    public synchronized int[] advance(long nowMillis) {
+        long currentTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        if (currentTick <= processedTick) {
+            return NO_KEYS;
+        }
+        // 한 바퀴 넘게 밀렸으면 모든 버킷을 한 번씩만 확인하면 됨
+        long ticks = Math.min(currentTick - processedTick, buckets.length);
+        int[] expired = NO_KEYS;
+        int count = 0;
+        for (long tick = processedTick + 1; tick <= processedTick + ticks; tick++) {
+            int node = buckets[(int) (tick & mask)];
+            while (node != NONE) {
+                int following = next[node];
+                if (deadlines[node] <= currentTick) {
+                    if (count == expired.length) {
+                        expired = Arrays.copyOf(expired, Math.max(16, count * 2));
+                    }
+                    expired[count++] = keys[node];
+                    removeSlot(find(keys[node]));
+                    unlink(node);
+                    release(node);
+                }
+                node = following;
+            }
+        }
+        processedTick = currentTick;
+        return count == expired.length ? expired : Arrays.copyOf(expired, count);
+    }
+    
+    private void link(int node) {
+        int bucket = (int) (deadlines[node] & mask);
+        int head = buckets[bucket];
+        next[node] = head;
+        prev[node] = NONE;
+        if (head != NONE) {
+            prev[head] = node;
+        }
+        buckets[bucket] = node;
+    }
+    
+    private void unlink(int node) {
+        if (prev[node] != NONE) {
+            next[prev[node]] = next[node];
+        } else {
+            buckets[(int) (deadlines[node] & mask)] = next[node];
+        }
+        if (next[node] != NONE) {
+            prev[next[node]] = prev[node];
+        }
+    }
+    
+    private int allocate() {
+        if (freeHead != NONE) {
+            int node = freeHead;
+            freeHead = next[node];
+            return node;
+        }
+        if (allocated == keys.length) {
+            int capacity = keys.length << 1;
+            keys = Arrays.copyOf(keys, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+        }
+        return allocated++;
+    }
+    
+    private void release(int node) {
+        next[node] = freeHead;
+        freeHead = node;
+    }
+    
+    /**
+     * 키가 있는 칸, 없으면 넣을 빈 칸
+     */
+    private int find(int key) {
+        int tableMask = table.length - 1;
+        int slot = hash(key) & tableMask;
+        while (table[slot] != 0 && keys[table[slot] - 1] != key) {
+            slot = (slot + 1) & tableMask;
+        }
+        return slot;
+    }
+    
+    /**
+     * 칸을 비우고 뒤따르는 같은 탐사열 항목을 당겨 빈 칸 없이 유지 (tombstone 없음)
+     */
+    private void removeSlot(int slot) {
+        int tableMask = table.length - 1;
+        int hole = slot;
+        int index = slot;
+        while (true) {
+            index = (index + 1) & tableMask;
+            int entry = table[index];
+            if (entry == 0) {
+                break;
+            }
+            int home = hash(keys[entry - 1]) & tableMask;
+            // home이 (hole, index] 구간 밖이면 hole로 당겨도 탐사열이 끊기지 않음
+            boolean between = hole <= index ? home > hole && home <= index : home > hole || home <= index;
+            if (!between) {
+                table[hole] = entry;
+                hole = index;
+            }
+        }
+        table[hole] = 0;
+        size--;
+    }
+    
+    private void rehash(int capacity) {
+        int[] old = table;
+        table = new int[capacity];
+        for (int entry : old) {
+            if (entry != 0) {
+                table[find(keys[entry - 1])] = entry;
+            }
+        }
+    }
+    
+    private static int hash(int key) {
+        int value = key * 0x9E3779B9;
+        return value ^ (value >>> 16);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.orderservice.saga;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 사가 제한 시간 설정 (order.saga-timeout.*)
+ * 
+ * 생성 후 republish-after까지 결제 결과가 없으면 ORDER_CREATED 재발행,
+ * compensate-after까지도 없으면 주문 취소 (보상)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.saga-timeout")
+public class SagaTimeoutProperties {
+    
+    private boolean enabled = true;
+    
+    private Duration republishAfter = Duration.ofMinutes(5);
+    
+    private Duration compensateAfter = Duration.ofMinutes(30);
+    
+    /**
+     * 휠 한 칸의 시간 (만료 정밀도)
+     */
+    private Duration tick = Duration.ofSeconds(1);
+    
+    /**
+     * 휠 칸 수 (2의 거듭제곱). 한 바퀴 = tick * wheel-size, 그보다 먼 마감도 동작하지만 버킷을 지날 때마다 다시 확인됨
+     */
+    private int wheelSize = 4096;
+    
+    /**
+     * 예상 동시 대기 주문 수 (초기 배열 크기, 넘으면 두 배씩 확장)
+     */
+    private int expectedTimers = 100_000;
+    
+    /**
+     * 기동 시 결제 대기 주문을 DB에서 읽을 때 한 번에 조회하는 행 수
+     */
+    private int recoveryBatchSize = 10_000;
+}
@@ -0,0 +1,258 @@
+package com.example.orderservice.saga;
+
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.example.orderservice.service.OrderCompensationService;
+import com.example.orderservice.service.OutboxBacklogTracker;
+import com.example.orderservice.sharding.ShardContext;
+import com.example.orderservice.sharding.ShardRouter;
+import com.example.orderservice.statusindex.OrderStatusIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사가 제한 시간: 결제 결과를 받지 못해 PENDING에 머무는 주문 처리
+ * 
+ * 주문 생성 커밋 시 마감(생성 + republish-after)을 해시 타이밍 휠에 등록하고, 결제 결과를 반영하면 해제.
+ * 주기적인 테이블 스캔 없이 주문당 O(1)로 등록/해제 (HashedTimingWheel).
+ * 
+ * 마감 도달 시 (saga-timeout 스레드, 주문 샤드 트랜잭션):
+ * - 주문이 더 이상 결제 대기가 아니면 아무것도 하지 않음 (다른 인스턴스가 결제 결과를 처리한 경우 포함)
+ * - 생성 후 compensate-after 전이면 ORDER_CREATED Outbox 행을 미발행으로 되돌려 재발행하고
+ *   생성 + compensate-after에 다시 등록 (Payment Service는 processed_events로 중복 처리를 막음)
+ * - 그 이후면 주문 취소 (보상 트랜잭션, ORDER_CANCELLED 발행)
+ * 만료 시점의 동작은 주문 나이로만 정하므로 별도 상태 저장이 필요 없음.
+ * 
+ * 영속성: 마감은 주문 행(상태 + created_at)에서 계산되므로 orders 테이블이 곧 저장소.
+ * 기동 시 결제 대기 주문을 샤드별 키셋 페이지로 읽어 휠을 다시 채움 (이미 지난 마감은 바로 만료).
+ * 여러 인스턴스가 같은 주문을 복구해 중복 만료될 수 있지만, 재발행은 멱등이고 보상은 상태 확인 후 한 번만 커밋됨
+ * (보상 Outbox 행의 aggregateId가 유니크).
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SagaTimeoutProperties.class)
+public class SagaTimeoutScheduler {
+    
+    private static final String COMPENSATION_REASON = "결제 결과 미수신 (사가 제한 시간 초과)";
+    private static final List<Order.OrderStatus> AWAITING_PAYMENT = Arrays.stream(Order.OrderStatus.values())
+        .filter(Order.OrderStatus::isAwaitingPayment)
+        .toList();
+    
+    private final SagaTimeoutProperties sagaTimeoutProperties;
+    private final OrderRepository orderRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderCompensationService orderCompensationService;
+    private final OutboxBacklogTracker outboxBacklogTracker;
+    private final ShardRouter shardRouter;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final HashedTimingWheel wheel;
+    private final ScheduledExecutorService executor;
+    
+    public SagaTimeoutScheduler(SagaTimeoutProperties sagaTimeoutProperties,
+                                OrderRepository orderRepository,
+                                OutboxEventRepository outboxEventRepository,
+                                OrderCompensationService orderCompensationService,
+                                OutboxBacklogTracker outboxBacklogTracker,
+                                ShardRouter shardRouter,
+                                MeterRegistry meterRegistry,
+                                PlatformTransactionManager transactionManager) {
+        this.sagaTimeoutProperties = sagaTimeoutProperties;
+        this.orderRepository = orderRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.orderCompensationService = orderCompensationService;
+        this.outboxBacklogTracker = outboxBacklogTracker;
+        this.shardRouter = shardRouter;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.wheel = new HashedTimingWheel(sagaTimeoutProperties.getTick(), sagaTimeoutProperties.getWheelSize(),
+            sagaTimeoutProperties.isEnabled() ? sagaTimeoutProperties.getExpectedTimers() : 0,
+            System.currentTimeMillis());
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "saga-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        Gauge.builder("order.saga.timeout.pending", wheel, HashedTimingWheel::size)
+            .description("Orders waiting for a payment result in the saga timeout wheel")
+            .register(meterRegistry);
+        Gauge.builder("order.saga.timeout.memory", wheel, HashedTimingWheel::memoryBytes)
+            .description("Array size of the saga timeout wheel")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * 현재 트랜잭션이 커밋되면 새 주문의 마감 등록 (롤백되면 등록하지 않음, 트랜잭션 밖이면 바로 등록)
+     */
+    public void scheduleAfterCommit(String orderNumber) {
+        if (!sagaTimeoutProperties.isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(orderNumber, LocalDateTime.now().plus(sagaTimeoutProperties.getRepublishAfter()));
+                }
+            });
+        } else {
+            schedule(orderNumber, LocalDateTime.now().plus(sagaTimeoutProperties.getRepublishAfter()));
+        }
+    }
+    
+    /**
+     * 결제 결과를 반영한 주문의 마감 해제
+     */
+    public void cancel(String orderNumber) {
+        if (sagaTimeoutProperties.isEnabled() && OrderStatusIndex.isIndexable(orderNumber)) {
+            wheel.cancel(OrderStatusIndex.encode(orderNumber));
+        }
+    }
+    
+    /**
+     * 휠에 담을 수 없는 형식의 주문 번호는 등록하지 않음 (ReconciliationTool로 확인)
+     */
+    private void schedule(String orderNumber, LocalDateTime deadline) {
+        if (OrderStatusIndex.isIndexable(orderNumber)) {
+            wheel.schedule(OrderStatusIndex.encode(orderNumber),
+                deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!sagaTimeoutProperties.isEnabled()) {
+            return;
+        }
+        long tickMillis = sagaTimeoutProperties.getTick().toMillis();
+        executor.execute(this::recover);
+        executor.scheduleWithFixedDelay(this::expireDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * 결제 대기 주문의 마감 복구 (샤드별로 ID 순 키셋 페이지, 읽기 전용 트랜잭션)
+     */
+    void recover() {
+        long started = System.currentTimeMillis();
+        int batchSize = sagaTimeoutProperties.getRecoveryBatchSize();
+        long recovered = 0;
+        try {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                int target = shard;
+                long afterId = 0;
+                while (true) {
+                    long from = afterId;
+                    List<OrderRepository.DeadlineRow> rows = ShardContext.callOn(target, () ->
+                        readOnlyTransactionTemplate.execute(status -> orderRepository.findDeadlineRowsAfter(
+                            AWAITING_PAYMENT, from, PageRequest.of(0, batchSize))));
+                    rows.forEach(row -> schedule(row.getOrderNumber(), nextDeadline(row.getCreatedAt())));
+                    recovered += rows.size();
+                    if (rows.size() < batchSize) {
+                        break;
+                    }
+                    afterId = rows.get(rows.size() - 1).getId();
+                }
+            }
+            log.info("Saga timeouts recovered: {} orders in {} ms, {} pending, {} bytes",
+                recovered, System.currentTimeMillis() - started, wheel.size(), wheel.memoryBytes());
+        } catch (RuntimeException e) {
+            // 복구하지 못한 주문은 ReconciliationTool 대사로 찾음
+            log.error("Saga timeout recovery failed after {} orders", recovered, e);
+        }
+    }
+    
+    /**
+     * 생성 시각 기준 다음 마감 (재발행 시점이 지났으면 보상 시점)
+     */
+    private LocalDateTime nextDeadline(LocalDateTime createdAt) {
+        LocalDateTime republishAt = createdAt.plus(sagaTimeoutProperties.getRepublishAfter());
+        return republishAt.isAfter(LocalDateTime.now())
+            ? republishAt : createdAt.plus(sagaTimeoutProperties.getCompensateAfter());
+    }
+    
+    private void expireDue() {
+        try {
+            for (int key : wheel.advance(System.currentTimeMillis())) {
+                expire(OrderStatusIndex.decode(key));
+            }
+        } catch (RuntimeException e) {
+            // 스케줄러 스레드가 멈추지 않도록 (개별 주문 실패는 expire에서 처리)
+            log.error("Saga timeout tick failed", e);
+        }
+    }
+    
+    /**
+     * 마감이 지난 주문 처리: 상태 확인 → 재발행 또는 보상
+     */
+    void expire(String orderNumber) {
+        int shard = shardRouter.shardFor(orderNumber);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            LocalDateTime nextDeadline = ShardContext.callOn(shard, () -> transactionTemplate.execute(status -> {
+                Order order = orderRepository.findByOrderNumber(orderNumber).orElse(null);
+                if (order == null || !order.getStatus().isAwaitingPayment()) {
+                    record("resolved");
+                    return null;
+                }
+                LocalDateTime compensateAt = order.getCreatedAt().plus(sagaTimeoutProperties.getCompensateAfter());
+                if (now.isBefore(compensateAt)) {
+                    if (outboxEventRepository.requeue(orderNumber, now) > 0) {
+                        outboxBacklogTracker.recordEnqueuedAfterCommit();
+                        log.warn("Saga timeout: re-publishing ORDER_CREATED, orderNumber={}", orderNumber);
+                    } else {
+                        // 발행 실패로 보관(parked)된 경우 → /api/admin/outbox/parked 재처리 대상
+                        log.warn("Saga timeout: no outbox event to re-publish, orderNumber={}", orderNumber);
+                    }
+                    record("republished");
+                    return compensateAt;
+                }
+                // 확인과 취소 사이에 결제 결과가 먼저 반영되면 version이 달라 취소하지 않음
+                record(orderCompensationService.compensate(order, COMPENSATION_REASON, shard)
+                    ? "compensated" : "resolved");
+                return null;
+            }));
+            if (nextDeadline != null) {
+                schedule(orderNumber, nextDeadline);
+            }
+        } catch (RuntimeException e) {
+            // DB 장애 등 → 재발행 간격 뒤에 다시 시도
+            log.error("Saga timeout handling failed, retrying later: orderNumber={}", orderNumber, e);
+            record("failed");
+            schedule(orderNumber, now.plus(sagaTimeoutProperties.getRepublishAfter()));
+        }
+    }
+    
+    private void record(String outcome) {
+        meterRegistry.counter("order.saga.timeout.expired", "outcome", outcome).increment();
+    }
+}
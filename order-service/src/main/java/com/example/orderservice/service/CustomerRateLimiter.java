@@ -0,0 +1,133 @@
+package com.example.orderservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 고객(customerEmail)별 주문 생성 속도 제한 (Token Bucket)
+ * 
+ * 한 B2B 고객이 스크립트로 주문 API를 두드리면 DB 커넥션과 Outbox 슬롯을 독차지할 수 있어
+ * 고객마다 초당 허용량(permits-per-second)과 순간 허용량(burst)을 둠.
+ * 
+ * 구현 (GCRA: Generic Cell Rate Algorithm, 토큰 버킷과 동일한 동작):
+ * - 고객별 상태는 "이론적 다음 도착 시각(TAT)" long 하나 (AtomicLong, CAS로 갱신 → 락 없음)
+ * - 요청 허용 조건: now >= TAT - burstTolerance, 허용 시 TAT = max(TAT, now) + emissionInterval
+ * - 상태는 해시로 나눈 여러 ConcurrentHashMap(stripe)에 분산하여 경합과 리사이즈 비용을 줄임
+ * 
+ * 메모리 관리:
+ * - TAT가 현재 시각보다 과거면 버킷이 가득 찬 상태 = 새 버킷과 동일
+ * - 따라서 일정 시간 요청이 없던 고객은 정보 손실 없이 제거 가능 (주기적 스윕)
+ * - 수백만 고객이 있어도 최근 활동한 고객 수만큼만 메모리 사용
+ */
+@Slf4j
+@Component
+public class CustomerRateLimiter {
+    
+    private static final int STRIPES = 16;
+    
+    private final boolean enabled;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final long idleEvictionNanos;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final Counter rejected;
+    
+    @SuppressWarnings("unchecked")
+    public CustomerRateLimiter(MeterRegistry meterRegistry,
+                               @Value("${order.rate-limit.enabled:true}") boolean enabled,
+                               @Value("${order.rate-limit.permits-per-second:5}") double permitsPerSecond,
+                               @Value("${order.rate-limit.burst:20}") int burst,
+                               @Value("${order.rate-limit.idle-eviction-seconds:300}") long idleEvictionSeconds) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be > 0 and burst >= 1");
+        }
+        this.enabled = enabled;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.idleEvictionNanos = TimeUnit.SECONDS.toNanos(idleEvictionSeconds);
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        
+        this.rejected = Counter.builder("order.ratelimit.rejected")
+            .description("Order creation requests rejected by the per-customer rate limiter")
+            .register(meterRegistry);
+        Gauge.builder("order.ratelimit.customers", this, CustomerRateLimiter::trackedCustomers)
+            .description("Customers with in-memory rate limiter state")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * 고객 요청 1건 허용 여부 확인
+     * 
+     * @param customerEmail 고객 이메일
+     * @return 0이면 허용, 0보다 크면 거절이며 다음 요청이 허용되기까지 남은 시간(ms)
+     */
+    public long tryAcquire(String customerEmail) {
+        if (!enabled) {
+            return 0;
+        }
+        
+        String key = normalize(customerEmail);
+        long now = System.nanoTime();
+        // TAT = now 로 시작하면 가득 찬 버킷과 같음
+        AtomicLong tat = stripeFor(key).computeIfAbsent(key, k -> new AtomicLong(now));
+        
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, now);
+            long allowAt = base - burstToleranceNanos;
+            if (now - allowAt < 0) {
+                rejected.increment();
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(allowAt - now));
+            }
+            if (tat.compareAndSet(current, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * 오래 요청이 없던 고객 상태 제거 (버킷이 가득 찬 상태이므로 제거해도 동작이 같음)
+     */
+    @Scheduled(fixedDelayString = "${order.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleCustomers() {
+        long cutoff = System.nanoTime() - idleEvictionNanos;
+        int before = trackedCustomers();
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            stripe.values().removeIf(tat -> tat.get() - cutoff < 0);
+        }
+        int evicted = before - trackedCustomers();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle customer rate limiter entries", evicted);
+        }
+    }
+    
+    public int trackedCustomers() {
+        int total = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            total += stripe.size();
+        }
+        return total;
+    }
+    
+    private ConcurrentHashMap<String, AtomicLong> stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+    
+    static String normalize(String customerEmail) {
+        return customerEmail == null ? "" : customerEmail.trim().toLowerCase(Locale.ROOT);
+    }
+}
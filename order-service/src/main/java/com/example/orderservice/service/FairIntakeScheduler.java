@@ -0,0 +1,204 @@
+package com.example.orderservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 주문 접수 가중 공정 큐잉 (Weighted Fair Queuing)
+ * 
+ * 동시에 처리 중인 주문 생성 요청 수를 max-concurrent로 제한하고,
+ * 포화 상태에서는 대기 요청을 고객별 큐에 넣어 가중 라운드로빈(Deficit Round Robin)으로 배분.
+ * 
+ * 효과:
+ * - 한 고객이 대량 요청을 보내도 대기열 맨 앞을 독점하지 못함
+ *   (고객마다 한 차례에 weight건씩 번갈아 처리)
+ * - 여유가 있을 때는 대기열을 거치지 않고 바로 통과 (추가 비용은 락 1회)
+ * - max-wait-ms 안에 차례가 오지 않으면 거절하여 요청 스레드가 무한 대기하지 않음
+ */
+@Component
+public class FairIntakeScheduler {
+    
+    private final int defaultWeight;
+    private final long maxWaitNanos;
+    private final Map<String, Integer> customerWeights;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, CustomerQueue> queues = new HashMap<>();
+    private final Deque<CustomerQueue> activeRing = new ArrayDeque<>();
+    private final Counter timeouts;
+    
+    private int available;
+    private int waiting;
+    
+    public FairIntakeScheduler(MeterRegistry meterRegistry,
+                               @Value("${order.intake.max-concurrent:20}") int maxConcurrent,
+                               @Value("${order.intake.max-wait-ms:2000}") long maxWaitMs,
+                               @Value("${order.intake.default-weight:1}") int defaultWeight,
+                               @Value("${order.intake.customer-weights:}") String customerWeights) {
+        if (maxConcurrent < 1 || defaultWeight < 1) {
+            throw new IllegalArgumentException("maxConcurrent and defaultWeight must be >= 1");
+        }
+        this.available = maxConcurrent;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.defaultWeight = defaultWeight;
+        this.customerWeights = parseWeights(customerWeights);
+        
+        this.timeouts = Counter.builder("order.intake.timeouts")
+            .description("Order creation requests that timed out waiting in the fair intake queue")
+            .register(meterRegistry);
+        Gauge.builder("order.intake.waiting", this, FairIntakeScheduler::getWaiting)
+            .description("Order creation requests waiting in the fair intake queue")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * 처리 슬롯 획득 (포화 시 고객별 공정 순서로 대기)
+     * 
+     * @return 슬롯을 얻으면 true, 대기 시간이 초과되면 false
+     */
+    public boolean acquire(String customerEmail) throws InterruptedException {
+        String key = CustomerRateLimiter.normalize(customerEmail);
+        Waiter waiter;
+        
+        lock.lock();
+        try {
+            // 취소된 대기자만 남아 있는 경우를 정리한 뒤, 대기열이 비어 있고 슬롯이 있으면 즉시 통과
+            dispatch();
+            if (activeRing.isEmpty() && available > 0) {
+                available--;
+                return true;
+            }
+            CustomerQueue queue = queues.computeIfAbsent(key, k -> {
+                CustomerQueue q = new CustomerQueue(k, customerWeights.getOrDefault(k, defaultWeight));
+                activeRing.addLast(q);
+                return q;
+            });
+            waiter = new Waiter();
+            queue.waiters.addLast(waiter);
+            waiting++;
+        } finally {
+            lock.unlock();
+        }
+        
+        boolean granted = false;
+        try {
+            granted = waiter.latch.await(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            if (!granted) {
+                granted = cancel(waiter);
+            }
+        }
+        return granted;
+    }
+    
+    /**
+     * 처리 슬롯 반환 후 다음 차례 고객에게 배정
+     */
+    public void release() {
+        lock.lock();
+        try {
+            available++;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 대기 시간 초과/인터럽트 시 대기열에서 제거
+     * 
+     * @return 제거 직전에 이미 슬롯이 배정된 경우 true (호출자가 release 책임을 가짐)
+     */
+    private boolean cancel(Waiter waiter) {
+        lock.lock();
+        try {
+            if (waiter.granted) {
+                return true;
+            }
+            waiter.cancelled = true;
+            waiting--;
+            timeouts.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Deficit Round Robin: 링의 맨 앞 고객에게 weight건까지 연속 배정 후 뒤로 보냄
+     */
+    private void dispatch() {
+        while (available > 0 && !activeRing.isEmpty()) {
+            CustomerQueue queue = activeRing.peekFirst();
+            Waiter next = queue.waiters.pollFirst();
+            
+            if (next != null && !next.cancelled) {
+                available--;
+                waiting--;
+                next.granted = true;
+                next.latch.countDown();
+                queue.servedInTurn++;
+            }
+            
+            if (queue.waiters.isEmpty()) {
+                activeRing.pollFirst();
+                queues.remove(queue.customer);
+            } else if (queue.servedInTurn >= queue.weight) {
+                queue.servedInTurn = 0;
+                activeRing.addLast(activeRing.pollFirst());
+            }
+        }
+    }
+    
+    private static Map<String, Integer> parseWeights(String spec) {
+        Map<String, Integer> weights = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return weights;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid customer weight entry: " + entry);
+            }
+            weights.put(CustomerRateLimiter.normalize(parts[0]), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+    
+    private static final class CustomerQueue {
+        private final String customer;
+        private final int weight;
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private int servedInTurn;
+        
+        private CustomerQueue(String customer, int weight) {
+            this.customer = customer;
+            this.weight = Math.max(1, weight);
+        }
+    }
+    
+    private static final class Waiter {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private boolean granted;
+        private boolean cancelled;
+    }
+}
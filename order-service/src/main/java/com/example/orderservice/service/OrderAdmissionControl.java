@@ -0,0 +1,124 @@
+package com.example.orderservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Outbox 백로그 기반 주문 접수 제어 (Admission Control)
+ * 
+ * Kafka나 Payment Service가 밀리면 outbox_events가 Relay 처리 속도보다 빠르게 쌓이고
+ * 모든 요청의 지연이 함께 늘어남. 백로그가 감당 범위를 넘으면 새 주문을 일부 거절하여
+ * 이미 접수된 주문이 먼저 처리되도록 함.
+ * 
+ * 점진적 부하 차단 (Progressive Load Shedding):
+ * - 백로그 크기/대기 시간이 soft 임계값 이하: 모두 접수
+ * - soft ~ hard 사이: 초과 비율에 비례한 확률로 거절
+ * - hard 이상: 모두 거절 (429 Too Many Requests + Retry-After)
+ * - 크기와 대기 시간 중 더 큰 압력 값을 사용
+ */
+@Slf4j
+@Component
+public class OrderAdmissionControl {
+    
+    private final OutboxBacklogTracker backlogTracker;
+    private final boolean enabled;
+    private final long softDepth;
+    private final long hardDepth;
+    private final long softAgeMillis;
+    private final long hardAgeMillis;
+    private final long retryAfterSeconds;
+    private final Counter shedByDepth;
+    private final Counter shedByAge;
+    
+    public OrderAdmissionControl(OutboxBacklogTracker backlogTracker,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${order.admission.enabled:true}") boolean enabled,
+                                 @Value("${order.admission.soft-backlog-depth:1000}") long softDepth,
+                                 @Value("${order.admission.hard-backlog-depth:5000}") long hardDepth,
+                                 @Value("${order.admission.soft-backlog-age-seconds:30}") long softAgeSeconds,
+                                 @Value("${order.admission.hard-backlog-age-seconds:120}") long hardAgeSeconds,
+                                 @Value("${order.admission.retry-after-seconds:5}") long retryAfterSeconds) {
+        if (hardDepth <= softDepth || hardAgeSeconds <= softAgeSeconds) {
+            throw new IllegalArgumentException("Hard admission thresholds must be greater than soft thresholds");
+        }
+        this.backlogTracker = backlogTracker;
+        this.enabled = enabled;
+        this.softDepth = softDepth;
+        this.hardDepth = hardDepth;
+        this.softAgeMillis = softAgeSeconds * 1000;
+        this.hardAgeMillis = hardAgeSeconds * 1000;
+        this.retryAfterSeconds = retryAfterSeconds;
+        
+        this.shedByDepth = Counter.builder("order.admission.shed")
+            .description("Order creation requests rejected by outbox backlog admission control")
+            .tag("reason", "backlog_depth")
+            .register(meterRegistry);
+        this.shedByAge = Counter.builder("order.admission.shed")
+            .description("Order creation requests rejected by outbox backlog admission control")
+            .tag("reason", "backlog_age")
+            .register(meterRegistry);
+        Gauge.builder("order.admission.pressure", this, OrderAdmissionControl::getPressure)
+            .description("Outbox backlog pressure (0 = admit all, 1 = shed all)")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * 주문 접수 여부 판단
+     * 
+     * @return 접수하면 true, 거절해야 하면 false
+     */
+    public boolean tryAdmit() {
+        if (!enabled) {
+            return true;
+        }
+        
+        double depthPressure = depthPressure();
+        double agePressure = agePressure();
+        double pressure = Math.max(depthPressure, agePressure);
+        
+        if (pressure <= 0 || (pressure < 1 && ThreadLocalRandom.current().nextDouble() >= pressure)) {
+            return true;
+        }
+        
+        if (depthPressure >= agePressure) {
+            shedByDepth.increment();
+        } else {
+            shedByAge.increment();
+        }
+        log.warn("Order request shed by admission control: backlogDepth={}, oldestAgeMs={}, pressure={}",
+            backlogTracker.getDepth(), backlogTracker.getOldestAgeMillis(), String.format("%.2f", pressure));
+        return false;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+    
+    public double getPressure() {
+        return Math.max(depthPressure(), agePressure());
+    }
+    
+    private double depthPressure() {
+        return pressure(backlogTracker.getDepth(), softDepth, hardDepth);
+    }
+    
+    private double agePressure() {
+        return pressure(backlogTracker.getOldestAgeMillis(), softAgeMillis, hardAgeMillis);
+    }
+    
+    private static double pressure(long value, long soft, long hard) {
+        if (value <= soft) {
+            return 0;
+        }
+        if (value >= hard) {
+            return 1;
+        }
+        return (double) (value - soft) / (hard - soft);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.orderservice.service;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.orderservice.archive.ArchiveProperties;
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.sharding.ShardContext;
+import com.example.orderservice.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 완료/취소 주문 보관 (orders → 압축 컬럼형 세그먼트 파일)
+ * 
+ * 오래된 최종 상태 주문이 orders에 계속 쌓이면 인덱스와 vacuum 비용이 함께 커짐
+ * → retention-days가 지난 최종 상태 주문을 세그먼트 파일로 옮기고 DB에서 삭제.
+ * 조회 API는 DB에 없으면 보관소를 찾음 (OrderService).
+ * 
+ * 샤드별로 segment-rows씩:
+ * 1. 읽기 트랜잭션으로 대상 조회 (primary)
+ * 2. 세그먼트 기록 (fsync + rename, 커넥션을 쥐지 않은 상태에서)
+ * 3. 삭제 트랜잭션
+ * 2와 3 사이에 중단되면 다음 실행에서 같은 행을 다시 읽지만, 이미 보관된 주문 번호는 세그먼트에 다시 쓰지 않고 삭제만 함.
+ * 
+ * 보관 이후 도착한 결제 이벤트는 주문을 찾지 못해 재시도 토픽 → DLT로 감
+ * (retention-days는 결제 이벤트 재전달 기간보다 충분히 길게 설정).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveService {
+    
+    /**
+     * 더 이상 상태가 바뀌지 않는 주문
+     */
+    private static final Set<Order.OrderStatus> FINAL_STATUSES =
+        Set.of(Order.OrderStatus.COMPLETED, Order.OrderStatus.DELIVERED, Order.OrderStatus.CANCELLED);
+    
+    private final OrderRepository orderRepository;
+    private final ArchiveStore<Order> orderArchive;
+    private final ArchiveProperties archiveProperties;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Scheduled(cron = "${order.archive.cron:0 30 3 * * *}") // 기본: 매일 새벽 3시 30분
+    public void scheduledArchive() {
+        if (archiveProperties.isEnabled()) {
+            archiveFinalizedOrders();
+        }
+    }
+    
+    /**
+     * @return 이번 실행에서 DB에서 옮긴 주문 수 (다른 인스턴스가 보관 중이면 0)
+     */
+    public long archiveFinalizedOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveProperties.getRetentionDays());
+        try (ArchiveStore.ArchiveLock lock = orderArchive.tryLock()) {
+            if (lock == null) {
+                log.info("Order archiving already running elsewhere, skipping");
+                return 0;
+            }
+            long archived = shardRouter.runJobOnEachShard(shard -> archiveShard(shard, cutoff)).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+            log.info("Archived {} finalized orders created before {}", archived, cutoff);
+            return archived;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Order archiving failed", e);
+        }
+    }
+    
+    private long archiveShard(int shard, LocalDateTime cutoff) {
+        int batchSize = archiveProperties.getSegmentRows();
+        long archived = 0;
+        while (true) {
+            List<Order> batch = ShardContext.callOn(shard, () -> transactionTemplate.execute(status ->
+                orderRepository.findByStatusInAndCreatedAtBeforeOrderByIdAsc(
+                    FINAL_STATUSES, cutoff, PageRequest.of(0, batchSize))));
+            if (batch.isEmpty()) {
+                return archived;
+            }
+            
+            List<Long> localIds = batch.stream().map(Order::getId).toList();
+            // 트랜잭션이 끝나 분리된 엔티티이므로 ID를 전역 ID로 바꿔 보관해도 DB에는 영향 없음
+            batch.forEach(order -> order.setId(shardRouter.toGlobalId(shard, order.getId())));
+            List<Order> rows = batch.stream()
+                .filter(order -> !orderArchive.containsKey(order.getOrderNumber()))
+                .toList();
+            try {
+                orderArchive.append(rows);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write order archive segment on shard " + shard, e);
+            }
+            
+            ShardContext.runOn(shard, () -> transactionTemplate.executeWithoutResult(status ->
+                orderRepository.deleteAllByIdInBatch(localIds)));
+            archived += batch.size();
+            log.info("Archived {} orders on shard {}", batch.size(), shard);
+            
+            if (batch.size() < batchSize) {
+                return archived;
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.example.orderservice.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보상 트랜잭션: 주문 취소 처리
+ * 
+ * 보상 트랜잭션이란:
+ * - 분산 환경에서 이미 커밋된 트랜잭션을 "논리적으로 취소"하는 작업
+ * - 실제 DB 롤백이 아닌, 반대 작업을 수행하여 효과를 상쇄
+ * - 예: 주문 생성의 보상 = 주문 취소, 재고 차감의 보상 = 재고 복구
+ * 
+ * 호출 경로:
+ * - PaymentEventConsumer: 결제 실패 이벤트 수신
+ * - SagaTimeoutScheduler: 결제 결과 없이 사가 제한 시간 초과
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderCompensationService {
+    
+    private final OrderTransitionService orderTransitionService;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxBacklogTracker outboxBacklogTracker;
+    private final ShardRouter shardRouter;
+    
+    /**
+     * 주문 취소 + ORDER_CANCELLED 이벤트를 Outbox에 저장
+     * 
+     * 처리 흐름:
+     * 1. 주문 상태를 CANCELLED로 변경 (결제를 기다리는 상태이고 읽은 뒤 바뀌지 않았을 때만)
+     * 2. ORDER_CANCELLED 이벤트를 Outbox에 저장 (1이 거부되면 저장하지 않음)
+     * 3. 다른 서비스들이 이 이벤트를 받아 추가 보상 작업 수행 가능
+     *    (예: 재고 서비스가 차감한 재고를 복구)
+     * 
+     * 호출자가 주문 샤드에서 연 트랜잭션 안에서 실행해야 함 (주문과 Outbox가 같은 샤드)
+     * 
+     * @param order 취소할 주문 (같은 트랜잭션에서 조회한 엔티티)
+     * @param reason 취소 사유
+     * @param shard 주문이 저장된 샤드
+     * @return 취소했으면 true (이미 결제 결과가 반영되었거나 취소된 주문이면 false)
+     */
+    public boolean compensate(Order order, String reason, int shard) {
+        log.warn("Compensating order: orderNumber={}, reason={}", order.getOrderNumber(), reason);
+        
+        // 주문 상태를 CANCELLED로 변경
+        if (orderTransitionService.transition(order, Order.OrderStatus.CANCELLED)
+                != OrderTransitionService.Result.APPLIED) {
+            return false;
+        }
+        
+        // 보상 트랜잭션 이벤트를 Outbox에 저장
+        try {
+            OrderEvent compensationEvent = OrderEvent.builder()
+                .orderId(shardRouter.toGlobalId(shard, order.getId()))
+                .orderNumber(order.getOrderNumber())
+                .productName(order.getProductName())
+                .quantity(order.getQuantity())
+                .price(order.getPrice())
+                .totalAmount(order.getTotalAmount())
+                .customerName(order.getCustomerName())
+                .customerEmail(order.getCustomerEmail())
+                .status(Order.OrderStatus.CANCELLED.name())
+                .eventTime(LocalDateTime.now())
+                .eventType("ORDER_CANCELLED")
+                .build();
+            
+            OutboxEvent outboxEvent = OutboxEvent.builder()
+                .aggregateId(order.getOrderNumber() + OutboxEvent.COMPENSATION_SUFFIX)
+                .aggregateType("ORDER")
+                .eventType("ORDER_CANCELLED")
+                .payload(objectMapper.writeValueAsString(compensationEvent))
+                .build();
+            
+            outboxEventRepository.save(outboxEvent);
+            outboxBacklogTracker.recordEnqueuedAfterCommit();
+            
+            log.info("Order compensated successfully: orderNumber={}", order.getOrderNumber());
+            return true;
+        
+        } catch (Exception e) {
+            log.error("Failed to create compensation event", e);
+            throw new RuntimeException("Compensation failed", e);
+        }
+    }
+}
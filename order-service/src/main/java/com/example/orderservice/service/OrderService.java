@@ -1,23 +1,31 @@
 package com.example.orderservice.service;
 
+import com.example.common.archive.ArchiveStore;
 import com.example.orderservice.dto.OrderRequest;
 import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.dto.OrderStatusResponse;
 import com.example.orderservice.entity.Order;
 import com.example.orderservice.entity.OutboxEvent;
 import com.example.orderservice.event.OrderEvent;
 import com.example.orderservice.repository.OrderRepository;
 import com.example.orderservice.repository.OutboxEventRepository;
+import com.example.orderservice.saga.SagaTimeoutScheduler;
+import com.example.orderservice.sharding.ShardContext;
+import com.example.orderservice.sharding.ShardRouter;
+import com.example.orderservice.statusindex.OrderStatusIndex;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -32,9 +40,18 @@ import java.util.stream.Collectors;
  * - Kafka가 다운되어도 서비스가 정상 동작 가능
  * - 별도의 Relay Service가 Outbox 테이블을 폴링하여 이벤트 발행
  * 
+ * 샤딩:
+ * - 주문과 Outbox 이벤트는 주문 번호 해시로 정해진 샤드에 함께 저장 (ShardRouter)
+ * - 샤드를 먼저 정한 뒤 그 샤드에서 로컬 트랜잭션 실행 (샤드 간 분산 트랜잭션 없음)
+ * - 목록 조회는 모든 샤드에 병렬 조회 후 병합 (scatter-gather)
+ * - 응답/이벤트의 id는 샤드 번호가 인코딩된 전역 ID
+ * 
+ * 보관: 오래된 완료/취소 주문은 OrderArchiveService가 세그먼트 파일로 옮기며, 단건 조회는 보관소까지 찾음
+ * 상태 조회: 메모리 상태 인덱스(OrderStatusIndex)에서 답하고 없을 때만 DB의 상태 컬럼 조회
+ * 
  * @author Order-Payment MSA Team
  */
-@Slf4f
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService {
@@ -42,12 +59,18 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final OutboxEventRepository outboxEventRepository;
     private final ObjectMapper objectMapper;
+    private final OutboxBacklogTracker outboxBacklogTracker;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveStore<Order> orderArchive;
+    private final OrderStatusIndex orderStatusIndex;
+    private final SagaTimeoutScheduler sagaTimeoutScheduler;
     
     /**
      * 주문 생성 및 이벤트 발행
      * 
      * 트랜잭션 처리 전략:
-     * - @Transactional로 주문 저장과 Outbox 이벤트 저장을 하나의 트랜잭션으로 묶음
+     * - 주문 번호로 샤드를 정한 뒤, 그 샤드에서 주문 저장과 Outbox 이벤트 저장을 하나의 트랜잭션으로 묶음
      * - 둘 다 성공하거나 둘 다 실패하도록 보장 (원자성)
      * - 이를 통해 "이벤트 발행 누락" 문제 해결
      * 
@@ -61,17 +84,50 @@ public class OrderService {
      * @param request 주문 요청 DTO
      * @return 생성된 주문 정보
      */
-    @Transactional
     public OrderResponse createOrder(OrderRequest request) {
+        String orderNumber = newOrderNumber();
+        return createOrder(request, orderNumber, shardRouter.shardFor(orderNumber), response -> { });
+    }
+    
+    /**
+     * 지정한 샤드에 주문 생성 (멱등성 키 기록처럼 주문과 함께 커밋해야 하는 저장을 같은 트랜잭션에서 실행)
+     * 
+     * 주문 번호는 그 샤드로 라우팅되는 번호가 나올 때까지 다시 뽑음 (기대 시도 횟수 = 샤드 수)
+     * 
+     * @param inTransaction 주문/Outbox 이벤트 저장 후 같은 트랜잭션에서 생성 결과로 실행할 작업 (예외 시 주문도 롤백)
+     */
+    public OrderResponse createOrderOnShard(OrderRequest request, int shard, Consumer<OrderResponse> inTransaction) {
+        String orderNumber;
+        do {
+            orderNumber = newOrderNumber();
+        } while (shardRouter.shardFor(orderNumber) != shard);
+        return createOrder(request, orderNumber, shard, inTransaction);
+    }
+    
+    private OrderResponse createOrder(OrderRequest request, String orderNumber, int shard,
+                                      Consumer<OrderResponse> inTransaction) {
         log.info("Creating order for customer: {}", request.getCustomerName());
         
         // 총 금액 계산
         BigDecimal totalAmount = request.getPrice()
             .multiply(BigDecimal.valueOf(request.getQuantity()));
         
-        // 주문 번호 생성 (UUID 기반으로 고유성 보장)
-        String orderNumber = "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        
+        return ShardContext.callOn(shard, () -> transactionTemplate.execute(status -> {
+            OrderResponse response = saveOrderWithOutboxEvent(request, orderNumber, totalAmount, shard);
+            inTransaction.accept(response);
+            return response;
+        }));
+    }
+    
+    /**
+     * 주문 번호 생성 (UUID 기반으로 고유성 보장)
+     */
+    private static String newOrderNumber() {
+        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+    
+    private OrderResponse saveOrderWithOutboxEvent(OrderRequest request, String orderNumber,
+                                                   BigDecimal totalAmount, int shard) {
         // 주문 엔티티 생성
         Order order = Order.builder()
             .orderNumber(orderNumber)
@@ -86,15 +142,16 @@ public class OrderService {
         
         // DB 저장
         Order savedOrder = orderRepository.save(order);
+        long globalId = shardRouter.toGlobalId(shard, savedOrder.getId());
         // 이 부분이 Outbox 패턴의 핵심:
         // - 같은 DB 트랜잭션 내에서 처리되므로 주문과 이벤트가 함께 커밋됨
         // - Kafka 장애 상황에서도 이벤트 손실 없음
         // - 별도의 Relay Service가 나중에 발행 처리
-        log.info("Order saved to database: orderNumber={}", savedOrder.getOrderNumber());
+        log.info("Order saved to database: orderNumber={}, shard={}", savedOrder.getOrderNumber(), shard);
         
         // Outbox 이벤트 생성 (같은 트랜잭션 내에서)
         OrderEvent event = OrderEvent.builder()
-            .orderId(savedOrder.getId())
+            .orderId(globalId)
             .orderNumber(savedOrder.getOrderNumber())
             .productName(savedOrder.getProductName())
             .quantity(savedOrder.getQuantity())
@@ -117,38 +174,87 @@ public class OrderService {
                 .build();
             
             outboxEventRepository.save(outboxEvent);
+            outboxBacklogTracker.recordEnqueuedAfterCommit();
+            // 결제 결과가 오지 않으면 재발행/보상하도록 사가 제한 시간 등록
+            sagaTimeoutScheduler.scheduleAfterCommit(savedOrder.getOrderNumber());
             log.info("Outbox event saved: orderNumber={}", savedOrder.getOrderNumber());
-            
+        
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize event to JSON", e);
             throw new RuntimeException("Failed to create outbox event", e);
         }
         // eventPublisher.publishOrderEvent(event); // Outbox 패턴 사용으로 직접 발행 대신 OutboxEventRelayService가 처리
         
-        return OrderResponse.fromEntity(savedOrder);
+        return toResponse(savedOrder, shard);
     }
     
-    @Transactional(readOnly = true)
+    /**
+     * 전체 주문 조회 (모든 샤드 scatter-gather, 보관된 주문은 제외)
+     * 
+     * 샤드별 작업 스레드에서 findAll()이 자체 읽기 전용 트랜잭션으로 실행되므로 replica로 라우팅됨
+     */
     public List<OrderResponse> getAllOrders() {
         log.info("Fetching all orders");
-        return orderRepository.findAll().stream()
-            .map(OrderResponse::fromEntity)
-            .collect(Collectors.toList());
+        return shardRouter.scatterGather(shard -> orderRepository.findAll().stream()
+            .map(order -> toResponse(order, shard))
+            .collect(Collectors.toList()));
     }
     
+    /**
+     * 전역 ID로 조회 (ID에 인코딩된 샤드 하나만 조회)
+     * 
+     * 읽기 전용 트랜잭션 → replica로 라우팅 (최근 쓰기를 한 클라이언트는 primary)
+     * 커넥션은 첫 SQL 시점에 얻으므로 트랜잭션 안에서 ShardContext를 설정해도 됨
+     * DB에 없으면 보관된 주문에서 찾음 (보관 세그먼트의 ID도 전역 ID)
+     */
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
         log.info("Fetching order by id: {}", id);
-        Order order = orderRepository.findById(id)
+        if (!shardRouter.isValidGlobalId(id)) {
+            throw new RuntimeException("Order not found with id: " + id);
+        }
+        int shard = shardRouter.shardOfGlobalId(id);
+        return ShardContext.callOn(shard, () -> orderRepository.findById(shardRouter.localIdOf(id)))
+            .map(order -> toResponse(order, shard))
+            .or(() -> orderArchive.findById(id).map(OrderResponse::fromEntity))
             .orElseThrow(() -> new RuntimeException("Order not found with id: " + id));
-        return OrderResponse.fromEntity(order);
     }
     
+    /**
+     * 주문 번호로 조회 (DB에 없으면 보관된 주문에서 찾음)
+     */
     @Transactional(readOnly = true)
     public OrderResponse getOrderByNumber(String orderNumber) {
         log.info("Fetching order by number: {}", orderNumber);
-        Order order = orderRepository.findByOrderNumber(orderNumber)
+        int shard = shardRouter.shardFor(orderNumber);
+        return ShardContext.callOn(shard, () -> orderRepository.findByOrderNumber(orderNumber))
+            .map(order -> toResponse(order, shard))
+            .or(() -> orderArchive.findByKey(orderNumber).map(OrderResponse::fromEntity))
             .orElseThrow(() -> new RuntimeException("Order not found with number: " + orderNumber));
-        return OrderResponse.fromEntity(order);
+    }
+    
+    /**
+     * 주문 상태만 조회 (상태 폴링용)
+     * 
+     * 상태 인덱스에 있으면 DB를 거치지 않음 (이벤트로 갱신되므로 DB보다 수 ms 늦을 수 있음).
+     * 없으면 (기동 직후 적재 중, 이벤트 도착 전, 인덱스 형식이 아닌 주문 번호) 엔티티 대신 상태 컬럼만 조회하고,
+     * DB에도 없으면 보관소에서 찾음.
+     */
+    public OrderStatusResponse getOrderStatus(String orderNumber) {
+        OrderStatusIndex.Entry entry = orderStatusIndex.lookup(orderNumber);
+        if (entry != null) {
+            return new OrderStatusResponse(orderNumber, entry.status().name(), entry.version());
+        }
+        int shard = shardRouter.shardFor(orderNumber);
+        Order.OrderStatus status = ShardContext.callOn(shard, () -> orderRepository.findStatusByOrderNumber(orderNumber))
+            .or(() -> orderArchive.findByKey(orderNumber).map(Order::getStatus))
+            .orElseThrow(() -> new RuntimeException("Order not found with number: " + orderNumber));
+        return new OrderStatusResponse(orderNumber, status.name(), OrderStatusIndex.lifecycleVersion(status));
+    }
+    
+    private OrderResponse toResponse(Order order, int shard) {
+        OrderResponse response = OrderResponse.fromEntity(order);
+        response.setId(shardRouter.toGlobalId(shard, order.getId()));
+        return response;
     }
 }
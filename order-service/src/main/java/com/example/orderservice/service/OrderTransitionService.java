@@ -0,0 +1,89 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 상태 전이 (Order.OrderStatus의 전이 표를 조건부 UPDATE 한 문장으로 적용)
+ * 
+ * 예전에는 주문을 읽어 setStatus 후 save → 읽기 + 전체 행 쓰기, 그리고 아무 상태에서나 덮어씀
+ * (늦게 도착한 PAYMENT_COMPLETED가 이미 취소된 주문을 COMPLETED로 되돌릴 수 있었음).
+ * - 결제 이벤트처럼 주문 데이터가 필요 없는 전이: 주문을 읽지 않고 WHERE status IN (허용 상태)만으로
+ * - 주문을 읽어 보상 이벤트를 만드는 전이: 읽은 version까지 조건에 넣어 그사이 바뀌었으면 거부
+ * 
+ * 호출자가 주문 샤드에서 연 트랜잭션 안에서 실행해야 함.
+ * 결과는 order.status.transitions{target, result}로 집계 (REJECTED가 늘면 이벤트 순서/중복 문제를 의심).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderTransitionService {
+    
+    public enum Result {
+        APPLIED,
+        /**
+         * 이미 대상 상태 (같은 이벤트의 재전달 등)
+         */
+        DUPLICATE,
+        /**
+         * 전이 표가 허용하지 않는 현재 상태이거나, 읽은 뒤 다른 트랜잭션이 먼저 바꿈
+         */
+        REJECTED
+    }
+    
+    private final OrderRepository orderRepository;
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * 주문을 읽지 않고 전이
+     * 
+     * @throws IllegalStateException 주문이 없음 (결제 이벤트가 주문 커밋보다 먼저 도착한 경우 등 → 재시도 토픽)
+     */
+    public Result transition(String orderNumber, Order.OrderStatus target) {
+        if (!target.allowedSources().isEmpty()
+                && orderRepository.transition(orderNumber, target.allowedSources(), target, LocalDateTime.now()) > 0) {
+            return record(orderNumber, target, Result.APPLIED, null);
+        }
+        return rejected(orderNumber, target);
+    }
+    
+    /**
+     * 같은 트랜잭션에서 읽은 주문을 전이 (읽은 시점의 version이 그대로일 때만)
+     * 
+     * 영속성 컨텍스트의 엔티티는 갱신하지 않으므로 전이 후에는 상태를 엔티티에서 읽지 말 것
+     */
+    public Result transition(Order order, Order.OrderStatus target) {
+        if (order.getStatus().canTransitionTo(target)
+                && orderRepository.transition(order.getOrderNumber(), target.allowedSources(), target,
+                    order.getVersion(), LocalDateTime.now()) > 0) {
+            return record(order.getOrderNumber(), target, Result.APPLIED, order.getStatus());
+        }
+        return rejected(order.getOrderNumber(), target);
+    }
+    
+    /**
+     * 바뀐 행이 없을 때만 현재 상태를 읽어 원인을 구분 (정상 경로에서는 추가 조회 없음)
+     */
+    private Result rejected(String orderNumber, Order.OrderStatus target) {
+        Order.OrderStatus current = orderRepository.findStatusByOrderNumber(orderNumber)
+            .orElseThrow(() -> new IllegalStateException("Order not found: " + orderNumber));
+        return record(orderNumber, target, current == target ? Result.DUPLICATE : Result.REJECTED, current);
+    }
+    
+    private Result record(String orderNumber, Order.OrderStatus target, Result result, Order.OrderStatus from) {
+        meterRegistry.counter("order.status.transitions", "target", target.name(), "result", result.name())
+            .increment();
+        if (result == Result.REJECTED) {
+            log.warn("Order transition rejected: orderNumber={}, current={}, target={}", orderNumber, from, target);
+        } else {
+            log.info("Order transition {}: orderNumber={}, from={}, target={}", result, orderNumber, from, target);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.orderservice.service;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.orderservice.archive.ArchiveProperties;
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.example.orderservice.sharding.ShardContext;
+import com.example.orderservice.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 발행 완료 Outbox 이벤트 보관 (outbox_events → 세그먼트 파일, order.archive.outbox-enabled)
+ * 
+ * 정리 작업(OutboxEventRelayService.cleanupOldEvents)이 삭제하기 전에 호출되어,
+ * 삭제될 이벤트를 리플레이 도구(OutboxReplayTool)가 archive 소스로 다시 읽을 수 있게 남김.
+ * 
+ * 주문 보관(OrderArchiveService)과 같은 순서로 샤드별 segment-rows씩: 조회 → 세그먼트 기록 → 삭제.
+ * - 다른 이벤트에 대체되어 발행하지 않은 이벤트(supersededBy)는 리플레이 대상이 아니므로 보관하지 않고 삭제만 함
+ * - 기록과 삭제 사이에 중단되면 다음 실행에서 같은 행을 다시 읽지만, 이미 보관된 전역 ID는 다시 쓰지 않음
+ * - 보관 잠금을 쥔 인스턴스만 실행 (정리 cron은 모든 인스턴스에서 돌기 때문)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxArchiveService {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ArchiveStore<OutboxEvent> outboxArchive;
+    private final ArchiveProperties archiveProperties;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    
+    public boolean isEnabled() {
+        return archiveProperties.isOutboxEnabled();
+    }
+    
+    /**
+     * @return 이번 실행에서 DB에서 옮긴(또는 대체되어 삭제만 한) 이벤트 수 (다른 인스턴스가 보관 중이면 0)
+     */
+    public long archivePublishedEvents(LocalDateTime cutoff) {
+        try (ArchiveStore.ArchiveLock lock = outboxArchive.tryLock()) {
+            if (lock == null) {
+                log.info("Outbox archiving already running elsewhere, skipping");
+                return 0;
+            }
+            long archived = shardRouter.runJobOnEachShard(shard -> archiveShard(shard, cutoff)).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+            log.info("Archived {} published outbox events published before {}", archived, cutoff);
+            return archived;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Outbox archiving failed", e);
+        }
+    }
+    
+    private long archiveShard(int shard, LocalDateTime cutoff) {
+        int batchSize = archiveProperties.getSegmentRows();
+        long archived = 0;
+        while (true) {
+            List<OutboxEvent> batch = ShardContext.callOn(shard, () -> transactionTemplate.execute(status ->
+                outboxEventRepository.findOldPublishedEvents(cutoff, PageRequest.of(0, batchSize))));
+            if (batch.isEmpty()) {
+                return archived;
+            }
+            
+            List<Long> localIds = batch.stream().map(OutboxEvent::getId).toList();
+            // 트랜잭션이 끝나 분리된 엔티티이므로 ID를 전역 ID로 바꿔 보관해도 DB에는 영향 없음
+            batch.forEach(event -> event.setId(shardRouter.toGlobalId(shard, event.getId())));
+            List<OutboxEvent> rows = batch.stream()
+                .filter(event -> event.getSupersededBy() == null)
+                .filter(event -> !outboxArchive.containsId(event.getId()))
+                .toList();
+            try {
+                outboxArchive.append(rows);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write outbox archive segment on shard " + shard, e);
+            }
+            
+            ShardContext.runOn(shard, () -> transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.deleteAllByIdInBatch(localIds)));
+            archived += batch.size();
+            log.info("Archived {} outbox events on shard {}", batch.size(), shard);
+            
+            if (batch.size() < batchSize) {
+                return archived;
+            }
+        }
+    }
+}
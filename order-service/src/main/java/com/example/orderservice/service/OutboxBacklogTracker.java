@@ -0,0 +1,113 @@
+package com.example.orderservice.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox 백로그(미발행 이벤트) 크기와 가장 오래된 미발행 이벤트 시각을 메모리에서 추적
+ * 
+ * 왜 주문 요청마다 COUNT(*)를 하지 않는가:
+ * - 주문 요청마다 outbox_events를 집계하면 백로그가 클수록 느려지고 DB 부하가 가중됨
+ * - 커밋된 적재/발행/보관 이동 건수로 증감시켜 근사치를 유지
+ * - 최고령 시각은 Relay가 한 번 돌 때마다 남은 미발행 행의 MIN(created_at)으로 다시 맞춤(resetOldest, 부분 인덱스의
+ *   첫 항목만 읽음) → 꾸준한 트래픽으로 크기가 0이 되지 않아도 이미 발행된 이벤트의 시각이 남아 대기 시간이 쌓이지 않음
+ * - 건수 집계(COUNT)는 reconcile 주기(기본 10초, 접수 제어 soft 대기 시간보다 충분히 짧게)마다 한 번만 실행해
+ *   절대값을 맞춤(reset) → 여러 인스턴스가 같은 테이블을 공유해 생기는 크기 오차(다른 인스턴스가 적재/발행한 건)는
+ *   이 주기 안으로 제한됨
+ */
+@Component
+public class OutboxBacklogTracker {
+    
+    private static final long NONE = 0L;
+    
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong oldestUnpublishedEpochMillis = new AtomicLong(NONE);
+    
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 적재 1건 반영 (롤백되면 반영하지 않음)
+     */
+    public void recordEnqueuedAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordEnqueued();
+                }
+            });
+        } else {
+            recordEnqueued();
+        }
+    }
+    
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 발행 외의 이유로 Outbox에서 빠진 1건 반영 (보관 테이블로 이동)
+     */
+    public void recordRemovedAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordPublished();
+                }
+            });
+        } else {
+            recordPublished();
+        }
+    }
+    
+    public void recordEnqueued() {
+        depth.incrementAndGet();
+        oldestUnpublishedEpochMillis.compareAndSet(NONE, System.currentTimeMillis());
+    }
+    
+    public void recordPublished() {
+        recordPublished(1);
+    }
+    
+    public void recordPublished(int count) {
+        if (depth.updateAndGet(current -> Math.max(0, current - count)) == 0) {
+            oldestUnpublishedEpochMillis.set(NONE);
+        }
+    }
+    
+    /**
+     * 주기적인 백로그 집계 결과로 절대값 보정
+     * 
+     * @param currentDepth 조회된 미발행 이벤트 수
+     * @param oldestCreatedAt 가장 오래된 미발행 이벤트의 생성 시각 (없으면 null)
+     */
+    public void reset(long currentDepth, LocalDateTime oldestCreatedAt) {
+        depth.set(currentDepth);
+        oldestUnpublishedEpochMillis.set(currentDepth == 0 ? NONE : toEpochMillis(oldestCreatedAt));
+    }
+    
+    /**
+     * 가장 오래된 미발행 이벤트 시각만 보정 (Relay 한 바퀴마다, 크기는 reconcile 주기에 보정)
+     * 
+     * @param oldestCreatedAt 남은 미발행 이벤트 중 가장 오래된 생성 시각 (없으면 null)
+     */
+    public void resetOldest(LocalDateTime oldestCreatedAt) {
+        oldestUnpublishedEpochMillis.set(toEpochMillis(oldestCreatedAt));
+    }
+    
+    public long getDepth() {
+        return depth.get();
+    }
+    
+    /**
+     * 가장 오래된 미발행 이벤트의 대기 시간 (백로그가 없으면 0)
+     */
+    public long getOldestAgeMillis() {
+        long oldest = oldestUnpublishedEpochMillis.get();
+        return oldest == NONE ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+    }
+    
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? NONE : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
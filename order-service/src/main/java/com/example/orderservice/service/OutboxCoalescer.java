@@ -0,0 +1,190 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.CoalescedOutboxEventResponse;
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.example.orderservice.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 백로그 Outbox 이벤트 병합 (대체된 이벤트 건너뛰기)
+ * 
+ * Kafka 장애 뒤에는 같은 주문의 ORDER_CREATED와 ORDER_CANCELLED가 함께 밀려 있을 수 있음
+ * → 그대로 모두 발행하면 payment-service가 곧 취소될 주문을 결제하는 등 쓸모없는 일을 함.
+ * 백로그가 min-backlog 이상일 때만 Relay가 window-size건을 한 번에 읽고, 같은 주문(aggregate)에서
+ * 나중 이벤트가 대체하는 앞 이벤트는 발행하지 않음.
+ * 
+ * 대체 규칙 (rules, "나중=앞|앞,..."): 기본은 현재 발행하는 이벤트 타입만 다룸 → ORDER_CANCELLED가 ORDER_CREATED를 대체.
+ * 새 이벤트 타입을 발행하게 되면 order.outbox.coalescing.rules에 규칙을 추가
+ * (예: 주문 전체 상태를 담는 ORDER_UPDATED라면 "ORDER_CANCELLED=ORDER_CREATED|ORDER_UPDATED,ORDER_UPDATED=ORDER_UPDATED").
+ * 대체된 이벤트가 없어도 소비자가 최종 상태에 도달하는 타입만 "앞"에 넣어야 함.
+ * 
+ * 순서 보장:
+ * - "나중"은 ID(생성 순서) 기준, 남는 이벤트는 원래 순서대로 발행 (빠지는 것만 있고 순서가 바뀌는 것은 없음)
+ * - 대체된 이벤트는 대체한 이벤트가 발행에 성공한 뒤에만 완료 처리
+ * - 대체한 이벤트가 재시도 대기에 들어가면 대체된 이벤트도 같은 시각까지 미룸 (먼저 발행되지 않도록)
+ * - 대체한 이벤트가 보관(park)되면 대체된 이벤트는 다음 배치에서 그대로 발행
+ * 
+ * 건너뛴 이벤트는 supersededBy를 남겨 감사 조회 (/api/admin/outbox/coalesced, 발행 완료 이벤트와 함께 7일 보관)
+ */
+@Slf4j
+@Component
+public class OutboxCoalescer {
+    
+    public static final String DEFAULT_RULES = "ORDER_CANCELLED=ORDER_CREATED";
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ShardRouter shardRouter;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long minBacklogDepth;
+    private final int windowSize;
+    private final Map<String, Set<String>> rules;
+    
+    public OutboxCoalescer(OutboxEventRepository outboxEventRepository,
+                           ShardRouter shardRouter,
+                           MeterRegistry meterRegistry,
+                           @Value("${order.outbox.coalescing.enabled:false}") boolean enabled,
+                           @Value("${order.outbox.coalescing.min-backlog:1000}") long minBacklogDepth,
+                           @Value("${order.outbox.coalescing.window-size:1000}") int windowSize,
+                           @Value("${order.outbox.coalescing.rules:" + DEFAULT_RULES + "}") String rules) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Coalescing window size must be >= 1: " + windowSize);
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.shardRouter = shardRouter;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.minBacklogDepth = minBacklogDepth;
+        this.windowSize = windowSize;
+        this.rules = parseRules(rules);
+    }
+    
+    /**
+     * 백로그를 비우는 중인지 (병합은 이때만, 평상시에는 이벤트가 곧바로 발행되므로 병합할 대상이 없음)
+     */
+    public boolean isActive(long backlogDepth) {
+        return enabled && backlogDepth >= minBacklogDepth;
+    }
+    
+    public int getWindowSize() {
+        return windowSize;
+    }
+    
+    /**
+     * 윈도우 안에서 대체되는 이벤트 찾기
+     * 
+     * 같은 aggregate의 이벤트를 나중 것부터 거꾸로 보면서, 이미 남기기로 한 나중 이벤트 중
+     * 가장 가까운 것이 이 이벤트를 대체하면 건너뜀 (대체된 이벤트가 다른 이벤트를 대체하지는 않음)
+     * 
+     * @return 건너뛸 이벤트 → 대신 발행되는 이벤트
+     */
+    public Map<OutboxEvent, OutboxEvent> coalesce(List<OutboxEvent> window) {
+        List<OutboxEvent> newestFirst = new ArrayList<>(window);
+        newestFirst.sort(Comparator.comparing(OutboxEvent::getId).reversed());
+        
+        Map<String, List<OutboxEvent>> keptLater = new HashMap<>();
+        Map<OutboxEvent, OutboxEvent> superseded = new LinkedHashMap<>();
+        for (OutboxEvent event : newestFirst) {
+            List<OutboxEvent> kept = keptLater.computeIfAbsent(aggregateKey(event), key -> new ArrayList<>());
+            OutboxEvent supersededBy = null;
+            // kept는 ID 내림차순 → 뒤에서부터 보면 가장 가까운 나중 이벤트부터
+            for (int i = kept.size() - 1; i >= 0 && supersededBy == null; i--) {
+                if (rules.getOrDefault(kept.get(i).getEventType(), Set.of()).contains(event.getEventType())) {
+                    supersededBy = kept.get(i);
+                }
+            }
+            if (supersededBy != null) {
+                superseded.put(event, supersededBy);
+            } else {
+                kept.add(event);
+            }
+        }
+        return superseded;
+    }
+    
+    /**
+     * 발행 결과에 따라 대체된 이벤트 정리
+     * 
+     * @param publishedIds 이번 배치에서 발행에 성공한 이벤트 ID
+     * @param retryAt 재시도 대기에 들어간 이벤트 ID → 다음 시도 시각
+     * @return 건너뛰고 완료 처리한 이벤트 수
+     */
+    public int settle(Map<OutboxEvent, OutboxEvent> superseded, Set<Long> publishedIds,
+                      Map<Long, LocalDateTime> retryAt) {
+        Map<OutboxEvent, List<OutboxEvent>> bySuperseder = new LinkedHashMap<>();
+        superseded.forEach((event, by) -> bySuperseder.computeIfAbsent(by, key -> new ArrayList<>()).add(event));
+        
+        int coalesced = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<OutboxEvent, List<OutboxEvent>> entry : bySuperseder.entrySet()) {
+            OutboxEvent by = entry.getKey();
+            List<Long> ids = entry.getValue().stream().map(OutboxEvent::getId).toList();
+            if (publishedIds.contains(by.getId())) {
+                outboxEventRepository.markAsSuperseded(ids, by.getId(), now);
+                entry.getValue().forEach(event ->
+                    meterRegistry.counter("outbox.relay.coalesced", "eventType", event.getEventType()).increment());
+                coalesced += ids.size();
+                log.info("Coalesced outbox events {} into {} ({}): aggregateId={}",
+                    ids, by.getId(), by.getEventType(), by.getAggregateId());
+            } else if (retryAt.containsKey(by.getId())) {
+                outboxEventRepository.deferTo(ids, retryAt.get(by.getId()));
+            }
+        }
+        return coalesced;
+    }
+    
+    /**
+     * 건너뛴 이벤트 조회 (모든 샤드에서 최근 순으로 limit건)
+     */
+    public List<CoalescedOutboxEventResponse> findCoalesced(int limit) {
+        return shardRouter.scatterGather(shard -> outboxEventRepository
+                .findBySupersededByIsNotNullOrderByPublishedAtDesc(PageRequest.of(0, limit)).stream()
+                .map(CoalescedOutboxEventResponse::fromEntity)
+                .toList())
+            .stream()
+            .sorted(Comparator.comparing(CoalescedOutboxEventResponse::getCoalescedAt).reversed())
+            .limit(limit)
+            .toList();
+    }
+    
+    /**
+     * 보상 이벤트도 원래 주문과 같은 aggregate로 봄
+     */
+    static String aggregateKey(OutboxEvent event) {
+        String aggregateId = event.getAggregateId();
+        if (aggregateId.endsWith(OutboxEvent.COMPENSATION_SUFFIX)) {
+            aggregateId = aggregateId.substring(0, aggregateId.length() - OutboxEvent.COMPENSATION_SUFFIX.length());
+        }
+        return event.getAggregateType() + ":" + aggregateId;
+    }
+    
+    private static Map<String, Set<String>> parseRules(String spec) {
+        Map<String, Set<String>> rules = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return rules;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid outbox coalescing rule: " + entry);
+            }
+            Set<String> supersedes = Set.of(parts[1].trim().split("\\s*\\|\\s*"));
+            rules.put(parts[0].trim(), supersedes);
+        }
+        return rules;
+    }
+}
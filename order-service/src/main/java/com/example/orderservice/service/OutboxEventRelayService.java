@@ -1,18 +1,36 @@
 package com.example.orderservice.service;
 
 import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.event.EventHeaders;
+import com.example.orderservice.event.OrderEvent;
 import com.example.orderservice.repository.OutboxEventRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.example.orderservice.sharding.ShardContext;
+import com.example.orderservice.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Outbox Event Relay Service
@@ -32,104 +50,261 @@ import java.util.List;
  * - Debezium CDC: DB 변경 로그를 실시간으로 캡처하여 Kafka로 전송
  * - Transaction Log Tailing: DB의 Write-Ahead Log를 직접 읽어 이벤트 발행
  * - 본 프로젝트는 간단한 구현을 위해 폴링 방식 사용
+ * 
+ * 배치 처리 (Payment Service의 OutboxEventRelayService와 같은 방식):
+ * - 발행 시각(nextAttemptAt)이 된 이벤트만 BATCH_SIZE건씩 읽어 모두 send() 한 뒤 결과를 모아서 기다림
+ * - 성공한 이벤트는 IN 절 단일 UPDATE로 발행 완료 처리
+ * - DB 트랜잭션 밖에서 Kafka 응답을 기다리므로 커넥션을 점유하지 않음
+ * - 레코드마다 eventType/schemaVersion/aggregateType 헤더를 붙임 (EventHeaders, 컨슈머가 파싱 전에 필터링)
+ * 
+ * 실패 처리:
+ * - 실패한 이벤트는 OutboxRetryPolicy의 지수 백오프+지터로 nextAttemptAt을 미룸
+ *   → 실패 이벤트가 매 폴링마다 다시 읽히지 않고 정상 이벤트 발행을 밀어내지 않음
+ * - 재시도를 소진하면 parked_outbox_events로 이동 (OutboxParkingService, 운영 API로 재처리)
+ * 
+ * 병합 (선택, OutboxCoalescer):
+ * - 장애 뒤 백로그가 클 때는 더 넓은 윈도우를 읽고, 같은 주문의 나중 이벤트에 대체되는 이벤트는 발행하지 않음
+ *   (예: ORDER_CANCELLED가 있으면 앞의 ORDER_CREATED) → 복구 시 발행량과 payment-service 처리량 감소
+ * 
+ * 샤딩:
+ * - 각 샤드의 outbox_events를 샤드별 스레드에서 병렬로 Relay (ShardRouter.relayOnEachShard, 요청 경로와 분리된 풀)
+ * - 한 샤드의 Kafka 지연/실패가 다른 샤드의 배치를 막지 않음
+ * - 같은 주문의 이벤트는 항상 같은 샤드에 있으므로 주문 단위 발행 순서는 그대로 유지
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class OutboxEventRelayService {
     
     private final OutboxEventRepository outboxEventRepository;
     private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final OutboxBacklogTracker outboxBacklogTracker;
+    private final OutboxRetryPolicy outboxRetryPolicy;
+    private final OutboxParkingService outboxParkingService;
+    private final OutboxCoalescer outboxCoalescer;
+    private final OutboxArchiveService outboxArchiveService;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter retryCounter;
+    private final Counter parkedCounter;
     
-    private static final String TOPIC_NAME = "order-events";
-    private static final int MAX_RETRY_COUNT = 5;
+    public static final String TOPIC_NAME = "order-events";
+    private static final int BATCH_SIZE = 100;
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+    
+    public OutboxEventRelayService(OutboxEventRepository outboxEventRepository,
+                                   KafkaTemplate<String, String> kafkaTemplate,
+                                   OutboxBacklogTracker outboxBacklogTracker,
+                                   OutboxRetryPolicy outboxRetryPolicy,
+                                   OutboxParkingService outboxParkingService,
+                                   OutboxCoalescer outboxCoalescer,
+                                   OutboxArchiveService outboxArchiveService,
+                                   ShardRouter shardRouter,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.outboxBacklogTracker = outboxBacklogTracker;
+        this.outboxRetryPolicy = outboxRetryPolicy;
+        this.outboxParkingService = outboxParkingService;
+        this.outboxCoalescer = outboxCoalescer;
+        this.outboxArchiveService = outboxArchiveService;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.retryCounter = Counter.builder("outbox.relay.retries")
+            .description("Outbox events rescheduled with backoff after a failed publish")
+            .register(meterRegistry);
+        this.parkedCounter = Counter.builder("outbox.relay.parked")
+            .description("Outbox events moved to parked_outbox_events after exhausting retries")
+            .register(meterRegistry);
+    }
     
     /**
-     * 주기적으로 Outbox 테이블을 폴링하여 미발행 이벤트 처리
+     * 주기적으로 Outbox 테이블을 폴링하여 발행 시각이 된 이벤트 처리
      * 
      * @Scheduled 설정:
      * - fixedDelay = 5000: 이전 작업 완료 후 5초 뒤에 다시 실행
      * - fixedRate와의 차이: fixedDelay는 작업 완료 시점 기준, fixedRate는 작업 시작 시점 기준
      * - 5초 간격은 실시간성과 DB 부하의 균형을 고려한 값 (프로덕션에서는 조정 필요)
+     * - 배치가 가득 찼다면 백로그가 남아 있는 것이므로 대기 없이 다음 배치를 이어서 처리
      * 
      * 처리 흐름:
-     * 1. published = false인 이벤트들을 조회
-     * 2. 각 이벤트를 Kafka로 발행 시도
-     * 3. 성공하면 published = true로 업데이트
-     * 4. 실패하면 retry_count 증가 및 error_message 기록
-     * 
-     * 재시도 전략:
-     * - 최대 5회까지 재시도 (MAX_RETRY_COUNT)
-     * - 네트워크 일시 장애나 Kafka 다운타임에 대응
-     * - 5회 초과 시 수동 처리 필요 (실제로는 DLQ나 알림 시스템 연동)
+     * 1. published = false이고 nextAttemptAt이 지난 이벤트를 배치로 조회
+     * 2. 배치 전체를 Kafka로 발행 시도
+     * 3. 성공하면 published = true로 일괄 업데이트
+     * 4. 실패하면 retry_count 증가, error_message 기록, nextAttemptAt을 백오프만큼 미룸
+     * 5. 재시도를 소진하면 parked_outbox_events로 이동
      * 
-     * @Transactional 주의사항:
-     * - Kafka 발행은 외부 시스템 호출이므로 트랜잭션 범위 밖에서 실행
-     * - CompletableFuture.whenComplete()에서 비동기로 published 플래그 업데이트
+     * 위 흐름을 샤드마다 병렬로 실행 (백로그 크기는 발행/보관 건수로 증감, 절대값 보정은 reconcileBacklog)
+     * 각 샤드가 끝나면 남은 미발행 행의 가장 오래된 생성 시각을 읽어 최고령 시각을 보정
+     * → 다른 인스턴스가 발행했거나 백로그가 0이 되지 않는 꾸준한 트래픽에서도 대기 시간이 실제 발행 지연을 따라감
      */
     @Scheduled(fixedDelay = 5000) // 5초마다 실행
-    @Transactional
     public void relayUnpublishedEvents() {
-        List<OutboxEvent> unpublishedEvents = outboxEventRepository.findUnpublishedEvents();
+        List<Optional<LocalDateTime>> oldestPerShard = shardRouter.relayOnEachShard(shard -> {
+            relayShard();
+            return Optional.ofNullable(outboxEventRepository.findOldestUnpublishedCreatedAt());
+        });
+        outboxBacklogTracker.resetOldest(oldestPerShard.stream()
+            .flatMap(Optional::stream)
+            .min(Comparator.naturalOrder())
+            .orElse(null));
+    }
+    
+    /**
+     * 메모리 백로그 수치를 집계 쿼리로 보정 (기본 10초마다, 기동 직후 한 번)
+     * 
+     * 미발행 행 전체를 세는 COUNT/MIN이므로 폴링마다 실행하지 않음 → 그 사이는 OutboxBacklogTracker의 증감으로 유지
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.backlog-reconcile-interval-ms:10000}")
+    public void reconcileBacklog() {
+        List<OutboxEventRepository.BacklogStats> shardStats =
+            shardRouter.runJobOnEachShard(shard -> outboxEventRepository.getBacklogStats());
         
-        if (unpublishedEvents.isEmpty()) {
-            return;
+        // 백오프 중인 행까지 포함한 절대값으로 메모리 백로그 수치 보정 (부분 인덱스 집계, 샤드당 1회)
+        long depth = 0;
+        LocalDateTime oldestCreatedAt = null;
+        for (OutboxEventRepository.BacklogStats stats : shardStats) {
+            depth += stats.getDepth();
+            if (stats.getOldestCreatedAt() != null
+                    && (oldestCreatedAt == null || stats.getOldestCreatedAt().isBefore(oldestCreatedAt))) {
+                oldestCreatedAt = stats.getOldestCreatedAt();
+            }
         }
+        outboxBacklogTracker.reset(depth, oldestCreatedAt);
+    }
+    
+    /**
+     * 현재 샤드의 백로그를 배치 단위로 비움
+     * 
+     * @return 조회된 이벤트 수
+     */
+    private int relayShard() {
+        int total = 0;
+        int relayed;
+        do {
+            relayed = relayBatch();
+            total += relayed;
+        } while (relayed >= BATCH_SIZE);
+        return total;
+    }
+    
+    /**
+     * 한 배치 발행
+     * 
+     * 실패한 이벤트는 nextAttemptAt이 미래로 밀리므로 다음 배치 조회에 다시 나오지 않음
+     * 백로그를 비우는 중이고 병합이 켜져 있으면 window-size건을 읽어 대체된 이벤트를 빼고 발행
+     * 
+     * @return 조회된 이벤트 수
+     */
+    int relayBatch() {
+        boolean coalescing = outboxCoalescer.isActive(outboxBacklogTracker.getDepth());
+        List<OutboxEvent> batch = outboxEventRepository.findDueEvents(
+            LocalDateTime.now(), PageRequest.of(0, coalescing ? outboxCoalescer.getWindowSize() : BATCH_SIZE));
         
-        log.info("Found {} unpublished events to relay", unpublishedEvents.size());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        Map<OutboxEvent, OutboxEvent> superseded = coalescing ? outboxCoalescer.coalesce(batch) : Map.of();
+        log.info("Found {} unpublished events to relay ({} superseded)", batch.size(), superseded.size());
         
-        for (OutboxEvent event : unpublishedEvents) {
+        // 1. 배치 전체를 먼저 send (Producer 내부에서 배치 전송)
+        Map<OutboxEvent, CompletableFuture<SendResult<String, String>>> futures = new LinkedHashMap<>();
+        Map<Long, LocalDateTime> retryAt = new HashMap<>();
+        for (OutboxEvent event : batch) {
+            if (superseded.containsKey(event)) {
+                continue;
+            }
             try {
-                // Kafka로 발행
-                kafkaTemplate.send(TOPIC_NAME, event.getAggregateId(), event.getPayload())
-                    .whenComplete((result, ex) -> {
-                        if (ex == null) {
-                            event.markAsPublished();
-                            outboxEventRepository.save(event);
-                            log.info("Event relayed successfully: aggregateId={}, eventType={}", 
-                                event.getAggregateId(), event.getEventType());
-                        } else {
-                            handlePublishError(event, ex);
-                        }
-                    });
-                    
+                futures.put(event, kafkaTemplate.send(toRecord(event)));
             } catch (Exception e) {
-                handlePublishError(event, e);
+                handlePublishError(event, e, retryAt);
+            }
+        }
+        
+        // 2. 결과 수집
+        List<Long> publishedIds = new ArrayList<>(futures.size());
+        for (Map.Entry<OutboxEvent, CompletableFuture<SendResult<String, String>>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                publishedIds.add(entry.getKey().getId());
+            } catch (ExecutionException e) {
+                handlePublishError(entry.getKey(), e.getCause(), retryAt);
+            } catch (TimeoutException e) {
+                handlePublishError(entry.getKey(), e, retryAt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
             }
         }
+        
+        // 3. 발행 완료 처리 (단일 UPDATE)
+        if (!publishedIds.isEmpty()) {
+            outboxEventRepository.markAsPublished(publishedIds, LocalDateTime.now());
+            outboxBacklogTracker.recordPublished(publishedIds.size());
+            log.info("Relayed {} order events", publishedIds.size());
+        }
+        
+        // 4. 대체된 이벤트 정리 (대체한 이벤트가 발행된 것만 완료, 재시도 대기면 같이 미룸)
+        if (!superseded.isEmpty()) {
+            Set<Long> published = new HashSet<>(publishedIds);
+            outboxBacklogTracker.recordPublished(outboxCoalescer.settle(superseded, published, retryAt));
+        }
+        
+        return batch.size();
     }
     
     /**
-     * 발행 실패 처리
+     * Outbox 이벤트 → Kafka 레코드 (키 = aggregateId, 컨슈머가 파싱 전에 라우팅하도록 이벤트 타입 등을 헤더로)
      */
-    @Transactional
-    protected void handlePublishError(OutboxEvent event, Throwable error) {
-        log.error("Failed to relay event: aggregateId={}, retryCount={}, error={}", 
-            event.getAggregateId(), event.getRetryCount(), error.getMessage());
-        
-        event.incrementRetryCount(error.getMessage());
-        outboxEventRepository.save(event);
+    public static ProducerRecord<String, String> toRecord(OutboxEvent event) {
+        return new ProducerRecord<>(TOPIC_NAME, null, event.getAggregateId(), event.getPayload(),
+            EventHeaders.of(event.getEventType(), event.getAggregateType(), OrderEvent.SCHEMA_VERSION));
+    }
+    
+    /**
+     * 발행 실패 처리: 백오프 예약 또는 보관 테이블로 이동
+     * 
+     * @param retryAt 백오프 예약 시 이벤트 ID → 다음 시도 시각을 기록 (대체된 이벤트도 같이 미루기 위해)
+     */
+    private void handlePublishError(OutboxEvent event, Throwable error, Map<Long, LocalDateTime> retryAt) {
+        int failedAttempts = event.getRetryCount() + 1;
         
-        if (event.getRetryCount() >= MAX_RETRY_COUNT) {
-            log.error("Event exceeded max retry count, manual intervention required: aggregateId={}", 
-                event.getAggregateId());
-            // 실제로는 Dead Letter Queue나 알림 시스템으로 전송
+        if (outboxRetryPolicy.isExhausted(failedAttempts)) {
+            outboxParkingService.park(event, failedAttempts, error.getMessage());
+            parkedCounter.increment();
+            return;
         }
+        
+        LocalDateTime nextAttemptAt = outboxRetryPolicy.nextAttemptAt(failedAttempts, LocalDateTime.now());
+        outboxEventRepository.scheduleRetry(event.getId(), error.getMessage(), nextAttemptAt);
+        retryAt.put(event.getId(), nextAttemptAt);
+        retryCounter.increment();
+        
+        log.warn("Failed to relay event, retry scheduled: aggregateId={}, failedAttempts={}, nextAttemptAt={}, error={}", 
+            event.getAggregateId(), failedAttempts, nextAttemptAt, error.getMessage());
     }
     
     /**
-     * 오래된 발행 완료 이벤트 정리 (7일 이상 된 것)
+     * 오래된 발행 완료 이벤트 정리 (7일 이상 된 것, 샤드별 트랜잭션)
+     * 
+     * order.archive.outbox-enabled면 삭제 전에 세그먼트로 옮김 (OutboxArchiveService, 리플레이 도구가 읽음)
      */
     @Scheduled(cron = "0 0 2 * * *") // 매일 새벽 2시
-    @Transactional
     public void cleanupOldEvents() {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(7);
-        List<OutboxEvent> oldEvents = outboxEventRepository.findOldPublishedEvents(cutoffDate);
-        
-        if (!oldEvents.isEmpty()) {
-            outboxEventRepository.deleteAll(oldEvents);
-            log.info("Cleaned up {} old published events", oldEvents.size());
+        if (outboxArchiveService.isEnabled()) {
+            outboxArchiveService.archivePublishedEvents(cutoffDate);
+            return;
         }
+        shardRouter.forEachShard(shard -> ShardContext.runOn(shard, () ->
+            transactionTemplate.executeWithoutResult(status -> {
+                List<OutboxEvent> oldEvents = outboxEventRepository.findOldPublishedEvents(cutoffDate);
+                
+                if (!oldEvents.isEmpty()) {
+                    outboxEventRepository.deleteAll(oldEvents);
+                    log.info("Cleaned up {} old published events on shard {}", oldEvents.size(), shard);
+                }
+            })));
     }
 }
@@ -0,0 +1,142 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.ParkedOutboxEventResponse;
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.entity.ParkedOutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.example.orderservice.repository.ParkedOutboxEventRepository;
+import com.example.orderservice.sharding.ShardContext;
+import com.example.orderservice.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 재시도를 소진한 Outbox 이벤트 보관/재처리
+ * 
+ * park: outbox_events → parked_outbox_events (한 트랜잭션에서 INSERT + DELETE)
+ * - 소진된 행이 outbox_events에 남으면 미발행 인덱스와 백로그 집계가 계속 커지고
+ *   주문 접수 제어(OrderAdmissionControl)가 영구히 부하 상태로 판단함
+ * 
+ * redrive: parked_outbox_events → outbox_events (재시도 횟수 초기화, 즉시 발행 대상)
+ * - Kafka/토픽 설정 등 원인을 해결한 뒤 운영 API로 호출
+ * 
+ * 샤딩: 보관 이벤트는 원래 Outbox 행과 같은 샤드에 있음
+ * - park는 샤드별 Relay 스레드(ShardContext 설정됨)에서 호출
+ * - 조회/재처리 API는 모든 샤드를 대상으로 하며 응답 id는 전역 ID
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxParkingService {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ParkedOutboxEventRepository parkedOutboxEventRepository;
+    private final OutboxBacklogTracker outboxBacklogTracker;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    
+    /**
+     * 재시도를 소진한 이벤트를 보관 테이블로 이동 (현재 ShardContext의 샤드에서 실행)
+     * 
+     * @param failedAttempts 이번 실패를 포함한 누적 실패 횟수
+     */
+    @Transactional
+    public void park(OutboxEvent event, int failedAttempts, String errorMessage) {
+        parkedOutboxEventRepository.save(ParkedOutboxEvent.builder()
+            .aggregateId(event.getAggregateId())
+            .aggregateType(event.getAggregateType())
+            .eventType(event.getEventType())
+            .payload(event.getPayload())
+            .createdAt(event.getCreatedAt())
+            .retryCount(failedAttempts)
+            .errorMessage(errorMessage)
+            .build());
+        outboxEventRepository.deleteById(event.getId());
+        outboxBacklogTracker.recordRemovedAfterCommit();
+        
+        log.error("Outbox event parked after {} failed attempts: aggregateId={}, eventType={}, error={}",
+            failedAttempts, event.getAggregateId(), event.getEventType(), errorMessage);
+    }
+    
+    /**
+     * 보관된 이벤트 조회 (모든 샤드에서 오래 보관된 순으로 limit건)
+     */
+    public List<ParkedOutboxEventResponse> findParked(int limit) {
+        return shardRouter.scatterGather(shard -> parkedOutboxEventRepository
+                .findAllByOrderByParkedAtAsc(PageRequest.of(0, limit)).stream()
+                .map(parked -> toResponse(parked, shard))
+                .toList())
+            .stream()
+            .sorted(Comparator.comparing(ParkedOutboxEventResponse::getParkedAt))
+            .limit(limit)
+            .toList();
+    }
+    
+    /**
+     * 샤드 순서대로 오래 보관된 이벤트부터 최대 limit건을 Outbox로 되돌림
+     * 
+     * @return 되돌린 건수
+     */
+    public int redrive(int limit) {
+        int redriven = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount() && redriven < limit; shard++) {
+            int remaining = limit - redriven;
+            redriven += ShardContext.callOn(shard, () -> transactionTemplate.execute(status -> {
+                List<ParkedOutboxEvent> parked = parkedOutboxEventRepository
+                    .findAllByOrderByParkedAtAsc(PageRequest.of(0, remaining));
+                parked.forEach(this::restore);
+                return parked.size();
+            }));
+        }
+        if (redriven > 0) {
+            log.info("Re-drove {} parked outbox events", redriven);
+        }
+        return redriven;
+    }
+    
+    /**
+     * 특정 보관 이벤트 1건을 Outbox로 되돌림
+     * 
+     * @param parkedId 전역 ID (조회 API 응답의 id)
+     * @return 대상이 없으면 false
+     */
+    public boolean redrive(Long parkedId) {
+        if (!shardRouter.isValidGlobalId(parkedId)) {
+            return false;
+        }
+        int shard = shardRouter.shardOfGlobalId(parkedId);
+        return ShardContext.callOn(shard, () -> transactionTemplate.execute(status ->
+            parkedOutboxEventRepository.findById(shardRouter.localIdOf(parkedId))
+                .map(parked -> {
+                    restore(parked);
+                    log.info("Re-drove parked outbox event: aggregateId={}", parked.getAggregateId());
+                    return true;
+                })
+                .orElse(false)));
+    }
+    
+    private ParkedOutboxEventResponse toResponse(ParkedOutboxEvent parked, int shard) {
+        ParkedOutboxEventResponse response = ParkedOutboxEventResponse.fromEntity(parked);
+        response.setId(shardRouter.toGlobalId(shard, parked.getId()));
+        return response;
+    }
+    
+    private void restore(ParkedOutboxEvent parked) {
+        // createdAt은 새로 기록됨: 백로그 나이(주문 접수 제어)는 재처리 시점부터 계산
+        outboxEventRepository.save(OutboxEvent.builder()
+            .aggregateId(parked.getAggregateId())
+            .aggregateType(parked.getAggregateType())
+            .eventType(parked.getEventType())
+            .payload(parked.getPayload())
+            .build());
+        parkedOutboxEventRepository.delete(parked);
+        outboxBacklogTracker.recordEnqueuedAfterCommit();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.orderservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Outbox 발행 실패 재시도 정책 (지수 백오프 + 지터)
+ * 
+ * 왜 고정 주기로 재시도하지 않는가:
+ * - Kafka 장애로 한꺼번에 실패한 이벤트가 매 폴링마다 같은 순간에 다시 몰림 (lockstep)
+ * - 복구 직후 밀린 이벤트가 동시에 쏟아지면서 정상 이벤트 발행을 밀어냄
+ * 
+ * 계산 방식 (equal jitter):
+ * - 상한 = min(maxDelay, baseDelay * 2^(실패 횟수 - 1))
+ * - 실제 지연 = 상한/2 + [0, 상한/2) 난수
+ *   → 최소 간격은 지수적으로 늘어나고, 같은 시점에 실패한 이벤트들은 구간 안에서 흩어짐
+ * 
+ * maxAttempts번 실패하면 재시도를 멈추고 parked_outbox_events로 이동 (OutboxParkingService)
+ */
+@Component
+public class OutboxRetryPolicy {
+    
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final int maxAttempts;
+    
+    public OutboxRetryPolicy(@Value("${order.outbox.retry.base-delay-ms:1000}") long baseDelayMillis,
+                             @Value("${order.outbox.retry.max-delay-ms:300000}") long maxDelayMillis,
+                             @Value("${order.outbox.retry.max-attempts:10}") int maxAttempts) {
+        if (baseDelayMillis <= 0 || maxDelayMillis < baseDelayMillis || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Invalid outbox retry policy: base=" + baseDelayMillis
+                + "ms, max=" + maxDelayMillis + "ms, maxAttempts=" + maxAttempts);
+        }
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxAttempts = maxAttempts;
+    }
+    
+    /**
+     * 재시도를 소진했는지 여부
+     * 
+     * @param failedAttempts 이번 실패를 포함한 누적 실패 횟수
+     */
+    public boolean isExhausted(int failedAttempts) {
+        return failedAttempts >= maxAttempts;
+    }
+    
+    /**
+     * 다음 발행 시도 시각
+     * 
+     * @param failedAttempts 이번 실패를 포함한 누적 실패 횟수 (1부터)
+     */
+    public LocalDateTime nextAttemptAt(int failedAttempts, LocalDateTime now) {
+        return now.plus(backoff(failedAttempts, ThreadLocalRandom.current().nextDouble()));
+    }
+    
+    /**
+     * @param random [0, 1) 난수 (테스트에서 고정값 주입)
+     */
+    Duration backoff(int failedAttempts, double random) {
+        int exponent = Math.min(Math.max(failedAttempts - 1, 0), 62);
+        // 시프트 오버플로 방지: 상한을 넘는 순간 더 키우지 않음
+        long ceiling = exponent >= Long.numberOfLeadingZeros(baseDelayMillis) - 1
+            ? maxDelayMillis
+            : Math.min(maxDelayMillis, baseDelayMillis << exponent);
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + (long) (random * (ceiling - half)));
+    }
+    
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.orderservice.sharding;
+
+import com.example.orderservice.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 리샤딩 도구: 샤드 수 변경 시 주문 데이터를 새 배치로 이동
+ * 
+ * 각 샤드의 orders를 id 순(keyset)으로 훑으며 ShardRouter.shardFor(orderNumber, 새 샤드 수)가
+ * 현재 샤드와 다른 주문만 이동. Jump Hash이므로 샤드 추가 시에는 기존 샤드 → 새 샤드 이동만 발생.
+ * 
+ * 주문 1건 단위 이동 (주문 + 해당 주문의 outbox_events, parked_outbox_events):
+ * 1. 대상 샤드에 없는 행만 INSERT 후 커밋 (order_number / aggregate_id 유니크 키로 판단)
+ * 2. 원본 샤드에서 DELETE 후 커밋
+ * → 중간에 중단되어도 다시 실행하면 이어서 처리 (멱등)
+ * 
+ * 주문 생성 Idempotency-Key 기록(idempotency_keys)은 주문이 아니라 key_hash로 샤드가 정해지므로
+ * 주문 이동 후 ShardRouter.shardFor(keyHash, 새 샤드 수) 기준으로 같은 방식(복사 → 삭제)으로 따로 이동.
+ * 저장된 응답(response_body)의 id는 주문의 새 전역 ID로 바꿈 (이동하지 않는 기록도 샤드 수가 바뀌면 ID가 바뀜)
+ * 
+ * 주의:
+ * - 서비스를 멈춘 상태에서 실행하고, 완료 후 order.sharding.shards를 새 목록으로 바꿔 재기동
+ * - 이동한 행은 대상 샤드에서 새 로컬 ID를 받으므로 전역 ID가 바뀜 (orderNumber는 유지)
+ * - 새 샤드의 스키마는 미리 생성되어 있어야 함 (init-db.sql)
+ * 
+ * 실행:
+ * ORDER_DB_USERNAME=... ORDER_DB_PASSWORD=... \
+ *   java -cp order-service.jar -Dloader.main=com.example.orderservice.sharding.ReshardingTool \
+ *   org.springframework.boot.loader.launch.PropertiesLauncher 3 jdbc:postgresql://orderdb-0/orderdb ...
+ */
+@Slf4j
+public class ReshardingTool {
+    
+    private static final int SCAN_BATCH_SIZE = 500;
+    // 응답의 다른 필드는 그대로 둠 (금액 스케일 유지)
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+        .setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
+    
+    // PaymentEventConsumer의 보상 이벤트 aggregateId 규칙 (orderNumber + 접미사)
+    private static final String COMPENSATION_SUFFIX = OutboxEvent.COMPENSATION_SUFFIX;
+    
+    private final List<DataSource> shards;
+    
+    /**
+     * @param shards 샤드 번호 순서의 DataSource (늘릴 때는 새 샤드 포함, 줄일 때는 없어질 샤드 포함)
+     */
+    public ReshardingTool(List<DataSource> shards) {
+        if (shards.isEmpty() || shards.size() > ShardRouter.MAX_SHARDS) {
+            throw new IllegalArgumentException("Invalid shard list size: " + shards.size());
+        }
+        this.shards = List.copyOf(shards);
+    }
+    
+    /**
+     * 모든 샤드의 주문을 newShardCount 기준 배치로 이동
+     * 
+     * @return 이동한 주문 수
+     */
+    public int migrate(int newShardCount) throws SQLException {
+        if (newShardCount < 1 || newShardCount > shards.size()) {
+            throw new IllegalArgumentException("New shard count must be between 1 and " + shards.size()
+                + ": " + newShardCount);
+        }
+        
+        int moved = 0;
+        for (int source = 0; source < shards.size(); source++) {
+            int movedFromShard = migrateShard(source, newShardCount);
+            log.info("Resharding: moved {} orders out of shard {}", movedFromShard, source);
+            moved += movedFromShard;
+        }
+        for (int source = 0; source < shards.size(); source++) {
+            int movedKeys = migrateIdempotencyKeys(source, newShardCount);
+            log.info("Resharding: moved {} idempotency keys out of shard {}", movedKeys, source);
+        }
+        return moved;
+    }
+    
+    private int migrateShard(int source, int newShardCount) throws SQLException {
+        int moved = 0;
+        long lastId = 0;
+        while (true) {
+            List<RowKey> page = scanKeys(source, "orders", "order_number", lastId);
+            for (RowKey order : page) {
+                int target = ShardRouter.shardFor(order.key(), newShardCount);
+                if (target != source) {
+                    moveOrder(order.key(), source, target);
+                    moved++;
+                }
+            }
+            if (page.size() < SCAN_BATCH_SIZE) {
+                return moved;
+            }
+            lastId = page.get(page.size() - 1).id();
+        }
+    }
+    
+    private int migrateIdempotencyKeys(int source, int newShardCount) throws SQLException {
+        int moved = 0;
+        long lastId = 0;
+        while (true) {
+            List<RowKey> page = scanKeys(source, "idempotency_keys", "key_hash", lastId);
+            for (RowKey row : page) {
+                int target = ShardRouter.shardFor(row.key(), newShardCount);
+                if (target != source) {
+                    moveIdempotencyKey(row.key(), source, target, newShardCount);
+                    moved++;
+                } else {
+                    try (Connection connection = shards.get(source).getConnection()) {
+                        rewriteStoredOrderId(connection, row.key(), newShardCount);
+                    }
+                }
+            }
+            if (page.size() < SCAN_BATCH_SIZE) {
+                return moved;
+            }
+            lastId = page.get(page.size() - 1).id();
+        }
+    }
+    
+    private List<RowKey> scanKeys(int shard, String table, String keyColumn, long afterId) throws SQLException {
+        try (Connection connection = shards.get(shard).getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "SELECT id, " + keyColumn + " FROM " + table + " WHERE id > ? ORDER BY id LIMIT ?")) {
+            statement.setLong(1, afterId);
+            statement.setInt(2, SCAN_BATCH_SIZE);
+            List<RowKey> page = new ArrayList<>(SCAN_BATCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    page.add(new RowKey(resultSet.getLong(1), resultSet.getString(2)));
+                }
+            }
+            return page;
+        }
+    }
+    
+    private void moveOrder(String orderNumber, int source, int target) throws SQLException {
+        String[] aggregateIds = {orderNumber, orderNumber + COMPENSATION_SUFFIX};
+        
+        try (Connection from = shards.get(source).getConnection();
+             Connection to = shards.get(target).getConnection()) {
+            to.setAutoCommit(false);
+            copyRows(from, to, "orders", "order_number", orderNumber);
+            for (String aggregateId : aggregateIds) {
+                copyRows(from, to, "outbox_events", "aggregate_id", aggregateId);
+                copyRows(from, to, "parked_outbox_events", "aggregate_id", aggregateId);
+            }
+            to.commit();
+            
+            // 대상 커밋 이후에만 원본 삭제 → 어느 시점에 중단돼도 데이터는 최소 한 샤드에 존재
+            from.setAutoCommit(false);
+            for (String aggregateId : aggregateIds) {
+                deleteRows(from, "outbox_events", "aggregate_id", aggregateId);
+                deleteRows(from, "parked_outbox_events", "aggregate_id", aggregateId);
+            }
+            deleteRows(from, "orders", "order_number", orderNumber);
+            from.commit();
+        }
+        log.debug("Moved order {} from shard {} to shard {}", orderNumber, source, target);
+    }
+    
+    private void moveIdempotencyKey(String keyHash, int source, int target, int newShardCount) throws SQLException {
+        try (Connection from = shards.get(source).getConnection();
+             Connection to = shards.get(target).getConnection()) {
+            to.setAutoCommit(false);
+            copyRows(from, to, "idempotency_keys", "key_hash", keyHash);
+            rewriteStoredOrderId(to, keyHash, newShardCount);
+            to.commit();
+            
+            // 대상 커밋 이후에만 원본 삭제 (moveOrder와 같은 순서)
+            from.setAutoCommit(false);
+            deleteRows(from, "idempotency_keys", "key_hash", keyHash);
+            from.commit();
+        }
+        log.debug("Moved idempotency key {} from shard {} to shard {}", keyHash, source, target);
+    }
+    
+    /**
+     * 저장된 주문 응답의 id를 주문이 새 배치에서 갖는 전역 ID로 바꿈
+     * (주문 이동이 끝난 뒤 실행되므로 주문은 shardFor(orderNumber, 새 샤드 수)에 있음. 보관 등으로 없으면 그대로)
+     */
+    private void rewriteStoredOrderId(Connection connection, String keyHash, int newShardCount) throws SQLException {
+        String orderNumber;
+        String responseBody;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT order_number, response_body FROM idempotency_keys WHERE key_hash = ?")) {
+            select.setString(1, keyHash);
+            try (ResultSet row = select.executeQuery()) {
+                if (!row.next()) {
+                    return;
+                }
+                orderNumber = row.getString(1);
+                responseBody = row.getString(2);
+            }
+        }
+        
+        int orderShard = ShardRouter.shardFor(orderNumber, newShardCount);
+        Long localId = null;
+        try (Connection orders = shards.get(orderShard).getConnection();
+             PreparedStatement select = orders.prepareStatement("SELECT id FROM orders WHERE order_number = ?")) {
+            select.setString(1, orderNumber);
+            try (ResultSet row = select.executeQuery()) {
+                if (row.next()) {
+                    localId = row.getLong(1);
+                }
+            }
+        }
+        if (localId == null) {
+            return;
+        }
+        
+        long globalId = ShardRouter.toGlobalId(orderShard, localId, newShardCount);
+        try {
+            ObjectNode response = (ObjectNode) OBJECT_MAPPER.readTree(responseBody);
+            if (response.path("id").asLong() == globalId) {
+                return;
+            }
+            response.put("id", globalId);
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE idempotency_keys SET response_body = ? WHERE key_hash = ?")) {
+                update.setString(1, OBJECT_MAPPER.writeValueAsString(response));
+                update.setString(2, keyHash);
+                update.executeUpdate();
+            }
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Unreadable stored response for idempotency key " + keyHash, e);
+        }
+    }
+    
+    /**
+     * 원본 행을 id를 제외한 모든 컬럼 그대로 복사 (대상에 같은 키가 이미 있으면 건너뜀)
+     */
+    private void copyRows(Connection from, Connection to, String table, String keyColumn, String key)
+            throws SQLException {
+        if (exists(to, table, keyColumn, key)) {
+            return;
+        }
+        try (PreparedStatement select = from.prepareStatement(
+                "SELECT * FROM " + table + " WHERE " + keyColumn + " = ?")) {
+            select.setString(1, key);
+            try (ResultSet row = select.executeQuery()) {
+                if (!row.next()) {
+                    return;
+                }
+                ResultSetMetaData metaData = row.getMetaData();
+                List<Integer> columns = new ArrayList<>();
+                List<String> names = new ArrayList<>();
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    if (!"id".equalsIgnoreCase(metaData.getColumnName(column))) {
+                        columns.add(column);
+                        names.add(metaData.getColumnName(column));
+                    }
+                }
+                String placeholders = String.join(", ", names.stream().map(name -> "?").toList());
+                try (PreparedStatement insert = to.prepareStatement("INSERT INTO " + table
+                        + " (" + String.join(", ", names) + ") VALUES (" + placeholders + ")")) {
+                    for (int i = 0; i < columns.size(); i++) {
+                        insert.setObject(i + 1, row.getObject(columns.get(i)));
+                    }
+                    insert.executeUpdate();
+                }
+            }
+        }
+    }
+    
+    private boolean exists(Connection connection, String table, String keyColumn, String key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM " + table + " WHERE " + keyColumn + " = ?")) {
+            statement.setString(1, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+    
+    private void deleteRows(Connection connection, String table, String keyColumn, String key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM " + table + " WHERE " + keyColumn + " = ?")) {
+            statement.setString(1, key);
+            statement.executeUpdate();
+        }
+    }
+    
+    private record RowKey(long id, String key) {
+    }
+    
+    /**
+     * @param args [새 샤드 수, 샤드 0 JDBC URL, 샤드 1 JDBC URL, ...]
+     */
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 2) {
+            System.err.println("Usage: ReshardingTool <newShardCount> <jdbcUrl-0> [<jdbcUrl-1> ...]");
+            System.exit(1);
+        }
+        int newShardCount = Integer.parseInt(args[0]);
+        List<DataSource> shards = Arrays.stream(args, 1, args.length)
+            .map(url -> (DataSource) new DriverManagerDataSource(url,
+                System.getenv("ORDER_DB_USERNAME"), System.getenv("ORDER_DB_PASSWORD")))
+            .toList();
+        
+        int moved = new ReshardingTool(shards).migrate(newShardCount);
+        log.info("Resharding complete: {} orders moved, new shard count={}", moved, newShardCount);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.orderservice.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 접근할 주문 DB 샤드
+ * 
+ * ShardRoutingDataSource가 커넥션을 얻는 시점에 이 값을 읽어 대상 DataSource를 고름.
+ * LazyConnectionDataSourceProxy로 감싸져 있으므로 트랜잭션 시작이 아니라 첫 SQL 실행 시점에 결정됨.
+ * 
+ * 설정되지 않은 상태(부트스트랩, 헬스 체크 등)에서는 0번 샤드로 연결됨.
+ * 주문 데이터 접근은 반드시 callOn/runOn 안에서 수행해야 함.
+ */
+public final class ShardContext {
+    
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    
+    private ShardContext() {
+    }
+    
+    /**
+     * @return 현재 샤드 번호 (설정되지 않았으면 null)
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+    
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+    
+    public static void runOn(int shard, Runnable action) {
+        callOn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+    
+    private static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.orderservice.sharding;
+
+import com.example.common.replica.ReadYourWritesContext;
+import jakarta.annotation.PreDestroy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * 주문 번호 → 샤드 매핑, 전역 ID 인코딩, 샤드 병렬 실행(scatter-gather)
+ * 
+ * 샤드 선택: Jump Consistent Hash (Lamping & Veach)
+ * - hash(orderNumber) % N은 샤드 수가 바뀌면 거의 모든 키가 이동
+ * - Jump Hash는 N → N+1일 때 약 1/(N+1)의 키만 새 샤드로 이동하고 기존 샤드 간 이동은 없음
+ *   → 샤드 추가 시 ReshardingTool이 옮길 데이터가 최소화됨
+ * - 외부 상태(링, 가상 노드 테이블) 없이 키와 샤드 수만으로 계산
+ * 
+ * 전역 ID:
+ * - 샤드마다 IDENTITY가 1부터 증가하므로 로컬 ID는 샤드 간에 겹침
+ * - API/이벤트에 노출하는 ID = 로컬 ID * ID_STRIDE + 샤드 번호 (샤드 1개일 때는 로컬 ID 그대로)
+ * - ID만으로 샤드를 알 수 있으므로 ID 조회도 단일 샤드 접근
+ * - 리샤딩으로 행이 이동하면 ID가 바뀜 → 안정적인 외부 식별자는 orderNumber
+ * 
+ * 샤드 병렬 실행 스레드 풀 (각각 샤드 수만큼의 스레드):
+ * - gather: 요청 경로의 짧은 조회 (scatterGather) → HTTP 요청이 백그라운드 작업 뒤에 줄 서지 않도록 다른 용도로 쓰지 않음
+ * - relay: Outbox Relay의 샤드별 발행 루프 (relayOnEachShard) → 백로그가 남는 동안 계속 도는 루프가 샤드마다 전용 스레드 사용
+ * - job: 보관/정리 같은 예약 작업 (runJobOnEachShard, forEachShard)
+ * 풀 스레드 안에서 다시 병렬 실행을 요청하면 풀에 제출하지 않고 호출 스레드에서 샤드를 차례로 실행
+ * (모든 스레드가 안쪽 작업을 기다리며 풀이 교착되지 않도록).
+ */
+public class ShardRouter {
+    
+    public static final int ID_STRIDE = 1024;
+    public static final int MAX_SHARDS = ID_STRIDE;
+    
+    private final int shardCount;
+    private final ExecutorService gatherExecutor;
+    private final ExecutorService relayExecutor;
+    private final ExecutorService jobExecutor;
+    
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + MAX_SHARDS + ": " + shardCount);
+        }
+        this.shardCount = shardCount;
+        this.gatherExecutor = newShardPool("shard-gather-");
+        this.relayExecutor = newShardPool("shard-relay-");
+        this.jobExecutor = newShardPool("shard-job-");
+    }
+    
+    private ExecutorService newShardPool(String threadPrefix) {
+        if (shardCount == 1) {
+            return null;
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        return Executors.newFixedThreadPool(shardCount, runnable -> {
+            Thread thread = new ShardWorker(runnable, threadPrefix + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public int getShardCount() {
+        return shardCount;
+    }
+    
+    public int shardFor(String orderNumber) {
+        return shardFor(orderNumber, shardCount);
+    }
+    
+    /**
+     * 샤드 수를 지정한 매핑 (리샤딩 도구에서 목표 배치 계산에 사용)
+     */
+    public static int shardFor(String orderNumber, int shardCount) {
+        return jumpConsistentHash(fnv1a64(orderNumber), shardCount);
+    }
+    
+    public long toGlobalId(int shard, long localId) {
+        return toGlobalId(shard, localId, shardCount);
+    }
+    
+    /**
+     * 샤드 수를 지정한 전역 ID (대사 도구에서 이벤트를 다시 만들 때 사용)
+     */
+    public static long toGlobalId(int shard, long localId, int shardCount) {
+        return shardCount == 1 ? localId : localId * ID_STRIDE + shard;
+    }
+    
+    public int shardOfGlobalId(long globalId) {
+        return shardCount == 1 ? 0 : (int) (globalId % ID_STRIDE);
+    }
+    
+    public long localIdOf(long globalId) {
+        return shardCount == 1 ? globalId : globalId / ID_STRIDE;
+    }
+    
+    /**
+     * 유효한 전역 ID인지 (존재하지 않는 샤드 번호를 가리키면 false)
+     */
+    public boolean isValidGlobalId(long globalId) {
+        return globalId > 0 && shardOfGlobalId(globalId) < shardCount;
+    }
+    
+    /**
+     * 모든 샤드에서 병렬로 조회하여 샤드 번호 순서대로 이어 붙임 (요청 경로의 짧은 조회 전용)
+     * 
+     * 호출 스레드의 read-your-writes 여부를 작업 스레드에도 적용 (ThreadLocal은 전달되지 않으므로)
+     */
+    public <T> List<T> scatterGather(IntFunction<List<T>> perShard) {
+        return gather(gatherExecutor, perShard);
+    }
+    
+    /**
+     * 모든 샤드에서 Outbox Relay 루프를 병렬로 실행 (relay 전용 풀)
+     * 
+     * @return 샤드 번호 순서의 샤드별 결과
+     */
+    public <T> List<T> relayOnEachShard(IntFunction<T> perShard) {
+        return gather(relayExecutor, shard -> List.of(perShard.apply(shard)));
+    }
+    
+    /**
+     * 모든 샤드에서 예약 작업을 병렬로 실행 (보관, 정리 등, job 전용 풀)
+     * 
+     * @return 샤드 번호 순서의 샤드별 결과
+     */
+    public <T> List<T> runJobOnEachShard(IntFunction<T> perShard) {
+        return gather(jobExecutor, shard -> List.of(perShard.apply(shard)));
+    }
+    
+    /**
+     * 모든 샤드에서 예약 작업을 병렬로 실행 (결과 없음, job 전용 풀)
+     */
+    public void forEachShard(IntConsumer action) {
+        gather(jobExecutor, shard -> {
+            action.accept(shard);
+            return List.of();
+        });
+    }
+    
+    private <T> List<T> gather(ExecutorService executor, IntFunction<List<T>> perShard) {
+        if (shardCount == 1 || Thread.currentThread() instanceof ShardWorker) {
+            List<T> merged = new ArrayList<>();
+            for (int shard = 0; shard < shardCount; shard++) {
+                int target = shard;
+                merged.addAll(ShardContext.callOn(target, () -> perShard.apply(target)));
+            }
+            return merged;
+        }
+        boolean primaryRequired = ReadYourWritesContext.isPrimaryRequired();
+        List<Future<List<T>>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(executor.submit(() -> ReadYourWritesContext.callWith(primaryRequired,
+                () -> ShardContext.callOn(target, () -> perShard.apply(target)))));
+        }
+        List<T> merged = new ArrayList<>();
+        for (Future<List<T>> future : futures) {
+            merged.addAll(await(future));
+        }
+        return merged;
+    }
+    
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard query", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        }
+    }
+    
+    /**
+     * Jump Consistent Hash: 64비트 키를 [0, buckets) 버킷으로 매핑
+     */
+    static int jumpConsistentHash(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+    
+    /**
+     * FNV-1a 64비트 해시 (JVM/언어와 무관하게 같은 값 → 다른 도구에서도 같은 샤드 계산 가능)
+     */
+    static long fnv1a64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (shardCount == 1) {
+            return;
+        }
+        for (ExecutorService executor : List.of(gatherExecutor, relayExecutor, jobExecutor)) {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * 샤드 병렬 실행 풀의 스레드 (안쪽 병렬 실행 요청을 알아보기 위한 표시)
+     */
+    private static class ShardWorker extends Thread {
+        
+        ShardWorker(Runnable runnable, String name) {
+            super(runnable, name);
+        }
+    }
+}
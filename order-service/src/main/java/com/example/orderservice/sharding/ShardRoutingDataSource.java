@@ -0,0 +1,30 @@
+package com.example.orderservice.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * ShardContext의 샤드 번호로 대상 DataSource를 고르는 라우팅 DataSource
+ * 
+ * 샤드가 지정되지 않으면 defaultTargetDataSource(0번 샤드)를 사용
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+    
+    /**
+     * 샤드별 커넥션 풀 종료 (컨텍스트 종료 시 호출)
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.orderservice.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.DelayedDropRegistryNotAvailableImpl;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+/**
+ * 1번 이후 샤드에도 스키마 관리(spring.jpa.hibernate.ddl-auto)를 적용
+ * 
+ * Hibernate는 부트스트랩 시 DataSource에서 얻은 커넥션 하나로 스키마를 만들며,
+ * 샤드가 지정되지 않은 커넥션은 0번 샤드로 연결됨 → 나머지 샤드는 여기서 같은 설정으로 한 번씩 실행
+ */
+@Slf4j
+public class ShardSchemaIntegrator implements Integrator {
+    
+    private final int shardCount;
+    
+    public ShardSchemaIntegrator(int shardCount) {
+        this.shardCount = shardCount;
+    }
+    
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        for (int shard = 1; shard < shardCount; shard++) {
+            log.info("Applying schema management to order shard {}", shard);
+            ShardContext.runOn(shard, () -> SchemaManagementToolCoordinator.process(
+                metadata,
+                sessionFactory.getServiceRegistry(),
+                sessionFactory.getProperties(),
+                DelayedDropRegistryNotAvailableImpl.INSTANCE));
+        }
+    }
+    
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.orderservice.sharding;
+
+import com.example.common.monitoring.ConnectionHoldProfiler;
+import com.example.common.replica.ReplicaRoutingDataSource;
+import com.example.orderservice.replica.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 DB 샤딩 설정
+ * 
+ * DataSource 구성:
+ * LazyConnectionDataSourceProxy → ConnectionHoldProfiler → ShardRoutingDataSource
+ *   → 샤드별 HikariDataSource (replica가 있으면 ReplicaRoutingDataSource)
+ * - 프로파일러는 실제 풀 커넥션 획득/반납이 보이는 위치(지연 프록시 안쪽)에 둠
+ * 
+ * LazyConnectionDataSourceProxy가 필요한 이유:
+ * - JpaTransactionManager는 트랜잭션 시작 시점에 커넥션을 얻음
+ * - 그 시점에는 아직 주문 번호(샤드)를 모를 수 있음 (예: 컨슈머가 메시지를 파싱한 뒤에 결정)
+ * - 프록시가 실제 커넥션 획득을 첫 SQL 실행까지 미루므로 그 전에 ShardContext를 설정하면 됨
+ * 
+ * 라우팅 대상:
+ * - orders, outbox_events, parked_outbox_events는 주문 번호 기준으로 같은 샤드에 저장
+ *   (주문과 Outbox 이벤트가 같은 로컬 트랜잭션에 묶여야 하므로)
+ * 
+ * 읽기 복제본:
+ * - replica가 설정된 샤드는 ReplicaRoutingDataSource(primary + replica)가 샤드 대상이 됨
+ * - 샤드 선택 → primary/replica 선택 순서로 두 단계 라우팅
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties({ShardingProperties.class, ReplicaProperties.class})
+public class ShardingDataSourceConfig {
+    
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties shardingProperties) {
+        return new ShardRouter(Math.max(1, shardingProperties.getShards().size()));
+    }
+    
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties shardingProperties,
+                                                         ReplicaProperties replicaProperties,
+                                                         DataSourceProperties dataSourceProperties,
+                                                         ShardRouter shardRouter,
+                                                         MeterRegistry meterRegistry) {
+        List<ShardingProperties.Shard> shards = shardingProperties.getShards();
+        Map<Object, Object> targets = new HashMap<>();
+        
+        if (shards.isEmpty()) {
+            // 샤딩 비활성: spring.datasource 하나를 0번 샤드로 사용
+            HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+            primary.setPoolName(poolName(0));
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            targets.put(0, withReplicas(0, primary, replicaProperties.getReplicas(),
+                shardingProperties, replicaProperties, dataSourceProperties, meterRegistry));
+        } else {
+            for (int shard = 0; shard < shards.size(); shard++) {
+                ShardingProperties.Shard config = shards.get(shard);
+                HikariDataSource primary = createPool(poolName(shard), config.getUrl(), config.getUsername(),
+                    config.getPassword(), shardingProperties, dataSourceProperties, meterRegistry);
+                targets.put(shard, withReplicas(shard, primary, config.getReplicas(),
+                    shardingProperties, replicaProperties, dataSourceProperties, meterRegistry));
+            }
+        }
+        log.info("Order database routing over {} shard(s)", shardRouter.getShardCount());
+        
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(targets.get(0));
+        return routingDataSource;
+    }
+    
+    /**
+     * replica가 설정된 샤드는 ReplicaRoutingDataSource로 감싸 읽기 전용 트랜잭션을 replica로 보냄
+     */
+    private DataSource withReplicas(int shard, HikariDataSource primary, List<ReplicaProperties.Replica> replicas,
+                                    ShardingProperties shardingProperties, ReplicaProperties replicaProperties,
+                                    DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            return primary;
+        }
+        List<ReplicaRoutingDataSource.Replica> replicaNodes = new ArrayList<>(replicas.size());
+        for (int index = 0; index < replicas.size(); index++) {
+            ReplicaProperties.Replica config = replicas.get(index);
+            String name = poolName(shard) + "-replica-" + index;
+            HikariDataSource pool = createPool(name, config.getUrl(), config.getUsername(), config.getPassword(),
+                shardingProperties, dataSourceProperties, meterRegistry);
+            pool.setReadOnly(true);
+            replicaNodes.add(new ReplicaRoutingDataSource.Replica(name, pool));
+        }
+        log.info("Shard {} routes read-only transactions over {} replica(s)", shard, replicaNodes.size());
+        return new ReplicaRoutingDataSource(poolName(shard), primary, replicaNodes,
+            replicaProperties.getMaxLagMs() / 1000.0, meterRegistry);
+    }
+    
+    private HikariDataSource createPool(String poolName, String url, String username, String password,
+                                        ShardingProperties shardingProperties,
+                                        DataSourceProperties dataSourceProperties,
+                                        MeterRegistry meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(poolName);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username != null ? username : dataSourceProperties.getUsername());
+        pool.setPassword(password != null ? password : dataSourceProperties.getPassword());
+        pool.setMaximumPoolSize(shardingProperties.getMaximumPoolSize());
+        // 풀 이름별 hikaricp.connections.* 메트릭 (primary/replica 커넥션 사용량 비교)
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+    
+    private static String poolName(int shard) {
+        return "order-shard-" + shard;
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource,
+                                 ConnectionHoldProfiler connectionHoldProfiler) {
+        return new LazyConnectionDataSourceProxy(connectionHoldProfiler.wrap(shardRoutingDataSource));
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaCustomizer(ShardRouter shardRouter) {
+        IntegratorProvider integratorProvider = () -> List.of(new ShardSchemaIntegrator(shardRouter.getShardCount()));
+        return properties -> properties.put("hibernate.integrator_provider", integratorProvider);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.orderservice.sharding;
+
+import com.example.orderservice.replica.ReplicaProperties;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 DB 샤드 설정 (order.sharding.*)
+ * 
+ * shards가 비어 있으면 spring.datasource 하나를 유일한 샤드로 사용 (샤딩 비활성)
+ * 
+ * 예:
+ * order.sharding.shards[0].url=jdbc:postgresql://orderdb-0:5432/orderdb
+ * order.sharding.shards[1].url=jdbc:postgresql://orderdb-1:5432/orderdb
+ * 
+ * 샤드 순서가 곧 샤드 번호이므로 기존 항목의 순서를 바꾸면 안 됨 (추가는 끝에만, 이후 ReshardingTool 실행)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.sharding")
+public class ShardingProperties {
+    
+    private List<Shard> shards = new ArrayList<>();
+    
+    /**
+     * 샤드별 커넥션 풀 크기
+     */
+    private int maximumPoolSize = 10;
+    
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        
+        /**
+         * 이 샤드의 읽기 복제본 (읽기 전용 트랜잭션을 분산)
+         */
+        private List<ReplicaProperties.Replica> replicas = new ArrayList<>();
+    }
+}
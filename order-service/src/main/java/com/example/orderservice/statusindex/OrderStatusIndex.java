@@ -0,0 +1,277 @@
+package com.example.orderservice.statusindex;
+
+import com.example.orderservice.entity.Order;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 주문 번호 → (상태, 버전) 메모리 인덱스 (상태 조회 전용)
+ * 
+ * 주문 번호("ORD-" + 16진수 8자리)는 32비트 정수로 그대로 바뀌므로 문자열을 저장하지 않음.
+ * 항목 하나 = long 슬롯 하나 (상위 32비트 키, 8비트 상태, 하위 24비트 버전)
+ * → 객체/포인터 없는 primitive 배열 오픈 어드레싱 (선형 탐사, 최대 적재율 0.75).
+ * 빈 슬롯은 0 (버전은 1 이상이라 사용 중인 슬롯은 0이 될 수 없음).
+ * 
+ * 메모리: 슬롯 8바이트 / 적재율 0.375~0.75 → 항목당 약 10.7~21바이트
+ * (5천만 건 측정: 512MiB, 항목당 10.74바이트 - OrderStatusIndexBenchmark. HashMap<String, ...>이면 100바이트 이상).
+ * GC 입장에서는 세그먼트 배열 SEGMENTS개뿐이라 항목 수와 무관하게 스캔 비용이 없음.
+ * 
+ * 동시성: 해시 상위 비트로 세그먼트를 나누고 세그먼트마다 StampedLock.
+ * 조회는 낙관적 읽기 (쓰기와 겹치면 읽기 락으로 재시도), 쓰기/확장은 세그먼트 쓰기 락.
+ * 
+ * 버전이 더 큰 갱신만 반영하므로 같은 전이를 여러 경로(DB 적재, 이벤트 재전달)로 받아도 순서와 무관하게 같은 결과.
+ * 이벤트로 받은 전이는 여기에 더해 현재 상태에서 전이 표상 허용될 때만 반영 (applyTransition).
+ */
+public final class OrderStatusIndex {
+    
+    private static final String PREFIX = "ORD-";
+    private static final int KEY_DIGITS = 8;
+    private static final int SEGMENT_BITS = 6;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    private static final int MAX_VERSION = (1 << 24) - 1;
+    private static final Order.OrderStatus[] STATUSES = Order.OrderStatus.values();
+    
+    private final Segment[] segments = new Segment[SEGMENTS];
+    
+    /**
+     * @param expectedEntries 예상 항목 수 (초기 크기, 넘으면 세그먼트별로 두 배씩 확장)
+     */
+    public OrderStatusIndex(long expectedEntries) {
+        long perSegment = Math.max(MIN_SEGMENT_CAPACITY, expectedEntries / SEGMENTS * 4 / 3 + 1);
+        int capacity = Integer.highestOneBit((int) Math.min(1 << 30, perSegment - 1)) << 1;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+    
+    /**
+     * 인덱스에 담을 수 있는 주문 번호인지 (형식이 다른 주문은 항상 DB에서 조회)
+     */
+    public static boolean isIndexable(String orderNumber) {
+        if (orderNumber == null || orderNumber.length() != PREFIX.length() + KEY_DIGITS
+            || !orderNumber.startsWith(PREFIX)) {
+            return false;
+        }
+        // 대문자 ASCII 16진수만 허용 (다른 표기가 같은 키로 바뀌지 않도록)
+        for (int i = PREFIX.length(); i < orderNumber.length(); i++) {
+            char c = orderNumber.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'A' || c > 'F')) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 상태에서 정하는 버전 (결제 이벤트에는 주문 행의 version이 없으므로 enum 순서 = 생애주기 순서를 사용)
+     * 
+     * 주문은 뒤 상태로만 진행하므로 (PENDING → COMPLETED → ..., 결제 전 → CANCELLED, Order.OrderStatus 전이 표) 전이마다 증가
+     */
+    public static int lifecycleVersion(Order.OrderStatus status) {
+        return status.ordinal() + 1;
+    }
+    
+    /**
+     * 버전이 현재 값보다 클 때만 반영
+     * 
+     * @return 반영되었으면 true (같거나 낮은 버전, 인덱스 대상이 아닌 주문 번호는 false)
+     */
+    public boolean apply(String orderNumber, Order.OrderStatus status, int version) {
+        if (!isIndexable(orderNumber)) {
+            return false;
+        }
+        if (version < 1 || version > MAX_VERSION) {
+            throw new IllegalArgumentException("Version out of range: " + version);
+        }
+        int key = encode(orderNumber);
+        long hash = hash(key);
+        return segmentFor(hash).apply(key, hash, pack(key, status, version), false);
+    }
+    
+    /**
+     * 이벤트로 받은 전이 반영 - 인덱스에 없으면 그대로, 있으면 현재 상태에서 전이할 수 있을 때만 (Order.OrderStatus 전이 표)
+     * 
+     * 버전(enum 순서)만 비교하면 늦게 도착한 PAYMENT_FAILED(CANCELLED)가 결제 완료 주문을 덮어씀
+     * → DB 전이(OrderTransitionService)와 같은 규칙으로 거름. DB/order-state 적재는 이미 확정된 상태이므로 apply 사용.
+     * 
+     * @return 반영되었으면 true
+     */
+    public boolean applyTransition(String orderNumber, Order.OrderStatus status) {
+        if (!isIndexable(orderNumber)) {
+            return false;
+        }
+        int key = encode(orderNumber);
+        long hash = hash(key);
+        return segmentFor(hash).apply(key, hash, pack(key, status, lifecycleVersion(status)), true);
+    }
+    
+    /**
+     * @return 인덱스에 없으면 null
+     */
+    public Entry lookup(String orderNumber) {
+        if (!isIndexable(orderNumber)) {
+            return null;
+        }
+        int key = encode(orderNumber);
+        long hash = hash(key);
+        long slot = segmentFor(hash).lookup(key, hash);
+        return slot == 0 ? null : new Entry(statusOf(slot), (int) slot & MAX_VERSION);
+    }
+    
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+    
+    /**
+     * 슬롯 배열이 차지하는 바이트 (배열 헤더 제외)
+     */
+    public long memoryBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.capacity() * (long) Long.BYTES;
+        }
+        return bytes;
+    }
+    
+    public record Entry(Order.OrderStatus status, int version) {
+    }
+    
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS))];
+    }
+    
+    /**
+     * 주문 번호 → 32비트 키 (isIndexable인 주문 번호만, 사가 제한 시간 휠도 같은 키 사용)
+     */
+    public static int encode(String orderNumber) {
+        return Integer.parseUnsignedInt(orderNumber, PREFIX.length(), orderNumber.length(), 16);
+    }
+    
+    public static String decode(int key) {
+        return PREFIX + String.format("%08X", key);
+    }
+    
+    private static long pack(int key, Order.OrderStatus status, int version) {
+        return (Integer.toUnsignedLong(key) << 32) | ((long) status.ordinal() << 24) | version;
+    }
+    
+    private static Order.OrderStatus statusOf(long slot) {
+        return STATUSES[(int) (slot >>> 24) & 0xFF];
+    }
+    
+    private static int keyOf(long slot) {
+        return (int) (slot >>> 32);
+    }
+    
+    private static long hash(int key) {
+        long value = key * 0x9E3779B97F4A7C15L;
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        return value ^ (value >>> 33);
+    }
+    
+    private static final class Segment {
+        
+        private final StampedLock lock = new StampedLock();
+        private long[] slots;
+        private int size;
+        
+        Segment(int capacity) {
+            slots = new long[capacity];
+        }
+        
+        long lookup(int key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            long found = find(slots, key, hash);
+            if (lock.validate(stamp)) {
+                return found;
+            }
+            stamp = lock.readLock();
+            try {
+                return find(slots, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        
+        boolean apply(int key, long hash, long packed, boolean transitionOnly) {
+            long stamp = lock.writeLock();
+            try {
+                int mask = slots.length - 1;
+                int index = (int) hash & mask;
+                while (slots[index] != 0) {
+                    if (keyOf(slots[index]) == key) {
+                        if (((int) slots[index] & MAX_VERSION) >= ((int) packed & MAX_VERSION)
+                            || transitionOnly && !statusOf(slots[index]).canTransitionTo(statusOf(packed))) {
+                            return false;
+                        }
+                        slots[index] = packed;
+                        return true;
+                    }
+                    index = (index + 1) & mask;
+                }
+                slots[index] = packed;
+                if (++size > slots.length / 4 * 3) {
+                    grow();
+                }
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        
+        int capacity() {
+            long stamp = lock.readLock();
+            try {
+                return slots.length;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        
+        private void grow() {
+            long[] grown = new long[slots.length << 1];
+            int mask = grown.length - 1;
+            for (long slot : slots) {
+                if (slot != 0) {
+                    int index = (int) hash(keyOf(slot)) & mask;
+                    while (grown[index] != 0) {
+                        index = (index + 1) & mask;
+                    }
+                    grown[index] = slot;
+                }
+            }
+            slots = grown;
+        }
+        
+        private static long find(long[] slots, int key, long hash) {
+            int mask = slots.length - 1;
+            int index = (int) hash & mask;
+            // 확장 직후 낙관적 읽기가 옛 배열을 볼 수 있으므로 배열 길이만큼만 탐사
+            for (int probes = 0; probes < slots.length; probes++) {
+                long slot = slots[index];
+                if (slot == 0) {
+                    return 0;
+                }
+                if (keyOf(slot) == key) {
+                    return slot;
+                }
+                index = (index + 1) & mask;
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.orderservice.statusindex;
+
+import com.example.common.orderstate.OrderStateReplayer;
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.PaymentEventConsumer;
+import com.example.orderservice.event.PaymentEventDTO;
+import com.example.orderservice.orderstate.OrderStateProperties;
+import com.example.orderservice.orderstate.WarmStartHealthIndicator;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.service.OutboxEventRelayService;
+import com.example.orderservice.sharding.ShardContext;
+import com.example.orderservice.sharding.ShardRouter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 주문 상태 인덱스 갱신
+ * 
+ * 상태 조회는 아무 인스턴스로나 들어오지만 결제 이벤트는 파티션을 맡은 인스턴스 하나만 처리함
+ * → 인스턴스마다 order-events / payment-events의 모든 파티션을 받아 자기 인덱스에 반영.
+ * 컨슈머 그룹 없이 파티션을 직접 할당(assign)하고 오프셋을 커밋하지 않음
+ * (인스턴스별 임의 그룹은 재시작할 때마다 브로커에 버려진 그룹을 남기므로 사용하지 않음).
+ * 파티션이 늘거나 기동 시 없던 토픽이 생기면 PARTITION_REFRESH마다 찾아 처음부터 읽음.
+ * - order-events: 이벤트의 status (ORDER_CREATED → PENDING, ORDER_CANCELLED → CANCELLED)
+ * - payment-events: PaymentEventConsumer와 같은 전이 (PaymentEventConsumer.resultingStatus)
+ * 
+ * 기동 시 파티션을 할당하고 끝 위치를 확정한 뒤(그 이후 이벤트는 놓치지 않음) 전체 주문 상태를 채움:
+ * - order-state 토픽(주문별 최신 상태, compaction)을 파티션 병렬로 재생 (OrderStateReplayer)
+ * - 토픽이 비활성이거나 재생에 실패하면 DB의 주문 번호/상태를 샤드별로 읽음
+ * 적재가 끝날 때까지 readiness는 OUT_OF_SERVICE (WarmStartHealthIndicator의 statusIndex).
+ * 인덱스는 더 큰 버전만 반영하므로 적재와 이벤트가 어떤 순서로 도착해도 결과가 같음.
+ * 이벤트는 전이 표상 허용되는 전이만 반영 (늦은 PAYMENT_FAILED가 결제 완료 주문을 취소로 바꾸지 않음),
+ * DB/order-state 적재는 확정된 상태이므로 버전만 비교.
+ * 적재가 끝나기 전이나 이벤트가 아직 도착하지 않은 주문은 OrderService가 DB에서 상태만 조회.
+ */
+@Slf4j
+@Component
+public class OrderStatusIndexUpdater {
+    
+    private static final String WARM_START_NAME = "statusIndex";
+    private static final List<String> TOPICS = List.of(OutboxEventRelayService.TOPIC_NAME, PaymentEventConsumer.TOPIC);
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final Duration PARTITION_REFRESH = Duration.ofSeconds(30);
+    
+    private final OrderStatusIndex orderStatusIndex;
+    private final StatusIndexProperties statusIndexProperties;
+    private final OrderRepository orderRepository;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+    private final OrderStateReplayer orderStateReplayer;
+    private final OrderStateProperties orderStateProperties;
+    private final WarmStartHealthIndicator warmStartHealthIndicator;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Supplier<Consumer<String, String>> consumerSupplier;
+    private final ExecutorService executor;
+    
+    private volatile boolean running;
+    private volatile Consumer<String, String> consumer;
+    
+    @Autowired
+    public OrderStatusIndexUpdater(@Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+                                   OrderStatusIndex orderStatusIndex,
+                                   StatusIndexProperties statusIndexProperties,
+                                   OrderRepository orderRepository,
+                                   ShardRouter shardRouter,
+                                   ObjectMapper objectMapper,
+                                   OrderStateReplayer orderStateReplayer,
+                                   OrderStateProperties orderStateProperties,
+                                   WarmStartHealthIndicator warmStartHealthIndicator,
+                                   PlatformTransactionManager transactionManager) {
+        this(newConsumerFactory(bootstrapServers)::createConsumer, orderStatusIndex, statusIndexProperties,
+            orderRepository, shardRouter, objectMapper, orderStateReplayer, orderStateProperties,
+            warmStartHealthIndicator, transactionManager);
+    }
+    
+    /**
+     * 컨슈머를 직접 받는 생성자 (테스트에서 MockConsumer 주입)
+     */
+    OrderStatusIndexUpdater(Supplier<Consumer<String, String>> consumerSupplier,
+                            OrderStatusIndex orderStatusIndex,
+                            StatusIndexProperties statusIndexProperties,
+                            OrderRepository orderRepository,
+                            ShardRouter shardRouter,
+                            ObjectMapper objectMapper,
+                            OrderStateReplayer orderStateReplayer,
+                            OrderStateProperties orderStateProperties,
+                            WarmStartHealthIndicator warmStartHealthIndicator,
+                            PlatformTransactionManager transactionManager) {
+        this.consumerSupplier = consumerSupplier;
+        this.orderStatusIndex = orderStatusIndex;
+        this.statusIndexProperties = statusIndexProperties;
+        this.orderRepository = orderRepository;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.orderStateReplayer = orderStateReplayer;
+        this.orderStateProperties = orderStateProperties;
+        this.warmStartHealthIndicator = warmStartHealthIndicator;
+        // 읽기 전용 트랜잭션 → replica로 라우팅 (primary에 전체 스캔 부하를 주지 않음)
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "status-index-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (statusIndexProperties.isEnabled()) {
+            warmStartHealthIndicator.register(WARM_START_NAME);
+        }
+    }
+    
+    private static DefaultKafkaConsumerFactory<String, String> newConsumerFactory(String bootstrapServers) {
+        Map<String, Object> consumerConfig = new HashMap<>();
+        consumerConfig.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        consumerConfig.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // 보존 기간을 넘겨 위치를 잃으면 남은 이벤트부터 다시 읽음 (버전/전이 표로 걸러지므로 중복 반영은 무해)
+        consumerConfig.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new DefaultKafkaConsumerFactory<>(consumerConfig, new StringDeserializer(), new StringDeserializer());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (statusIndexProperties.isEnabled()) {
+            running = true;
+            executor.execute(this::consume);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Consumer<String, String> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        executor.shutdown();
+    }
+    
+    /**
+     * 모든 파티션을 할당하고 끝 위치를 확정한 뒤 적재를 시작, 이후 종료할 때까지 이벤트 반영
+     */
+    void consume() {
+        try (Consumer<String, String> assigned = consumerSupplier.get()) {
+            consumer = assigned;
+            Set<TopicPartition> partitions = Set.of();
+            boolean warmUpStarted = false;
+            long nextRefresh = 0;
+            while (running) {
+                try {
+                    if (System.currentTimeMillis() >= nextRefresh) {
+                        partitions = assignNewPartitions(assigned, partitions, !warmUpStarted);
+                        nextRefresh = System.currentTimeMillis() + PARTITION_REFRESH.toMillis();
+                    }
+                    if (!warmUpStarted) {
+                        Thread thread = new Thread(this::warmUp, "status-index-warm-up");
+                        thread.setDaemon(true);
+                        thread.start();
+                        warmUpStarted = true;
+                    }
+                    if (partitions.isEmpty()) {
+                        Thread.sleep(POLL_TIMEOUT.toMillis());
+                        continue;
+                    }
+                    for (ConsumerRecord<String, String> record : assigned.poll(POLL_TIMEOUT)) {
+                        handleEvent(record);
+                    }
+                } catch (WakeupException e) {
+                    // stop()
+                } catch (KafkaException e) {
+                    log.warn("Status index consumer error, retrying: {}", e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        } finally {
+            consumer = null;
+        }
+    }
+    
+    /**
+     * 현재 파티션 목록으로 다시 할당
+     * 
+     * 기동 시에는 끝으로 이동 (이전 이벤트는 적재가 채움), 나중에 생긴 파티션은 처음부터 읽음.
+     * position을 바로 조회해 위치를 확정 → 할당 이후에 들어온 이벤트는 놓치지 않음.
+     */
+    private Set<TopicPartition> assignNewPartitions(Consumer<String, String> assigned,
+                                                    Set<TopicPartition> current,
+                                                    boolean initial) {
+        Set<TopicPartition> partitions = new LinkedHashSet<>(current);
+        for (String topic : TOPICS) {
+            List<PartitionInfo> infos = assigned.partitionsFor(topic);
+            if (infos != null) {
+                infos.forEach(info -> partitions.add(new TopicPartition(topic, info.partition())));
+            }
+        }
+        List<TopicPartition> added = new ArrayList<>(partitions);
+        added.removeAll(current);
+        if (added.isEmpty()) {
+            return current;
+        }
+        assigned.assign(partitions);
+        if (initial) {
+            assigned.seekToEnd(added);
+        } else {
+            assigned.seekToBeginning(added);
+            log.info("Status index consumer picked up new partitions: {}", added);
+        }
+        added.forEach(assigned::position);
+        return partitions;
+    }
+    
+    void handleEvent(ConsumerRecord<String, String> record) {
+        try {
+            if (PaymentEventConsumer.TOPIC.equals(record.topic())) {
+                PaymentEventDTO payment = objectMapper.readValue(record.value(), PaymentEventDTO.class);
+                applyTransition(payment.getOrderNumber(), PaymentEventConsumer.resultingStatus(payment.getEventType()));
+            } else {
+                OrderEvent order = objectMapper.readValue(record.value(), OrderEvent.class);
+                if (order.getStatus() != null) {
+                    applyTransition(order.getOrderNumber(), Order.OrderStatus.valueOf(order.getStatus()));
+                }
+            }
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            // 인덱스에 반영하지 못한 주문은 DB 조회로 대체되므로 재시도하지 않음
+            log.warn("Skipping event for status index: topic={}, key={}, error={}",
+                record.topic(), record.key(), e.getMessage());
+        }
+    }
+    
+    /**
+     * 전체 주문 상태 적재 (order-state 토픽 → 실패 시 DB)
+     */
+    void warmUp() {
+        if (orderStateProperties.isEnabled()) {
+            try {
+                OrderStateReplayer.ReplayResult result = orderStateReplayer.replay(state -> orderStatusIndex.apply(
+                    state.getOrderNumber(), Order.OrderStatus.valueOf(state.getStatus()), (int) state.getVersion()));
+                log.info("Status index warmed up from {}: {} states from {} partitions in {} ms, {} entries, {} bytes",
+                    orderStateProperties.getName(), result.records(), result.partitions(), result.elapsedMillis(),
+                    orderStatusIndex.size(), orderStatusIndex.memoryBytes());
+                completeWarmUp(orderStateProperties.getName(), result.elapsedMillis());
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Status index replay of {} failed, falling back to DB scan",
+                    orderStateProperties.getName(), e);
+            }
+        }
+        long started = System.currentTimeMillis();
+        warmUpFromDatabase();
+        completeWarmUp("database", System.currentTimeMillis() - started);
+    }
+    
+    /**
+     * DB의 모든 주문 번호/상태 적재 (샤드별로 ID 순 키셋 페이지)
+     */
+    void warmUpFromDatabase() {
+        long started = System.currentTimeMillis();
+        int batchSize = statusIndexProperties.getWarmUpBatchSize();
+        long loaded = 0;
+        try {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                int target = shard;
+                long afterId = 0;
+                while (true) {
+                    long from = afterId;
+                    List<OrderRepository.StatusRow> rows = ShardContext.callOn(target, () ->
+                        readOnlyTransactionTemplate.execute(status ->
+                            orderRepository.findStatusRowsAfter(from, PageRequest.of(0, batchSize))));
+                    rows.forEach(row -> orderStatusIndex.apply(row.getOrderNumber(), row.getStatus(),
+                        OrderStatusIndex.lifecycleVersion(row.getStatus())));
+                    loaded += rows.size();
+                    if (rows.size() < batchSize) {
+                        break;
+                    }
+                    afterId = rows.get(rows.size() - 1).getId();
+                }
+            }
+            log.info("Status index warmed up from DB: {} orders in {} ms, {} entries, {} bytes",
+                loaded, System.currentTimeMillis() - started, orderStatusIndex.size(), orderStatusIndex.memoryBytes());
+        } catch (RuntimeException e) {
+            log.error("Status index warm-up failed after {} orders, falling back to DB for missing orders", loaded, e);
+        }
+    }
+    
+    private void completeWarmUp(String source, long elapsedMillis) {
+        warmStartHealthIndicator.complete(WARM_START_NAME, Map.of(
+            "source", source,
+            "elapsedMillis", elapsedMillis,
+            "entries", orderStatusIndex.size()));
+    }
+    
+    private void applyTransition(String orderNumber, Order.OrderStatus status) {
+        if (status != null) {
+            orderStatusIndex.applyTransition(orderNumber, status);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.orderservice.statusindex;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 주문 상태 인덱스 설정
+ * 
+ * - order.status.index.entries: 인덱스 항목 수
+ * - order.status.index.memory: 슬롯 배열 크기 (바이트)
+ */
+@Configuration
+@EnableConfigurationProperties(StatusIndexProperties.class)
+public class StatusIndexConfig {
+    
+    @Bean
+    public OrderStatusIndex orderStatusIndex(StatusIndexProperties statusIndexProperties, MeterRegistry meterRegistry) {
+        OrderStatusIndex index = new OrderStatusIndex(
+            statusIndexProperties.isEnabled() ? statusIndexProperties.getExpectedEntries() : 0);
+        Gauge.builder("order.status.index.entries", index, OrderStatusIndex::size)
+            .description("Orders in the in-memory status index")
+            .register(meterRegistry);
+        Gauge.builder("order.status.index.memory", index, OrderStatusIndex::memoryBytes)
+            .description("Slot array size of the in-memory status index")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        return index;
+    }
+}
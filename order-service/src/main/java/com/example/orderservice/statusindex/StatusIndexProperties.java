@@ -0,0 +1,28 @@
+package com.example.orderservice.statusindex;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 주문 상태 인덱스 설정 (order.status-index.*)
+ * 
+ * enabled=false이면 인덱스를 채우지 않고 상태 조회는 항상 DB(상태 컬럼만)에서 읽음
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.status-index")
+public class StatusIndexProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * 예상 주문 수 (초기 배열 크기. 넘으면 세그먼트별로 두 배씩 확장하므로 최대치에 가깝게 잡으면 확장 비용이 없음)
+     */
+    private long expectedEntries = 1_000_000;
+    
+    /**
+     * 기동 시 DB에서 읽어 올 때 한 번에 조회하는 행 수
+     */
+    private int warmUpBatchSize = 10_000;
+}
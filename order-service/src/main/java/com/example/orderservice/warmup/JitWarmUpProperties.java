@@ -0,0 +1,35 @@
+package com.example.orderservice.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 기동 직후 JIT 워밍업 설정 (order.jit-warm-up.*)
+ * 
+ * enabled=false이면 워밍업 없이 바로 readiness에 포함
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "order.jit-warm-up")
+public class JitWarmUpProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * 가상 주문 반복 횟수 (C2 컴파일 임계치(약 1만 회 호출/루프)를 넘길 만큼 핫 메서드가 호출되도록)
+     */
+    private int iterations = 2000;
+    
+    /**
+     * 반복이 끝나지 않아도 이 시간이 지나면 중단하고 ready로 전환
+     */
+    private Duration timeBudget = Duration.ofSeconds(30);
+    
+    /**
+     * 전/후 지연 비교에 쓰는 처음/마지막 반복 수
+     */
+    private int measureWindow = 100;
+}
@@ -0,0 +1,171 @@
+package com.example.orderservice.warmup;
+
+import com.example.common.warmup.WarmUpLoop;
+import com.example.orderservice.dto.OrderRequest;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.PaymentEventDTO;
+import com.example.orderservice.orderstate.WarmStartHealthIndicator;
+import com.example.orderservice.service.OrderService;
+import com.example.orderservice.service.OutboxEventRelayService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 직후 JIT 워밍업 (health 이름: warmStart의 jitWarmUp)
+ * 
+ * 새 Pod의 첫 주문 수천 건은 Jackson/Hibernate/Kafka 클라이언트와 서비스 코드가 아직 인터프리터로 실행되고
+ * 지연 초기화가 남아 있어 p99가 수 초까지 올라감. 실제 트래픽을 받기 전에 같은 경로를 가상 주문으로 반복 실행:
+ * - 요청 JSON 역직렬화 (OrderRequest)
+ * - OrderService.createOrder: 샤드 선택, 주문/Outbox INSERT, 이벤트 직렬화
+ *   → 바깥 트랜잭션을 rollback-only로 열어 createOrder의 트랜잭션이 참여하게 하므로 아무것도 커밋되지 않음
+ *     (IDENTITY 값만 소비되어 ID에 빈 번호가 생김, 커밋 후 동작인 백로그 집계도 실행되지 않음)
+ * - Relay 배치 구성: 이벤트 send → 결과 수집 (실제 브로커 대신 즉시 완료되는 MockProducer)
+ * - 결제 결과 이벤트 역직렬화 (PaymentEventDTO)
+ * 
+ * 반복을 다 채우거나 time-budget이 지나면 끝내고 WarmStartHealthIndicator에 완료를 알림 → readiness 포함.
+ * 전/후 지연(WarmUpLoop.Result)은 health 상세와 로그에 남김. DB 오류 등으로 실패해도 워밍업만 건너뛰고 ready로 전환.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(JitWarmUpProperties.class)
+public class JitWarmUpRunner {
+    
+    private static final String WARM_START_NAME = "jitWarmUp";
+    private static final String REQUEST_JSON = """
+        {"productName":"jit-warm-up","quantity":2,"price":12500.50,\
+        "customerName":"warm-up","customerEmail":"warm-up@example.com"}""";
+    
+    private final JitWarmUpProperties jitWarmUpProperties;
+    private final WarmStartHealthIndicator warmStartHealthIndicator;
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate rollbackOnlyTransactionTemplate;
+    private final NoOpProducer producer = new NoOpProducer();
+    private final KafkaTemplate<String, String> noOpKafkaTemplate = new KafkaTemplate<>(() -> producer);
+    
+    public JitWarmUpRunner(JitWarmUpProperties jitWarmUpProperties,
+                           WarmStartHealthIndicator warmStartHealthIndicator,
+                           OrderService orderService,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager) {
+        this.jitWarmUpProperties = jitWarmUpProperties;
+        this.warmStartHealthIndicator = warmStartHealthIndicator;
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.rollbackOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        if (jitWarmUpProperties.isEnabled()) {
+            warmStartHealthIndicator.register(WARM_START_NAME);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!jitWarmUpProperties.isEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "jit-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    void warmUp() {
+        log.info("JIT warm-up started: iterations={}, timeBudget={}",
+            jitWarmUpProperties.getIterations(), jitWarmUpProperties.getTimeBudget());
+        try {
+            WarmUpLoop.Result result = WarmUpLoop.run(this::iteration, jitWarmUpProperties.getIterations(),
+                jitWarmUpProperties.getTimeBudget(), jitWarmUpProperties.getMeasureWindow());
+            log.info("JIT warm-up finished: iterations={}, elapsed={}ms, budgetExpired={}, first={}us, "
+                    + "avg {}us -> {}us, p99 {}us -> {}us",
+                result.iterations(), result.elapsedMillis(), result.budgetExpired(), result.firstMicros(),
+                result.before().avgMicros(), result.after().avgMicros(),
+                result.before().p99Micros(), result.after().p99Micros());
+            warmStartHealthIndicator.complete(WARM_START_NAME, result.toDetails());
+        } catch (Exception e) {
+            log.warn("JIT warm-up aborted, accepting traffic without it: {}", e.getMessage());
+            warmStartHealthIndicator.complete(WARM_START_NAME, Map.of("aborted", String.valueOf(e.getMessage())));
+        }
+    }
+    
+    private void iteration(int iteration) throws Exception {
+        OrderRequest request = objectMapper.readValue(REQUEST_JSON, OrderRequest.class);
+        OrderResponse response = rollbackOnlyTransactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return orderService.createOrder(request);
+        });
+        
+        String payload = objectMapper.writeValueAsString(OrderEvent.builder()
+            .orderId(response.getId())
+            .orderNumber(response.getOrderNumber())
+            .productName(response.getProductName())
+            .quantity(response.getQuantity())
+            .price(response.getPrice())
+            .totalAmount(response.getTotalAmount())
+            .customerName(response.getCustomerName())
+            .customerEmail(response.getCustomerEmail())
+            .status(response.getStatus())
+            .eventTime(LocalDateTime.now())
+            .eventType("ORDER_CREATED")
+            .build());
+        relay(response.getOrderNumber(), payload);
+        
+        objectMapper.readValue(objectMapper.writeValueAsString(PaymentEventDTO.builder()
+            .paymentId((long) iteration)
+            .orderId(response.getId())
+            .orderNumber(response.getOrderNumber())
+            .paymentNumber("PAY-WARMUP")
+            .amount(response.getTotalAmount())
+            .status("COMPLETED")
+            .paymentMethod("CARD")
+            .eventType("PAYMENT_COMPLETED")
+            .eventTime(LocalDateTime.now())
+            .build()), PaymentEventDTO.class);
+    }
+    
+    /**
+     * OutboxEventRelayService.relayBatch와 같은 방식으로 send 후 결과 대기
+     */
+    private void relay(String orderNumber, String payload) throws Exception {
+        OutboxEvent event = OutboxEvent.builder()
+            .aggregateId(orderNumber)
+            .aggregateType("ORDER")
+            .eventType("ORDER_CREATED")
+            .payload(payload)
+            .build();
+        noOpKafkaTemplate.send(OutboxEventRelayService.toRecord(event)).get(1, TimeUnit.SECONDS);
+        producer.clear();
+    }
+    
+    /**
+     * 보낸 레코드를 즉시 완료하는 프로듀서 (KafkaTemplate이 send마다 close를 호출해도 계속 쓸 수 있도록 close 무시)
+     */
+    private static class NoOpProducer extends MockProducer<String, String> {
+        
+        NoOpProducer() {
+            super(true, new StringSerializer(), new StringSerializer());
+        }
+        
+        @Override
+        public void close() {
+        }
+        
+        @Override
+        public void close(Duration timeout) {
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.orderservice.analytics;
+
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.PaymentEventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.WindowStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Properties;
+
+import static com.example.orderservice.analytics.OrderAnalyticsTopology.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스트리밍 집계 토폴로지 단위 테스트 (TopologyTestDriver, 브로커 없이)
+ * - 1분 텀블링 윈도우 주문 수/상품별 매출, 5분 슬라이딩 윈도우 결제 실패율/사가 지연
+ */
+class OrderAnalyticsTopologyTest {
+    
+    private static final Instant BASE_TIME = Instant.parse("2024-01-01T00:00:10Z");
+    
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    
+    @TempDir
+    Path stateDir;
+    
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, String> orderEvents;
+    private TestInputTopic<String, String> paymentEvents;
+    
+    @BeforeEach
+    void setUp() {
+        StreamsBuilder builder = new StreamsBuilder();
+        new OrderAnalyticsTopology(objectMapper).buildPipeline(builder);
+        
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "order-analytics-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        driver = new TopologyTestDriver(builder.build(), props);
+        orderEvents = driver.createInputTopic(ORDER_TOPIC, new StringSerializer(), new StringSerializer());
+        paymentEvents = driver.createInputTopic(PAYMENT_TOPIC, new StringSerializer(), new StringSerializer());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+    
+    @Test
+    void shouldAggregateOrdersAndRevenuePerMinute() throws Exception {
+        // Given - 첫 1분에 주문 2건 (1건 결제 완료, 1건 실패), 다음 1분에 주문 1건 (결제 완료)
+        order("ORD-1", "Keyboard", "100", 0);
+        payment("ORD-1", "PAYMENT_COMPLETED", "CARD", "100", 2);
+        order("ORD-2", "Mouse", "30", 20);
+        payment("ORD-2", "PAYMENT_FAILED", "MOBILE", "30", 30);
+        order("ORD-3", "Keyboard", "50", 70);
+        payment("ORD-3", "PAYMENT_COMPLETED", "CARD", "50", 75);
+        
+        // Then
+        WindowStore<String, Long> ordersPerMinute = driver.getWindowStore(ORDERS_PER_MINUTE_STORE);
+        assertThat(ordersPerMinute.fetch(ALL, minute(0))).isEqualTo(2L);
+        assertThat(ordersPerMinute.fetch(ALL, minute(1))).isEqualTo(1L);
+        
+        WindowStore<String, ProductRevenue> revenue = driver.getWindowStore(REVENUE_BY_PRODUCT_STORE);
+        assertThat(revenue.fetch(ALL, minute(0)).getRevenue()).isEqualTo(Map.of("Keyboard", new BigDecimal("100")));
+        assertThat(revenue.fetch(ALL, minute(1)).getRevenue()).isEqualTo(Map.of("Keyboard", new BigDecimal("50")));
+    }
+    
+    @Test
+    void shouldTrackFailureRateAndSagaLatencyInSlidingWindow() throws Exception {
+        // Given
+        order("ORD-1", "Keyboard", "100", 0);
+        payment("ORD-1", "PAYMENT_COMPLETED", "CARD", "100", 2);
+        order("ORD-2", "Mouse", "30", 20);
+        payment("ORD-2", "PAYMENT_FAILED", "MOBILE", "30", 30);
+        order("ORD-3", "Keyboard", "50", 70);
+        payment("ORD-3", "PAYMENT_COMPLETED", "CARD", "50", 75);
+        // 형식이 잘못된 이벤트와 주문 없는 결제는 집계를 깨지 않고 건너뜀 (후자는 실패율에만 반영)
+        paymentEvents.pipeInput("ORD-X", "not json", BASE_TIME.plusSeconds(80));
+        payment("ORD-Y", "PAYMENT_FAILED", "CARD", "10", 85);
+        
+        // When - 마지막 이벤트 시각을 포함하는 최근 5분 윈도우
+        long windowStart = OrderAnalyticsQueryService.latestSlidingWindowStart(BASE_TIME.plusSeconds(85).toEpochMilli());
+        
+        // Then
+        WindowStore<String, PaymentOutcomes> outcomes = driver.getWindowStore(PAYMENT_OUTCOMES_STORE);
+        Map<String, PaymentOutcomes.Outcome> methods = outcomes.fetch(ALL, windowStart).getMethods();
+        assertThat(methods.get("CARD").getAttempts()).isEqualTo(3);
+        assertThat(methods.get("CARD").getFailures()).isEqualTo(1);
+        assertThat(methods.get("MOBILE").getAttempts()).isEqualTo(1);
+        assertThat(methods.get("MOBILE").getFailures()).isEqualTo(1);
+        
+        WindowStore<String, LatencyStats> latency = driver.getWindowStore(SAGA_LATENCY_STORE);
+        LatencyStats stats = latency.fetch(ALL, windowStart);
+        assertThat(stats.getCount()).isEqualTo(3);
+        assertThat(stats.getSumMillis()).isEqualTo(2_000 + 10_000 + 5_000);
+        assertThat(stats.getMaxMillis()).isEqualTo(10_000);
+    }
+    
+    private void order(String orderNumber, String productName, String amount, int offsetSeconds) throws Exception {
+        Instant time = BASE_TIME.plusSeconds(offsetSeconds);
+        OrderEvent event = OrderEvent.builder()
+            .orderNumber(orderNumber)
+            .productName(productName)
+            .quantity(1)
+            .price(new BigDecimal(amount))
+            .totalAmount(new BigDecimal(amount))
+            .status("PENDING")
+            .eventType("ORDER_CREATED")
+            .eventTime(LocalDateTime.ofInstant(time, ZoneOffset.UTC))
+            .build();
+        orderEvents.pipeInput(orderNumber, objectMapper.writeValueAsString(event), time);
+    }
+    
+    private void payment(String orderNumber, String eventType, String paymentMethod, String amount,
+                         int offsetSeconds) throws Exception {
+        Instant time = BASE_TIME.plusSeconds(offsetSeconds);
+        PaymentEventDTO event = PaymentEventDTO.builder()
+            .orderNumber(orderNumber)
+            .amount(new BigDecimal(amount))
+            .paymentMethod(paymentMethod)
+            .eventType(eventType)
+            .eventTime(LocalDateTime.ofInstant(time, ZoneOffset.UTC))
+            .build();
+        paymentEvents.pipeInput(orderNumber, objectMapper.writeValueAsString(event), time);
+    }
+    
+    private static long minute(int index) {
+        return Instant.parse("2024-01-01T00:00:00Z").plusSeconds(60L * index).toEpochMilli();
+    }
+}
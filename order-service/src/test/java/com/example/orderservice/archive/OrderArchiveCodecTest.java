@@ -0,0 +1,58 @@
+package com.example.orderservice.archive;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.orderservice.entity.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 보관 코덱 단위 테스트 (세그먼트 자체는 common-infra의 ArchiveStoreTest에서 검증)
+ * - 주문 번호/ID로 보관된 주문을 모든 컬럼 그대로 복원하는지 검증 (updatedAt null 포함)
+ */
+class OrderArchiveCodecTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void shouldRestoreArchivedOrdersByNumberAndId() throws Exception {
+        // Given
+        ArchiveStore<Order> archive = new ArchiveStore<>(directory, "orders", new OrderArchiveCodec(), 16, 0,
+            new SimpleMeterRegistry());
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123_456_000);
+        List<Order> orders = IntStream.range(0, 40)
+            .mapToObj(i -> Order.builder()
+                .id(i + 1L)
+                .orderNumber(String.format("ORD-%08d", 1000 - i))
+                .productName(i % 3 == 0 ? "Keyboard" : "Mouse")
+                .quantity(i % 5 + 1)
+                .price(new BigDecimal("19.90"))
+                .totalAmount(new BigDecimal("19.90").multiply(BigDecimal.valueOf(i % 5 + 1)))
+                .customerName("Customer " + i)
+                .customerEmail("customer" + i + "@example.com")
+                .status(i % 4 == 0 ? Order.OrderStatus.CANCELLED : Order.OrderStatus.COMPLETED)
+                .createdAt(createdAt.plusMinutes(i))
+                .updatedAt(i % 7 == 0 ? null : createdAt.plusMinutes(i).plusSeconds(5))
+                .build())
+            .toList();
+        
+        // When
+        archive.append(orders);
+        
+        // Then
+        for (Order order : orders) {
+            assertThat(archive.findByKey(order.getOrderNumber())).contains(order);
+            assertThat(archive.findById(order.getId())).contains(order);
+        }
+        assertThat(archive.findByKey("ORD-MISSING")).isEmpty();
+    }
+}
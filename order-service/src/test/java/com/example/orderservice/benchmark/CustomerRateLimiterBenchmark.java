@@ -0,0 +1,101 @@
+package com.example.orderservice.benchmark;
+
+import com.example.orderservice.service.CustomerRateLimiter;
+import com.example.orderservice.service.FairIntakeScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 고객별 속도 제한 / 공정 큐잉의 처리량 오버헤드 측정
+ * 
+ * 실행 (order-service 디렉터리에서):
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.orderservice.benchmark.CustomerRateLimiterBenchmark
+ * 
+ * 시나리오:
+ * - baseline: 제한 없이 빈 작업만 수행
+ * - hot customer: 모든 스레드가 같은 고객 (CAS 경합 최대)
+ * - 1M customers: 100만 명의 서로 다른 고객 (맵 크기/메모리 영향)
+ * - fair intake: 슬롯이 충분할 때 acquire/release 빠른 경로
+ */
+public class CustomerRateLimiterBenchmark {
+    
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int OPS_PER_THREAD = 2_000_000;
+    private static final int CUSTOMERS = 1_000_000;
+    
+    public static void main(String[] args) throws Exception {
+        String[] customers = new String[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers[i] = "customer" + i + "@example.com";
+        }
+        
+        for (int round = 0; round < 2; round++) {
+            System.out.println(round == 0 ? "== warm-up ==" : "== measurement ==");
+            
+            run("baseline", (thread, i) -> { });
+            
+            CustomerRateLimiter hot = limiter();
+            run("rate limiter, hot customer", (thread, i) -> hot.tryAcquire("bulk@example.com"));
+            
+            CustomerRateLimiter many = limiter();
+            run("rate limiter, 1M customers", (thread, i) -> many.tryAcquire(customers[(thread * 7919 + i) % CUSTOMERS]));
+            
+            FairIntakeScheduler scheduler = new FairIntakeScheduler(new SimpleMeterRegistry(), THREADS * 2, 1000, 1, "");
+            run("fair intake, unsaturated", (thread, i) -> {
+                scheduler.acquire(customers[i % CUSTOMERS]);
+                scheduler.release();
+            });
+        }
+    }
+    
+    private static CustomerRateLimiter limiter() {
+        return new CustomerRateLimiter(new SimpleMeterRegistry(), true, 1_000_000, 1_000, 300);
+    }
+    
+    private static void run(String name, Op op) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        LongAdder sink = new LongAdder();
+        
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        op.run(thread, i);
+                    }
+                    sink.increment();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+                return null;
+            });
+        }
+        
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        
+        long ops = (long) THREADS * OPS_PER_THREAD;
+        System.out.printf("%-30s %,15.0f ops/s  %8.1f ns/op (threads=%d)%n",
+            name, ops / (elapsed / 1e9), (double) elapsed * THREADS / ops, THREADS);
+    }
+    
+    @FunctionalInterface
+    private interface Op {
+        void run(int thread, int i) throws Exception;
+    }
+}
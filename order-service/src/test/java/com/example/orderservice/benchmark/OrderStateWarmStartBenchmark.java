@@ -0,0 +1,257 @@
+package com.example.orderservice.benchmark;
+
+import com.example.common.orderstate.OrderState;
+import com.example.common.orderstate.OrderStateReplayer;
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.statusindex.OrderStatusIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * 상태 인덱스 기동 적재 시간 비교: DB 키셋 스캔 vs order-state 토픽 병렬 재생
+ * 
+ * 실행 (order-service 디렉터리에서):
+ *   MAVEN_OPTS=-Xmx2g mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.orderservice.benchmark.OrderStateWarmStartBenchmark
+ * 
+ * 기본은 프로세스 안에서만 측정 (H2 인메모리 orders 200만 건, 6개 파티션 MockConsumer)
+ * → 네트워크/디스크 없이 행 읽기·JSON 파싱·인덱스 반영의 CPU 비용만 비교.
+ * 실제 환경 비교는 이미 데이터가 있는 DB와 브로커를 지정 (이때는 데이터를 만들지 않고 읽기만 함):
+ *   -Djdbc.url=jdbc:postgresql://localhost:5432/orderdb -Djdbc.user=postgres -Djdbc.password=postgres
+ *   -Dkafka.bootstrap=localhost:9092 -Dtopic=order-state
+ * 
+ * 시나리오:
+ * - db-scan: OrderStatusIndexUpdater.warmUpFromDatabase와 같은 ID 순 키셋 페이지 (1만 건씩, 단일 스레드)
+ * - replay-1 / replay-N: OrderStateReplayer로 토픽 재생 (컨슈머 1개 / N개)
+ * 
+ * 측정 예 (JDK 17, 인메모리, 200만 건, CPU 1개, 3회차): db-scan 699ms, replay-1 2,092ms, replay-4 2,460ms
+ * → 프로세스 안에서는 레코드당 JSON 파싱(약 1µs)이 H2 행 읽기보다 비싸 재생이 느리고, CPU가 하나라 병렬 이득도 없음.
+ * 재생의 이점은 CPU가 아니라 I/O와 DB 부하: 실제 DB 스캔은 페이지마다 왕복하며 샤드를 차례로 읽고
+ * replica에 전체 스캔 부하를 주지만, 재생은 브로커에서 파티션별로 순차 읽기를 병렬로 하고 DB를 건드리지 않음.
+ * 실제 환경 모드로 두 경로를 같은 데이터에서 비교할 것.
+ */
+public class OrderStateWarmStartBenchmark {
+    
+    private static final int ORDERS = 2_000_000;
+    private static final int PARTITIONS = 6;
+    private static final int PAGE_SIZE = 10_000;
+    private static final int REPLAY_THREADS = 4;
+    private static final int MAX_POLL_RECORDS = 5000;
+    private static final String TOPIC = System.getProperty("topic", "order-state");
+    
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().findAndAddModules().build();
+    
+    public static void main(String[] args) throws Exception {
+        String jdbcUrl = System.getProperty("jdbc.url");
+        String bootstrap = System.getProperty("kafka.bootstrap");
+        
+        try (Connection connection = jdbcUrl == null
+                ? DriverManager.getConnection("jdbc:h2:mem:warmstart;DB_CLOSE_DELAY=-1")
+                : DriverManager.getConnection(jdbcUrl, System.getProperty("jdbc.user"), System.getProperty("jdbc.password"))) {
+            if (jdbcUrl == null) {
+                populateOrders(connection);
+            }
+            Supplier<Consumer<String, String>> consumerFactory = bootstrap == null
+                ? mockTopic()
+                : kafkaConsumerFactory(bootstrap);
+            
+            // JIT 예열 후 측정 (인메모리일 때만, 실제 환경에서는 캐시 효과를 피하려고 한 번씩)
+            int rounds = jdbcUrl == null && bootstrap == null ? 3 : 1;
+            for (int round = 1; round <= rounds; round++) {
+                System.out.printf("round %d%n", round);
+                measure("db-scan", () -> scanDatabase(connection));
+                measure("replay-1", () -> replay(consumerFactory, 1));
+                measure("replay-" + REPLAY_THREADS, () -> replay(consumerFactory, REPLAY_THREADS));
+            }
+        }
+    }
+    
+    private static void measure(String name, Loader loader) throws Exception {
+        long started = System.nanoTime();
+        OrderStatusIndex index = loader.load();
+        long millis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        System.out.printf("  %-10s %,12d entries in %,8d ms%n", name, index.size(), millis);
+    }
+    
+    private static OrderStatusIndex scanDatabase(Connection connection) throws Exception {
+        OrderStatusIndex index = new OrderStatusIndex(ORDERS);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select id, order_number, status from orders where id > ? order by id limit ?")) {
+            long afterId = 0;
+            while (true) {
+                statement.setLong(1, afterId);
+                statement.setInt(2, PAGE_SIZE);
+                int rows = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        afterId = resultSet.getLong(1);
+                        Order.OrderStatus status = Order.OrderStatus.valueOf(resultSet.getString(3));
+                        index.apply(resultSet.getString(2), status, OrderStatusIndex.lifecycleVersion(status));
+                        rows++;
+                    }
+                }
+                if (rows < PAGE_SIZE) {
+                    return index;
+                }
+            }
+        }
+    }
+    
+    private static OrderStatusIndex replay(Supplier<Consumer<String, String>> consumerFactory, int threads) {
+        OrderStatusIndex index = new OrderStatusIndex(ORDERS);
+        new OrderStateReplayer(TOPIC, consumerFactory, OBJECT_MAPPER, threads, Duration.ofMinutes(10))
+            .replay(state -> index.apply(state.getOrderNumber(),
+                Order.OrderStatus.valueOf(state.getStatus()), (int) state.getVersion()));
+        return index;
+    }
+    
+    /**
+     * 실제 orders와 비슷한 너비의 행 (상태 인덱스에 필요한 컬럼은 일부)
+     */
+    private static void populateOrders(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table orders (id bigint primary key, order_number varchar(32) not null unique, "
+                + "product_name varchar(255), quantity int, price decimal(10,2), total_amount decimal(10,2), "
+                + "customer_name varchar(255), customer_email varchar(255), status varchar(32) not null, "
+                + "created_at timestamp, updated_at timestamp)");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into orders values (?, ?, 'Mechanical Keyboard', 1, 129.00, 129.00, ?, ?, ?, ?, ?)")) {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < ORDERS; i++) {
+                insert.setLong(1, i + 1L);
+                insert.setString(2, orderNumber(i));
+                insert.setString(3, "Customer " + i);
+                insert.setString(4, "customer" + i + "@example.com");
+                insert.setString(5, status(i).name());
+                insert.setObject(6, now);
+                insert.setObject(7, now);
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+    }
+    
+    /**
+     * compaction이 끝난 order-state 토픽 (주문당 레코드 하나)을 파티션별 목록으로 만들어 두고,
+     * 할당받은 파티션의 레코드를 채워 주는 MockConsumer를 반환
+     */
+    private static Supplier<Consumer<String, String>> mockTopic() throws Exception {
+        Map<TopicPartition, List<ConsumerRecord<String, String>>> log = new HashMap<>();
+        for (int i = 0; i < ORDERS; i++) {
+            String orderNumber = orderNumber(i);
+            Order.OrderStatus status = status(i);
+            String value = OBJECT_MAPPER.writeValueAsString(OrderState.builder()
+                .orderNumber(orderNumber)
+                .status(status.name())
+                .version(OrderStatusIndex.lifecycleVersion(status))
+                .updatedAt(LocalDateTime.now())
+                .build());
+            int partition = i % PARTITIONS;
+            List<ConsumerRecord<String, String>> records =
+                log.computeIfAbsent(new TopicPartition(TOPIC, partition), tp -> new ArrayList<>());
+            records.add(new ConsumerRecord<>(TOPIC, partition, records.size(), orderNumber, value));
+        }
+        List<PartitionInfo> partitions = IntStream.range(0, PARTITIONS)
+            .mapToObj(partition -> new PartitionInfo(TOPIC, partition, null, null, null))
+            .toList();
+        
+        return () -> {
+            // MockConsumer 기본 poll은 레코드마다 위치를 갱신해 느리므로, 파티션별 목록에서 잘라 주는 방식으로 대체
+            MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST) {
+                private final Map<TopicPartition, Integer> positions = new HashMap<>();
+                
+                @Override
+                public synchronized void assign(Collection<TopicPartition> assigned) {
+                    super.assign(assigned);
+                    Map<TopicPartition, Long> beginning = new HashMap<>();
+                    Map<TopicPartition, Long> end = new HashMap<>();
+                    for (TopicPartition partition : assigned) {
+                        positions.put(partition, 0);
+                        beginning.put(partition, 0L);
+                        end.put(partition, (long) log.get(partition).size());
+                    }
+                    updateBeginningOffsets(beginning);
+                    updateEndOffsets(end);
+                }
+                
+                @Override
+                public synchronized ConsumerRecords<String, String> poll(Duration timeout) {
+                    Map<TopicPartition, List<ConsumerRecord<String, String>>> batch = new HashMap<>();
+                    positions.replaceAll((partition, from) -> {
+                        List<ConsumerRecord<String, String>> records = log.get(partition);
+                        int to = Math.min(from + MAX_POLL_RECORDS, records.size());
+                        if (from < to) {
+                            batch.put(partition, records.subList(from, to));
+                        }
+                        return to;
+                    });
+                    return new ConsumerRecords<>(batch);
+                }
+                
+                @Override
+                public synchronized long position(TopicPartition partition) {
+                    return positions.get(partition);
+                }
+            };
+            consumer.updatePartitions(TOPIC, partitions);
+            return consumer;
+        };
+    }
+    
+    private static Supplier<Consumer<String, String>> kafkaConsumerFactory(String bootstrap) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrap);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, 8 * 1024 * 1024);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, MAX_POLL_RECORDS);
+        return () -> new KafkaConsumer<>(config);
+    }
+    
+    private static Order.OrderStatus status(int i) {
+        return i % 10 == 0 ? Order.OrderStatus.CANCELLED : Order.OrderStatus.COMPLETED;
+    }
+    
+    private static String orderNumber(int i) {
+        return "ORD-" + String.format("%08X", i);
+    }
+    
+    @FunctionalInterface
+    private interface Loader {
+        OrderStatusIndex load() throws Exception;
+    }
+}
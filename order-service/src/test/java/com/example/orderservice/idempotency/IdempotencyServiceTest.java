@@ -0,0 +1,183 @@
+package com.example.orderservice.idempotency;
+
+import com.example.orderservice.dto.OrderRequest;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.repository.IdempotencyRecordRepository;
+import com.example.orderservice.service.OrderService;
+import com.example.orderservice.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 주문 생성 Idempotency-Key 테스트 (H2 + JPA 슬라이스, 주문 생성은 커밋된 건수만 세는 대역)
+ * - 같은 인스턴스의 동시 중복 요청은 한 번만 실행, 다른 인스턴스끼리는 unique 제약으로 하나만 커밋
+ * - 메모리 LRU에 없으면 테이블에서 응답을 찾음, 같은 키에 다른 요청은 거절
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceTest {
+    
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate transactionTemplate;
+    private final AtomicInteger committedOrders = new AtomicInteger();
+    private final AtomicInteger orderSequence = new AtomicInteger();
+    private final CountDownLatch creationGate = new CountDownLatch(1);
+    
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Test
+    void shouldCollapseConcurrentDuplicatesIntoSingleExecution() throws Exception {
+        // Given - 주문 생성이 끝나지 않은 동안 같은 키로 8번 재시도
+        IdempotencyService service = newService();
+        String key = UUID.randomUUID().toString();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<IdempotencyService.Result>> results = new ArrayList<>();
+        
+        // When
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> service.execute(key, request("hong@example.com", 1))));
+        }
+        Thread.sleep(200);
+        creationGate.countDown();
+        List<IdempotencyService.Result> responses = new ArrayList<>();
+        for (Future<IdempotencyService.Result> result : results) {
+            responses.add(result.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        
+        // Then
+        assertThat(committedOrders).hasValue(1);
+        assertThat(responses).extracting(result -> result.response().getOrderNumber()).containsOnly("ORD-1");
+        assertThat(responses).filteredOn(result -> !result.replayed()).hasSize(1);
+        assertThat(service.findCached(key, request("hong@example.com", 1))).isPresent();
+    }
+    
+    @Test
+    void shouldReplayDurableResponseAndRejectReuseWithDifferentRequest() throws Exception {
+        // Given
+        creationGate.countDown();
+        String key = UUID.randomUUID().toString();
+        IdempotencyService.Result first = newService().execute(key, request("kim@example.com", 1));
+        
+        // When - 메모리 LRU가 비어 있는 다른 인스턴스로 재시도
+        IdempotencyService other = newService();
+        IdempotencyService.Result retried = other.execute(key, request("kim@example.com", 1));
+        IdempotencyService.Result otherCustomer = other.execute(key, request("lee@example.com", 1));
+        
+        // Then
+        assertThat(first.replayed()).isFalse();
+        assertThat(retried.replayed()).isTrue();
+        assertThat(retried.response()).isEqualTo(first.response());
+        assertThat(otherCustomer.replayed()).isFalse();
+        assertThat(committedOrders).hasValue(2);
+        assertThatThrownBy(() -> other.execute(key, request("kim@example.com", 2)))
+            .isInstanceOf(IdempotencyKeyReuseException.class);
+        assertThatThrownBy(() -> other.findCached(key, request("kim@example.com", 2)))
+            .isInstanceOf(IdempotencyKeyReuseException.class);
+    }
+    
+    @Test
+    void shouldCommitOnlyOneOrderWhenInstancesRaceOnSameKey() throws Exception {
+        // Given - 두 인스턴스가 모두 테이블에서 키를 찾지 못한 뒤 주문 생성에 들어감
+        IdempotencyService first = newService();
+        IdempotencyService second = newService();
+        String key = UUID.randomUUID().toString();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        
+        // When
+        OrderRequest request = request("park@example.com", 3);
+        Future<IdempotencyService.Result> a = executor.submit(() -> first.execute(key, request));
+        Future<IdempotencyService.Result> b = executor.submit(() -> second.execute(key, request));
+        Thread.sleep(200);
+        creationGate.countDown();
+        IdempotencyService.Result resultA = a.get(10, TimeUnit.SECONDS);
+        IdempotencyService.Result resultB = b.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        
+        // Then - 진 쪽의 주문은 롤백되고 이긴 쪽의 응답을 돌려받음
+        assertThat(committedOrders).hasValue(1);
+        assertThat(resultA.response().getOrderNumber()).isEqualTo(resultB.response().getOrderNumber());
+        assertThat(List.of(resultA.replayed(), resultB.replayed())).containsExactlyInAnyOrder(true, false);
+    }
+    
+    private IdempotencyService newService() {
+        return new IdempotencyService(new CommitCountingOrderService(), idempotencyRecordRepository,
+            new ShardRouter(1), transactionTemplate, JsonMapper.builder().findAndAddModules().build(),
+            new IdempotencyProperties(), new SimpleMeterRegistry());
+    }
+    
+    private static OrderRequest request(String customerEmail, int quantity) {
+        return OrderRequest.builder()
+            .productName("노트북")
+            .quantity(quantity)
+            .price(new BigDecimal("1500000.00"))
+            .customerName("홍길동")
+            .customerEmail(customerEmail)
+            .build();
+    }
+    
+    /**
+     * 주문 테이블 대신 응답만 만들고, 키 기록과 같은 트랜잭션이 커밋된 경우만 셈
+     */
+    private class CommitCountingOrderService extends OrderService {
+        
+        CommitCountingOrderService() {
+            super(null, null, null, null, null, null, null, null, null);
+        }
+        
+        @Override
+        public OrderResponse createOrderOnShard(OrderRequest request, int shard,
+                                                Consumer<OrderResponse> inTransaction) {
+            try {
+                creationGate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            OrderResponse response = transactionTemplate.execute(status -> {
+                OrderResponse created = OrderResponse.builder()
+                    .orderNumber("ORD-" + orderSequence.incrementAndGet())
+                    .productName(request.getProductName())
+                    .quantity(request.getQuantity())
+                    .customerEmail(request.getCustomerEmail())
+                    .status("PENDING")
+                    .build();
+                inTransaction.accept(created);
+                return created;
+            });
+            committedOrders.incrementAndGet();
+            return response;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.orderservice.orderstate;
+
+import com.example.common.orderstate.OrderState;
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.PaymentEventDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Properties;
+
+import static com.example.orderservice.analytics.OrderAnalyticsTopology.ORDER_TOPIC;
+import static com.example.orderservice.analytics.OrderAnalyticsTopology.PAYMENT_TOPIC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 상태 changelog 토폴로지 단위 테스트 (TopologyTestDriver, 브로커 없이)
+ * - 주문 번호별 마지막 레코드(= compaction 후 남는 값)가 가장 큰 버전의 상태인지
+ * - 버전이 더 커도 전이 표상 허용되지 않는 결과(결제 완료 후 늦은 결제 실패)는 버리는지
+ * - 키가 주문 번호가 아닌 Saga 타임아웃 보상 이벤트(ORDER_CANCELLED)도 해당 주문의 상태로 반영되는지
+ */
+class OrderStateTopologyTest {
+    
+    private static final Instant BASE_TIME = Instant.parse("2024-01-01T00:00:00Z");
+    
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final OrderStateProperties orderStateProperties = new OrderStateProperties();
+    
+    @TempDir
+    Path stateDir;
+    
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, String> orderEvents;
+    private TestInputTopic<String, String> paymentEvents;
+    private TestOutputTopic<String, String> orderStates;
+    
+    @BeforeEach
+    void setUp() {
+        StreamsBuilder builder = new StreamsBuilder();
+        new OrderStateTopology(objectMapper, orderStateProperties).buildPipeline(builder);
+        
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "order-state-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        // 캐시 없이 변경마다 발행 (순서를 그대로 확인)
+        props.put(StreamsConfig.STATESTORE_CACHE_MAX_BYTES_CONFIG, 0);
+        driver = new TopologyTestDriver(builder.build(), props);
+        orderEvents = driver.createInputTopic(ORDER_TOPIC, new StringSerializer(), new StringSerializer());
+        paymentEvents = driver.createInputTopic(PAYMENT_TOPIC, new StringSerializer(), new StringSerializer());
+        orderStates = driver.createOutputTopic(orderStateProperties.getName(),
+            new StringDeserializer(), new StringDeserializer());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+    
+    @Test
+    void shouldKeepHighestVersionPerOrderEvenWhenEventsArriveOutOfOrder() throws Exception {
+        // Given - ORD-1은 순서대로, ORD-2는 결제 실패가 주문 생성보다 먼저 도착, ORD-3은 결제 전
+        order("ORD-1", 0);
+        payment("ORD-1", "PAYMENT_COMPLETED", 2);
+        payment("ORD-2", "PAYMENT_FAILED", 3);
+        order("ORD-2", 4);
+        order("ORD-3", 5);
+        // 상태를 바꾸지 않는 이벤트와 형식이 잘못된 이벤트는 건너뜀
+        payment("ORD-3", "PAYMENT_REFUNDED", 6);
+        paymentEvents.pipeInput("ORD-X", "not json", BASE_TIME.plusSeconds(7));
+        
+        // Then - 키별 마지막 레코드
+        Map<String, String> latest = orderStates.readKeyValuesToMap();
+        assertThat(latest).containsOnlyKeys("ORD-1", "ORD-2", "ORD-3");
+        assertThat(state(latest.get("ORD-1")).getStatus()).isEqualTo("COMPLETED");
+        assertThat(state(latest.get("ORD-2")).getStatus()).isEqualTo("CANCELLED");
+        assertThat(state(latest.get("ORD-3")).getStatus()).isEqualTo("PENDING");
+        assertThat(state(latest.get("ORD-1")).getUpdatedAt())
+            .isEqualTo(LocalDateTime.ofInstant(BASE_TIME.plusSeconds(2), ZoneOffset.UTC));
+        assertThat(state(latest.get("ORD-2")).getVersion()).isGreaterThan(state(latest.get("ORD-3")).getVersion());
+    }
+    
+    @Test
+    void shouldIgnoreLatePaymentFailureForCompletedOrder() throws Exception {
+        // Given - 결제 완료 뒤 재전달된 결제 실패 (CANCELLED가 버전은 더 큼)
+        order("ORD-5", 0);
+        payment("ORD-5", "PAYMENT_COMPLETED", 1);
+        payment("ORD-5", "PAYMENT_FAILED", 2);
+        
+        // Then
+        Map<String, String> latest = orderStates.readKeyValuesToMap();
+        assertThat(state(latest.get("ORD-5")).getStatus()).isEqualTo("COMPLETED");
+        assertThat(state(latest.get("ORD-5")).getUpdatedAt())
+            .isEqualTo(LocalDateTime.ofInstant(BASE_TIME.plusSeconds(1), ZoneOffset.UTC));
+    }
+    
+    @Test
+    void shouldApplySagaTimeoutCancellationUnderOrderNumber() throws Exception {
+        // Given - 결제 결과 없이 타임아웃으로 보상된 주문 (보상 이벤트 키는 주문 번호 + -compensation)
+        order("ORD-4", 0);
+        Instant time = BASE_TIME.plusSeconds(60);
+        OrderEvent cancelled = OrderEvent.builder()
+            .orderNumber("ORD-4")
+            .status("CANCELLED")
+            .eventType("ORDER_CANCELLED")
+            .eventTime(LocalDateTime.ofInstant(time, ZoneOffset.UTC))
+            .build();
+        orderEvents.pipeInput("ORD-4" + OutboxEvent.COMPENSATION_SUFFIX,
+            objectMapper.writeValueAsString(cancelled), time);
+        
+        // Then - 보상 키가 아니라 주문 번호 아래에 취소 상태가 남음
+        Map<String, String> latest = orderStates.readKeyValuesToMap();
+        assertThat(latest).containsOnlyKeys("ORD-4");
+        assertThat(state(latest.get("ORD-4")).getStatus()).isEqualTo("CANCELLED");
+        assertThat(state(latest.get("ORD-4")).getUpdatedAt()).isEqualTo(LocalDateTime.ofInstant(time, ZoneOffset.UTC));
+    }
+    
+    private OrderState state(String json) throws Exception {
+        return objectMapper.readValue(json, OrderState.class);
+    }
+    
+    private void order(String orderNumber, int offsetSeconds) throws Exception {
+        Instant time = BASE_TIME.plusSeconds(offsetSeconds);
+        OrderEvent event = OrderEvent.builder()
+            .orderNumber(orderNumber)
+            .status("PENDING")
+            .eventType("ORDER_CREATED")
+            .eventTime(LocalDateTime.ofInstant(time, ZoneOffset.UTC))
+            .build();
+        orderEvents.pipeInput(orderNumber, objectMapper.writeValueAsString(event), time);
+    }
+    
+    private void payment(String orderNumber, String eventType, int offsetSeconds) throws Exception {
+        Instant time = BASE_TIME.plusSeconds(offsetSeconds);
+        PaymentEventDTO event = PaymentEventDTO.builder()
+            .orderNumber(orderNumber)
+            .eventType(eventType)
+            .eventTime(LocalDateTime.ofInstant(time, ZoneOffset.UTC))
+            .build();
+        paymentEvents.pipeInput(orderNumber, objectMapper.writeValueAsString(event), time);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.orderservice.reconciliation;
+
+import com.example.orderservice.sharding.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문/결제 대사 도구 테스트 (주문 샤드 2개와 결제 DB를 각각 H2 인메모리 DB로)
+ */
+class ReconciliationToolTest {
+    
+    private static final int CONSISTENT_ORDERS = 300;
+    
+    private final LocalDateTime now = LocalDateTime.now();
+    private final LocalDateTime old = now.minusHours(3);
+    
+    private List<DataSource> shards;
+    private DataSource paymentDb;
+    
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        shards = IntStream.range(0, 2)
+            .mapToObj(shard -> (DataSource) new DriverManagerDataSource(
+                "jdbc:h2:mem:reconciliation-" + run + "-" + shard + ";DB_CLOSE_DELAY=-1", "sa", ""))
+            .toList();
+        shards.forEach(ReconciliationToolTest::createOrderSchema);
+        paymentDb = new DriverManagerDataSource("jdbc:h2:mem:reconciliation-" + run + "-payment;DB_CLOSE_DELAY=-1",
+            "sa", "");
+        createPaymentSchema(paymentDb);
+        
+        // Given - 상태가 맞는 주문/결제 (완료 ↔ 완료, 취소 ↔ 실패)
+        for (int i = 0; i < CONSISTENT_ORDERS; i++) {
+            boolean completed = i % 3 != 0;
+            String orderNumber = newOrderNumber();
+            insertOrder(orderNumber, completed ? "COMPLETED" : "CANCELLED", old);
+            insertPayment(orderNumber, completed ? "COMPLETED" : "FAILED", old);
+        }
+    }
+    
+    @Test
+    void shouldReportEveryMismatchTypeAndSkipInFlightSagas() throws Exception {
+        // Given
+        String missingPayment = newOrderNumber();
+        insertOrder(missingPayment, "PENDING", old);
+        String orderNotUpdated = newOrderNumber();
+        insertOrder(orderNotUpdated, "PENDING", old);
+        insertPayment(orderNotUpdated, "COMPLETED", old);
+        String conflict = newOrderNumber();
+        insertOrder(conflict, "CANCELLED", old);
+        insertPayment(conflict, "COMPLETED", old);
+        String duplicatePayment = newOrderNumber();
+        insertOrder(duplicatePayment, "COMPLETED", old);
+        insertPayment(duplicatePayment, "COMPLETED", old);
+        insertPayment(duplicatePayment, "COMPLETED", old);
+        String orphan = newOrderNumber();
+        insertPayment(orphan, "COMPLETED", old);
+        // 유예 시간 안의 주문과 그 결제는 진행 중인 Saga
+        String inFlight = newOrderNumber();
+        insertOrder(inFlight, "PENDING", now);
+        String inFlightPaid = newOrderNumber();
+        insertOrder(inFlightPaid, "PENDING", now);
+        insertPayment(inFlightPaid, "COMPLETED", now);
+        
+        // When - 작은 청크로 구간/청크 경계를 여러 번 넘김
+        Map<String, Mismatch> mismatches = new ConcurrentHashMap<>();
+        ReconciliationReport report = new ReconciliationTool(shards, paymentDb, 4, 7)
+            .reconcile(now.minusHours(1), false, mismatch -> mismatches.put(mismatch.orderNumber(), mismatch));
+        
+        // Then
+        assertThat(mismatches).hasSize(5);
+        assertThat(mismatches.get(missingPayment).type()).isEqualTo(Mismatch.Type.MISSING_PAYMENT);
+        assertThat(mismatches.get(orderNotUpdated).type()).isEqualTo(Mismatch.Type.ORDER_NOT_UPDATED);
+        assertThat(mismatches.get(conflict).type()).isEqualTo(Mismatch.Type.STATUS_CONFLICT);
+        assertThat(mismatches.get(duplicatePayment).type()).isEqualTo(Mismatch.Type.DUPLICATE_PAYMENT);
+        assertThat(mismatches.get(duplicatePayment).paymentStatus()).isEqualTo("COMPLETED,COMPLETED");
+        assertThat(mismatches.get(orphan).type()).isEqualTo(Mismatch.Type.ORPHAN_PAYMENT);
+        assertThat(mismatches.values()).noneMatch(Mismatch::repaired);
+        assertThat(report.getMatched()).isEqualTo(CONSISTENT_ORDERS);
+        assertThat(report.getOrderRows()).isEqualTo(CONSISTENT_ORDERS + 4);
+        assertThat(report.getPaymentRows()).isEqualTo(CONSISTENT_ORDERS + 6);
+        assertThat(report.getTotalMismatches()).isEqualTo(5);
+    }
+    
+    @Test
+    void shouldReEmitEventsForRepairableMismatches() throws Exception {
+        // Given - 발행된 ORDER_CREATED가 유실된 주문, Outbox 정리 후 payment-events가 유실된 주문
+        String missingPayment = newOrderNumber();
+        insertOrder(missingPayment, "PENDING", old);
+        String orderNotUpdated = newOrderNumber();
+        insertOrder(orderNotUpdated, "PENDING", old);
+        insertPayment(orderNotUpdated, "FAILED", old);
+        new JdbcTemplate(paymentDb).update("DELETE FROM outbox_events WHERE aggregate_id = ?", orderNotUpdated);
+        
+        // When
+        ReconciliationReport report = new ReconciliationTool(shards, paymentDb, 2, 50)
+            .reconcile(now.minusHours(1), true, mismatch -> { });
+        
+        // Then - ORDER_CREATED는 미발행으로 되돌리고, 결제 결과 이벤트는 결제 행으로 새로 만듦
+        assertThat(report.getRepaired()).isEqualTo(2);
+        JdbcTemplate orderShard = new JdbcTemplate(shards.get(ShardRouter.shardFor(missingPayment, 2)));
+        assertThat(orderShard.queryForObject("SELECT published FROM outbox_events WHERE aggregate_id = ?",
+            Boolean.class, missingPayment)).isFalse();
+        Map<String, Object> paymentEvent = new JdbcTemplate(paymentDb).queryForMap(
+            "SELECT event_type, payload, published FROM outbox_events WHERE aggregate_id = ?", orderNotUpdated);
+        assertThat(paymentEvent.get("EVENT_TYPE")).isEqualTo("PAYMENT_FAILED");
+        assertThat(paymentEvent.get("PUBLISHED")).isEqualTo(false);
+        assertThat((String) paymentEvent.get("PAYLOAD")).contains("\"orderNumber\":\"" + orderNotUpdated + "\"");
+    }
+    
+    private static String newOrderNumber() {
+        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+    
+    private void insertOrder(String orderNumber, String status, LocalDateTime createdAt) {
+        JdbcTemplate jdbc = new JdbcTemplate(shards.get(ShardRouter.shardFor(orderNumber, 2)));
+        jdbc.update("INSERT INTO orders (order_number, product_name, quantity, price, total_amount, customer_name, "
+            + "customer_email, status, created_at) VALUES (?, 'Laptop', 1, 1000, 1000, 'Kim', 'kim@example.com', ?, ?)",
+            orderNumber, status, Timestamp.valueOf(createdAt));
+        jdbc.update("INSERT INTO outbox_events (aggregate_id, aggregate_type, event_type, payload, published, "
+            + "created_at, retry_count, next_attempt_at) VALUES (?, 'ORDER', 'ORDER_CREATED', '{}', TRUE, ?, 0, ?)",
+            orderNumber, Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+    
+    private void insertPayment(String orderNumber, String status, LocalDateTime createdAt) {
+        JdbcTemplate jdbc = new JdbcTemplate(paymentDb);
+        jdbc.update("INSERT INTO payments (payment_number, order_id, order_number, amount, status, payment_method, "
+            + "created_at) VALUES (?, 1, ?, 1000, ?, 'CARD', ?)",
+            "PAY-" + UUID.randomUUID(), orderNumber, status, Timestamp.valueOf(createdAt));
+        jdbc.update("MERGE INTO outbox_events (aggregate_id, aggregate_type, event_type, payload, published, "
+            + "created_at, retry_count) KEY (aggregate_id) VALUES (?, 'PAYMENT', 'PAYMENT_COMPLETED', '{}', TRUE, ?, 0)",
+            orderNumber, Timestamp.valueOf(createdAt));
+    }
+    
+    private static void createOrderSchema(DataSource dataSource) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE orders (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "order_number VARCHAR(255) NOT NULL UNIQUE, product_name VARCHAR(255) NOT NULL, quantity INT NOT NULL, "
+            + "price DECIMAL(10, 2) NOT NULL, total_amount DECIMAL(10, 2) NOT NULL, customer_name VARCHAR(255) NOT NULL, "
+            + "customer_email VARCHAR(255) NOT NULL, status VARCHAR(50) NOT NULL, created_at TIMESTAMP NOT NULL)");
+        jdbc.execute("CREATE TABLE outbox_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "aggregate_id VARCHAR(255) NOT NULL UNIQUE, aggregate_type VARCHAR(50) NOT NULL, "
+            + "event_type VARCHAR(100) NOT NULL, payload TEXT NOT NULL, published BOOLEAN NOT NULL, "
+            + "published_at TIMESTAMP, created_at TIMESTAMP NOT NULL, retry_count INT NOT NULL, error_message TEXT, "
+            + "next_attempt_at TIMESTAMP NOT NULL, superseded_by BIGINT)");
+        jdbc.execute("CREATE TABLE parked_outbox_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "aggregate_id VARCHAR(255) NOT NULL UNIQUE, payload TEXT NOT NULL)");
+    }
+    
+    private static void createPaymentSchema(DataSource dataSource) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE payments (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "payment_number VARCHAR(255) NOT NULL UNIQUE, order_id BIGINT NOT NULL, order_number VARCHAR(255) NOT NULL, "
+            + "amount DECIMAL(10, 2) NOT NULL, status VARCHAR(50) NOT NULL, payment_method VARCHAR(50) NOT NULL, "
+            + "created_at TIMESTAMP NOT NULL)");
+        jdbc.execute("CREATE TABLE outbox_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "aggregate_id VARCHAR(255) NOT NULL UNIQUE, aggregate_type VARCHAR(50) NOT NULL, "
+            + "event_type VARCHAR(100) NOT NULL, payload TEXT NOT NULL, published BOOLEAN NOT NULL, "
+            + "published_at TIMESTAMP, created_at TIMESTAMP NOT NULL, retry_count INT NOT NULL, error_message TEXT)");
+    }
+}
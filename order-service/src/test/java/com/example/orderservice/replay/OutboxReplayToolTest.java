@@ -0,0 +1,185 @@
+package com.example.orderservice.replay;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.orderservice.archive.ArchiveConfig;
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.event.EventHeaders;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outbox 리플레이 도구 테스트 (샤드마다 별도 H2 인메모리 DB + 보관 세그먼트, MockProducer)
+ * - 범위/타입 필터, 미발행·대체된 이벤트 제외, 같은 시각의 행이 페이지 경계에 걸려도 빠짐/중복 없음
+ * - 발행 실패로 멈춘 리플레이를 체크포인트에서 이어 함
+ */
+class OutboxReplayToolTest {
+    
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2026, 10, 1, 0, 0);
+    private static final int EVENTS_PER_SOURCE = 60;
+    
+    @TempDir
+    Path directory;
+    
+    private List<DataSource> shards;
+    private ArchiveStore<OutboxEvent> archive;
+    private Set<String> expectedKeys;
+    private final List<ProducerRecord<String, String>> sent = new CopyOnWriteArrayList<>();
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        String run = UUID.randomUUID().toString();
+        shards = IntStream.range(0, 2)
+            .mapToObj(shard -> (DataSource) new DriverManagerDataSource(
+                "jdbc:h2:mem:replay-" + run + "-" + shard + ";DB_CLOSE_DELAY=-1", "sa", ""))
+            .toList();
+        archive = ArchiveConfig.openOutboxArchive(directory.resolve("archive"), 16, 0, new SimpleMeterRegistry());
+        expectedKeys = new HashSet<>();
+        
+        // Given - 소스마다 1분 간격 이벤트 (세 건씩 같은 시각), 짝수 번째는 ORDER_CREATED
+        List<OutboxEvent> archived = new ArrayList<>();
+        for (int i = 0; i < EVENTS_PER_SOURCE; i++) {
+            LocalDateTime createdAt = BASE_TIME.plusMinutes(i / 3);
+            String eventType = i % 2 == 0 ? "ORDER_CREATED" : "ORDER_CANCELLED";
+            for (int shard = 0; shard < shards.size(); shard++) {
+                String key = "ORD-S" + shard + "-" + i;
+                insert(shard, key, eventType, createdAt, true, null);
+                expect(key, eventType, createdAt);
+            }
+            String key = "ORD-A-" + i;
+            archived.add(OutboxEvent.builder()
+                .id(1_000L + i)
+                .aggregateId(key)
+                .aggregateType("ORDER")
+                .eventType(eventType)
+                .payload("{\"orderNumber\":\"" + key + "\"}")
+                .createdAt(createdAt)
+                .publishedAt(createdAt.plusSeconds(1))
+                .build());
+            expect(key, eventType, createdAt);
+        }
+        archive.append(archived);
+        // 미발행(Relay가 발행할 것)과 대체되어 발행하지 않은 이벤트는 대상 아님
+        insert(0, "ORD-UNPUBLISHED", "ORDER_CREATED", BASE_TIME.plusMinutes(3), false, null);
+        insert(1, "ORD-SUPERSEDED", "ORDER_CREATED", BASE_TIME.plusMinutes(3), true, 1L);
+    }
+    
+    @Test
+    void shouldReplayMatchingEventsFromLiveAndArchiveExactlyOnce() throws Exception {
+        // Given
+        OutboxReplayTool tool = newTool(() -> recording(Integer.MAX_VALUE), 3);
+        
+        // When
+        ReplayProgress progress = tool.create("replay-1", request());
+        tool.run(progress);
+        
+        // Then
+        assertThat(progress.getState()).isEqualTo(ReplayProgress.State.COMPLETED);
+        assertThat(sent).hasSameSizeAs(expectedKeys);
+        assertThat(sent.stream().map(ProducerRecord::key)).containsExactlyInAnyOrderElementsOf(expectedKeys);
+        assertThat(sent).allSatisfy(record -> {
+            assertThat(EventHeaders.eventType(record.headers())).isEqualTo("ORDER_CREATED");
+            assertThat(new String(record.headers().lastHeader(OutboxReplayTool.REPLAY_ID_HEADER).value()))
+                .isEqualTo("replay-1");
+        });
+        assertThat(progress.getSent()).isEqualTo(expectedKeys.size());
+        assertThat(ReplayCheckpoint.load(directory, "replay-1").getSlices()).allMatch(ReplaySlice::isDone);
+    }
+    
+    @Test
+    void shouldResumeInterruptedReplayFromCheckpoint() throws Exception {
+        // Given - 발행 스레드 하나가 10건 보낸 뒤 브로커 오류로 실패
+        AtomicInteger producersCreated = new AtomicInteger();
+        OutboxReplayTool failing = newTool(
+            () -> recording(producersCreated.getAndIncrement() == 0 ? 10 : Integer.MAX_VALUE), 3);
+        ReplayProgress first = failing.create("replay-2", request());
+        failing.run(first);
+        assertThat(first.getState()).isEqualTo(ReplayProgress.State.FAILED);
+        long confirmed = ReplayCheckpoint.load(directory, "replay-2").sent();
+        assertThat(confirmed).isLessThan(expectedKeys.size());
+        int sentBeforeResume = sent.size();
+        
+        // When - 다른 발행 스레드 수로 이어 함 (슬라이스 구성은 체크포인트 그대로)
+        OutboxReplayTool tool = newTool(() -> recording(Integer.MAX_VALUE), 1);
+        ReplayProgress resumed = tool.load("replay-2", null);
+        tool.run(resumed);
+        
+        // Then - 확인된 페이지는 다시 보내지 않고, 빠진 이벤트 없음
+        assertThat(resumed.getState()).isEqualTo(ReplayProgress.State.COMPLETED);
+        assertThat(sent.size() - sentBeforeResume).isEqualTo(expectedKeys.size() - confirmed);
+        assertThat(sent.stream().map(ProducerRecord::key).distinct()).containsExactlyInAnyOrderElementsOf(expectedKeys);
+        assertThat(resumed.getSent()).isEqualTo(expectedKeys.size());
+    }
+    
+    private ReplayRequest request() {
+        return new ReplayRequest(BASE_TIME, BASE_TIME.plusMinutes(15), "ORDER", "ORDER_CREATED",
+            ReplayRequest.Source.ALL, 0);
+    }
+    
+    private OutboxReplayTool newTool(Supplier<Producer<String, String>> producers, int producerCount) {
+        return new OutboxReplayTool(shards, archive, producers, producerCount, 4, directory,
+            new SimpleMeterRegistry());
+    }
+    
+    /**
+     * 보낸 레코드를 기록하는 producer (failAfter건을 보낸 뒤에는 send가 실패)
+     */
+    private Producer<String, String> recording(int failAfter) {
+        AtomicInteger remaining = new AtomicInteger(failAfter);
+        return new MockProducer<>(true, new StringSerializer(), new StringSerializer()) {
+            @Override
+            public synchronized Future<RecordMetadata> send(ProducerRecord<String, String> record, Callback callback) {
+                if (remaining.getAndDecrement() <= 0) {
+                    throw new KafkaException("broker unavailable");
+                }
+                sent.add(record);
+                return super.send(record, callback);
+            }
+        };
+    }
+    
+    private void expect(String key, String eventType, LocalDateTime createdAt) {
+        if (eventType.equals("ORDER_CREATED") && createdAt.isBefore(BASE_TIME.plusMinutes(15))) {
+            expectedKeys.add(key);
+        }
+    }
+    
+    private void insert(int shard, String key, String eventType, LocalDateTime createdAt, boolean published,
+                        Long supersededBy) {
+        JdbcTemplate jdbc = new JdbcTemplate(shards.get(shard));
+        jdbc.execute("CREATE TABLE IF NOT EXISTS outbox_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "aggregate_id VARCHAR(255) NOT NULL UNIQUE, aggregate_type VARCHAR(255) NOT NULL, "
+            + "event_type VARCHAR(255) NOT NULL, payload VARCHAR(10000) NOT NULL, published BOOLEAN NOT NULL, "
+            + "created_at TIMESTAMP NOT NULL, published_at TIMESTAMP, superseded_by BIGINT)");
+        jdbc.update("INSERT INTO outbox_events (aggregate_id, aggregate_type, event_type, payload, published, "
+                + "created_at, published_at, superseded_by) VALUES (?, 'ORDER', ?, ?, ?, ?, ?, ?)",
+            key, eventType, "{\"orderNumber\":\"" + key + "\"}", published, createdAt,
+            published ? createdAt.plusSeconds(1) : null, supersededBy);
+    }
+}
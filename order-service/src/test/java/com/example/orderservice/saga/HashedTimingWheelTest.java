@@ -0,0 +1,107 @@
+package com.example.orderservice.saga;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 해시 타이밍 휠 단위 테스트
+ * - 만료 시점, 한 바퀴보다 먼 마감, 취소/재등록, 무작위 연산을 HashMap 기준 구현과 비교
+ */
+class HashedTimingWheelTest {
+    
+    private static final long START = 1_000_000L;
+    
+    @Test
+    void shouldExpireTimersOnlyAfterTheirDeadline() {
+        // Given - tick 100ms, 버킷 8개 (한 바퀴 800ms)
+        HashedTimingWheel wheel = new HashedTimingWheel(Duration.ofMillis(100), 8, 4, START);
+        wheel.schedule(1, START + 250);
+        wheel.schedule(2, START + 300);
+        wheel.schedule(3, START + 2_500); // 세 바퀴 뒤
+        
+        // When & Then
+        assertThat(wheel.advance(START + 250)).isEmpty();
+        assertThat(wheel.advance(START + 300)).containsExactlyInAnyOrder(1, 2);
+        assertThat(wheel.advance(START + 2_400)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START + 2_500)).containsExactly(3);
+        assertThat(wheel.size()).isZero();
+    }
+    
+    @Test
+    void shouldReplaceCancelAndExpirePastDeadlines() {
+        // Given
+        HashedTimingWheel wheel = new HashedTimingWheel(Duration.ofMillis(100), 8, 4, START);
+        wheel.schedule(1, START + 200);
+        wheel.schedule(2, START + 200);
+        wheel.advance(START + 100);
+        
+        // When - 1은 뒤로 미루고, 2는 취소, 3은 이미 지난 마감
+        wheel.schedule(1, START + 1_000);
+        assertThat(wheel.cancel(2)).isTrue();
+        assertThat(wheel.cancel(2)).isFalse();
+        wheel.schedule(3, START - 5_000);
+        
+        // Then - 지난 마감은 다음 tick에 만료
+        assertThat(wheel.advance(START + 200)).containsExactly(3);
+        assertThat(wheel.contains(1)).isTrue();
+        assertThat(wheel.contains(2)).isFalse();
+        assertThat(wheel.advance(START + 1_000)).containsExactly(1);
+    }
+    
+    @Test
+    void shouldMatchReferenceImplementationUnderRandomOperations() {
+        // Given - 작은 초기 크기로 확장/backward shift 삭제/free list 재사용을 모두 거침
+        HashedTimingWheel wheel = new HashedTimingWheel(Duration.ofMillis(10), 16, 1, START);
+        Map<Integer, Long> reference = new HashMap<>();
+        Random random = new Random(46);
+        long now = START;
+        
+        for (int step = 0; step < 200_000; step++) {
+            // 키 범위를 좁혀 충돌과 재등록이 자주 일어나게 함
+            int key = random.nextInt(5_000) * 0x10001;
+            int operation = random.nextInt(10);
+            if (operation < 6) {
+                long deadline = now + random.nextInt(1_000);
+                wheel.schedule(key, deadline);
+                reference.put(key, Math.max(tickCeil(deadline), tickOf(now) + 1));
+            } else if (operation < 9) {
+                assertThat(wheel.cancel(key)).isEqualTo(reference.remove(key) != null);
+            } else {
+                now += random.nextInt(50);
+                long current = tickOf(now);
+                List<Integer> expected = reference.entrySet().stream()
+                    .filter(entry -> entry.getValue() <= current)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+                expected.forEach(reference::remove);
+                
+                // Then
+                int[] expired = wheel.advance(now);
+                assertThat(Arrays.stream(expired).boxed().toList()).containsExactlyInAnyOrderElementsOf(expected);
+                assertThat(wheel.size()).isEqualTo(reference.size());
+            }
+        }
+        reference.keySet().forEach(key -> assertThat(wheel.contains(key)).isTrue());
+    }
+    
+    /**
+     * 휠과 같은 tick 계산 (10ms tick, 마감은 올림)
+     */
+    private static long tickOf(long millis) {
+        return Math.floorDiv(millis - START, 10);
+    }
+    
+    private static long tickCeil(long millis) {
+        return Math.floorDiv(millis - START + 9, 10);
+    }
+}
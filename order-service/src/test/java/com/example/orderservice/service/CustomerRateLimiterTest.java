@@ -0,0 +1,131 @@
+package com.example.orderservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 고객별 속도 제한 및 가중 공정 큐잉 단위 테스트
+ */
+class CustomerRateLimiterTest {
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    @Test
+    void shouldAllowBurstThenRejectPerCustomer() {
+        // Given - 초당 1건, 버스트 3건
+        CustomerRateLimiter limiter = new CustomerRateLimiter(meterRegistry, true, 1, 3, 300);
+        
+        // When
+        long first = limiter.tryAcquire("bulk@example.com");
+        long second = limiter.tryAcquire("BULK@example.com");
+        long third = limiter.tryAcquire("bulk@example.com");
+        long fourth = limiter.tryAcquire("bulk@example.com");
+        
+        // Then - 대소문자 무관하게 같은 고객, 버스트 이후 거절
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(fourth).isPositive().isLessThanOrEqualTo(1000);
+        
+        // 다른 고객은 영향 없음
+        assertThat(limiter.tryAcquire("other@example.com")).isZero();
+        assertThat(meterRegistry.get("order.ratelimit.rejected").counter().count()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldEvictIdleCustomers() {
+        // Given - 유휴 기준 0초
+        CustomerRateLimiter limiter = new CustomerRateLimiter(meterRegistry, true, 1000, 1, 0);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("customer" + i + "@example.com");
+        }
+        assertThat(limiter.trackedCustomers()).isEqualTo(100);
+        
+        // When
+        sleepMillis(5);
+        limiter.evictIdleCustomers();
+        
+        // Then
+        assertThat(limiter.trackedCustomers()).isZero();
+    }
+    
+    @Test
+    void shouldInterleaveCustomersByWeightWhenSaturated() throws Exception {
+        // Given - 동시 처리 1건, heavy 고객은 10건 대기, light 고객은 가중치 2로 4건 대기
+        FairIntakeScheduler scheduler = new FairIntakeScheduler(meterRegistry, 1, 5000, 1, "light@example.com=2");
+        assertThat(scheduler.acquire("warmup@example.com")).isTrue();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(14);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(14);
+        for (int i = 0; i < 10; i++) {
+            submit(executor, scheduler, "heavy@example.com", order, done);
+            awaitWaiting(scheduler, i + 1);
+        }
+        for (int i = 0; i < 4; i++) {
+            submit(executor, scheduler, "light@example.com", order, done);
+            awaitWaiting(scheduler, 11 + i);
+        }
+        
+        // When
+        scheduler.release();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        
+        // Then - light 고객 4건은 heavy 고객 10건이 모두 끝나기 전에 처리됨 (heavy 1건 : light 2건)
+        int lastLight = order.lastIndexOf("light@example.com");
+        assertThat(lastLight).isLessThan(7);
+        assertThat(meterRegistry.get("order.intake.waiting").gauge().value()).isZero();
+    }
+    
+    @Test
+    void shouldTimeOutWhenNoSlotBecomesAvailable() throws Exception {
+        // Given
+        FairIntakeScheduler scheduler = new FairIntakeScheduler(meterRegistry, 1, 20, 1, "");
+        assertThat(scheduler.acquire("a@example.com")).isTrue();
+        
+        // Then
+        assertThat(scheduler.acquire("b@example.com")).isFalse();
+        assertThat(meterRegistry.get("order.intake.timeouts").counter().count()).isEqualTo(1);
+        
+        scheduler.release();
+        assertThat(scheduler.acquire("b@example.com")).isTrue();
+    }
+    
+    private void submit(ExecutorService executor, FairIntakeScheduler scheduler, String customer,
+                        List<String> order, CountDownLatch done) {
+        executor.submit(() -> {
+            if (scheduler.acquire(customer)) {
+                order.add(customer);
+                scheduler.release();
+            }
+            done.countDown();
+            return null;
+        });
+    }
+    
+    private void awaitWaiting(FairIntakeScheduler scheduler, int expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (scheduler.getWaiting() < expected && System.currentTimeMillis() < deadline) {
+            sleepMillis(1);
+        }
+    }
+    
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.orderservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outbox 백로그 기반 접수 제어 단위 테스트
+ */
+class OrderAdmissionControlTest {
+    
+    private final OutboxBacklogTracker tracker = new OutboxBacklogTracker();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderAdmissionControl admissionControl =
+        new OrderAdmissionControl(tracker, meterRegistry, true, 10, 20, 30, 120, 5);
+    
+    @Test
+    void shouldAdmitWhenBacklogIsBelowSoftThreshold() {
+        // Given
+        tracker.reset(10, LocalDateTime.now());
+        
+        // Then
+        assertThat(admissionControl.tryAdmit()).isTrue();
+        assertThat(admissionControl.getPressure()).isZero();
+    }
+    
+    @Test
+    void shouldShedAllWhenBacklogDepthExceedsHardThreshold() {
+        // Given
+        tracker.reset(20, LocalDateTime.now());
+        
+        // Then
+        assertThat(admissionControl.tryAdmit()).isFalse();
+        assertThat(meterRegistry.get("order.admission.shed").tag("reason", "backlog_depth").counter().count())
+            .isEqualTo(1);
+    }
+    
+    @Test
+    void shouldShedAllWhenOldestEventExceedsHardAge() {
+        // Given
+        tracker.reset(1, LocalDateTime.now().minusMinutes(5));
+        
+        // Then
+        assertThat(admissionControl.tryAdmit()).isFalse();
+        assertThat(meterRegistry.get("order.admission.shed").tag("reason", "backlog_age").counter().count())
+            .isEqualTo(1);
+    }
+    
+    @Test
+    void shouldShedProgressivelyBetweenSoftAndHardThresholds() {
+        // Given - soft와 hard의 중간 (압력 0.5)
+        tracker.reset(15, LocalDateTime.now());
+        
+        // When
+        int admitted = 0;
+        for (int i = 0; i < 2000; i++) {
+            if (admissionControl.tryAdmit()) {
+                admitted++;
+            }
+        }
+        
+        // Then
+        assertThat(admissionControl.getPressure()).isEqualTo(0.5);
+        assertThat(admitted).isBetween(800, 1200);
+    }
+    
+    @Test
+    void shouldTrackEnqueuedAndPublishedEventsInMemory() {
+        // When
+        tracker.recordEnqueued();
+        tracker.recordEnqueued();
+        tracker.recordPublished();
+        
+        // Then
+        assertThat(tracker.getDepth()).isEqualTo(1);
+        
+        tracker.recordPublished();
+        assertThat(tracker.getDepth()).isZero();
+        assertThat(tracker.getOldestAgeMillis()).isZero();
+    }
+    
+    @Test
+    void shouldDropParkedEventsFromBacklogWithoutWaitingForReconcile() {
+        // Given
+        tracker.reset(2, LocalDateTime.now().minusSeconds(10));
+        
+        // When - 재시도를 소진해 보관 테이블로 이동 (트랜잭션 밖이면 바로 반영)
+        tracker.recordRemovedAfterCommit();
+        tracker.recordRemovedAfterCommit();
+        
+        // Then
+        assertThat(tracker.getDepth()).isZero();
+        assertThat(tracker.getOldestAgeMillis()).isZero();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 주문 상태 전이 테스트 (H2 + JPA 슬라이스, 조건부 UPDATE를 실제로 실행)
+ * - 늦게 도착한 결제 결과가 최종 상태를 덮어쓰지 않음, 읽은 뒤 바뀐 주문은 version으로 거부
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({OrderTransitionService.class, OrderTransitionServiceTest.Metrics.class})
+class OrderTransitionServiceTest {
+    
+    @Autowired
+    private OrderTransitionService orderTransitionService;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Test
+    void shouldNotResurrectCancelledOrderWithLatePaymentResult() {
+        // Given
+        saveOrder("ORD-0000000A", Order.OrderStatus.PENDING);
+        
+        // When - 취소 뒤 같은 주문의 결제 완료가 늦게 도착
+        OrderTransitionService.Result cancelled =
+            orderTransitionService.transition("ORD-0000000A", Order.OrderStatus.CANCELLED);
+        OrderTransitionService.Result completed =
+            orderTransitionService.transition("ORD-0000000A", Order.OrderStatus.COMPLETED);
+        OrderTransitionService.Result redelivered =
+            orderTransitionService.transition("ORD-0000000A", Order.OrderStatus.CANCELLED);
+        
+        // Then
+        assertThat(cancelled).isEqualTo(OrderTransitionService.Result.APPLIED);
+        assertThat(completed).isEqualTo(OrderTransitionService.Result.REJECTED);
+        assertThat(redelivered).isEqualTo(OrderTransitionService.Result.DUPLICATE);
+        Order order = reload("ORD-0000000A");
+        assertThat(order.getStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
+        assertThat(order.getVersion()).isEqualTo(1L);
+        assertThat(meterRegistry.counter("order.status.transitions",
+            "target", "COMPLETED", "result", "REJECTED").count()).isEqualTo(1.0);
+        assertThatThrownBy(() -> orderTransitionService.transition("ORD-FFFFFFFF", Order.OrderStatus.COMPLETED))
+            .isInstanceOf(IllegalStateException.class);
+    }
+    
+    @Test
+    void shouldRejectTransitionOfOrderChangedAfterRead() {
+        // Given - 보상 쪽이 주문을 읽은 뒤 결제 완료가 먼저 반영됨
+        saveOrder("ORD-0000000B", Order.OrderStatus.PENDING);
+        Order read = reload("ORD-0000000B");
+        entityManager.detach(read);
+        orderTransitionService.transition("ORD-0000000B", Order.OrderStatus.COMPLETED);
+        
+        // When
+        OrderTransitionService.Result result = orderTransitionService.transition(read, Order.OrderStatus.CANCELLED);
+        
+        // Then
+        assertThat(result).isEqualTo(OrderTransitionService.Result.REJECTED);
+        assertThat(reload("ORD-0000000B").getStatus()).isEqualTo(Order.OrderStatus.COMPLETED);
+    }
+    
+    private void saveOrder(String orderNumber, Order.OrderStatus status) {
+        orderRepository.saveAndFlush(Order.builder()
+            .orderNumber(orderNumber)
+            .productName("노트북")
+            .quantity(1)
+            .price(new BigDecimal("1000.00"))
+            .totalAmount(new BigDecimal("1000.00"))
+            .customerName("홍길동")
+            .customerEmail("hong@example.com")
+            .status(status)
+            .build());
+        entityManager.clear();
+    }
+    
+    private Order reload(String orderNumber) {
+        entityManager.clear();
+        return orderRepository.findByOrderNumber(orderNumber).orElseThrow();
+    }
+    
+    @TestConfiguration
+    static class Metrics {
+        
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
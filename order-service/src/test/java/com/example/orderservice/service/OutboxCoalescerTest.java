@@ -0,0 +1,69 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.OutboxEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 백로그 Outbox 이벤트 병합 규칙 단위 테스트
+ */
+class OutboxCoalescerTest {
+    
+    private final OutboxCoalescer coalescer = new OutboxCoalescer(null, null, new SimpleMeterRegistry(),
+        true, 1000, 1000, OutboxCoalescer.DEFAULT_RULES);
+    
+    @Test
+    void shouldSkipEventsSupersededByLaterCancellationOfSameOrder() {
+        // Given - 재시도로 nextAttemptAt 순서와 생성(ID) 순서가 섞인 윈도우
+        OutboxEvent created = event(1, "ORD-AAAA0001", "ORDER_CREATED");
+        OutboxEvent otherOrder = event(2, "ORD-BBBB0002", "ORDER_CREATED");
+        OutboxEvent cancelled = event(4, "ORD-AAAA0001" + OutboxEvent.COMPENSATION_SUFFIX, "ORDER_CANCELLED");
+        
+        // When
+        Map<OutboxEvent, OutboxEvent> superseded = coalescer.coalesce(List.of(cancelled, created, otherOrder));
+        
+        // Then - 보상 이벤트도 같은 주문으로 보고, 다른 주문은 그대로
+        assertThat(superseded).containsOnly(Map.entry(created, cancelled));
+    }
+    
+    @Test
+    void shouldApplyConfiguredRulesForAdditionalEventTypes() {
+        // Given - 주문 전체 상태를 담는 이벤트 타입을 추가했을 때의 규칙
+        OutboxCoalescer withUpdates = new OutboxCoalescer(null, null, new SimpleMeterRegistry(),
+            true, 1000, 1000, "ORDER_CANCELLED=ORDER_CREATED|ORDER_UPDATED,ORDER_UPDATED=ORDER_UPDATED");
+        OutboxEvent created = event(1, "ORD-AAAA0001", "ORDER_CREATED");
+        OutboxEvent firstUpdate = event(2, "ORD-AAAA0001", "ORDER_UPDATED");
+        OutboxEvent secondUpdate = event(3, "ORD-AAAA0001", "ORDER_UPDATED");
+        OutboxEvent lastUpdate = event(4, "ORD-AAAA0001", "ORDER_UPDATED");
+        
+        // When
+        Map<OutboxEvent, OutboxEvent> superseded =
+            withUpdates.coalesce(List.of(created, firstUpdate, secondUpdate, lastUpdate));
+        
+        // Then - 생성 이벤트는 남고, 앞의 변경은 모두 가장 마지막(남는) 이벤트로 대체됨
+        assertThat(superseded).containsOnly(Map.entry(firstUpdate, lastUpdate), Map.entry(secondUpdate, lastUpdate));
+    }
+    
+    @Test
+    void shouldOnlyCoalesceWhileDrainingBacklog() {
+        assertThat(coalescer.isActive(999)).isFalse();
+        assertThat(coalescer.isActive(1000)).isTrue();
+        assertThat(new OutboxCoalescer(null, null, new SimpleMeterRegistry(), false, 0, 1000, "").isActive(5000))
+            .isFalse();
+    }
+    
+    private static OutboxEvent event(long id, String aggregateId, String eventType) {
+        return OutboxEvent.builder()
+            .id(id)
+            .aggregateId(aggregateId)
+            .aggregateType("ORDER")
+            .eventType(eventType)
+            .payload("{}")
+            .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.entity.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.example.orderservice.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Outbox Relay와 접수 제어 연동 단위 테스트 (outbox_events는 메모리 목록으로 대신함)
+ * - 백로그가 0이 되지 않는 꾸준한 트래픽에서 Relay가 돌 때마다 최고령 시각이 남은 행 기준으로 보정되어
+ *   이미 발행된 이벤트의 대기 시간 때문에 주문을 거절하지 않는지 검증
+ */
+class OutboxEventRelayServiceTest {
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxBacklogTracker tracker = new OutboxBacklogTracker();
+    private final OrderAdmissionControl admissionControl =
+        new OrderAdmissionControl(tracker, meterRegistry, true, 1000, 5000, 30, 120, 5);
+    private final List<OutboxEvent> outbox = new ArrayList<>();
+    
+    private OutboxEventRelayService relayService;
+    private long nextId;
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        OutboxEventRepository repository = mock(OutboxEventRepository.class);
+        when(repository.findDueEvents(any(), any())).thenAnswer(invocation -> {
+            Pageable page = invocation.getArgument(1);
+            return unpublished().limit(page.getPageSize()).toList();
+        });
+        when(repository.markAsPublished(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            outbox.stream().filter(event -> ids.contains(event.getId())).forEach(event -> event.setPublished(true));
+            return ids.size();
+        });
+        when(repository.findOldestUnpublishedCreatedAt())
+            .thenAnswer(invocation -> unpublished().map(OutboxEvent::getCreatedAt).findFirst().orElse(null));
+        
+        // Kafka 응답을 기다리는 동안 새 주문이 계속 들어옴 → 한 바퀴가 끝나도 백로그가 0이 되지 않음
+        KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            enqueue(LocalDateTime.now());
+            return CompletableFuture.completedFuture(null);
+        });
+        
+        relayService = new OutboxEventRelayService(repository, kafkaTemplate, tracker,
+            new OutboxRetryPolicy(1000, 300000, 10), mock(OutboxParkingService.class),
+            new OutboxCoalescer(null, null, meterRegistry, false, 1000, 1000, ""),
+            mock(OutboxArchiveService.class), new ShardRouter(1), null, meterRegistry);
+    }
+    
+    @Test
+    void shouldNotShedSteadyTrafficAfterOldBacklogIsPublished() {
+        // Given - 장애에서 복구한 직후: 40초 전 이벤트가 남아 있고 보정된 메모리 수치도 그 시각을 가리킴
+        enqueue(LocalDateTime.now().minusSeconds(40));
+        tracker.reset(1, LocalDateTime.now().minusSeconds(40));
+        assertThat(admissionControl.getPressure()).isPositive();
+        
+        // When - 꾸준한 트래픽 (Relay 한 바퀴마다 새 주문 2건 + 발행 중에 들어오는 주문)
+        for (int round = 0; round < 20; round++) {
+            enqueue(LocalDateTime.now());
+            enqueue(LocalDateTime.now());
+            relayService.relayUnpublishedEvents();
+            
+            // Then - 백로그는 남아 있지만 모두 방금 들어온 이벤트이므로 거절하지 않음
+            assertThat(tracker.getDepth()).isPositive();
+            assertThat(tracker.getOldestAgeMillis()).isLessThan(5_000);
+            assertThat(admissionControl.getPressure()).isZero();
+            for (int request = 0; request < 50; request++) {
+                assertThat(admissionControl.tryAdmit()).isTrue();
+            }
+        }
+        assertThat(meterRegistry.find("order.admission.shed").counters())
+            .allSatisfy(counter -> assertThat(counter.count()).isZero());
+    }
+    
+    private void enqueue(LocalDateTime createdAt) {
+        outbox.add(OutboxEvent.builder()
+            .id(++nextId)
+            .aggregateId("ORD-" + nextId)
+            .aggregateType("ORDER")
+            .eventType("ORDER_CREATED")
+            .payload("{}")
+            .createdAt(createdAt)
+            .nextAttemptAt(createdAt)
+            .build());
+        tracker.recordEnqueued();
+    }
+    
+    private Stream<OutboxEvent> unpublished() {
+        return outbox.stream()
+            .filter(event -> !event.getPublished())
+            .sorted(Comparator.comparing(OutboxEvent::getCreatedAt));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.orderservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Outbox 재시도 백오프 정책 단위 테스트
+ */
+class OutboxRetryPolicyTest {
+    
+    private final OutboxRetryPolicy policy = new OutboxRetryPolicy(1000, 60_000, 5);
+    
+    @Test
+    void shouldDoubleBackoffCeilingPerFailure() {
+        // random = 1에 가까운 값이면 상한, 0이면 상한의 절반
+        assertThat(policy.backoff(1, 0.0)).isEqualTo(Duration.ofMillis(500));
+        assertThat(policy.backoff(2, 0.0)).isEqualTo(Duration.ofMillis(1000));
+        assertThat(policy.backoff(3, 0.0)).isEqualTo(Duration.ofMillis(2000));
+        assertThat(policy.backoff(3, 0.999)).isBetween(Duration.ofMillis(3990), Duration.ofMillis(4000));
+    }
+    
+    @Test
+    void shouldCapBackoffAtMaxDelayWithoutOverflow() {
+        assertThat(policy.backoff(10, 0.0)).isEqualTo(Duration.ofMillis(30_000));
+        assertThat(policy.backoff(1_000, 0.999)).isBetween(Duration.ofMillis(59_900), Duration.ofMillis(60_000));
+        assertThat(policy.backoff(Integer.MAX_VALUE, 0.0)).isEqualTo(Duration.ofMillis(30_000));
+    }
+    
+    @Test
+    void shouldSpreadEventsThatFailedAtTheSameMoment() {
+        LocalDateTime now = LocalDateTime.now();
+        
+        long distinct = IntStream.range(0, 100)
+            .mapToObj(i -> policy.nextAttemptAt(4, now))
+            .distinct()
+            .count();
+        
+        assertThat(distinct).isGreaterThan(50);
+    }
+    
+    @Test
+    void shouldBeExhaustedAfterMaxAttempts() {
+        assertThat(policy.isExhausted(4)).isFalse();
+        assertThat(policy.isExhausted(5)).isTrue();
+    }
+    
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new OutboxRetryPolicy(1000, 500, 5))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.orderservice.sharding;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리샤딩 도구 테스트 (샤드마다 별도 H2 인메모리 DB)
+ */
+class ReshardingToolTest {
+    
+    private static final int ORDER_COUNT = 300;
+    
+    private List<DataSource> shards;
+    private List<String> orderNumbers;
+    private List<String> keyHashes;
+    
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        shards = IntStream.range(0, 3)
+            .mapToObj(shard -> (DataSource) new DriverManagerDataSource(
+                "jdbc:h2:mem:resharding-" + run + "-" + shard + ";DB_CLOSE_DELAY=-1", "sa", ""))
+            .toList();
+        shards.forEach(ReshardingToolTest::createSchema);
+        
+        // Given - 2개 샤드 기준으로 배치된 주문 (새 3번째 샤드는 비어 있음)
+        orderNumbers = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            String orderNumber = "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+            insertOrder(shards.get(ShardRouter.shardFor(orderNumber, 2)), orderNumber);
+            orderNumbers.add(orderNumber);
+        }
+        keyHashes = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            String keyHash = UUID.randomUUID().toString().replace("-", "");
+            insertIdempotencyKey(shards.get(ShardRouter.shardFor(keyHash, 2)), keyHash);
+            keyHashes.add(keyHash);
+        }
+    }
+    
+    @Test
+    void shouldMoveOrdersAndTheirOutboxEventsToTheirNewShard() throws Exception {
+        // When
+        int moved = new ReshardingTool(shards).migrate(3);
+        
+        // Then - 모든 주문과 이벤트가 새 배치의 샤드에 정확히 한 벌씩 존재
+        assertThat(moved).isPositive().isLessThan(ORDER_COUNT);
+        for (String orderNumber : orderNumbers) {
+            int expected = ShardRouter.shardFor(orderNumber, 3);
+            for (int shard = 0; shard < shards.size(); shard++) {
+                int count = shard == expected ? 1 : 0;
+                assertThat(countRows(shard, "orders", "order_number", orderNumber)).isEqualTo(count);
+                assertThat(countRows(shard, "outbox_events", "aggregate_id", orderNumber)).isEqualTo(count);
+                assertThat(countRows(shard, "outbox_events", "aggregate_id", orderNumber + "-compensation"))
+                    .isEqualTo(count);
+            }
+        }
+        for (String keyHash : keyHashes) {
+            int expected = ShardRouter.shardFor(keyHash, 3);
+            for (int shard = 0; shard < shards.size(); shard++) {
+                assertThat(countRows(shard, "idempotency_keys", "key_hash", keyHash))
+                    .isEqualTo(shard == expected ? 1 : 0);
+            }
+        }
+    }
+    
+    @Test
+    void shouldBeIdempotentWhenInterruptedAfterCopy() throws Exception {
+        // Given - 대상에 복사만 되고 원본 삭제 전에 중단된 주문
+        String orderNumber = orderNumbers.stream()
+            .filter(number -> ShardRouter.shardFor(number, 3) == 2)
+            .findFirst()
+            .orElseThrow();
+        insertOrder(shards.get(2), orderNumber);
+        
+        // When
+        new ReshardingTool(shards).migrate(3);
+        int movedAgain = new ReshardingTool(shards).migrate(3);
+        
+        // Then
+        assertThat(movedAgain).isZero();
+        assertThat(countRows(2, "orders", "order_number", orderNumber)).isEqualTo(1);
+        assertThat(countRows(0, "orders", "order_number", orderNumber)
+            + countRows(1, "orders", "order_number", orderNumber)).isZero();
+    }
+    
+    @Test
+    void shouldRewriteStoredOrderIdOfIdempotencyKeys() throws Exception {
+        // Given - 2개 샤드 기준 전역 ID를 담은 응답이 저장된 키 (하나는 이동하는 주문, 하나는 남는 주문)
+        String moving = orderNumbers.stream()
+            .filter(number -> ShardRouter.shardFor(number, 3) == 2)
+            .findFirst()
+            .orElseThrow();
+        String staying = orderNumbers.stream()
+            .filter(number -> ShardRouter.shardFor(number, 3) != 2)
+            .findFirst()
+            .orElseThrow();
+        for (String orderNumber : List.of(moving, staying)) {
+            int shard = ShardRouter.shardFor(orderNumber, 2);
+            long oldId = ShardRouter.toGlobalId(shard, localId(shard, orderNumber), 2);
+            String keyHash = "key-" + orderNumber;
+            new JdbcTemplate(shards.get(ShardRouter.shardFor(keyHash, 2))).update(
+                "INSERT INTO idempotency_keys (key_hash, order_number, response_body, expires_on) "
+                    + "VALUES (?, ?, ?, CURRENT_DATE)",
+                keyHash, orderNumber, "{\"id\":" + oldId + ",\"orderNumber\":\"" + orderNumber
+                    + "\",\"price\":1500000.00}");
+        }
+        
+        // When
+        new ReshardingTool(shards).migrate(3);
+        
+        // Then - 재시도에 돌려줄 id가 새 배치에서 조회되는 전역 ID
+        for (String orderNumber : List.of(moving, staying)) {
+            int shard = ShardRouter.shardFor(orderNumber, 3);
+            long newId = ShardRouter.toGlobalId(shard, localId(shard, orderNumber), 3);
+            String keyHash = "key-" + orderNumber;
+            String body = new JdbcTemplate(shards.get(ShardRouter.shardFor(keyHash, 3))).queryForObject(
+                "SELECT response_body FROM idempotency_keys WHERE key_hash = ?", String.class, keyHash);
+            assertThat(body).isEqualTo("{\"id\":" + newId + ",\"orderNumber\":\"" + orderNumber
+                + "\",\"price\":1500000.00}");
+        }
+    }
+    
+    private static void createSchema(DataSource dataSource) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE orders (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "order_number VARCHAR(255) NOT NULL UNIQUE, product_name VARCHAR(255) NOT NULL, "
+            + "quantity INT NOT NULL, status VARCHAR(50) NOT NULL, created_at TIMESTAMP NOT NULL)");
+        jdbc.execute("CREATE TABLE outbox_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "aggregate_id VARCHAR(255) NOT NULL UNIQUE, event_type VARCHAR(100) NOT NULL, "
+            + "payload TEXT NOT NULL, published BOOLEAN NOT NULL)");
+        jdbc.execute("CREATE TABLE parked_outbox_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "aggregate_id VARCHAR(255) NOT NULL UNIQUE, payload TEXT NOT NULL)");
+        jdbc.execute("CREATE TABLE idempotency_keys (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "key_hash VARCHAR(64) NOT NULL UNIQUE, order_number VARCHAR(255) NOT NULL, "
+            + "response_body TEXT NOT NULL, expires_on DATE NOT NULL)");
+    }
+    
+    private static void insertOrder(DataSource dataSource, String orderNumber) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO orders (order_number, product_name, quantity, status, created_at) "
+            + "VALUES (?, 'Laptop', 1, 'CANCELLED', CURRENT_TIMESTAMP)", orderNumber);
+        jdbc.update("INSERT INTO outbox_events (aggregate_id, event_type, payload, published) "
+            + "VALUES (?, 'ORDER_CREATED', '{}', TRUE)", orderNumber);
+        jdbc.update("INSERT INTO outbox_events (aggregate_id, event_type, payload, published) "
+            + "VALUES (?, 'ORDER_CANCELLED', '{}', FALSE)", orderNumber + "-compensation");
+    }
+    
+    private static void insertIdempotencyKey(DataSource dataSource, String keyHash) {
+        new JdbcTemplate(dataSource).update("INSERT INTO idempotency_keys (key_hash, order_number, response_body, "
+            + "expires_on) VALUES (?, 'ORD-00000000', '{}', CURRENT_DATE)", keyHash);
+    }
+    
+    private long localId(int shard, String orderNumber) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject(
+            "SELECT id FROM orders WHERE order_number = ?", Long.class, orderNumber);
+    }
+    
+    private int countRows(int shard, String table, String keyColumn, String key) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject(
+            "SELECT COUNT(*) FROM " + table + " WHERE " + keyColumn + " = ?", Integer.class, key);
+    }
+}
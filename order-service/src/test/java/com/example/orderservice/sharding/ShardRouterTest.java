@@ -0,0 +1,129 @@
+package com.example.orderservice.sharding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * 샤드 매핑 / 전역 ID / scatter-gather 단위 테스트
+ */
+class ShardRouterTest {
+    
+    private final ShardRouter router = new ShardRouter(4);
+    
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+    }
+    
+    @Test
+    void shouldSpreadOrderNumbersEvenlyAcrossShards() {
+        int[] counts = new int[4];
+        for (int i = 0; i < 40_000; i++) {
+            counts[router.shardFor(orderNumber())]++;
+        }
+        
+        // 기대값 10,000건의 ±5% 이내
+        assertThat(IntStream.of(counts)).allSatisfy(count -> assertThat(count).isBetween(9_500, 10_500));
+    }
+    
+    @Test
+    void shouldOnlyMoveKeysToTheNewShardWhenAddingAShard() {
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String orderNumber = orderNumber();
+            int before = ShardRouter.shardFor(orderNumber, 4);
+            int after = ShardRouter.shardFor(orderNumber, 5);
+            if (before != after) {
+                assertThat(after).isEqualTo(4);
+                moved++;
+            }
+        }
+        
+        // 약 1/5만 이동 (modulo 해시는 약 4/5가 이동)
+        assertThat(moved).isBetween(1_700, 2_300);
+    }
+    
+    @Test
+    void shouldRoundTripGlobalIds() {
+        long globalId = router.toGlobalId(3, 12_345);
+        
+        assertThat(router.shardOfGlobalId(globalId)).isEqualTo(3);
+        assertThat(router.localIdOf(globalId)).isEqualTo(12_345);
+        assertThat(router.isValidGlobalId(globalId)).isTrue();
+        assertThat(router.isValidGlobalId(router.toGlobalId(0, 1) + 10)).isFalse(); // 없는 샤드 번호
+    }
+    
+    @Test
+    void shouldKeepLocalIdsWhenShardingIsDisabled() {
+        ShardRouter single = new ShardRouter(1);
+        
+        assertThat(single.toGlobalId(0, 42)).isEqualTo(42);
+        assertThat(single.localIdOf(42)).isEqualTo(42);
+        assertThat(single.shardFor(orderNumber())).isZero();
+    }
+    
+    @Test
+    void shouldRunEachShardQueryWithItsShardContext() {
+        List<Integer> contexts = router.scatterGather(shard -> List.of(ShardContext.current()));
+        
+        assertThat(contexts).containsExactly(0, 1, 2, 3);
+    }
+    
+    @Test
+    void shouldNotQueueRequestQueriesBehindRelayLoops() throws Exception {
+        // Given - 모든 샤드의 Relay 루프가 아직 끝나지 않음
+        CountDownLatch relayRunning = new CountDownLatch(4);
+        CountDownLatch releaseRelay = new CountDownLatch(1);
+        ExecutorService scheduler = Executors.newSingleThreadExecutor();
+        Future<List<Integer>> relay = scheduler.submit(() -> router.relayOnEachShard(shard -> {
+            relayRunning.countDown();
+            awaitQuietly(releaseRelay);
+            return shard;
+        }));
+        assertThat(relayRunning.await(5, TimeUnit.SECONDS)).isTrue();
+        
+        // When & Then - 요청 경로 조회와 예약 작업은 다른 풀에서 바로 실행되고, 안쪽 병렬 실행도 교착되지 않음
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThat(router.scatterGather(shard -> List.of(ShardContext.current()))).containsExactly(0, 1, 2, 3);
+            assertThat(router.runJobOnEachShard(shard -> router.scatterGather(inner -> List.of(inner)).size()))
+                .containsExactly(4, 4, 4, 4);
+        });
+        
+        releaseRelay.countDown();
+        assertThat(relay.get(5, TimeUnit.SECONDS)).containsExactly(0, 1, 2, 3);
+        scheduler.shutdown();
+    }
+    
+    @Test
+    void shouldRejectOutOfRangeShardCount() {
+        assertThatThrownBy(() -> new ShardRouter(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ShardRouter(ShardRouter.MAX_SHARDS + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static String orderNumber() {
+        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+}
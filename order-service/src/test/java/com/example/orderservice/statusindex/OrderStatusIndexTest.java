@@ -0,0 +1,119 @@
+package com.example.orderservice.statusindex;
+
+import com.example.orderservice.entity.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 상태 인덱스 단위 테스트
+ * - 버전 단조 증가, 이벤트 전이는 전이 표 기준, 인덱스 대상이 아닌 주문 번호, 확장, 확장 중 동시 조회
+ */
+class OrderStatusIndexTest {
+    
+    @Test
+    void shouldKeepHighestVersionRegardlessOfArrivalOrder() {
+        // Given
+        OrderStatusIndex index = new OrderStatusIndex(100);
+        int pending = OrderStatusIndex.lifecycleVersion(Order.OrderStatus.PENDING);
+        int completed = OrderStatusIndex.lifecycleVersion(Order.OrderStatus.COMPLETED);
+        
+        // When - 결제 완료가 주문 생성 이벤트보다 먼저 도착, 같은 이벤트 재전달
+        assertThat(index.apply("ORD-1A2B3C4D", Order.OrderStatus.COMPLETED, completed)).isTrue();
+        assertThat(index.apply("ORD-1A2B3C4D", Order.OrderStatus.PENDING, pending)).isFalse();
+        assertThat(index.apply("ORD-1A2B3C4D", Order.OrderStatus.COMPLETED, completed)).isFalse();
+        
+        // Then
+        assertThat(index.lookup("ORD-1A2B3C4D"))
+            .isEqualTo(new OrderStatusIndex.Entry(Order.OrderStatus.COMPLETED, completed));
+        assertThat(index.lookup("ORD-FFFFFFFF")).isNull();
+        assertThat(index.size()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldApplyEventTransitionsOnlyWhenAllowedFromCurrentStatus() {
+        // Given
+        OrderStatusIndex index = new OrderStatusIndex(100);
+        assertThat(index.applyTransition("ORD-00000001", Order.OrderStatus.PENDING)).isTrue();
+        assertThat(index.applyTransition("ORD-00000002", Order.OrderStatus.PENDING)).isTrue();
+        
+        // When - ORD-1은 결제 완료 뒤 늦은 결제 실패, ORD-2는 결제 실패 뒤 늦은 결제 완료
+        assertThat(index.applyTransition("ORD-00000001", Order.OrderStatus.COMPLETED)).isTrue();
+        assertThat(index.applyTransition("ORD-00000001", Order.OrderStatus.CANCELLED)).isFalse();
+        assertThat(index.applyTransition("ORD-00000002", Order.OrderStatus.CANCELLED)).isTrue();
+        assertThat(index.applyTransition("ORD-00000002", Order.OrderStatus.COMPLETED)).isFalse();
+        
+        // Then - 버전은 CANCELLED가 더 크지만 결제 완료 주문을 취소로 바꾸지 않음
+        assertThat(index.lookup("ORD-00000001").status()).isEqualTo(Order.OrderStatus.COMPLETED);
+        assertThat(index.lookup("ORD-00000002").status()).isEqualTo(Order.OrderStatus.CANCELLED);
+        
+        // DB에서 확정된 상태는 전이 표와 무관하게 더 큰 버전이면 반영
+        assertThat(index.apply("ORD-00000001", Order.OrderStatus.DELIVERED,
+            OrderStatusIndex.lifecycleVersion(Order.OrderStatus.DELIVERED))).isTrue();
+        assertThat(index.applyTransition("ORD-00000001", Order.OrderStatus.CANCELLED)).isFalse();
+    }
+    
+    @Test
+    void shouldIgnoreOrderNumbersOutsideTheCompactFormat() {
+        OrderStatusIndex index = new OrderStatusIndex(100);
+        
+        for (String orderNumber : List.of("ORD-1a2b3c4d", "ORD-1A2B3C4", "ORD-1A2B3C4D5", "PAY-1A2B3C4D", "ORD-1A2B3C4G")) {
+            assertThat(OrderStatusIndex.isIndexable(orderNumber)).as(orderNumber).isFalse();
+            assertThat(index.apply(orderNumber, Order.OrderStatus.PENDING, 1)).isFalse();
+            assertThat(index.lookup(orderNumber)).isNull();
+        }
+        assertThat(OrderStatusIndex.isIndexable("ORD-00000000")).isTrue();
+    }
+    
+    @Test
+    void shouldGrowAndStayReadableDuringConcurrentWrites() throws Exception {
+        // Given - 초기 크기보다 훨씬 많은 주문
+        OrderStatusIndex index = new OrderStatusIndex(0);
+        int orders = 200_000;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        
+        // When - 쓰는 동안 이미 쓴 주문을 계속 조회
+        index.apply(orderNumber(0), Order.OrderStatus.PENDING, 1);
+        List<Future<Integer>> readers = new ArrayList<>();
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 1; i < orders; i++) {
+                index.apply(orderNumber(i), Order.OrderStatus.PENDING, 1);
+            }
+        });
+        for (int r = 0; r < 3; r++) {
+            readers.add(executor.submit(() -> {
+                int misses = 0;
+                while (!writer.isDone()) {
+                    if (index.lookup(orderNumber(0)) == null) {
+                        misses++;
+                    }
+                }
+                return misses;
+            }));
+        }
+        writer.get(30, TimeUnit.SECONDS);
+        
+        // Then - 확장 중에도 먼저 쓴 주문이 사라지지 않음
+        for (Future<Integer> reader : readers) {
+            assertThat(reader.get(30, TimeUnit.SECONDS)).isZero();
+        }
+        executor.shutdown();
+        assertThat(index.size()).isEqualTo(orders);
+        for (int i = 0; i < orders; i += 997) {
+            assertThat(index.lookup(orderNumber(i)).status()).isEqualTo(Order.OrderStatus.PENDING);
+        }
+        // 적재율 0.75 이하 → 항목당 슬롯 8바이트 / 0.375~0.75
+        assertThat(index.memoryBytes()).isBetween(orders * 8L * 4 / 3, orders * 8L * 8 / 3 + 64 * 16 * 8);
+    }
+    
+    private static String orderNumber(int i) {
+        return String.format("ORD-%08X", i * 2_654_435_761L & 0xFFFFFFFFL);
+    }
+}
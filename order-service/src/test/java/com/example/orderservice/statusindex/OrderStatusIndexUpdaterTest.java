@@ -0,0 +1,116 @@
+package com.example.orderservice.statusindex;
+
+import com.example.common.orderstate.OrderStateReplayer;
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.PaymentEventConsumer;
+import com.example.orderservice.event.PaymentEventDTO;
+import com.example.orderservice.orderstate.OrderStateProperties;
+import com.example.orderservice.orderstate.WarmStartHealthIndicator;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.service.OutboxEventRelayService;
+import com.example.orderservice.sharding.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 주문 상태 인덱스 갱신 단위 테스트 (MockConsumer)
+ * - 컨슈머 그룹 없이 두 토픽의 모든 파티션을 할당하고 기동 시점의 끝부터 읽는지 검증
+ * - 할당 이후 이벤트는 전이 표 기준으로 반영하고, 종료 시 컨슈머를 닫는지 검증
+ */
+class OrderStatusIndexUpdaterTest {
+    
+    private static final TopicPartition ORDER_PARTITION = new TopicPartition(OutboxEventRelayService.TOPIC_NAME, 0);
+    private static final TopicPartition PAYMENT_PARTITION = new TopicPartition(PaymentEventConsumer.TOPIC, 0);
+    
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final OrderStatusIndex index = new OrderStatusIndex(100);
+    private final WarmStartHealthIndicator warmStartHealthIndicator = new WarmStartHealthIndicator();
+    private final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    
+    private OrderStatusIndexUpdater updater;
+    
+    @AfterEach
+    void tearDown() {
+        if (updater != null) {
+            updater.stop();
+        }
+    }
+    
+    @Test
+    void shouldReadAllPartitionsWithoutGroupFromEndAtStartup() throws Exception {
+        // Given - 기동 전 order-events에 이미 5건 (적재가 채우므로 다시 읽지 않음)
+        consumer.updatePartitions(ORDER_PARTITION.topic(), List.of(partitionInfo(ORDER_PARTITION)));
+        consumer.updatePartitions(PAYMENT_PARTITION.topic(), List.of(partitionInfo(PAYMENT_PARTITION)));
+        consumer.updateBeginningOffsets(Map.of(ORDER_PARTITION, 0L, PAYMENT_PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(ORDER_PARTITION, 5L, PAYMENT_PARTITION, 0L));
+        String created = objectMapper.writeValueAsString(OrderEvent.builder()
+            .orderNumber("ORD-00000001").status("PENDING").eventType("ORDER_CREATED").build());
+        ConsumerRecord<String, String> completed = payment(0, "PAYMENT_COMPLETED");
+        ConsumerRecord<String, String> lateFailure = payment(1, "PAYMENT_FAILED");
+        consumer.schedulePollTask(() -> {
+            consumer.addRecord(new ConsumerRecord<>(ORDER_PARTITION.topic(), 0, 4, "ORD-00000009", created));
+            consumer.addRecord(new ConsumerRecord<>(ORDER_PARTITION.topic(), 0, 5, "ORD-00000001", created));
+            consumer.addRecord(completed);
+            consumer.addRecord(lateFailure);
+        });
+        updater = newUpdater();
+        
+        // When
+        updater.start();
+        
+        // Then - 늦은 결제 실패는 결제 완료 주문에 반영하지 않음
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(index.lookup("ORD-00000001")).isNotNull();
+            assertThat(index.lookup("ORD-00000001").status()).isEqualTo(Order.OrderStatus.COMPLETED);
+            assertThat(consumer.position(PAYMENT_PARTITION)).isEqualTo(2);
+        });
+        assertThat(index.lookup("ORD-00000009")).isNull();
+        assertThat(consumer.subscription()).isEmpty();
+        assertThat(consumer.assignment()).containsExactlyInAnyOrder(ORDER_PARTITION, PAYMENT_PARTITION);
+        await().atMost(Duration.ofSeconds(5))
+            .until(() -> Status.UP.equals(warmStartHealthIndicator.health().getStatus()));
+        
+        // When - 종료
+        updater.stop();
+        
+        // Then
+        await().atMost(Duration.ofSeconds(5)).until(consumer::closed);
+    }
+    
+    private OrderStatusIndexUpdater newUpdater() {
+        StatusIndexProperties statusIndexProperties = new StatusIndexProperties();
+        OrderStateProperties orderStateProperties = new OrderStateProperties();
+        orderStateProperties.setEnabled(false);
+        return new OrderStatusIndexUpdater(() -> consumer, index, statusIndexProperties,
+            mock(OrderRepository.class), new ShardRouter(1), objectMapper, mock(OrderStateReplayer.class),
+            orderStateProperties, warmStartHealthIndicator, mock(PlatformTransactionManager.class));
+    }
+    
+    private ConsumerRecord<String, String> payment(long offset, String eventType) throws Exception {
+        String value = objectMapper.writeValueAsString(PaymentEventDTO.builder()
+            .orderNumber("ORD-00000001").eventType(eventType).build());
+        return new ConsumerRecord<>(PAYMENT_PARTITION.topic(), 0, offset, "ORD-00000001", value);
+    }
+    
+    private static PartitionInfo partitionInfo(TopicPartition partition) {
+        return new PartitionInfo(partition.topic(), partition.partition(), null, null, null);
+    }
+}
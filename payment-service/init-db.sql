@@ -28,11 +28,26 @@ CREATE TABLE IF NOT EXISTS processed_events (
     error_message TEXT
 );
 
+-- Outbox Events 테이블 (결제 결과 이벤트용 Transactional Outbox Pattern)
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_id VARCHAR(255) NOT NULL UNIQUE,
+    aggregate_type VARCHAR(100) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    published BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP,
+    error_message TEXT,
+    retry_count INTEGER NOT NULL DEFAULT 0
+);
+
 -- 인덱스 생성
 CREATE INDEX IF NOT EXISTS idx_payments_order_number ON payments(order_number);
 CREATE INDEX IF NOT EXISTS idx_payments_status ON payments(status);
 CREATE INDEX IF NOT EXISTS idx_payments_created_at ON payments(created_at DESC);
 CREATE UNIQUE INDEX IF NOT EXISTS idx_processed_events_event_id ON processed_events(event_id);
+CREATE INDEX IF NOT EXISTS idx_outbox_published_created ON outbox_events(published, created_at) WHERE published = false;
 
 -- 샘플 데이터 (선택사항)
 -- INSERT INTO payments (payment_number, order_id, order_number, amount, customer_name, customer_email, status, payment_method)
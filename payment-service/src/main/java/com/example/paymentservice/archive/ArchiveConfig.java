@@ -0,0 +1,26 @@
+package com.example.paymentservice.archive;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.paymentservice.entity.Payment;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * 완료 결제 보관소 설정
+ * 
+ * 세그먼트 파일 이름: payments-00000001.seg (일련번호가 클수록 최신)
+ */
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArchiveConfig {
+    
+    @Bean
+    public ArchiveStore<Payment> paymentArchive(ArchiveProperties archiveProperties, MeterRegistry meterRegistry) {
+        return new ArchiveStore<>(Path.of(archiveProperties.getDirectory()), "payments", new PaymentArchiveCodec(),
+            archiveProperties.getBlockRows(), archiveProperties.getRefreshIntervalMs(), meterRegistry);
+    }
+}
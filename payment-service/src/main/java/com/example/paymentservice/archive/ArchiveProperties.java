@@ -0,0 +1,43 @@
+package com.example.paymentservice.archive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 완료 결제 보관 설정 (payment.archive.*)
+ * 
+ * enabled는 주기 보관 작업만 켜고 끔. 이미 보관된 세그먼트 조회(조회 API fallback)는 항상 동작.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.archive")
+public class ArchiveProperties {
+    
+    private boolean enabled = false;
+    
+    /**
+     * 세그먼트 파일 디렉터리 (여러 인스턴스가 같이 읽으려면 공유 볼륨)
+     */
+    private String directory = "./data/archive";
+    
+    /**
+     * 생성 후 이 일수가 지난 완료/실패/환불 결제를 보관
+     */
+    private int retentionDays = 90;
+    
+    /**
+     * 세그먼트 하나(DB 삭제 트랜잭션 하나)에 담을 최대 행 수
+     */
+    private int segmentRows = 10_000;
+    
+    /**
+     * 블록(압축/희소 인덱스 단위) 행 수: 작을수록 키 조회 시 푸는 양이 줄고 인덱스는 커짐
+     */
+    private int blockRows = 1024;
+    
+    /**
+     * 다른 인스턴스가 추가한 세그먼트를 확인하는 최소 간격
+     */
+    private long refreshIntervalMs = 1000;
+}
@@ -0,0 +1,96 @@
+package com.example.paymentservice.archive;
+
+import com.example.common.archive.ArchiveCodec;
+import com.example.common.archive.BlockReader;
+import com.example.common.archive.ColumnWriter;
+import com.example.paymentservice.entity.Payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 결제 행 ↔ 세그먼트 컬럼
+ * 
+ * 조회 키는 주문 번호 (/api/payments/order/{orderNumber} 조회 경로)
+ */
+final class PaymentArchiveCodec implements ArchiveCodec<Payment> {
+    
+    private static final int PAYMENT_NUMBER = FIRST_CODEC_COLUMN;
+    private static final int ORDER_ID = FIRST_CODEC_COLUMN + 1;
+    private static final int AMOUNT = FIRST_CODEC_COLUMN + 2;
+    private static final int CUSTOMER_NAME = FIRST_CODEC_COLUMN + 3;
+    private static final int CUSTOMER_EMAIL = FIRST_CODEC_COLUMN + 4;
+    private static final int STATUS = FIRST_CODEC_COLUMN + 5;
+    private static final int PAYMENT_METHOD = FIRST_CODEC_COLUMN + 6;
+    private static final int TRANSACTION_ID = FIRST_CODEC_COLUMN + 7;
+    private static final int UPDATED_AT = FIRST_CODEC_COLUMN + 8;
+    
+    @Override
+    public long id(Payment payment) {
+        return payment.getId();
+    }
+    
+    @Override
+    public String key(Payment payment) {
+        return payment.getOrderNumber();
+    }
+    
+    @Override
+    public LocalDateTime createdAt(Payment payment) {
+        return payment.getCreatedAt();
+    }
+    
+    @Override
+    public void encode(List<Payment> payments, ColumnWriter columns) {
+        int rows = payments.size();
+        String[] paymentNumbers = new String[rows];
+        long[] orderIds = new long[rows];
+        BigDecimal[] amounts = new BigDecimal[rows];
+        String[] customerNames = new String[rows];
+        String[] customerEmails = new String[rows];
+        String[] statuses = new String[rows];
+        String[] paymentMethods = new String[rows];
+        String[] transactionIds = new String[rows];
+        long[] updatedAt = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            Payment payment = payments.get(i);
+            paymentNumbers[i] = payment.getPaymentNumber();
+            orderIds[i] = payment.getOrderId();
+            amounts[i] = payment.getAmount();
+            customerNames[i] = payment.getCustomerName();
+            customerEmails[i] = payment.getCustomerEmail();
+            statuses[i] = payment.getStatus().name();
+            paymentMethods[i] = payment.getPaymentMethod();
+            transactionIds[i] = payment.getTransactionId();
+            updatedAt[i] = ArchiveCodec.toMicros(payment.getUpdatedAt());
+        }
+        columns.strings(paymentNumbers);
+        columns.longs(orderIds);
+        columns.decimals(amounts);
+        columns.strings(customerNames);
+        columns.strings(customerEmails);
+        columns.strings(statuses);
+        columns.strings(paymentMethods);
+        columns.strings(transactionIds);
+        columns.longs(updatedAt);
+    }
+    
+    @Override
+    public Payment decode(BlockReader block, int row) {
+        return Payment.builder()
+            .id(block.longs(ID_COLUMN)[row])
+            .orderNumber(block.strings(KEY_COLUMN)[row])
+            .createdAt(ArchiveCodec.fromMicros(block.longs(CREATED_AT_COLUMN)[row]))
+            .paymentNumber(block.strings(PAYMENT_NUMBER)[row])
+            .orderId(block.longs(ORDER_ID)[row])
+            .amount(block.decimals(AMOUNT)[row])
+            .customerName(block.strings(CUSTOMER_NAME)[row])
+            .customerEmail(block.strings(CUSTOMER_EMAIL)[row])
+            .status(Payment.PaymentStatus.valueOf(block.strings(STATUS)[row]))
+            .paymentMethod(block.strings(PAYMENT_METHOD)[row])
+            .transactionId(block.strings(TRANSACTION_ID)[row])
+            .updatedAt(ArchiveCodec.fromMicros(block.longs(UPDATED_AT)[row]))
+            .build();
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.paymentservice.config;
 
+import com.example.common.kafka.DeadLetterRedriveService;
+import com.example.paymentservice.event.EventTypeFilteringDeserializer;
+import com.example.paymentservice.event.EventTypeRecordFilter;
+import com.example.paymentservice.event.OrderEventConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,10 +14,13 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @EnableKafka
 @Configuration
@@ -24,13 +32,22 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
     
+    @Value("${payment.listener.concurrency:3}")
+    private int listenerConcurrency;
+    
+    @Value("${kafka.topic.order-events}")
+    private String orderEventsTopic;
+    
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        // 역직렬화 실패(poison message)가 파티션을 막지 않도록 ErrorHandlingDeserializer로 감싸서 DLT로 보냄
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        // 처리하지 않을 eventType 헤더의 레코드는 JSON 파싱 없이 건너뜀 (리스너의 accepted-types 속성, EventTypeRecordFilter)
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, EventTypeFilteringDeserializer.class);
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         config.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
         config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.example.paymentservice.event.OrderEvent");
@@ -42,6 +59,23 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = 
             new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        // 파티션 수만큼 리스너 스레드를 두어 PG사 승인 호출을 병렬 처리 (동시 호출 수는 AdaptiveConcurrencyLimiter가 제한)
+        factory.setConcurrency(listenerConcurrency);
+        // 에러 핸들러는 재시도 토픽 설정(KafkaRetryTopicConfig)이 엔드포인트별로 구성
         return factory;
     }
+    
+    @Bean(OrderEventConsumer.FILTER)
+    public RecordFilterStrategy<String, Object> orderEventFilter(MeterRegistry meterRegistry) {
+        return new EventTypeRecordFilter<>(
+            Set.of(OrderEventConsumer.ORDER_CREATED, OrderEventConsumer.ORDER_CANCELLED), meterRegistry);
+    }
+    
+    /**
+     * order-events-dlt 재처리 (주문 이벤트 리스너의 토픽/그룹 기준)
+     */
+    @Bean
+    public DeadLetterRedriveService deadLetterRedriveService(MeterRegistry meterRegistry) {
+        return new DeadLetterRedriveService(bootstrapServers, groupId, orderEventsTopic, meterRegistry);
+    }
 }
@@ -0,0 +1,74 @@
+package com.example.paymentservice.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Kafka Producer 설정
+ * 
+ * 두 가지 타입의 KafkaTemplate을 제공:
+ * 1. KafkaTemplate<String, String>: OutboxEventRelayService에서 사용, Outbox의 JSON 문자열을 그대로 발행
+ * 2. KafkaTemplate<String, Object>: 재시도/DLT 토픽 발행용 (@RetryableTopic의 kafkaTemplate)
+ * 
+ * 재시도 템플릿이 값 타입별로 직렬화기를 고르는 이유:
+ * - 리스너에서 실패한 레코드는 역직렬화된 OrderEvent 객체 → JSON으로 재발행
+ * - 역직렬화 자체가 실패한 레코드는 원본 byte[]가 그대로 DLT로 전달됨 → 바이트 그대로 발행
+ */
+@Configuration
+public class KafkaProducerConfig {
+    
+    public static final String RETRY_KAFKA_TEMPLATE = "retryKafkaTemplate";
+    
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+    
+    @Bean
+    public ProducerFactory<String, String> stringProducerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+    
+    @Bean
+    public KafkaTemplate<String, String> stringKafkaTemplate() {
+        return new KafkaTemplate<>(stringProducerFactory());
+    }
+    
+    @Bean
+    public ProducerFactory<String, Object> retryProducerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        
+        JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.setAddTypeInfo(false);
+        
+        // 순서가 중요: byte[]를 먼저 매칭하고 나머지 객체는 JSON
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(Object.class, jsonSerializer);
+        
+        return new DefaultKafkaProducerFactory<>(config, new StringSerializer(),
+            new DelegatingByTypeSerializer(delegates, true));
+    }
+    
+    @Bean(RETRY_KAFKA_TEMPLATE)
+    public KafkaTemplate<String, Object> retryKafkaTemplate() {
+        return new KafkaTemplate<>(retryProducerFactory());
+    }
+}
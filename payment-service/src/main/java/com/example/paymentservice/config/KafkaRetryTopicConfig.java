@@ -0,0 +1,31 @@
+package com.example.paymentservice.config;
+
+import com.example.paymentservice.gateway.ConcurrencyLimitExceededException;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.retrytopic.RetryTopicConfigurationSupport;
+import org.springframework.util.backoff.FixedBackOff;
+
+/**
+ * 논블로킹 재시도 토픽 공통 설정
+ * 
+ * 실패한 레코드는 @RetryableTopic이 order-events-retry-N 토픽으로 옮기고 메인 파티션은 바로 다음 오프셋으로 진행.
+ * 재시도 토픽 컨슈머는 백오프 시각까지 해당 파티션만 pause하므로 지연이 메인 처리량에 영향을 주지 않음.
+ * 
+ * 예외: PG사 동시 승인 한도 초과(ConcurrencyLimitExceededException)는 실패가 아니라 과부하 신호
+ * → 재시도 횟수를 소모하지 않도록 먼저 같은 오프셋부터 블로킹 재전달 (최대 OVERLOAD_REDELIVERY_ATTEMPTS회)
+ *   (리스너가 pause된 동안에는 재개될 때까지 새 레코드를 가져오지 않음)
+ * → 그래도 슬롯을 얻지 못하면 재시도 토픽으로 넘겨 파티션을 무기한 막지 않음
+ */
+@Configuration
+public class KafkaRetryTopicConfig extends RetryTopicConfigurationSupport {
+    
+    private static final long OVERLOAD_REDELIVERY_INTERVAL_MS = 1000L;
+    private static final long OVERLOAD_REDELIVERY_ATTEMPTS = 30L;
+    
+    @Override
+    protected void configureBlockingRetries(BlockingRetriesConfigurer blockingRetries) {
+        blockingRetries
+            .retryOn(ConcurrencyLimitExceededException.class)
+            .backOff(new FixedBackOff(OVERLOAD_REDELIVERY_INTERVAL_MS, OVERLOAD_REDELIVERY_ATTEMPTS));
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.paymentservice.config;
+
+import com.example.paymentservice.gateway.AdaptiveConcurrencyLimiter;
+import com.example.paymentservice.gateway.HedgingPaymentGateway;
+import com.example.paymentservice.gateway.NoOpPaymentGateway;
+import com.example.paymentservice.gateway.PaymentDeadlinePolicy;
+import com.example.paymentservice.gateway.PaymentGateway;
+import com.example.paymentservice.gateway.SimulatedPaymentGateway;
+import com.example.paymentservice.warmup.WarmUpPaymentGateway;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PG사 승인 호출 설정
+ * 
+ * - AdaptiveConcurrencyLimiter 생성 및 메트릭 등록
+ * - 한도 도달 시 order-events 리스너를 pause, 여유가 생기면 resume
+ *   (한도는 리스너 동시성 이하여야 도달 가능: max-limit이 더 크면 경고하고 동시성으로 낮춤)
+ *   (pause된 컨슈머는 poll은 계속하지만 레코드를 가져오지 않으므로 리밸런싱이 발생하지 않음)
+ * - 승인 엔드포인트(시뮬레이션: simulated-endpoints개, 멱등성 저장소 공유) 앞에 HedgingPaymentGateway
+ * - 주문 나이에 따른 승인 제한 시간 (PaymentDeadlinePolicy)
+ * - 기동 워밍업 전용 승인 경로 (같은 설정, 엔드포인트만 NoOpPaymentGateway, 제한기는 별도 인스턴스)
+ */
+@Slf4j
+@Configuration
+public class PaymentGatewayConfig {
+    
+    public static final String ORDER_EVENTS_LISTENER_ID = "order-events-listener";
+    
+    @Value("${payment.gateway.limiter.initial-limit:2}")
+    private int initialLimit;
+    
+    @Value("${payment.gateway.limiter.min-limit:1}")
+    private int minLimit;
+    
+    @Value("${payment.gateway.limiter.max-limit:3}")
+    private int maxLimit;
+    
+    @Value("${payment.listener.concurrency:3}")
+    private int listenerConcurrency;
+    
+    @Value("${payment.gateway.limiter.latency-threshold-ms:2000}")
+    private long latencyThresholdMs;
+    
+    @Value("${payment.gateway.limiter.backoff-ratio:0.9}")
+    private double backoffRatio;
+    
+    @Value("${payment.gateway.limiter.max-wait-ms:5000}")
+    private long maxWaitMs;
+    
+    @Value("${payment.gateway.simulated-latency-ms:1000}")
+    private long simulatedLatencyMs;
+    
+    @Value("${payment.gateway.simulated-endpoints:2}")
+    private int simulatedEndpoints;
+    
+    @Value("${payment.gateway.simulated-slow-probability:0.0}")
+    private double simulatedSlowProbability;
+    
+    @Value("${payment.gateway.simulated-slow-latency-ms:5000}")
+    private long simulatedSlowLatencyMs;
+    
+    @Value("${payment.gateway.hedge.percentile:0.95}")
+    private double hedgePercentile;
+    
+    @Value("${payment.gateway.hedge.initial-delay-ms:1500}")
+    private long hedgeInitialDelayMs;
+    
+    @Value("${payment.gateway.hedge.min-delay-ms:50}")
+    private long hedgeMinDelayMs;
+    
+    @Value("${payment.gateway.hedge.budget-ratio:0.1}")
+    private double hedgeBudgetRatio;
+    
+    @Value("${payment.gateway.deadline.order-budget-ms:30000}")
+    private long orderBudgetMs;
+    
+    @Value("${payment.gateway.deadline.min-timeout-ms:2000}")
+    private long minTimeoutMs;
+    
+    @Value("${payment.gateway.deadline.max-timeout-ms:10000}")
+    private long maxTimeoutMs;
+    
+    @Bean
+    public HedgingPaymentGateway paymentGateway(MeterRegistry meterRegistry) {
+        SimulatedPaymentGateway.Ledger ledger = new SimulatedPaymentGateway.Ledger(100_000);
+        List<PaymentGateway> endpoints = new ArrayList<>();
+        for (int i = 0; i < simulatedEndpoints; i++) {
+            endpoints.add(new SimulatedPaymentGateway("endpoint-" + i, simulatedLatencyMs,
+                simulatedSlowProbability, simulatedSlowLatencyMs, ledger));
+        }
+        HedgingPaymentGateway gateway = newHedgingGateway(endpoints);
+        
+        Gauge.builder("payment.gateway.hedge.delay", gateway, HedgingPaymentGateway::getHedgeDelayMillis)
+            .description("Current hedge delay in milliseconds (recent authorization latency percentile)")
+            .register(meterRegistry);
+        FunctionCounter.builder("payment.gateway.hedge.sent", gateway, HedgingPaymentGateway::getHedges)
+            .description("Hedged authorization requests sent to a second endpoint")
+            .register(meterRegistry);
+        FunctionCounter.builder("payment.gateway.hedge.won", gateway, HedgingPaymentGateway::getHedgeWins)
+            .description("Authorizations answered first by a hedged or failover request")
+            .register(meterRegistry);
+        FunctionCounter.builder("payment.gateway.deadline.exceeded", gateway, HedgingPaymentGateway::getDeadlineExceeded)
+            .description("Authorizations cancelled because the deadline budget ran out")
+            .register(meterRegistry);
+        
+        return gateway;
+    }
+    
+    @Bean
+    public WarmUpPaymentGateway warmUpPaymentGateway() {
+        List<PaymentGateway> endpoints = new ArrayList<>();
+        for (int i = 0; i < simulatedEndpoints; i++) {
+            endpoints.add(new NoOpPaymentGateway());
+        }
+        return new WarmUpPaymentGateway(newHedgingGateway(endpoints), newLimiter());
+    }
+    
+    @Bean
+    public PaymentDeadlinePolicy paymentDeadlinePolicy() {
+        return new PaymentDeadlinePolicy(Duration.ofMillis(orderBudgetMs), Duration.ofMillis(minTimeoutMs),
+            Duration.ofMillis(maxTimeoutMs), Clock.systemDefaultZone());
+    }
+    
+    @Bean
+    public AdaptiveConcurrencyLimiter paymentGatewayLimiter(MeterRegistry meterRegistry,
+                                                            ObjectProvider<KafkaListenerEndpointRegistry> listenerRegistry) {
+        if (maxLimit > listenerConcurrency) {
+            log.warn("Payment gateway max-limit {} exceeds listener concurrency {}, capping to {}",
+                maxLimit, listenerConcurrency, listenerConcurrency);
+        }
+        AdaptiveConcurrencyLimiter limiter = newLimiter();
+        
+        limiter.setLimitListener(new AdaptiveConcurrencyLimiter.LimitListener() {
+            @Override
+            public void onLimitReached() {
+                MessageListenerContainer container = orderEventsContainer(listenerRegistry);
+                if (container != null && !container.isPauseRequested()) {
+                    log.info("Payment gateway concurrency limit reached, pausing order-events listener");
+                    container.pause();
+                }
+            }
+            
+            @Override
+            public void onCapacityAvailable() {
+                MessageListenerContainer container = orderEventsContainer(listenerRegistry);
+                if (container != null && container.isPauseRequested()) {
+                    log.info("Payment gateway capacity available, resuming order-events listener");
+                    container.resume();
+                }
+            }
+        });
+        
+        Gauge.builder("payment.gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+            .description("Current adaptive concurrency limit for payment authorization")
+            .register(meterRegistry);
+        Gauge.builder("payment.gateway.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+            .description("Payment authorization calls currently in flight")
+            .register(meterRegistry);
+        FunctionCounter.builder("payment.gateway.concurrency.rejections", limiter, AdaptiveConcurrencyLimiter::getRejections)
+            .description("Payment authorizations rejected because the concurrency limit was reached")
+            .register(meterRegistry);
+        
+        return limiter;
+    }
+    
+    private HedgingPaymentGateway newHedgingGateway(List<PaymentGateway> endpoints) {
+        return new HedgingPaymentGateway(endpoints, hedgePercentile,
+            Duration.ofMillis(hedgeInitialDelayMs), Duration.ofMillis(hedgeMinDelayMs),
+            hedgeBudgetRatio, Duration.ofMillis(maxTimeoutMs));
+    }
+    
+    private AdaptiveConcurrencyLimiter newLimiter() {
+        // 리스너 스레드 수보다 많은 호출은 동시에 생기지 않으므로 그 이상의 한도에서는 pause가 일어나지 않음
+        int effectiveMaxLimit = Math.max(minLimit, Math.min(maxLimit, listenerConcurrency));
+        return new AdaptiveConcurrencyLimiter(
+            initialLimit, minLimit, effectiveMaxLimit, latencyThresholdMs, backoffRatio, maxWaitMs);
+    }
+    
+    private MessageListenerContainer orderEventsContainer(ObjectProvider<KafkaListenerEndpointRegistry> listenerRegistry) {
+        KafkaListenerEndpointRegistry registry = listenerRegistry.getIfAvailable();
+        return registry != null ? registry.getListenerContainer(ORDER_EVENTS_LISTENER_ID) : null;
+    }
+}
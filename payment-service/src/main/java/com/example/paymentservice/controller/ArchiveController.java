@@ -0,0 +1,54 @@
+package com.example.paymentservice.controller;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.entity.Payment;
+import com.example.paymentservice.service.PaymentArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 결제 보관소 운영 API
+ * 
+ * 단건 조회(/api/payments/{id}, /api/payments/order/{orderNumber})는 보관소를 자동으로 찾으므로
+ * 여기서는 생성 시각 범위 조회와 수동 보관 실행만 제공
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/archive")
+@RequiredArgsConstructor
+public class ArchiveController {
+    
+    private static final int MAX_LIMIT = 10_000;
+    
+    private final ArchiveStore<Payment> paymentArchive;
+    private final PaymentArchiveService paymentArchiveService;
+    
+    @GetMapping("/payments")
+    public ResponseEntity<List<PaymentResponse>> getArchivedPayments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("GET /api/admin/archive/payments - from={}, to={}, limit={}", from, to, limit);
+        if (limit <= 0 || limit > MAX_LIMIT || !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(paymentArchive.findCreatedBetween(from, to, limit).stream()
+            .map(PaymentResponse::fromEntity)
+            .collect(Collectors.toList()));
+    }
+    
+    @PostMapping("/payments/run")
+    public ResponseEntity<Map<String, Object>> archivePayments() {
+        log.info("POST /api/admin/archive/payments/run");
+        return ResponseEntity.ok(Map.of("archived", paymentArchiveService.archiveFinalizedPayments()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.paymentservice.controller;
+
+import com.example.common.kafka.DeadLetterRedriveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * DLT 운영 API
+ * 
+ * 장애 원인을 해결한 뒤 order-events-dlt에 쌓인 주문 이벤트를 일괄 재처리
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/dlt")
+@RequiredArgsConstructor
+public class DeadLetterController {
+    
+    private static final int MAX_RECORDS_LIMIT = 100_000;
+    
+    private final DeadLetterRedriveService deadLetterRedriveService;
+    
+    @PostMapping("/redrive")
+    public ResponseEntity<Map<String, Object>> redrive(@RequestParam(defaultValue = "1000") int maxRecords) {
+        log.info("POST /api/admin/dlt/redrive - maxRecords={}", maxRecords);
+        if (maxRecords <= 0 || maxRecords > MAX_RECORDS_LIMIT) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "maxRecords must be between 1 and " + MAX_RECORDS_LIMIT));
+        }
+        int redriven = deadLetterRedriveService.redrive(maxRecords);
+        return ResponseEntity.ok(Map.of("redriven", redriven));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.paymentservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transactional Outbox Pattern 구현
+ * 결제 결과 저장과 결제 이벤트 발행의 원자성을 보장
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_published_created", columnList = "published,createdAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, unique = true)
+    private String aggregateId; // 주문 번호 (payment-events 메시지 키)
+    
+    @Column(nullable = false)
+    private String aggregateType; // "PAYMENT"
+    
+    @Column(nullable = false)
+    private String eventType; // "PAYMENT_COMPLETED", "PAYMENT_FAILED"
+    
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload; // JSON 형태의 이벤트 데이터
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean published = false;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime publishedAt;
+    
+    @Column(columnDefinition = "TEXT")
+    private String errorMessage;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer retryCount = 0;
+}
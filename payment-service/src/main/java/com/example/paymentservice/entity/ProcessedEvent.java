@@ -29,7 +29,7 @@ public class ProcessedEvent {
     private String eventId; // aggregateId (orderNumber)
     
     @Column(nullable = false)
-    private String eventType; // ORDER_CREATED
+    private String eventType; // ORDER_CREATED, ORDER_CANCELLED
     
     @Column(nullable = false, columnDefinition = "TEXT")
     private String payload;
@@ -39,7 +39,7 @@ public class ProcessedEvent {
     private LocalDateTime processedAt;
     
     @Column(nullable = false)
-    private String result; // SUCCESS, FAILED
+    private String result; // PROCESSING (선점 후 승인 대기/진행), SUCCESS, FAILED, CANCELLED (결제 전 주문 취소)
     
     @Column(columnDefinition = "TEXT")
     private String errorMessage;
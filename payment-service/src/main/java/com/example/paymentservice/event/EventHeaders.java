@@ -0,0 +1,41 @@
+package com.example.paymentservice.event;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 이벤트 라우팅 헤더
+ * 
+ * Outbox Relay가 발행하는 레코드마다 이벤트 타입, 스키마 버전, 애그리거트 타입을 헤더로 붙임
+ * → 컨슈머가 payload를 역직렬화하기 전에 헤더만 보고 필요 없는 레코드를 건너뛰거나 처리 경로를 정함
+ * 
+ * Order Service의 EventHeaders와 헤더 이름이 같아야 함
+ */
+public final class EventHeaders {
+    
+    public static final String EVENT_TYPE = "eventType";
+    public static final String SCHEMA_VERSION = "schemaVersion";
+    public static final String AGGREGATE_TYPE = "aggregateType";
+    
+    private EventHeaders() {
+    }
+    
+    public static Headers of(String eventType, String aggregateType, int schemaVersion) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(EVENT_TYPE, eventType.getBytes(StandardCharsets.UTF_8));
+        headers.add(SCHEMA_VERSION, Integer.toString(schemaVersion).getBytes(StandardCharsets.UTF_8));
+        headers.add(AGGREGATE_TYPE, aggregateType.getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+    
+    /**
+     * @return 헤더의 이벤트 타입, 헤더 없이 발행된 레코드(헤더 도입 전 레코드 등)면 null
+     */
+    public static String eventType(Headers headers) {
+        Header header = headers.lastHeader(EVENT_TYPE);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
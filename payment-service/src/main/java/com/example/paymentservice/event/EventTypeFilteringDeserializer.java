@@ -0,0 +1,56 @@
+package com.example.paymentservice.event;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.StringUtils;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * eventType 헤더로 역직렬화 여부를 정하는 JsonDeserializer 래퍼
+ * 
+ * 컨슈머 poll 단계에서 레코드마다 호출되므로, 처리하지 않을 이벤트 타입이면 JSON을 파싱하지 않고 null 반환
+ * → 리스너 컨테이너의 EventTypeRecordFilter가 같은 헤더로 레코드를 버림 (리스너는 null 값을 받지 않음)
+ * 
+ * 처리 대상 타입은 리스너별 컨슈머 속성 ACCEPTED_EVENT_TYPES_CONFIG (쉼표 구분)로 지정.
+ * 속성이 없거나 레코드에 eventType 헤더가 없으면 모두 역직렬화 (헤더 도입 전 레코드, order-state 토픽 등)
+ */
+public class EventTypeFilteringDeserializer implements Deserializer<Object> {
+    
+    public static final String ACCEPTED_EVENT_TYPES_CONFIG = "event.routing.accepted-types";
+    
+    private final JsonDeserializer<Object> delegate = new JsonDeserializer<>();
+    private Set<String> acceptedTypes = Set.of();
+    
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        delegate.configure(configs, isKey);
+        Object accepted = configs.get(ACCEPTED_EVENT_TYPES_CONFIG);
+        if (accepted != null) {
+            acceptedTypes = StringUtils.commaDelimitedListToSet(accepted.toString().replace(" ", ""));
+        }
+    }
+    
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return delegate.deserialize(topic, data);
+    }
+    
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (!acceptedTypes.isEmpty()) {
+            String eventType = EventHeaders.eventType(headers);
+            if (eventType != null && !acceptedTypes.contains(eventType)) {
+                return null;
+            }
+        }
+        return delegate.deserialize(topic, headers, data);
+    }
+    
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -1,11 +1,24 @@
 package com.example.paymentservice.event;
 
+import com.example.paymentservice.config.KafkaProducerConfig;
+import com.example.paymentservice.config.PaymentGatewayConfig;
+import com.example.paymentservice.orderstate.OrderStateCache;
 import com.example.paymentservice.service.PaymentService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * 주문 이벤트 컨슈머
  * 
@@ -16,20 +29,40 @@ import org.springframework.stereotype.Component;
  * - 새로운 메시지가 있으면 자동으로 이 메서드 호출
  * - Spring이 역직렬화(deserialization)를 자동으로 처리
  * 
- * 에러 처리 전략:
- * - try-catch로 예외를 잡아 서비스 전체가 중단되지 않도록 방어
- * - 실제 프로덕션에서는 DLQ(Dead Letter Queue) 활용 권장
- * - 재시도 정책, 백오프 전략 등 추가 고려 필요
+ * 에러 처리 전략 (논블로킹 재시도):
+ * - 예외를 삼키지 않고 컨테이너로 전파 → 레코드를 재시도 토픽으로 옮기고 메인 파티션은 계속 진행
+ * - order-events-retry-0/1/2 토픽에서 지수 백오프(기본 1s → 5s → 25s)로 재처리
+ * - 모두 실패하면 order-events-dlt로 이동, 실패 정보는 헤더로 전달
+ *   (kafka_dlt-exception-fqcn, kafka_dlt-exception-message, kafka_dlt-original-topic/partition/offset 등)
+ * - 역직렬화 실패 등 재시도해도 소용없는 예외는 바로 DLT로 이동
+ * - PG사 동시 승인 한도 초과(ConcurrencyLimitExceededException)는 재시도 토픽이 아니라
+ *   같은 오프셋부터 블로킹 재전달 (KafkaRetryTopicConfig)
+ * - DLT 레코드는 DeadLetterRedriveService로 일괄 재처리
+ * 
+ * 주문 취소 (ORDER_CANCELLED):
+ * - 결제 전에 취소된 주문은 processed_events에 CANCELLED 기록을 남겨 뒤늦은 ORDER_CREATED를 승인하지 않음
+ *   (PaymentService.recordCancellation)
+ * 
+ * 헤더 기반 라우팅:
+ * - Order Service Relay가 붙인 eventType 헤더가 ORDER_CREATED/ORDER_CANCELLED가 아니면
+ *   EventTypeFilteringDeserializer가 JSON을 파싱하지 않고, EventTypeRecordFilter가 리스너 호출 전에 버림
+ * - 건너뛴 레코드 수: kafka.records.skipped{topic, eventType}
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OrderEventConsumer {
     
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_CANCELLED = "ORDER_CANCELLED";
+    public static final String FILTER = "orderEventFilter";
+    
     private final PaymentService paymentService;
+    private final OrderStateCache orderStateCache;
+    private final MeterRegistry meterRegistry;
     
     /**
-     * 주문 생성 이벤트 수신 및 결제 처리
+     * 주문 생성 이벤트 수신 및 결제 처리, 주문 취소 기록
      * 
      * topics: order-events 토픽 구독 (OutboxEventRelayService가 발행)
      * groupId: 같은 그룹의 컨슈머들은 파티션을 나눠서 처리 (수평 확장 가능)
@@ -38,24 +71,66 @@ public class OrderEventConsumer {
      * 1. Kafka에서 ORDER_CREATED 이벤트 수신
      * 2. PaymentService.processPayment() 호출
      * 3. 멱등성 체크 -> 결제 처리 -> 결과 이벤트 발행
+     *    (결과가 이미 난 주문은 OrderStateCache로 DB 선점 없이 건너뜀)
      * 4. Payment Service가 PAYMENT_COMPLETED/FAILED 이벤트를 발행하면
      *    Order Service가 이를 받아서 주문 상태 업데이트 (Saga 완성)
      */
+    @RetryableTopic(
+        attempts = "${kafka.retry.attempts:4}",
+        backoff = @Backoff(
+            delayExpression = "${kafka.retry.initial-delay-ms:1000}",
+            multiplierExpression = "${kafka.retry.multiplier:5.0}",
+            maxDelayExpression = "${kafka.retry.max-delay-ms:60000}"),
+        topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+        kafkaTemplate = KafkaProducerConfig.RETRY_KAFKA_TEMPLATE
+    )
     @KafkaListener(
+        id = PaymentGatewayConfig.ORDER_EVENTS_LISTENER_ID,
         topics = "${kafka.topic.order-events}",
-        groupId = "${spring.kafka.consumer.group-id}"
+        groupId = "${spring.kafka.consumer.group-id}",
+        filter = FILTER,
+        properties = EventTypeFilteringDeserializer.ACCEPTED_EVENT_TYPES_CONFIG + "="
+            + ORDER_CREATED + "," + ORDER_CANCELLED
     )
     public void consumeOrderEvent(OrderEvent event) {
         log.info("Received order event from Kafka: {}", event);
         
-        try {
-            if ("ORDER_CREATED".equals(event.getEventType())) {
-                paymentService.processPayment(event);
-                log.info("Payment processed successfully for order: {}", event.getOrderNumber());
+        // 헤더가 있는 레코드는 이미 컨테이너에서 걸러짐, 헤더 없이 발행된 이전 레코드만 payload로 판단
+        if (ORDER_CANCELLED.equals(event.getEventType())) {
+            paymentService.recordCancellation(event);
+            return;
+        }
+        if (ORDER_CREATED.equals(event.getEventType())) {
+            if (orderStateCache.isSettled(event.getOrderNumber())) {
+                meterRegistry.counter("payment.order.duplicate.skipped").increment();
+                log.info("Order already settled, skipping redelivered event: {}", event.getOrderNumber());
+                return;
             }
-        } catch (Exception e) {
-            log.error("Failed to process payment for order: {}, error: {}", 
-                event.getOrderNumber(), e.getMessage(), e);
+            paymentService.processPayment(event);
+            log.info("Payment processed successfully for order: {}", event.getOrderNumber());
+        }
+    }
+    
+    /**
+     * 재시도를 모두 소진한 레코드 처리
+     * 
+     * DLT에 남겨 두는 것이 목적이므로 여기서는 기록만 함 (재처리는 DeadLetterRedriveService)
+     */
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, OrderEvent> record) {
+        meterRegistry.counter("kafka.dlt.records", "topic", record.topic()).increment();
+        log.error("Order event moved to DLT: topic={}, key={}, originalTopic={}, exception={}, message={}",
+            record.topic(), record.key(),
+            headerValue(record, KafkaHeaders.DLT_ORIGINAL_TOPIC),
+            headerValue(record, KafkaHeaders.DLT_EXCEPTION_FQCN),
+            headerValue(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE));
+    }
+    
+    private static String headerValue(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        if (header == null) {
+            return null;
         }
+        return new String(header.value(), StandardCharsets.UTF_8);
     }
 }
@@ -0,0 +1,153 @@
+package com.example.paymentservice.gateway;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PG사 승인 호출용 적응형 동시성 제한기 (AIMD)
+ * 
+ * 왜 필요한가:
+ * - PG사 응답이 느려져도 컨슈머는 계속 메시지를 가져와 승인 호출을 시작함
+ * - 결국 모든 리스너 스레드가 느린 호출에 묶이고 지연이 전체로 전파됨
+ * 
+ * 동작 방식 (Additive Increase / Multiplicative Decrease):
+ * - 호출이 지연 임계값 이하로 끝나고 한도를 절반 이상 사용 중이면 한도 + 1/한도
+ *   (한도만큼의 호출, 즉 한 RTT 동안 합쳐서 +1. 호출마다 +1이면 RTT마다 두 배가 되어 AIMD가 아님)
+ * - 지연 임계값 초과 또는 예외 발생 시 한도 × backoffRatio
+ * - 한도는 [minLimit, maxLimit] 범위로 제한
+ * 
+ * 한도에 도달하면 LimitListener.onLimitReached()로 알려 Kafka 리스너를 일시 정지하고,
+ * 여유가 생기면 onCapacityAvailable()로 재개
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+    
+    /**
+     * 한도 도달/해소 알림 (Kafka 리스너 pause/resume 용도)
+     */
+    public interface LimitListener {
+        void onLimitReached();
+        
+        void onCapacityAvailable();
+    }
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final long maxWaitNanos;
+    private final LongAdder rejections = new LongAdder();
+    
+    private double limit;
+    private int inFlight;
+    private boolean atLimit;
+    private volatile LimitListener limitListener;
+    
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdMs, double backoffRatio, long maxWaitMs) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit range: min=" + minLimit + ", max=" + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be in (0, 1): " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.backoffRatio = backoffRatio;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+    }
+    
+    public void setLimitListener(LimitListener limitListener) {
+        this.limitListener = limitListener;
+    }
+    
+    /**
+     * 슬롯을 얻어 호출을 실행하고, 소요 시간으로 한도를 조정
+     * 
+     * @throws ConcurrencyLimitExceededException maxWait 안에 슬롯을 얻지 못한 경우
+     */
+    public <T> T execute(Callable<T> call) throws Exception {
+        acquire();
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            T result = call.call();
+            dropped = false;
+            return result;
+        } finally {
+            release(System.nanoTime() - start, dropped);
+        }
+    }
+    
+    private synchronized void acquire() throws InterruptedException {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (inFlight >= currentLimit()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                rejections.increment();
+                throw new ConcurrencyLimitExceededException(
+                    "Payment gateway concurrency limit reached: limit=" + currentLimit() + ", inFlight=" + inFlight);
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        inFlight++;
+        updateLimitState();
+    }
+    
+    private synchronized void release(long latencyNanos, boolean dropped) {
+        int inFlightBefore = inFlight;
+        inFlight--;
+        
+        if (dropped || latencyNanos > latencyThresholdNanos) {
+            double previous = limit;
+            limit = Math.max(minLimit, limit * backoffRatio);
+            if ((int) previous != (int) limit) {
+                log.warn("Payment gateway slow, decreasing concurrency limit: {} -> {} (latency={}ms, dropped={})",
+                    (int) previous, (int) limit, TimeUnit.NANOSECONDS.toMillis(latencyNanos), dropped);
+            }
+        } else if (inFlightBefore * 2 >= limit) {
+            // 한도를 충분히 사용 중일 때만 증가 (유휴 상태에서 한도가 무한정 커지는 것 방지)
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        
+        updateLimitState();
+        notifyAll();
+    }
+    
+    private void updateLimitState() {
+        boolean reached = inFlight >= currentLimit();
+        if (reached == atLimit) {
+            return;
+        }
+        atLimit = reached;
+        LimitListener listener = limitListener;
+        if (listener != null) {
+            if (reached) {
+                listener.onLimitReached();
+            } else {
+                listener.onCapacityAvailable();
+            }
+        }
+    }
+    
+    private int currentLimit() {
+        return (int) limit;
+    }
+    
+    public synchronized int getLimit() {
+        return currentLimit();
+    }
+    
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+    
+    public long getRejections() {
+        return rejections.sum();
+    }
+}
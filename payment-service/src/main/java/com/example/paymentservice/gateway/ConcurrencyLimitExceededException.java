@@ -0,0 +1,14 @@
+package com.example.paymentservice.gateway;
+
+/**
+ * 동시 승인 요청 한도 초과
+ * 
+ * 대기 시간 안에 승인 슬롯을 얻지 못한 경우 발생하며,
+ * 컨슈머는 이 예외를 삼키지 않고 컨테이너로 전달하여 메시지를 재전달 받음
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
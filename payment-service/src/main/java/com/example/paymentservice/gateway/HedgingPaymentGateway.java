@@ -0,0 +1,220 @@
+package com.example.paymentservice.gateway;
+
+import com.example.paymentservice.event.OrderEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 제한 시간 + 헤지 요청을 적용한 PG사 승인 (여러 승인 엔드포인트 앞에 두는 PaymentGateway)
+ * 
+ * 왜 필요한가:
+ * - 제한 시간이 없으면 느린 승인 하나가 리스너 스레드를 무한정 붙잡음
+ * - 승인 지연의 꼬리(p99)는 대부분 특정 요청/엔드포인트가 일시적으로 느린 경우 → 다른 엔드포인트에 한 번 더 보내면 해소됨
+ * 
+ * 동작 방식:
+ * 1. 첫 번째 엔드포인트로 요청
+ * 2. 최근 승인 지연의 hedge-percentile(기본 p95)만큼 지나도 응답이 없으면 다음 엔드포인트로 같은 멱등성 키의 요청을 한 번 더 보냄
+ *    (엔드포인트가 빨리 실패하면 기다리지 않고 바로 다음 엔드포인트로 보냄)
+ * 3. 먼저 성공한 응답을 쓰고 나머지 요청은 인터럽트로 취소
+ * 4. 제한 시간이 지나면 모든 요청을 취소하고 PaymentDeadlineExceededException
+ * 
+ * 중복 승인이 안전한 이유: 두 요청이 같은 멱등성 키를 쓰므로 PG사는 한 번만 승인하고 같은 결과를 돌려줌.
+ * 헤지 예산(hedge-budget-ratio): 헤지는 요청 수의 일정 비율까지만 보냄
+ * → PG사 전체가 느려졌을 때 요청이 두 배로 늘어 부하를 키우지 않도록.
+ */
+@Slf4j
+public class HedgingPaymentGateway implements PaymentGateway, AutoCloseable {
+    
+    private static final int LATENCY_SAMPLES = 1024;
+    private static final int PERCENTILE_REFRESH_INTERVAL = 64;
+    private static final double MAX_HEDGE_TOKENS = 10;
+    
+    private final List<PaymentGateway> endpoints;
+    private final double hedgePercentile;
+    private final long minHedgeDelayNanos;
+    private final double hedgeBudgetRatio;
+    private final Duration defaultTimeout;
+    private final ExecutorService executor;
+    
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private long latencyCount; // 2^31건을 넘어도 음수가 되지 않도록 long
+    private long hedgeDelayNanos;
+    private double hedgeTokens = MAX_HEDGE_TOKENS;
+    
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder deadlineExceeded = new LongAdder();
+    
+    /**
+     * @param endpoints 승인 엔드포인트 (앞에서부터 순서대로 사용)
+     * @param initialHedgeDelay 지연 표본이 모이기 전 헤지 지연
+     * @param minHedgeDelay 헤지 지연 하한 (지연이 매우 짧을 때 거의 모든 요청이 헤지되지 않도록)
+     * @param defaultTimeout 제한 시간 없이 호출된 경우의 제한 시간
+     */
+    public HedgingPaymentGateway(List<PaymentGateway> endpoints, double hedgePercentile,
+                                 Duration initialHedgeDelay, Duration minHedgeDelay,
+                                 double hedgeBudgetRatio, Duration defaultTimeout) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one payment gateway endpoint is required");
+        }
+        if (hedgePercentile <= 0 || hedgePercentile >= 1) {
+            throw new IllegalArgumentException("hedgePercentile must be in (0, 1): " + hedgePercentile);
+        }
+        this.endpoints = List.copyOf(endpoints);
+        this.hedgePercentile = hedgePercentile;
+        this.minHedgeDelayNanos = minHedgeDelay.toNanos();
+        this.hedgeDelayNanos = Math.max(minHedgeDelayNanos, initialHedgeDelay.toNanos());
+        this.hedgeBudgetRatio = hedgeBudgetRatio;
+        this.defaultTimeout = defaultTimeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "payment-gateway-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public boolean authorize(String idempotencyKey, OrderEvent orderEvent) throws InterruptedException {
+        return authorize(idempotencyKey, orderEvent, defaultTimeout);
+    }
+    
+    @Override
+    public boolean authorize(String idempotencyKey, OrderEvent orderEvent, Duration timeout) throws InterruptedException {
+        long started = System.nanoTime();
+        long deadline = started + timeout.toNanos();
+        long hedgeAt = started + currentHedgeDelayNanos();
+        boolean hedgeAllowed = endpoints.size() > 1;
+        addHedgeToken();
+        
+        ExecutorCompletionService<Boolean> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Boolean>> requests = new ArrayList<>(endpoints.size());
+        requests.add(submit(completion, 0, idempotencyKey, orderEvent, deadline));
+        int failed = 0;
+        try {
+            while (true) {
+                boolean canHedge = hedgeAllowed && requests.size() < endpoints.size();
+                long waitUntil = canHedge ? Math.min(hedgeAt, deadline) : deadline;
+                Future<Boolean> done = completion.poll(waitUntil - System.nanoTime(), TimeUnit.NANOSECONDS);
+                
+                if (done == null) {
+                    if (System.nanoTime() >= deadline) {
+                        deadlineExceeded.increment();
+                        throw new PaymentDeadlineExceededException("Payment authorization timed out after "
+                            + timeout.toMillis() + "ms: key=" + idempotencyKey + ", requests=" + requests.size());
+                    }
+                    // 헤지 시각: 예산이 있으면 다음 엔드포인트로 같은 키의 요청을 한 번 더 보냄
+                    if (tryAcquireHedgeToken()) {
+                        requests.add(submit(completion, requests.size(), idempotencyKey, orderEvent, deadline));
+                        hedges.increment();
+                    } else {
+                        hedgeAllowed = false;
+                    }
+                    continue;
+                }
+                
+                try {
+                    boolean approved = done.get();
+                    recordLatency(System.nanoTime() - started);
+                    if (done != requests.get(0)) {
+                        hedgeWins.increment();
+                    }
+                    return approved;
+                } catch (ExecutionException e) {
+                    failed++;
+                    if (requests.size() < endpoints.size()) {
+                        // 빠른 실패는 헤지 시각을 기다리지 않고 바로 다음 엔드포인트로 (예산과 무관)
+                        log.warn("Payment gateway endpoint failed, trying next: key={}, error={}",
+                            idempotencyKey, e.getCause().getMessage());
+                        requests.add(submit(completion, requests.size(), idempotencyKey, orderEvent, deadline));
+                    } else if (failed == requests.size()) {
+                        throw asRuntime(e.getCause());
+                    }
+                }
+            }
+        } finally {
+            // 진 요청(또는 시간 초과된 요청) 취소: 인터럽트로 PG사 응답 대기를 중단
+            for (Future<Boolean> request : requests) {
+                request.cancel(true);
+            }
+        }
+    }
+    
+    private Future<Boolean> submit(ExecutorCompletionService<Boolean> completion, int endpoint,
+                                   String idempotencyKey, OrderEvent orderEvent, long deadline) {
+        PaymentGateway gateway = endpoints.get(endpoint);
+        return completion.submit(() -> gateway.authorize(idempotencyKey, orderEvent,
+            Duration.ofNanos(Math.max(0, deadline - System.nanoTime()))));
+    }
+    
+    private static RuntimeException asRuntime(Throwable failure) {
+        if (failure instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("Payment authorization failed on all endpoints", failure);
+    }
+    
+    private synchronized void addHedgeToken() {
+        hedgeTokens = Math.min(MAX_HEDGE_TOKENS, hedgeTokens + hedgeBudgetRatio);
+    }
+    
+    private synchronized boolean tryAcquireHedgeToken() {
+        if (hedgeTokens < 1) {
+            return false;
+        }
+        hedgeTokens--;
+        return true;
+    }
+    
+    private synchronized long currentHedgeDelayNanos() {
+        return hedgeDelayNanos;
+    }
+    
+    /**
+     * 성공한 승인 지연을 원형 버퍼에 기록하고 주기적으로 헤지 지연(백분위)을 다시 계산
+     */
+    private synchronized void recordLatency(long latencyNanos) {
+        latencies[(int) (latencyCount % LATENCY_SAMPLES)] = latencyNanos;
+        latencyCount++;
+        if (latencyCount % PERCENTILE_REFRESH_INTERVAL == 0) {
+            int samples = (int) Math.min(latencyCount, LATENCY_SAMPLES);
+            long[] sorted = Arrays.copyOf(latencies, samples);
+            Arrays.sort(sorted);
+            long percentile = sorted[Math.min(samples - 1, (int) Math.ceil(samples * hedgePercentile) - 1)];
+            hedgeDelayNanos = Math.max(minHedgeDelayNanos, percentile);
+        }
+    }
+    
+    public synchronized long getHedgeDelayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos);
+    }
+    
+    public long getHedges() {
+        return hedges.sum();
+    }
+    
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+    
+    public long getDeadlineExceeded() {
+        return deadlineExceeded.sum();
+    }
+    
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.paymentservice.gateway;
+
+import com.example.paymentservice.event.OrderEvent;
+
+/**
+ * PG사를 호출하지 않고 바로 승인하는 엔드포인트 (기동 워밍업 전용)
+ * 
+ * 워밍업의 가상 주문이 실제 승인 요청으로 나가지 않도록 HedgingPaymentGateway 뒤에 실제 엔드포인트 대신 둠
+ * → 제한기, 헤지, 제한 시간 계산은 운영과 같은 코드로 실행됨
+ */
+public class NoOpPaymentGateway implements PaymentGateway {
+    
+    @Override
+    public boolean authorize(String idempotencyKey, OrderEvent orderEvent) {
+        return true;
+    }
+    
+    @Override
+    public String toString() {
+        return "NoOpPaymentGateway";
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.paymentservice.gateway;
+
+/**
+ * 결제 승인 제한 시간 초과
+ * 
+ * 요청은 취소되지만 PG사에서는 승인됐을 수 있음 → 같은 멱등성 키로 재시도하면 결과만 다시 받으므로
+ * 컨슈머는 이 예외를 그대로 전파해 재시도 토픽에서 다시 처리함
+ */
+public class PaymentDeadlineExceededException extends RuntimeException {
+    
+    public PaymentDeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.paymentservice.gateway;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 주문 나이에 따른 승인 호출 제한 시간
+ * 
+ * 주문 생성부터 결제 결과까지 order-budget 안에 끝내는 것이 목표 → 이미 오래 기다린 주문(재시도 토픽,
+ * 컨슈머 랙)일수록 승인 호출에 남은 시간이 적음. 남은 시간을 [min-timeout, max-timeout]으로 제한:
+ * - max: 갓 생성된 주문도 한 번의 느린 승인이 리스너 스레드를 오래 붙잡지 않도록
+ * - min: 예산을 넘긴 주문도 승인을 시도할 최소 시간 (정상 응답 시간보다 커야 함)
+ * 
+ * 주문 시각(eventTime)은 Order Service 서버 시각이므로 두 서버의 시계 차이만큼 오차가 있음.
+ */
+public class PaymentDeadlinePolicy {
+    
+    private final Duration orderBudget;
+    private final Duration minTimeout;
+    private final Duration maxTimeout;
+    private final Clock clock;
+    
+    public PaymentDeadlinePolicy(Duration orderBudget, Duration minTimeout, Duration maxTimeout, Clock clock) {
+        if (minTimeout.compareTo(maxTimeout) > 0) {
+            throw new IllegalArgumentException("minTimeout must not exceed maxTimeout: " + minTimeout + " > " + maxTimeout);
+        }
+        this.orderBudget = orderBudget;
+        this.minTimeout = minTimeout;
+        this.maxTimeout = maxTimeout;
+        this.clock = clock;
+    }
+    
+    /**
+     * @param orderTime 주문 생성 시각 (없으면 max-timeout)
+     */
+    public Duration timeoutFor(LocalDateTime orderTime) {
+        if (orderTime == null) {
+            return maxTimeout;
+        }
+        Duration remaining = orderBudget.minus(Duration.between(orderTime, LocalDateTime.now(clock)));
+        if (remaining.compareTo(minTimeout) < 0) {
+            return minTimeout;
+        }
+        return remaining.compareTo(maxTimeout) > 0 ? maxTimeout : remaining;
+    }
+}
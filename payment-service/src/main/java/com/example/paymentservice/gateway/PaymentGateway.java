@@ -0,0 +1,35 @@
+package com.example.paymentservice.gateway;
+
+import com.example.paymentservice.event.OrderEvent;
+
+import java.time.Duration;
+
+/**
+ * PG사 결제 승인 연동 인터페이스
+ * 
+ * 실제 운영 환경에서는 외부 PG사 API 클라이언트가 구현체가 되고,
+ * 로컬/테스트 환경에서는 시뮬레이션 구현체를 사용
+ */
+public interface PaymentGateway {
+    
+    /**
+     * 결제 승인 요청
+     * 
+     * @param idempotencyKey PG사 멱등성 키 (같은 키로 여러 번 요청해도 승인은 한 번만 일어나고 같은 결과를 돌려받음)
+     * @param orderEvent 주문 정보
+     * @return 승인 성공 여부
+     * @throws InterruptedException 승인 대기 중 인터럽트 (요청 취소)
+     */
+    boolean authorize(String idempotencyKey, OrderEvent orderEvent) throws InterruptedException;
+    
+    /**
+     * 제한 시간 안에 결제 승인 요청
+     * 
+     * 기본 구현은 제한 시간을 두지 않음 (HedgingPaymentGateway가 시간 안에 끝나지 않은 요청을 인터럽트로 취소)
+     * 
+     * @throws PaymentDeadlineExceededException 제한 시간 안에 승인 결과를 받지 못함
+     */
+    default boolean authorize(String idempotencyKey, OrderEvent orderEvent, Duration timeout) throws InterruptedException {
+        return authorize(idempotencyKey, orderEvent);
+    }
+}
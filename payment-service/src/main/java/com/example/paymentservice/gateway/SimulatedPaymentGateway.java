@@ -0,0 +1,93 @@
+package com.example.paymentservice.gateway;
+
+import com.example.paymentservice.event.OrderEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 결제 승인 시뮬레이션 구현체 (PG사 승인 엔드포인트 하나)
+ * 
+ * - 설정된 지연 시간만큼 대기 (PG사 응답 시간 흉내), slow-probability 확률로 slow-latency만큼 대기 (지연 꼬리)
+ * - 90% 성공률로 설정하여 실패 케이스(보상 트랜잭션)도 테스트 가능
+ * - 같은 PG사의 여러 엔드포인트는 Ledger를 공유 → 같은 멱등성 키는 어느 엔드포인트로 와도 한 번만 승인하고 같은 결과를 돌려줌
+ * - 대기 중 인터럽트되면(헤지에서 진 요청 취소) InterruptedException
+ */
+public class SimulatedPaymentGateway implements PaymentGateway {
+    
+    private final String name;
+    private final long latencyMs;
+    private final double slowProbability;
+    private final long slowLatencyMs;
+    private final Ledger ledger;
+    
+    public SimulatedPaymentGateway(String name, long latencyMs, double slowProbability, long slowLatencyMs,
+                                   Ledger ledger) {
+        this.name = name;
+        this.latencyMs = latencyMs;
+        this.slowProbability = slowProbability;
+        this.slowLatencyMs = slowLatencyMs;
+        this.ledger = ledger;
+    }
+    
+    @Override
+    public boolean authorize(String idempotencyKey, OrderEvent orderEvent) throws InterruptedException {
+        // 결제 처리 시뮬레이션 (실제로는 PG사 API 호출)
+        boolean slow = slowProbability > 0 && ThreadLocalRandom.current().nextDouble() < slowProbability;
+        Thread.sleep(slow ? slowLatencyMs : latencyMs);
+        return ledger.authorize(idempotencyKey);
+    }
+    
+    @Override
+    public String toString() {
+        return "SimulatedPaymentGateway[" + name + "]";
+    }
+    
+    /**
+     * PG사 측 멱등성 저장소 (키 → 승인 결과, 최근 max-entries개)
+     */
+    public static class Ledger {
+        
+        private final Map<String, Boolean> results;
+        private final AtomicLong authorizations = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        
+        public Ledger(int maxEntries) {
+            this.results = new LinkedHashMap<>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+        
+        synchronized boolean authorize(String idempotencyKey) {
+            Boolean previous = results.get(idempotencyKey);
+            if (previous != null) {
+                duplicates.incrementAndGet();
+                return previous;
+            }
+            // 90% 성공률
+            boolean approved = ThreadLocalRandom.current().nextInt(10) < 9;
+            results.put(idempotencyKey, approved);
+            authorizations.incrementAndGet();
+            return approved;
+        }
+        
+        /**
+         * @return 실제로 승인 처리한 키 수 (중복 요청 제외)
+         */
+        public long getAuthorizations() {
+            return authorizations.get();
+        }
+        
+        /**
+         * @return 이미 처리한 키로 다시 들어와 기존 결과를 돌려준 요청 수
+         */
+        public long getDuplicates() {
+            return duplicates.get();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.paymentservice.monitoring;
+
+import com.example.common.replica.ReplicaRoutingDataSource;
+import com.example.paymentservice.replica.ReplicaProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * 읽기 복제본 지연 주기 확인
+ * 
+ * ReplicaRoutingDataSource의 replica마다 lag 쿼리를 실행하여 라우팅에 쓰는 지연 값을 갱신.
+ * 라우팅 시점에는 DB를 조회하지 않고 이 값만 읽음. replica가 설정되지 않았으면 아무것도 하지 않음.
+ */
+@Component
+public class ReplicaLagMonitor {
+    
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+    private final String lagQuery;
+    
+    public ReplicaLagMonitor(DataSource dataSource, ReplicaProperties replicaProperties) throws SQLException {
+        this.replicaRoutingDataSource = dataSource.isWrapperFor(ReplicaRoutingDataSource.class)
+            ? dataSource.unwrap(ReplicaRoutingDataSource.class)
+            : null;
+        this.lagQuery = replicaProperties.getLagQuery();
+    }
+    
+    @Scheduled(fixedDelayString = "${payment.replica.lag-check-interval-ms:1000}")
+    public void refresh() {
+        if (replicaRoutingDataSource != null) {
+            replicaRoutingDataSource.refreshReplicaLag(lagQuery);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.paymentservice.orderstate;
+
+import com.example.common.orderstate.OrderState;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 결제 결과가 이미 반영된 주문 번호 집합 (order-state 토픽으로 채움)
+ * 
+ * 재배포/리밸런싱 후 같은 ORDER_CREATED가 다시 전달되면 매번 processed_events 선점 INSERT가 필요했음
+ * → 이미 결과가 난 주문은 DB를 거치지 않고 건너뜀.
+ * 주문 상태가 PENDING이 아니면 결제 결과 이벤트가 이미 발행된 것이므로 (상태는 결제 결과로만 바뀜)
+ * 건너뛰어도 processed_events 선점과 결과가 같음. 캐시에 없는 주문은 기존대로 선점으로 판단.
+ */
+public class OrderStateCache {
+    
+    private static final String PENDING = "PENDING";
+    
+    private final Set<String> settledOrders = ConcurrentHashMap.newKeySet();
+    private final int maxEntries;
+    
+    public OrderStateCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+    
+    public void apply(OrderState state) {
+        if (state.getOrderNumber() == null || state.getStatus() == null || PENDING.equals(state.getStatus())) {
+            return;
+        }
+        if (settledOrders.size() < maxEntries) {
+            settledOrders.add(state.getOrderNumber());
+        }
+    }
+    
+    public boolean isSettled(String orderNumber) {
+        return orderNumber != null && settledOrders.contains(orderNumber);
+    }
+    
+    public int size() {
+        return settledOrders.size();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.paymentservice.orderstate;
+
+import com.example.common.orderstate.OrderState;
+import com.example.common.orderstate.OrderStateReplayer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 주문 상태 캐시 갱신
+ * 
+ * 결제 이벤트 파티션과 무관하게 어느 인스턴스로든 주문이 재전달될 수 있으므로 인스턴스마다 고유한 컨슈머 그룹으로
+ * order-state 토픽의 새 레코드를 받아 반영 (auto.offset.reset=latest).
+ * 
+ * 기동 시에는 파티션을 할당받은 뒤(그 이후 변경은 놓치지 않음) 토픽 전체를 파티션 병렬로 재생해 채우고,
+ * 끝날 때까지 readiness는 OUT_OF_SERVICE (WarmStartHealthIndicator의 orderStateCache).
+ * 재생이 시간 초과/실패해도 캐시는 힌트일 뿐이므로 비어 있는 채로 시작.
+ * 컨슈머가 여럿이면 할당 시점이 달라 재생 끝 오프셋과 사이가 빌 수 있으므로 concurrency는 1.
+ */
+@Slf4j
+@Component
+public class OrderStateCacheUpdater implements ConsumerSeekAware {
+    
+    private static final String WARM_START_NAME = "orderStateCache";
+    
+    private final OrderStateCache orderStateCache;
+    private final OrderStateReplayer orderStateReplayer;
+    private final OrderStateProperties orderStateProperties;
+    private final WarmStartHealthIndicator warmStartHealthIndicator;
+    private final AtomicBoolean warmUpStarted = new AtomicBoolean();
+    
+    public OrderStateCacheUpdater(OrderStateCache orderStateCache,
+                                  OrderStateReplayer orderStateReplayer,
+                                  OrderStateProperties orderStateProperties,
+                                  WarmStartHealthIndicator warmStartHealthIndicator) {
+        this.orderStateCache = orderStateCache;
+        this.orderStateReplayer = orderStateReplayer;
+        this.orderStateProperties = orderStateProperties;
+        this.warmStartHealthIndicator = warmStartHealthIndicator;
+        if (orderStateProperties.isEnabled()) {
+            warmStartHealthIndicator.register(WARM_START_NAME);
+        }
+    }
+    
+    @KafkaListener(
+        topics = "${payment.order-state.topic:order-state}",
+        groupId = "payment-order-state-${random.uuid}",
+        autoStartup = "${payment.order-state.enabled:true}",
+        concurrency = "1",
+        properties = {
+            "auto.offset.reset=latest",
+            "spring.json.value.default.type=com.example.common.orderstate.OrderState"
+        }
+    )
+    public void handleOrderState(ConsumerRecord<String, OrderState> record) {
+        // tombstone(null)은 주문 삭제 → 이미 결과가 난 주문이므로 캐시에 그대로 둠
+        if (record.value() != null) {
+            orderStateCache.apply(record.value());
+        }
+    }
+    
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (warmUpStarted.compareAndSet(false, true)) {
+            Thread thread = new Thread(this::warmUp, "order-state-cache-warm-up");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+    
+    void warmUp() {
+        String source = orderStateProperties.getTopic();
+        long elapsedMillis = 0;
+        try {
+            OrderStateReplayer.ReplayResult result = orderStateReplayer.replay(orderStateCache::apply);
+            elapsedMillis = result.elapsedMillis();
+            log.info("Order state cache warmed up from {}: {} states from {} partitions in {} ms, {} settled orders",
+                source, result.records(), result.partitions(), elapsedMillis, orderStateCache.size());
+        } catch (RuntimeException e) {
+            source = "none";
+            log.warn("Order state cache replay failed, starting with {} cached orders", orderStateCache.size(), e);
+        }
+        warmStartHealthIndicator.complete(WARM_START_NAME, Map.of(
+            "source", source,
+            "elapsedMillis", elapsedMillis,
+            "entries", orderStateCache.size()));
+    }
+}
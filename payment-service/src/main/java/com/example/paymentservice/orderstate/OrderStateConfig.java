@@ -0,0 +1,57 @@
+package com.example.paymentservice.orderstate;
+
+import com.example.common.orderstate.OrderStateReplayer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 주문 상태 캐시 설정
+ * 
+ * - payment.order.state.cache.entries: 결제 결과가 반영된 것으로 캐시에 있는 주문 수
+ */
+@Configuration
+@EnableConfigurationProperties(OrderStateProperties.class)
+public class OrderStateConfig {
+    
+    /**
+     * 재생 시 파티션당 한 번에 가져오는 최대 크기 (기본 1MB보다 크게 잡아 왕복 횟수를 줄임)
+     */
+    private static final int REPLAY_FETCH_BYTES = 8 * 1024 * 1024;
+    
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+    
+    @Bean
+    public OrderStateCache orderStateCache(OrderStateProperties orderStateProperties, MeterRegistry meterRegistry) {
+        OrderStateCache cache = new OrderStateCache(orderStateProperties.getMaxEntries());
+        Gauge.builder("payment.order.state.cache.entries", cache, OrderStateCache::size)
+            .description("Settled orders in the order state cache")
+            .register(meterRegistry);
+        return cache;
+    }
+    
+    @Bean
+    public OrderStateReplayer orderStateReplayer(OrderStateProperties orderStateProperties, ObjectMapper objectMapper) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // 그룹 없이 assign으로 읽으므로 오프셋을 커밋하지 않음
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, REPLAY_FETCH_BYTES);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000);
+        return new OrderStateReplayer(orderStateProperties.getTopic(), () -> new KafkaConsumer<>(config),
+            objectMapper, orderStateProperties.getReplayThreads(), orderStateProperties.getReplayTimeout());
+    }
+}
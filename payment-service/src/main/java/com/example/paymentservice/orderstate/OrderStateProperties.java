@@ -0,0 +1,40 @@
+package com.example.paymentservice.orderstate;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 주문 상태 캐시 설정 (payment.order-state.*)
+ * 
+ * enabled=false이면 캐시를 채우지 않고 모든 ORDER_CREATED가 processed_events 선점을 거침
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "payment.order-state")
+public class OrderStateProperties {
+    
+    private boolean enabled = true;
+    
+    /**
+     * Order Service가 발행하는 주문 상태 changelog 토픽 (order.state-topic.name)
+     */
+    private String topic = "order-state";
+    
+    /**
+     * 기동 시 토픽을 나눠 읽는 컨슈머 수 (파티션 수보다 크면 파티션 수만큼만 사용)
+     */
+    private int replayThreads = 4;
+    
+    /**
+     * 재생이 이 시간 안에 끝나지 않으면 중단하고 캐시 없이 시작
+     */
+    private Duration replayTimeout = Duration.ofMinutes(2);
+    
+    /**
+     * 캐시에 담는 최대 주문 수 (넘으면 새 주문은 담지 않고 processed_events 선점으로 처리)
+     */
+    private int maxEntries = 5_000_000;
+}
@@ -0,0 +1,32 @@
+package com.example.paymentservice.replica;
+
+import com.example.common.replica.ReadYourWritesTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * read-your-writes 추적기 등록 (payment.replica.read-your-writes-window-ms)
+ * 
+ * window가 지난 클라이언트는 window 주기로 제거함.
+ */
+@Configuration
+public class ReadYourWritesConfig {
+    
+    private final ReadYourWritesTracker readYourWritesTracker;
+    
+    public ReadYourWritesConfig(@Value("${payment.replica.read-your-writes-window-ms:5000}") long windowMillis) {
+        this.readYourWritesTracker = new ReadYourWritesTracker(windowMillis);
+    }
+    
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return readYourWritesTracker;
+    }
+    
+    @Scheduled(fixedDelayString = "${payment.replica.read-your-writes-window-ms:5000}")
+    public void evictExpiredWrites() {
+        readYourWritesTracker.evictExpired();
+    }
+}
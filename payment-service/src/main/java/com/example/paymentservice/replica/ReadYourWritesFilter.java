@@ -0,0 +1,63 @@
+package com.example.paymentservice.replica;
+
+import com.example.common.replica.ReadYourWritesContext;
+import com.example.common.replica.ReadYourWritesTracker;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * 요청 단위 read-your-writes 처리
+ * 
+ * - 쓰기 요청(POST/PUT/PATCH/DELETE)은 클라이언트의 마지막 쓰기 시각을 기록
+ *   (요청 시작 시 기록하여 응답이 먼저 전송되어도 다음 읽기가 놓치지 않게 하고, 끝날 때 다시 갱신)
+ * - window 안의 같은 클라이언트 요청은 ReadYourWritesContext를 설정하여 읽기 전용 트랜잭션도 primary 사용
+ * 
+ * 클라이언트 식별: X-Client-Id 헤더, 없으면 원격 주소
+ * (게이트웨이/프록시 뒤에서는 원격 주소가 모두 같으므로 게이트웨이가 X-Client-Id를 채워야 함)
+ * 
+ * 결제 데이터는 대부분 Kafka 컨슈머가 쓰므로 여기서 추적하는 쓰기는 HTTP 쓰기(운영 API)뿐.
+ * 대시보드의 결제 조회는 최대 max-lag-ms만큼 늦게 보일 수 있음.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    
+    private final ReadYourWritesTracker readYourWritesTracker;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clientKey = clientKey(request);
+        boolean write = WRITE_METHODS.contains(request.getMethod());
+        if (write) {
+            readYourWritesTracker.recordWrite(clientKey);
+        }
+        
+        ReadYourWritesContext.set(readYourWritesTracker.isWithinWindow(clientKey));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+            if (write) {
+                readYourWritesTracker.recordWrite(clientKey);
+            }
+        }
+    }
+    
+    private static String clientKey(HttpServletRequest request) {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        return clientId != null && !clientId.isBlank() ? clientId : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.paymentservice.replica;
+
+import com.example.common.monitoring.ConnectionHoldProfiler;
+import com.example.common.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 결제 DB 읽기 복제본 설정
+ * 
+ * DataSource 구성:
+ * - replica 없음: ConnectionHoldProfiler → spring.datasource HikariDataSource
+ * - replica 있음: LazyConnectionDataSourceProxy → ConnectionHoldProfiler → ReplicaRoutingDataSource
+ *   → primary/replica HikariDataSource
+ * - 프로파일러는 실제 풀 커넥션 획득/반납이 보이는 위치(지연 프록시 안쪽)에 둠
+ * 
+ * LazyConnectionDataSourceProxy가 필요한 이유:
+ * - JpaTransactionManager는 readOnly 여부가 기록되기 전에 커넥션을 요청함
+ * - 프록시가 실제 커넥션 획득을 첫 SQL까지 미루므로 그때 ReplicaRoutingDataSource가 readOnly 여부로 대상을 고름
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+    
+    private static final String PRIMARY_POOL_NAME = "payment-primary";
+    
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 ReplicaProperties replicaProperties,
+                                 ConnectionHoldProfiler connectionHoldProfiler,
+                                 MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class).build();
+        primary.setPoolName(PRIMARY_POOL_NAME);
+        // 풀 이름별 hikaricp.connections.* 메트릭 (primary/replica 커넥션 사용량 비교)
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        
+        List<ReplicaProperties.Replica> replicas = replicaProperties.getReplicas();
+        if (replicas.isEmpty()) {
+            return connectionHoldProfiler.wrap(primary);
+        }
+        
+        List<ReplicaRoutingDataSource.Replica> replicaNodes = new ArrayList<>(replicas.size());
+        for (int index = 0; index < replicas.size(); index++) {
+            ReplicaProperties.Replica config = replicas.get(index);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("payment-replica-" + index);
+            pool.setJdbcUrl(config.getUrl());
+            pool.setUsername(config.getUsername() != null ? config.getUsername() : dataSourceProperties.getUsername());
+            pool.setPassword(config.getPassword() != null ? config.getPassword() : dataSourceProperties.getPassword());
+            pool.setMaximumPoolSize(primary.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicaNodes.add(new ReplicaRoutingDataSource.Replica(pool.getPoolName(), pool));
+        }
+        log.info("Payment database routes read-only transactions over {} replica(s)", replicaNodes.size());
+        
+        return new LazyConnectionDataSourceProxy(connectionHoldProfiler.wrap(new ReplicaRoutingDataSource(
+            PRIMARY_POOL_NAME, primary, replicaNodes, replicaProperties.getMaxLagMs() / 1000.0, meterRegistry)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    /**
+     * 발행되지 않은 이벤트 조회 (오래된 순, 배치 크기만큼)
+     */
+    @Query("SELECT o FROM OutboxEvent o WHERE o.published = false AND o.retryCount < :maxRetryCount ORDER BY o.createdAt ASC")
+    List<OutboxEvent> findUnpublishedEvents(@Param("maxRetryCount") int maxRetryCount, Pageable pageable);
+    
+    /**
+     * Aggregate ID로 조회
+     */
+    Optional<OutboxEvent> findByAggregateId(String aggregateId);
+    
+    /**
+     * 발행 완료 처리 (배치 단위 단일 UPDATE)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.published = true, o.publishedAt = :publishedAt WHERE o.id IN :ids")
+    int markAsPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+    
+    /**
+     * 발행 실패 기록
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.retryCount = o.retryCount + 1, o.errorMessage = :errorMessage WHERE o.id = :id")
+    int incrementRetryCount(@Param("id") Long id, @Param("errorMessage") String errorMessage);
+    
+    /**
+     * 발행 완료된 오래된 이벤트 삭제 (정리용)
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.published = true AND o.publishedAt < :cutoffDate")
+    int deleteOldPublishedEvents(@Param("cutoffDate") LocalDateTime cutoffDate);
+}
@@ -1,9 +1,12 @@
 package com.example.paymentservice.repository;
 
 import com.example.paymentservice.entity.Payment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +18,10 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByOrderNumber(String orderNumber);
     
     List<Payment> findByOrderId(Long orderId);
+    
+    /**
+     * 보관 대상 (지정 상태이고 cutoff 이전에 생성된 결제, ID 순)
+     */
+    List<Payment> findByStatusInAndCreatedAtBeforeOrderByIdAsc(Collection<Payment.PaymentStatus> statuses,
+                                                                 LocalDateTime cutoff, Pageable pageable);
 }
@@ -2,6 +2,9 @@ package com.example.paymentservice.repository;
 
 import com.example.paymentservice.entity.ProcessedEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -18,4 +21,65 @@ public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent,
      * 이벤트가 이미 처리되었는지 확인
      */
     boolean existsByEventId(String eventId);
+    
+    /**
+     * 이벤트 선점 (중복 체크 + 기록을 단일 구문으로)
+     * 
+     * - event_id 유니크 인덱스 충돌 시 아무 것도 하지 않고 빈 결과 반환
+     * - 동시에 같은 이벤트가 재전달되어도 한 트랜잭션만 행을 얻음
+     * 
+     * @return 새로 선점한 경우 생성된 ID, 이미 처리된 이벤트면 empty
+     */
+    @Query(value = "INSERT INTO processed_events (event_id, event_type, payload, processed_at, result) "
+        + "VALUES (:eventId, :eventType, :payload, CURRENT_TIMESTAMP, 'PROCESSING') "
+        + "ON CONFLICT (event_id) DO NOTHING RETURNING id", nativeQuery = true)
+    Optional<Long> claim(@Param("eventId") String eventId,
+                         @Param("eventType") String eventType,
+                         @Param("payload") String payload);
+    
+    /**
+     * 주문 취소 기록 (아직 처리 기록이 없는 주문만)
+     * 
+     * result=CANCELLED 행이 event_id를 차지하므로 뒤늦게 도착한 ORDER_CREATED(재발행, DLT 재처리, 컨슈머 랙)는
+     * claim에서 충돌해 PG사 승인 없이 건너뜀
+     * 
+     * @return 새로 기록한 경우 생성된 ID, 이미 처리 기록이 있으면 empty
+     */
+    @Query(value = "INSERT INTO processed_events (event_id, event_type, payload, processed_at, result) "
+        + "VALUES (:eventId, 'ORDER_CANCELLED', :payload, CURRENT_TIMESTAMP, 'CANCELLED') "
+        + "ON CONFLICT (event_id) DO NOTHING RETURNING id", nativeQuery = true)
+    Optional<Long> recordCancellation(@Param("eventId") String eventId, @Param("payload") String payload);
+    
+    /**
+     * 결과를 기록하지 못한 선점 행을 취소로 바꿈 (재전달 시 승인을 다시 시도하지 않도록)
+     * 
+     * @return 바꾼 행 수
+     */
+    @Modifying
+    @Query("UPDATE ProcessedEvent e SET e.result = 'CANCELLED' WHERE e.eventId = :eventId AND e.result = 'PROCESSING'")
+    int cancelUnfinishedClaim(@Param("eventId") String eventId);
+    
+    /**
+     * 선점했지만 결과를 기록하지 못한 이벤트 (승인 중 예외, 재시작)
+     */
+    @Query("SELECT e.id FROM ProcessedEvent e WHERE e.eventId = :eventId AND e.result = 'PROCESSING'")
+    Optional<Long> findUnfinishedClaim(@Param("eventId") String eventId);
+    
+    /**
+     * 처리 결과 갱신 (엔티티 로딩 없이)
+     */
+    @Modifying
+    @Query("UPDATE ProcessedEvent e SET e.result = :result WHERE e.id = :id")
+    int updateResult(@Param("id") Long id, @Param("result") String result);
+    
+    /**
+     * 선점 행 완료 (PROCESSING인 경우에만)
+     * 
+     * 같은 행을 동시에 처리한 컨슈머 중 먼저 커밋한 쪽만 1을 받음 (뒤 UPDATE는 행 잠금을 기다린 뒤 조건을 다시 평가)
+     * 
+     * @return 바꾼 행 수 (0이면 이미 결과가 기록됨)
+     */
+    @Modifying
+    @Query("UPDATE ProcessedEvent e SET e.result = :result WHERE e.id = :id AND e.result = 'PROCESSING'")
+    int completeClaim(@Param("id") Long id, @Param("result") String result);
 }
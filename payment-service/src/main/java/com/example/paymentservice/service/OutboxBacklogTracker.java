@@ -0,0 +1,87 @@
+package com.example.paymentservice.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 결제 Outbox 백로그(미발행 이벤트) 크기와 가장 오래된 미발행 이벤트 시각을 메모리에서 추적
+ * 
+ * Order Service의 OutboxBacklogTracker와 같은 방식:
+ * - COUNT(*) 대신 커밋된 적재/발행 건수로 증감
+ * - Relay가 배치 크기보다 적게 읽으면 그것이 백로그 전체이므로 절대값 보정(reset)
+ * - 배치가 가득 차면 크기는 알 수 없으므로 가장 오래된 시각만 보정(resetOldest)
+ */
+@Component
+public class OutboxBacklogTracker {
+    
+    private static final long NONE = 0L;
+    
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong oldestUnpublishedEpochMillis = new AtomicLong(NONE);
+    
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 적재 1건 반영 (롤백되면 반영하지 않음)
+     */
+    public void recordEnqueuedAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordEnqueued();
+                }
+            });
+        } else {
+            recordEnqueued();
+        }
+    }
+    
+    public void recordEnqueued() {
+        depth.incrementAndGet();
+        oldestUnpublishedEpochMillis.compareAndSet(NONE, System.currentTimeMillis());
+    }
+    
+    public void recordPublished(int count) {
+        if (depth.updateAndGet(current -> Math.max(0, current - count)) == 0) {
+            oldestUnpublishedEpochMillis.set(NONE);
+        }
+    }
+    
+    /**
+     * Relay 폴링 결과로 절대값 보정
+     * 
+     * @param currentDepth 조회된 미발행 이벤트 수
+     * @param oldestCreatedAt 가장 오래된 미발행 이벤트의 생성 시각 (없으면 null)
+     */
+    public void reset(long currentDepth, LocalDateTime oldestCreatedAt) {
+        depth.set(currentDepth);
+        oldestUnpublishedEpochMillis.set(currentDepth == 0 ? NONE : toEpochMillis(oldestCreatedAt));
+    }
+    
+    /**
+     * 가장 오래된 미발행 이벤트 시각만 보정 (백로그 일부만 조회한 경우)
+     */
+    public void resetOldest(LocalDateTime oldestCreatedAt) {
+        oldestUnpublishedEpochMillis.set(toEpochMillis(oldestCreatedAt));
+    }
+    
+    public long getDepth() {
+        return depth.get();
+    }
+    
+    /**
+     * 가장 오래된 미발행 이벤트의 대기 시간 (백로그가 없으면 0)
+     */
+    public long getOldestAgeMillis() {
+        long oldest = oldestUnpublishedEpochMillis.get();
+        return oldest == NONE ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+    }
+    
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? NONE : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.entity.OutboxEvent;
+import com.example.paymentservice.event.EventHeaders;
+import com.example.paymentservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Outbox Event Relay Service (Payment)
+ * 
+ * Order Service의 OutboxEventRelayService와 같은 역할:
+ * - PaymentService는 결제 결과 이벤트를 outbox_events에만 저장 (결제 저장과 같은 트랜잭션)
+ * - 이 서비스가 주기적으로 미발행 이벤트를 payment-events 토픽으로 발행
+ * 
+ * 왜 컨슈머 트랜잭션 안에서 직접 발행하지 않는가:
+ * - Producer 지연(back-pressure)이 DB 커넥션 점유 시간으로 전이됨
+ * - 발행 후 트랜잭션이 롤백되면 존재하지 않는 결제에 대한 유령 이벤트가 남음
+ * 
+ * 배치 처리:
+ * - 한 번에 BATCH_SIZE건을 읽어 모두 send() 한 뒤 결과를 모아서 기다림
+ *   (Producer가 같은 파티션의 레코드를 묶어 전송하므로 건별 동기 전송보다 빠름)
+ * - 성공한 이벤트는 IN 절 단일 UPDATE로 발행 완료 처리
+ * - DB 트랜잭션 밖에서 Kafka 응답을 기다리므로 커넥션을 점유하지 않음
+ * - Order Service Relay와 같은 라우팅 헤더(EventHeaders)를 붙여 발행
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxEventRelayService {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxBacklogTracker outboxBacklogTracker;
+    
+    public static final String TOPIC_NAME = "payment-events";
+    private static final int MAX_RETRY_COUNT = 5;
+    private static final int BATCH_SIZE = 100;
+    private static final long SEND_TIMEOUT_SECONDS = 10;
+    
+    /**
+     * 주기적으로 Outbox 테이블을 폴링하여 미발행 이벤트를 배치로 발행
+     * 
+     * - fixedDelay = 1000: 결제 결과는 주문 상태 전이로 바로 이어지므로 Order 측(5초)보다 짧게 설정
+     * - 배치가 가득 찼고 모두 발행했다면 백로그가 남아 있는 것이므로 대기 없이 다음 배치를 이어서 처리
+     *   (발행에 실패한 이벤트가 있으면 다음 주기까지 대기 → 브로커 장애 중 같은 배치를 쉬지 않고 재시도하지 않음)
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void relayUnpublishedEvents() {
+        int published;
+        do {
+            published = relayBatch();
+        } while (published == BATCH_SIZE);
+    }
+    
+    /**
+     * 한 배치 발행
+     * 
+     * @return 발행에 성공한 이벤트 수
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findUnpublishedEvents(
+            MAX_RETRY_COUNT, PageRequest.of(0, BATCH_SIZE));
+        
+        // 조회 결과로 메모리 백로그 수치 보정 (오래된 순 정렬이므로 첫 행이 최고령)
+        if (batch.size() < BATCH_SIZE) {
+            outboxBacklogTracker.reset(batch.size(), batch.isEmpty() ? null : batch.get(0).getCreatedAt());
+        } else {
+            outboxBacklogTracker.resetOldest(batch.get(0).getCreatedAt());
+        }
+        
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        
+        log.info("Found {} unpublished payment events to relay", batch.size());
+        
+        // 1. 배치 전체를 먼저 send (Producer 내부에서 배치 전송)
+        Map<OutboxEvent, CompletableFuture<SendResult<String, String>>> futures = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            try {
+                futures.put(event, kafkaTemplate.send(toRecord(event)));
+            } catch (Exception e) {
+                handlePublishError(event, e);
+            }
+        }
+        
+        // 2. 결과 수집
+        List<Long> publishedIds = new ArrayList<>(futures.size());
+        for (Map.Entry<OutboxEvent, CompletableFuture<SendResult<String, String>>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                publishedIds.add(entry.getKey().getId());
+            } catch (ExecutionException e) {
+                handlePublishError(entry.getKey(), e.getCause());
+            } catch (TimeoutException e) {
+                handlePublishError(entry.getKey(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        
+        // 3. 발행 완료 처리 (단일 UPDATE)
+        if (!publishedIds.isEmpty()) {
+            outboxEventRepository.markAsPublished(publishedIds, LocalDateTime.now());
+            outboxBacklogTracker.recordPublished(publishedIds.size());
+            log.info("Relayed {} payment events", publishedIds.size());
+        }
+        
+        return publishedIds.size();
+    }
+    
+    /**
+     * Outbox 이벤트 → Kafka 레코드 (키 = aggregateId, 헤더 = 이벤트 타입/스키마 버전/애그리거트 타입)
+     */
+    public static ProducerRecord<String, String> toRecord(OutboxEvent event) {
+        return new ProducerRecord<>(TOPIC_NAME, null, event.getAggregateId(), event.getPayload(),
+            EventHeaders.of(event.getEventType(), event.getAggregateType(), PaymentEventDTO.SCHEMA_VERSION));
+    }
+    
+    /**
+     * 발행 실패 처리
+     */
+    private void handlePublishError(OutboxEvent event, Throwable error) {
+        log.error("Failed to relay payment event: aggregateId={}, retryCount={}, error={}", 
+            event.getAggregateId(), event.getRetryCount(), error.getMessage());
+        
+        outboxEventRepository.incrementRetryCount(event.getId(), error.getMessage());
+        
+        if (event.getRetryCount() + 1 >= MAX_RETRY_COUNT) {
+            log.error("Payment event exceeded max retry count, manual intervention required: aggregateId={}", 
+                event.getAggregateId());
+        }
+    }
+    
+    /**
+     * 오래된 발행 완료 이벤트 정리 (7일 이상 된 것)
+     */
+    @Scheduled(cron = "0 0 2 * * *") // 매일 새벽 2시
+    public void cleanupOldEvents() {
+        int deleted = outboxEventRepository.deleteOldPublishedEvents(LocalDateTime.now().minusDays(7));
+        if (deleted > 0) {
+            log.info("Cleaned up {} old published payment events", deleted);
+        }
+    }
+}
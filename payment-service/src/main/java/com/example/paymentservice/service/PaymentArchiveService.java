@@ -0,0 +1,95 @@
+package com.example.paymentservice.service;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.paymentservice.archive.ArchiveProperties;
+import com.example.paymentservice.entity.Payment;
+import com.example.paymentservice.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 완료/실패/환불 결제 보관 (payments → 압축 컬럼형 세그먼트 파일)
+ * 
+ * 오래된 최종 상태 결제가 payments에 계속 쌓이면 인덱스와 vacuum 비용이 함께 커짐
+ * → retention-days가 지난 최종 상태 결제를 세그먼트 파일로 옮기고 DB에서 삭제.
+ * 조회 API는 DB에 없으면 보관소를 찾음 (PaymentService).
+ * 
+ * segment-rows씩:
+ * 1. 읽기 트랜잭션으로 대상 조회 (primary)
+ * 2. 세그먼트 기록 (fsync + rename, 커넥션을 쥐지 않은 상태에서)
+ * 3. 삭제 트랜잭션
+ * 2와 3 사이에 중단되면 다음 실행에서 같은 행을 다시 읽지만, 이미 보관된 결제는 세그먼트에 다시 쓰지 않고 삭제만 함.
+ * 
+ * 중복 처리 방지는 processed_events가 담당하므로 결제 행을 옮겨도 주문 이벤트 재전달 시 다시 결제되지 않음.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentArchiveService {
+    
+    /**
+     * 더 이상 상태가 바뀌지 않는 결제
+     */
+    private static final Set<Payment.PaymentStatus> FINAL_STATUSES = Set.of(
+        Payment.PaymentStatus.COMPLETED, Payment.PaymentStatus.FAILED, Payment.PaymentStatus.REFUNDED);
+    
+    private final PaymentRepository paymentRepository;
+    private final ArchiveStore<Payment> paymentArchive;
+    private final ArchiveProperties archiveProperties;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Scheduled(cron = "${payment.archive.cron:0 30 3 * * *}") // 기본: 매일 새벽 3시 30분
+    public void scheduledArchive() {
+        if (archiveProperties.isEnabled()) {
+            archiveFinalizedPayments();
+        }
+    }
+    
+    /**
+     * @return 이번 실행에서 DB에서 옮긴 결제 수 (다른 인스턴스가 보관 중이면 0)
+     */
+    public long archiveFinalizedPayments() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveProperties.getRetentionDays());
+        int batchSize = archiveProperties.getSegmentRows();
+        try (ArchiveStore.ArchiveLock lock = paymentArchive.tryLock()) {
+            if (lock == null) {
+                log.info("Payment archiving already running elsewhere, skipping");
+                return 0;
+            }
+            long archived = 0;
+            while (true) {
+                List<Payment> batch = transactionTemplate.execute(status ->
+                    paymentRepository.findByStatusInAndCreatedAtBeforeOrderByIdAsc(
+                        FINAL_STATUSES, cutoff, PageRequest.of(0, batchSize)));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                
+                paymentArchive.append(batch.stream()
+                    .filter(payment -> !paymentArchive.containsKey(payment.getOrderNumber()))
+                    .toList());
+                List<Long> ids = batch.stream().map(Payment::getId).toList();
+                transactionTemplate.executeWithoutResult(status -> paymentRepository.deleteAllByIdInBatch(ids));
+                archived += batch.size();
+                
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+            log.info("Archived {} finalized payments created before {}", archived, cutoff);
+            return archived;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Payment archiving failed", e);
+        }
+    }
+}
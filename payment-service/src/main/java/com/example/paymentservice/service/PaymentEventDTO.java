@@ -13,12 +13,19 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class PaymentEventDTO {
+    
+    /**
+     * payment-events 스키마 버전 (schemaVersion 헤더, Order Service의 PaymentEventDTO가 읽을 수 없게 바뀌면 올림)
+     */
+    public static final int SCHEMA_VERSION = 1;
+    
     private Long paymentId;
     private Long orderId;
     private String orderNumber;
     private String paymentNumber;
     private BigDecimal amount;
     private String status;
+    private String paymentMethod;
     private String eventType;
     private String failureReason;
     private LocalDateTime eventTime;
@@ -1,21 +1,30 @@
 package com.example.paymentservice.service;
 
+import com.example.common.archive.ArchiveStore;
 import com.example.paymentservice.dto.PaymentResponse;
+import com.example.paymentservice.entity.OutboxEvent;
 import com.example.paymentservice.entity.Payment;
-import com.example.paymentservice.entity.ProcessedEvent;
 import com.example.paymentservice.event.OrderEvent;
+import com.example.paymentservice.gateway.AdaptiveConcurrencyLimiter;
+import com.example.paymentservice.gateway.ConcurrencyLimitExceededException;
+import com.example.paymentservice.gateway.PaymentDeadlineExceededException;
+import com.example.paymentservice.gateway.PaymentDeadlinePolicy;
+import com.example.paymentservice.gateway.PaymentGateway;
+import com.example.paymentservice.repository.OutboxEventRepository;
 import com.example.paymentservice.repository.PaymentRepository;
 import com.example.paymentservice.repository.ProcessedEventRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -37,11 +46,16 @@ public class PaymentService {
     
     private final PaymentRepository paymentRepository;
     private final ProcessedEventRepository processedEventRepository;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxBacklogTracker outboxBacklogTracker;
+    private final PaymentGateway paymentGateway;
+    private final AdaptiveConcurrencyLimiter paymentGatewayLimiter;
+    private final PaymentDeadlinePolicy paymentDeadlinePolicy;
     private final ObjectMapper objectMapper;
+    private final ArchiveStore<Payment> paymentArchive;
+    private final TransactionTemplate transactionTemplate;
     
-    private static final String PAYMENT_EVENTS_TOPIC = "payment-events";
-    // 결제 성공률 시뮬레이션을 위한 Random 객체 (운영 환경에서는 실제 PG사 결과 사용)
+    // 결제 방법 선택 시뮬레이션을 위한 Random 객체 (운영 환경에서는 실제 주문 정보 사용)
     private final Random random = new Random();
     
     /**
@@ -57,53 +71,117 @@ public class PaymentService {
      * - 처리 이력 추적 및 디버깅 용이
      * - 실패한 이벤트 재처리 시 참고 가능
      * 
+     * 트랜잭션을 세 단계로 나누는 이유:
+     * - PG사 승인은 수 초가 걸릴 수 있음 → 트랜잭션 안에서 호출하면 그동안 DB 커넥션과 선점 행 잠금을 붙잡음
+     * - 1) 선점 트랜잭션: processed_events에 PROCESSING 행을 INSERT하고 바로 커밋
+     * - 2) PG사 승인: 트랜잭션 없이 동시성 제한기 → PaymentGateway 호출
+     * - 3) 결과 트랜잭션: 선점 행을 PROCESSING → SUCCESS/FAILED로 바꾼 경우에만 결제/Outbox INSERT
+     * - 2) 또는 3)에서 실패하면 선점 행은 PROCESSING으로 남고, 재전달 시 같은 멱등성 키(AUTH-주문번호)로
+     *   승인부터 다시 요청 → PG사는 한 번만 승인하고 같은 결과를 돌려줌
+     * 
      * @param orderEvent 주문 생성 이벤트 (Kafka에서 수신)
      */
-    @Transactional
     public void processPayment(OrderEvent orderEvent) {
         String eventId = orderEvent.getOrderNumber();
         
-        // 1. 멱등성 체크: 이미 처리된 이벤트인지 확인
-        // orderNumber를 eventId로 사용하여 동일 주문의 중복 처리 방지
-        if (processedEventRepository.existsByEventId(eventId)) {
-            log.info("Event already processed, skipping: eventId={}", eventId);
-            return;
-        }
-        
-        log.info("Processing payment for order: {}", orderEvent.getOrderNumber());
-        
         try {
-            // 2. 처리 중인 이벤트 기록 (중복 처리 방지)
-            // DB에 먼저 기록함으로써, 처리 도중 실패해도 재시도 시 멱등성 보장
-            // PROCESSING 상태로 저장하여 현재 처리 중임을 표시
-            ProcessedEvent processedEvent = ProcessedEvent.builder()
-                .eventId(eventId)
-                .eventType("ORDER_CREATED")
-                .payload(objectMapper.writeValueAsString(orderEvent))
-                .result("PROCESSING")
-                .build();
-            processedEventRepository.save(processedEvent);
-            
-            // 3. 결제 처리
-            Payment payment = executePayment(orderEvent);
+            // 1. 멱등성 체크 + 선점(claim)을 한 번의 INSERT ... ON CONFLICT DO NOTHING RETURNING으로 처리
+            // orderNumber를 eventId로 사용하여 동일 주문의 중복 처리 방지
+            // - exists 조회 후 INSERT 하는 방식은 동시 재전달 시 경쟁 조건 발생
+            // - 유니크 인덱스가 직렬화 지점이 되어 단 하나의 컨슈머만 행을 얻음
+            String payload = objectMapper.writeValueAsString(orderEvent);
+            Optional<Long> claimId = transactionTemplate.execute(status -> claim(eventId, payload));
+            if (claimId.isEmpty()) {
+                log.info("Event already processed, skipping: eventId={}", eventId);
+                return;
+            }
             
-            // 4. 결제 결과 이벤트 발행
-            publishPaymentResultEvent(payment, orderEvent);
+            log.info("Processing payment for order: {}", orderEvent.getOrderNumber());
             
-            // 5. 처리 완료 기록 업데이트
-            processedEvent.setResult(payment.getStatus() == Payment.PaymentStatus.COMPLETED 
-                ? "SUCCESS" : "FAILED");
-            processedEventRepository.save(processedEvent);
+            // 2. PG사 승인 (트랜잭션 밖, DB 커넥션을 잡지 않음)
+            boolean approved = authorize(orderEvent);
             
+            // 3. 선점 행 완료 + 결제(최종 상태로 한 번만 INSERT) + 결과 이벤트 Outbox 저장을 한 트랜잭션으로
+            transactionTemplate.executeWithoutResult(status -> recordResult(claimId.get(), orderEvent, approved));
+        
+        } catch (ConcurrencyLimitExceededException e) {
+            // 한도 초과는 실패가 아니라 재전달 대상이므로 그대로 전파 (선점 행은 PROCESSING으로 남아 재전달 시 이어서 처리)
+            log.warn("Payment gateway busy, deferring order: {}", orderEvent.getOrderNumber());
+            throw e;
+        } catch (PaymentDeadlineExceededException e) {
+            // 승인 여부를 모르는 상태 → 재시도 토픽에서 같은 멱등성 키로 다시 요청하면 PG사 결과만 돌려받음
+            log.warn("Payment authorization deadline exceeded, retrying later: order={}, error={}",
+                orderEvent.getOrderNumber(), e.getMessage());
+            throw e;
         } catch (Exception e) {
+            // 선점 전 실패면 아무것도 남지 않고, 선점 후 실패면 PROCESSING 행이 남아 재전달 시 승인부터 다시 처리됨
             log.error("Failed to process payment for order: {}", orderEvent.getOrderNumber(), e);
-            recordFailedProcessing(eventId, e);
             throw new RuntimeException("Payment processing failed", e);
         }
     }
     
     /**
-     * 실제 결제 처리 로직
+     * 주문 취소 기록 (Saga 타임아웃/보상으로 발행된 ORDER_CANCELLED)
+     * 
+     * 취소된 주문의 ORDER_CREATED가 뒤늦게 다시 오면(재발행, DLT 재처리, 컨슈머 랙) 승인이 나가고
+     * Order Service는 CANCELLED 주문의 PAYMENT_COMPLETED를 거부하므로 고객만 결제됨 → 승인 전에 막음:
+     * - 처리 기록이 없으면 CANCELLED 행(tombstone)을 남겨 이후 ORDER_CREATED가 선점에서 건너뛰게 함
+     * - 결과를 기록하지 못한 PROCESSING 행이면 CANCELLED로 바꿔 재전달 시 승인을 다시 시도하지 않음
+     *   (승인 호출이 진행 중이던 경우는 recordResult가 결과를 남기지 않고 승인 취소가 필요하다고 기록)
+     * - 이미 결과가 있으면 그대로 둠 (결제 실패로 인한 취소 등)
+     */
+    @Transactional
+    public void recordCancellation(OrderEvent orderEvent) {
+        String eventId = orderEvent.getOrderNumber();
+        
+        try {
+            String payload = objectMapper.writeValueAsString(orderEvent);
+            if (processedEventRepository.recordCancellation(eventId, payload).isPresent()) {
+                log.info("Order cancelled before payment, recorded tombstone: eventId={}", eventId);
+            } else if (processedEventRepository.cancelUnfinishedClaim(eventId) > 0) {
+                log.info("Order cancelled with unfinished payment claim, claim cancelled: eventId={}", eventId);
+            } else {
+                log.info("Order cancelled after payment result was recorded, nothing to do: eventId={}", eventId);
+            }
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to record order cancellation", e);
+        }
+    }
+    
+    /**
+     * 승인 경로만 바꾼 사본 (기동 워밍업 전용: JitWarmUpRunner가 NoOpPaymentGateway 경로로 processPayment를 반복)
+     * 
+     * 사본은 Spring 프록시가 아니므로 @Transactional 메서드는 트랜잭션 없이 실행됨
+     * (processPayment는 TransactionTemplate으로 직접 트랜잭션을 나누므로 같은 경계로 실행됨)
+     */
+    public PaymentService withGateway(PaymentGateway gateway, AdaptiveConcurrencyLimiter limiter) {
+        return new PaymentService(paymentRepository, processedEventRepository, outboxEventRepository,
+            outboxBacklogTracker, gateway, limiter, paymentDeadlinePolicy, objectMapper, paymentArchive,
+            transactionTemplate);
+    }
+    
+    /**
+     * 이벤트 선점 (선점 트랜잭션 안에서 실행)
+     * 
+     * 새로 선점하지 못했어도 PROCESSING으로 남은 행(승인 중 예외, 재시작)이면 그 행을 이어서 처리.
+     * 동시에 같은 이벤트가 재전달되어 두 컨슈머가 같은 행을 처리하더라도
+     * - 승인은 같은 멱등성 키라 PG사에서 한 번만 일어나고
+     * - 결과 기록은 PROCESSING인 경우에만 바꾸는 조건부 UPDATE라 한 쪽만 결제/Outbox를 INSERT함
+     * 
+     * @return 처리할 선점 행 ID, 이미 결과가 난 이벤트면 empty
+     */
+    private Optional<Long> claim(String eventId, String payload) {
+        Optional<Long> claimId = processedEventRepository.claim(eventId, "ORDER_CREATED", payload);
+        if (claimId.isPresent()) {
+            return claimId;
+        }
+        Optional<Long> unfinished = processedEventRepository.findUnfinishedClaim(eventId);
+        unfinished.ifPresent(id -> log.info("Resuming unfinished payment claim: eventId={}", eventId));
+        return unfinished;
+    }
+    
+    /**
+     * PG사 승인 요청
      * 
      * 실제 운영 환경에서는:
      * - 외부 PG사(토스페이먼츠, KG이니시스 등) API 호출
@@ -111,14 +189,60 @@ public class PaymentService {
      * - 타임아웃 설정과 예외 처리 필수
      * 
      * 현재 구현:
-     * - 결제 프로세스를 시뮬레이션하여 시스템 동작 테스트
-     * - 90% 성공률로 설정하여 실패 케이스(보상 트랜잭션)도 테스트 가능
+     * - PaymentGateway(HedgingPaymentGateway → 시뮬레이션 엔드포인트)로 승인 요청
+     * - 멱등성 키는 주문 번호로 만듦 → 재전달/재시도/헤지 요청이 PG사에서 한 번만 승인됨
+     * - 제한 시간은 주문 나이로 정함 (PaymentDeadlinePolicy), 넘기면 PaymentDeadlineExceededException
+     * - AdaptiveConcurrencyLimiter로 동시 승인 호출 수를 PG사 응답 지연에 맞춰 제한
+     * 
+     * @param orderEvent 주문 정보
+     * @return 승인 성공 여부
+     * @throws Exception 승인 호출 중 발생한 예외 (한도 초과 시 ConcurrencyLimitExceededException,
+     *                   제한 시간 초과 시 PaymentDeadlineExceededException)
+     */
+    private boolean authorize(OrderEvent orderEvent) throws Exception {
+        String idempotencyKey = "AUTH-" + orderEvent.getOrderNumber();
+        Duration timeout = paymentDeadlinePolicy.timeoutFor(orderEvent.getEventTime());
+        return paymentGatewayLimiter.execute(() -> paymentGateway.authorize(idempotencyKey, orderEvent, timeout));
+    }
+    
+    /**
+     * 승인 결과 기록 (결과 트랜잭션 안에서 실행)
+     * 
+     * 선점 행을 PROCESSING에서 바꾼 경우에만 결제/Outbox를 저장
+     * → 같은 행을 동시에 처리한 다른 컨슈머가 먼저 기록했으면 아무것도 하지 않음
+     */
+    private void recordResult(Long claimId, OrderEvent orderEvent, boolean approved) {
+        int completed = processedEventRepository.completeClaim(claimId, approved ? "SUCCESS" : "FAILED");
+        if (completed == 0) {
+            boolean cancelled = processedEventRepository.findById(claimId)
+                .map(event -> "CANCELLED".equals(event.getResult()))
+                .orElse(false);
+            if (cancelled && approved) {
+                // 승인 호출 중에 주문 취소가 기록됨 → 결제 결과를 남기지 않으므로 PG사 승인 취소가 필요
+                log.error("Payment authorized for an order cancelled during authorization, void required: order={}",
+                    orderEvent.getOrderNumber());
+            } else {
+                log.info("Payment result already recorded by another delivery: order={}",
+                    orderEvent.getOrderNumber());
+            }
+            return;
+        }
+        Payment payment = savePayment(orderEvent, approved);
+        
+        // 결제 결과 이벤트를 Outbox에 저장 (같은 트랜잭션, 발행은 Relay가 담당)
+        publishPaymentResultEvent(payment, orderEvent);
+    }
+    
+    /**
+     * 결제 엔티티 저장
+     * 
+     * PROCESSING 상태로 먼저 저장 후 다시 저장하지 않고, 승인 결과가 나온 뒤 최종 상태로 한 번만 저장
      * 
      * @param orderEvent 주문 정보
-     * @return 처리된 결제 엔티티
-     * @throws InterruptedException 결제 처리 시뮬레이션 중 인터럽트
+     * @param isSuccess PG사 승인 결과
+     * @return 저장된 결제 엔티티
      */
-    private Payment executePayment(OrderEvent orderEvent) throws InterruptedException {
+    private Payment savePayment(OrderEvent orderEvent, boolean isSuccess) {
         // 결제 번호 생성
         String paymentNumber = "PAY-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
         
@@ -129,7 +253,7 @@ public class PaymentService {
         String[] methods = {"CARD", "BANK_TRANSFER", "MOBILE"};
         String paymentMethod = methods[random.nextInt(methods.length)];
         
-        // 결제 엔티티 생성
+        // 결제 엔티티 생성 (최종 상태)
         Payment payment = Payment.builder()
             .paymentNumber(paymentNumber)
             .orderId(orderEvent.getOrderId())
@@ -137,22 +261,26 @@ public class PaymentService {
             .amount(orderEvent.getTotalAmount())
             .customerName(orderEvent.getCustomerName())
             .customerEmail(orderEvent.getCustomerEmail())
-            .status(Payment.PaymentStatus.PROCESSING)
+            .status(isSuccess ? Payment.PaymentStatus.COMPLETED : Payment.PaymentStatus.FAILED)
             .paymentMethod(paymentMethod)
             .transactionId(transactionId)
             .build();
         
-        // DB 저장
+        // DB 저장 (INSERT 한 번)
         Payment savedPayment = paymentRepository.save(payment);
-        log.info("Payment created: paymentNumber={}", savedPayment.getPaymentNumber());
         
-        // 결제 처리 시뮬레이션 (실제로는 PG사 API 호출)
-        Thread.sleep(1000); // 결제 처리 시뮬레이션
-        
-        // 90% 성공률
-        boolean isSuccess = random.nextInt(10) < 9;
+        if (isSuccess) {
+            log.info("Payment completed: paymentNumber={}", savedPayment.getPaymentNumber());
+        } else {
+            log.warn("Payment failed: paymentNumber={}", savedPayment.getPaymentNumber());
+        }
         
-       
+        return savedPayment;
+    }
+    
+    /**
+     * 결제 결과 이벤트를 Outbox 테이블에 저장
+     * 
      * Saga Pattern의 핵심 부분:
      * - 결제 성공 시: PAYMENT_COMPLETED 이벤트 발행 -> Order Service가 주문 완료 처리
      * - 결제 실패 시: PAYMENT_FAILED 이벤트 발행 -> Order Service가 보상 트랜잭션(주문 취소) 실행
@@ -162,23 +290,18 @@ public class PaymentService {
      * - 서비스 간 의존성 감소, 확장성 증가
      * - 이벤트 기반으로 느슨한 결합 유지
      * 
+     * Outbox에 저장하는 이유 (Order Service와 동일한 Transactional Outbox 패턴):
+     * - 결제 저장과 이벤트 저장이 같은 트랜잭션으로 커밋/롤백됨 (유령 이벤트 방지)
+     * - Kafka 전송 지연이 컨슈머 트랜잭션과 DB 커넥션 점유로 이어지지 않음
+     * - 실제 발행은 OutboxEventRelayService가 비동기로 처리
+     * 
      * @param payment 처리된 결제 정보
      * @param orderEvent 원본 주문 이벤트
-     *  if (isSuccess) {
-            savedPayment.setStatus(Payment.PaymentStatus.COMPLETED);
-            log.info("Payment completed: paymentNumber={}", savedPayment.getPaymentNumber());
-        } else {
-            savedPayment.setStatus(Payment.PaymentStatus.FAILED);
-            log.warn("Payment failed: paymentNumber={}", savedPayment.getPaymentNumber());
-        }
-        
-        return paymentRepository.save(savedPayment);
-    }
-    
-    /**
-     * 결제 결과 이벤트를 Kafka로 발행
      */
     private void publishPaymentResultEvent(Payment payment, OrderEvent orderEvent) {
+        String eventType = payment.getStatus() == Payment.PaymentStatus.COMPLETED 
+            ? "PAYMENT_COMPLETED" : "PAYMENT_FAILED";
+        
         try {
             PaymentEventDTO paymentEvent = PaymentEventDTO.builder()
                 .paymentId(payment.getId())
@@ -187,47 +310,35 @@ public class PaymentService {
                 .paymentNumber(payment.getPaymentNumber())
                 .amount(payment.getAmount())
                 .status(payment.getStatus().name())
-                .eventType(payment.getStatus() == Payment.PaymentStatus.COMPLETED 
-                    ? "PAYMENT_COMPLETED" : "PAYMENT_FAILED")
+                .paymentMethod(payment.getPaymentMethod())
+                .eventType(eventType)
                 .failureReason(payment.getStatus() == Payment.PaymentStatus.FAILED 
                     ? "PG사 승인 거절" : null)
                 .eventTime(LocalDateTime.now())
                 .build();
             
-            String payload = objectMapper.writeValueAsString(paymentEvent);
+            OutboxEvent outboxEvent = OutboxEvent.builder()
+                .aggregateId(payment.getOrderNumber())
+                .aggregateType("PAYMENT")
+                .eventType(eventType)
+                .payload(objectMapper.writeValueAsString(paymentEvent))
+                .build();
             
-            kafkaTemplate.send(PAYMENT_EVENTS_TOPIC, payment.getOrderNumber(), payload);
+            outboxEventRepository.save(outboxEvent);
+            outboxBacklogTracker.recordEnqueuedAfterCommit();
             
-            log.info("Payment result event published: orderNumber={}, status={}", 
+            log.info("Payment result event saved to outbox: orderNumber={}, status={}", 
                 payment.getOrderNumber(), payment.getStatus());
-                
+        
         } catch (JsonProcessingException e) {
-            log.error("Failed to publish payment result event", e);
-            throw new RuntimeException("Failed to publish payment event", e);
+            log.error("Failed to serialize payment result event", e);
+            throw new RuntimeException("Failed to create payment outbox event", e);
         }
     }
     
     /**
-     * 실패한 이벤트 처리 기록
+     * 전체 결제 조회 (보관된 결제는 제외)
      */
-    private void recordFailedProcessing(String eventId, Exception e) {
-        try {
-            ProcessedEvent processedEvent = processedEventRepository.findByEventId(eventId)
-                .orElse(ProcessedEvent.builder()
-                    .eventId(eventId)
-                    .eventType("ORDER_CREATED")
-                    .payload("{}")
-                    .build());
-            
-            processedEvent.setResult("FAILED");
-            processedEvent.setErrorMessage(e.getMessage());
-            processedEventRepository.save(processedEvent);
-            
-        } catch (Exception ex) {
-            log.error("Failed to record failed processing", ex);
-        }
-    }
-    
     @Transactional(readOnly = true)
     public List<PaymentResponse> getAllPayments() {
         log.info("Fetching all payments");
@@ -236,18 +347,26 @@ public class PaymentService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * ID로 조회 (DB에 없으면 보관된 결제에서 찾음)
+     */
     @Transactional(readOnly = true)
     public PaymentResponse getPaymentById(Long id) {
         log.info("Fetching payment by id: {}", id);
         Payment payment = paymentRepository.findById(id)
+            .or(() -> paymentArchive.findById(id))
             .orElseThrow(() -> new RuntimeException("Payment not found with id: " + id));
         return PaymentResponse.fromEntity(payment);
     }
     
+    /**
+     * 주문 번호로 조회 (DB에 없으면 보관된 결제에서 찾음)
+     */
     @Transactional(readOnly = true)
     public PaymentResponse getPaymentByOrderNumber(String orderNumber) {
         log.info("Fetching payment by order number: {}", orderNumber);
         Payment payment = paymentRepository.findByOrderNumber(orderNumber)
+            .or(() -> paymentArchive.findByKey(orderNumber))
             .orElseThrow(() -> new RuntimeException("Payment not found for order: " + orderNumber));
         return PaymentResponse.fromEntity(payment);
     }
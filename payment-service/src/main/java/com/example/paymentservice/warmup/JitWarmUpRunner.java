@@ -0,0 +1,164 @@
+package com.example.paymentservice.warmup;
+
+import com.example.common.warmup.WarmUpLoop;
+import com.example.paymentservice.entity.OutboxEvent;
+import com.example.paymentservice.event.OrderEvent;
+import com.example.paymentservice.orderstate.WarmStartHealthIndicator;
+import com.example.paymentservice.service.OutboxEventRelayService;
+import com.example.paymentservice.service.PaymentEventDTO;
+import com.example.paymentservice.service.PaymentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 직후 JIT 워밍업 (health 이름: warmStart의 jitWarmUp)
+ * 
+ * Order Service의 JitWarmUpRunner와 같은 방식으로, 실제 주문 이벤트를 받기 전에 결제 경로를 가상 주문으로 반복 실행:
+ * - 주문 이벤트 JSON 역직렬화 (OrderEvent)
+ * - PaymentService.processPayment: processed_events 선점, 결제/Outbox INSERT, 결과 이벤트 직렬화
+ *   → rollback-only 바깥 트랜잭션에 참여하므로 아무것도 커밋되지 않음.
+ *     승인 경로만 WarmUpPaymentGateway로 바꾼 사본을 쓰므로 제한기 → 헤지 → 제한 시간 계산은 운영과 같은 코드로 실행되고
+ *     PG사 대신 NoOpPaymentGateway가 바로 승인함 (운영 제한기 한도와 헤지 지연 통계는 건드리지 않음).
+ *     주문 번호는 매번 새로 만듦 (여러 Pod가 동시에 워밍업해도 커밋되지 않은 선점 행을 서로 기다리지 않도록)
+ * - Relay 배치 구성: 결과 이벤트 send → 결과 대기 (즉시 완료되는 MockProducer)
+ * 
+ * 반복을 다 채우거나 time-budget이 지나면 readiness 포함. 실패해도 워밍업만 건너뛰고 ready로 전환.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(JitWarmUpProperties.class)
+public class JitWarmUpRunner {
+    
+    private static final String WARM_START_NAME = "jitWarmUp";
+    
+    private final JitWarmUpProperties jitWarmUpProperties;
+    private final WarmStartHealthIndicator warmStartHealthIndicator;
+    private final PaymentService warmUpPaymentService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate rollbackOnlyTransactionTemplate;
+    private final NoOpProducer producer = new NoOpProducer();
+    private final KafkaTemplate<String, String> noOpKafkaTemplate = new KafkaTemplate<>(() -> producer);
+    
+    public JitWarmUpRunner(JitWarmUpProperties jitWarmUpProperties,
+                           WarmStartHealthIndicator warmStartHealthIndicator,
+                           PaymentService paymentService,
+                           WarmUpPaymentGateway warmUpPaymentGateway,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager) {
+        this.jitWarmUpProperties = jitWarmUpProperties;
+        this.warmStartHealthIndicator = warmStartHealthIndicator;
+        this.warmUpPaymentService = paymentService.withGateway(
+            warmUpPaymentGateway.gateway(), warmUpPaymentGateway.limiter());
+        this.objectMapper = objectMapper;
+        this.rollbackOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        if (jitWarmUpProperties.isEnabled()) {
+            warmStartHealthIndicator.register(WARM_START_NAME);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!jitWarmUpProperties.isEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "jit-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    void warmUp() {
+        log.info("JIT warm-up started: iterations={}, timeBudget={}",
+            jitWarmUpProperties.getIterations(), jitWarmUpProperties.getTimeBudget());
+        try {
+            WarmUpLoop.Result result = WarmUpLoop.run(this::iteration, jitWarmUpProperties.getIterations(),
+                jitWarmUpProperties.getTimeBudget(), jitWarmUpProperties.getMeasureWindow());
+            log.info("JIT warm-up finished: iterations={}, elapsed={}ms, budgetExpired={}, first={}us, "
+                    + "avg {}us -> {}us, p99 {}us -> {}us",
+                result.iterations(), result.elapsedMillis(), result.budgetExpired(), result.firstMicros(),
+                result.before().avgMicros(), result.after().avgMicros(),
+                result.before().p99Micros(), result.after().p99Micros());
+            warmStartHealthIndicator.complete(WARM_START_NAME, result.toDetails());
+        } catch (Exception e) {
+            log.warn("JIT warm-up aborted, accepting traffic without it: {}", e.getMessage());
+            warmStartHealthIndicator.complete(WARM_START_NAME, Map.of("aborted", String.valueOf(e.getMessage())));
+        }
+    }
+    
+    private void iteration(int iteration) throws Exception {
+        String orderNumber = "WARMUP-" + UUID.randomUUID();
+        String orderJson = objectMapper.writeValueAsString(OrderEvent.builder()
+            .orderId((long) iteration)
+            .orderNumber(orderNumber)
+            .productName("jit-warm-up")
+            .quantity(2)
+            .price(new BigDecimal("12500.50"))
+            .totalAmount(new BigDecimal("25001.00"))
+            .customerName("warm-up")
+            .customerEmail("warm-up@example.com")
+            .status("PENDING")
+            .eventTime(LocalDateTime.now())
+            .eventType("ORDER_CREATED")
+            .build());
+        OrderEvent orderEvent = objectMapper.readValue(orderJson, OrderEvent.class);
+        
+        rollbackOnlyTransactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            warmUpPaymentService.processPayment(orderEvent);
+            return null;
+        });
+        
+        String payload = objectMapper.writeValueAsString(PaymentEventDTO.builder()
+            .paymentId((long) iteration)
+            .orderId(orderEvent.getOrderId())
+            .orderNumber(orderNumber)
+            .paymentNumber("PAY-WARMUP")
+            .amount(orderEvent.getTotalAmount())
+            .status("COMPLETED")
+            .paymentMethod("CARD")
+            .eventType("PAYMENT_COMPLETED")
+            .eventTime(LocalDateTime.now())
+            .build());
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+            .aggregateId(orderNumber)
+            .aggregateType("PAYMENT")
+            .eventType("PAYMENT_COMPLETED")
+            .payload(payload)
+            .build();
+        noOpKafkaTemplate.send(OutboxEventRelayService.toRecord(outboxEvent)).get(1, TimeUnit.SECONDS);
+        producer.clear();
+    }
+    
+    /**
+     * 보낸 레코드를 즉시 완료하는 프로듀서 (KafkaTemplate이 send마다 close를 호출해도 계속 쓸 수 있도록 close 무시)
+     */
+    private static class NoOpProducer extends MockProducer<String, String> {
+        
+        NoOpProducer() {
+            super(true, new StringSerializer(), new StringSerializer());
+        }
+        
+        @Override
+        public void close() {
+        }
+        
+        @Override
+        public void close(Duration timeout) {
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.paymentservice.warmup;
+
+import com.example.paymentservice.gateway.AdaptiveConcurrencyLimiter;
+import com.example.paymentservice.gateway.HedgingPaymentGateway;
+
+/**
+ * 기동 워밍업 전용 승인 경로 (PaymentGatewayConfig가 운영과 같은 설정으로 만듦)
+ * 
+ * - gateway: NoOpPaymentGateway 엔드포인트 앞의 HedgingPaymentGateway
+ * - limiter: 운영 제한기와 분리된 AdaptiveConcurrencyLimiter (가상 주문의 짧은 지연이 운영 한도를 올리지 않도록,
+ *   리스너 pause/resume 없음)
+ */
+public record WarmUpPaymentGateway(HedgingPaymentGateway gateway, AdaptiveConcurrencyLimiter limiter)
+        implements AutoCloseable {
+    
+    @Override
+    public void close() {
+        gateway.close();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.paymentservice.archive;
+
+import com.example.common.archive.ArchiveStore;
+import com.example.paymentservice.entity.Payment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 결제 보관 코덱 단위 테스트 (세그먼트 자체는 common-infra의 ArchiveStoreTest에서 검증)
+ * - 주문 번호/ID로 보관된 결제를 모든 컬럼 그대로 복원하는지 검증 (실패 결제의 transactionId null 포함)
+ */
+class PaymentArchiveCodecTest {
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void shouldRestoreArchivedPaymentsByOrderNumberAndId() throws Exception {
+        // Given
+        ArchiveStore<Payment> archive = new ArchiveStore<>(directory, "payments", new PaymentArchiveCodec(), 8, 0,
+            new SimpleMeterRegistry());
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 0, 0, 500_000);
+        List<Payment> payments = IntStream.range(0, 30)
+            .mapToObj(i -> Payment.builder()
+                .id(100L + i)
+                .paymentNumber("PAY-" + i)
+                .orderId(1024L * i + 1)
+                .orderNumber(String.format("ORD-%08X", i * 7919))
+                .amount(new BigDecimal("1250.50").add(BigDecimal.valueOf(i)))
+                .customerName("Customer " + i)
+                .customerEmail("customer" + i + "@example.com")
+                .status(i % 3 == 0 ? Payment.PaymentStatus.FAILED : Payment.PaymentStatus.COMPLETED)
+                .paymentMethod(i % 2 == 0 ? "CARD" : "MOBILE")
+                .transactionId(i % 3 == 0 ? null : "TXN-" + i)
+                .createdAt(createdAt.plusSeconds(i))
+                .updatedAt(createdAt.plusSeconds(i + 1))
+                .build())
+            .toList();
+        
+        // When
+        archive.append(payments);
+        
+        // Then
+        for (Payment payment : payments) {
+            assertThat(archive.findByKey(payment.getOrderNumber())).contains(payment);
+            assertThat(archive.findById(payment.getId())).contains(payment);
+        }
+        assertThat(archive.findByKey("ORD-MISSING")).isEmpty();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.paymentservice.event;
+
+import com.example.paymentservice.entity.OutboxEvent;
+import com.example.paymentservice.service.OutboxEventRelayService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 헤더 기반 라우팅 단위 테스트
+ * - Relay가 붙인 헤더, 처리하지 않는 타입은 파싱 없이 건너뜀, 헤더 없는 레코드는 그대로 처리
+ */
+class EventTypeFilteringDeserializerTest {
+    
+    private static final String ORDER_JSON = "{\"orderNumber\":\"ORD-1A2B3C4D\",\"eventType\":\"ORDER_CREATED\"}";
+    
+    @Test
+    void shouldStampRoutingHeadersOnRelayedRecords() {
+        // Given
+        OutboxEvent event = OutboxEvent.builder()
+            .aggregateId("ORD-1A2B3C4D")
+            .aggregateType("PAYMENT")
+            .eventType("PAYMENT_FAILED")
+            .payload("{}")
+            .build();
+        
+        // When
+        ProducerRecord<String, String> record = OutboxEventRelayService.toRecord(event);
+        
+        // Then
+        assertThat(record.key()).isEqualTo("ORD-1A2B3C4D");
+        assertThat(EventHeaders.eventType(record.headers())).isEqualTo("PAYMENT_FAILED");
+        assertThat(header(record.headers(), EventHeaders.AGGREGATE_TYPE)).isEqualTo("PAYMENT");
+        assertThat(header(record.headers(), EventHeaders.SCHEMA_VERSION)).isEqualTo("1");
+    }
+    
+    @Test
+    void shouldSkipUnhandledEventTypesWithoutParsing() {
+        // Given
+        EventTypeFilteringDeserializer deserializer = new EventTypeFilteringDeserializer();
+        deserializer.configure(Map.of(
+            JsonDeserializer.TRUSTED_PACKAGES, "*",
+            JsonDeserializer.USE_TYPE_INFO_HEADERS, false,
+            JsonDeserializer.VALUE_DEFAULT_TYPE, OrderEvent.class.getName(),
+            EventTypeFilteringDeserializer.ACCEPTED_EVENT_TYPES_CONFIG, OrderEventConsumer.ORDER_CREATED), false);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EventTypeRecordFilter<Object> filter = new EventTypeRecordFilter<>(
+            Set.of(OrderEventConsumer.ORDER_CREATED), meterRegistry);
+        Headers cancelled = EventHeaders.of("ORDER_CANCELLED", "ORDER", 1);
+        Headers created = EventHeaders.of(OrderEventConsumer.ORDER_CREATED, "ORDER", 1);
+        
+        // When & Then - 잘못된 JSON이어도 건너뛸 타입이면 파싱하지 않으므로 예외 없음
+        assertThat(deserializer.deserialize("order-events", cancelled, "not json".getBytes(StandardCharsets.UTF_8)))
+            .isNull();
+        assertThat(filter.filter(record(cancelled, null))).isTrue();
+        
+        Object event = deserializer.deserialize("order-events", created, ORDER_JSON.getBytes(StandardCharsets.UTF_8));
+        assertThat(event).isInstanceOf(OrderEvent.class);
+        assertThat(filter.filter(record(created, event))).isFalse();
+        
+        // 헤더 도입 전 레코드는 payload로 판단
+        Object legacy = deserializer.deserialize("order-events", new RecordHeaders(),
+            ORDER_JSON.getBytes(StandardCharsets.UTF_8));
+        assertThat(((OrderEvent) legacy).getOrderNumber()).isEqualTo("ORD-1A2B3C4D");
+        assertThat(filter.filter(record(new RecordHeaders(), legacy))).isFalse();
+        
+        assertThat(meterRegistry.counter("kafka.records.skipped",
+            "topic", "order-events", "eventType", "ORDER_CANCELLED").count()).isEqualTo(1.0);
+    }
+    
+    private static ConsumerRecord<String, Object> record(Headers headers, Object value) {
+        return new ConsumerRecord<>("order-events", 0, 0L, ConsumerRecord.NO_TIMESTAMP, TimestampType.NO_TIMESTAMP_TYPE,
+            ConsumerRecord.NULL_SIZE, ConsumerRecord.NULL_SIZE, "ORD-1A2B3C4D", value, headers, Optional.empty());
+    }
+    
+    private static String header(Headers headers, String name) {
+        return new String(headers.lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
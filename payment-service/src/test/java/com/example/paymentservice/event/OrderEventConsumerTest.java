@@ -0,0 +1,44 @@
+package com.example.paymentservice.event;
+
+import com.example.paymentservice.orderstate.OrderStateCache;
+import com.example.paymentservice.service.PaymentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 주문 이벤트 라우팅 단위 테스트
+ * - ORDER_CANCELLED는 결제 없이 취소 기록만 남김 (뒤늦은 ORDER_CREATED 승인 방지)
+ */
+class OrderEventConsumerTest {
+    
+    private final PaymentService paymentService = mock(PaymentService.class);
+    private final OrderEventConsumer consumer =
+        new OrderEventConsumer(paymentService, new OrderStateCache(16), new SimpleMeterRegistry());
+    
+    @Test
+    void shouldRecordCancellationWithoutProcessingPayment() {
+        // Given
+        OrderEvent cancelled = OrderEvent.builder()
+            .orderNumber("ORD-CANCEL01")
+            .eventType(OrderEventConsumer.ORDER_CANCELLED)
+            .build();
+        OrderEvent created = OrderEvent.builder()
+            .orderNumber("ORD-CREATE01")
+            .eventType(OrderEventConsumer.ORDER_CREATED)
+            .build();
+        
+        // When
+        consumer.consumeOrderEvent(cancelled);
+        consumer.consumeOrderEvent(created);
+        
+        // Then
+        verify(paymentService).recordCancellation(cancelled);
+        verify(paymentService, never()).recordCancellation(created);
+        verify(paymentService).processPayment(created);
+        verify(paymentService, never()).processPayment(cancelled);
+    }
+}
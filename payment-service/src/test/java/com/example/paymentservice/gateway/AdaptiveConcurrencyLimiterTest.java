@@ -0,0 +1,194 @@
+package com.example.paymentservice.gateway;
+
+import com.example.paymentservice.event.OrderEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AdaptiveConcurrencyLimiter 단위 테스트
+ * - 지연을 주입할 수 있는 로컬 PG 스텁으로 한도 감소/회복 검증
+ * - 한도 도달 시 pause/resume 알림 및 거절 검증 (기본 설정으로 리스너 동시성까지 한도가 오르는 경우 포함)
+ */
+class AdaptiveConcurrencyLimiterTest {
+    
+    private static final long LATENCY_THRESHOLD_MS = 50;
+    
+    private final StubPaymentGateway gateway = new StubPaymentGateway();
+    private final OrderEvent orderEvent = OrderEvent.builder().orderNumber("ORD-STUB").build();
+    private ExecutorService executor;
+    
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(16);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void shouldShrinkLimitWhenGatewaySlowsDownAndGrowWhenItRecovers() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            8, 1, 16, LATENCY_THRESHOLD_MS, 0.5, 5000);
+        
+        // When - 정상 지연: 한도를 충분히 사용하면 증가
+        gateway.latencyMs = 5;
+        runConcurrently(limiter, 8, 64);
+        int healthyLimit = limiter.getLimit();
+        
+        // When - 지연 주입: 임계값 초과로 한도 감소
+        gateway.latencyMs = LATENCY_THRESHOLD_MS * 2;
+        runConcurrently(limiter, 8, 16);
+        int degradedLimit = limiter.getLimit();
+        
+        // When - 회복
+        gateway.latencyMs = 5;
+        runConcurrently(limiter, 8, 128);
+        int recoveredLimit = limiter.getLimit();
+        
+        // Then
+        assertThat(healthyLimit).isGreaterThan(8);
+        assertThat(degradedLimit).isLessThan(healthyLimit);
+        assertThat(degradedLimit).isGreaterThanOrEqualTo(1);
+        assertThat(recoveredLimit).isGreaterThan(degradedLimit);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+    
+    @Test
+    void shouldNeverExceedLimitInFlight() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            4, 1, 4, LATENCY_THRESHOLD_MS, 0.9, 5000);
+        gateway.latencyMs = 10;
+        
+        // When
+        runConcurrently(limiter, 16, 64);
+        
+        // Then
+        assertThat(gateway.maxConcurrent.get()).isLessThanOrEqualTo(4);
+    }
+    
+    @Test
+    void shouldGrowToListenerConcurrencyAndPauseListener() throws Exception {
+        // Given - 기본 설정과 같은 모양: 초기 한도 2, 최대 한도 = 리스너 동시성 3
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            2, 1, 3, LATENCY_THRESHOLD_MS, 0.9, 5000);
+        AtomicInteger paused = new AtomicInteger();
+        AtomicInteger resumed = new AtomicInteger();
+        limiter.setLimitListener(new AdaptiveConcurrencyLimiter.LimitListener() {
+            @Override
+            public void onLimitReached() {
+                paused.incrementAndGet();
+            }
+            
+            @Override
+            public void onCapacityAvailable() {
+                resumed.incrementAndGet();
+            }
+        });
+        gateway.latencyMs = 5;
+        
+        // When - 정상 지연의 호출이 한도보다 많이 몰림
+        runConcurrently(limiter, 3, 60);
+        
+        // Then - 한도가 +1/한도씩 올라 동시성에 닿고, 그 동안 리스너가 실제로 pause/resume됨
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(gateway.maxConcurrent.get()).isEqualTo(3);
+        assertThat(paused.get()).isPositive();
+        assertThat(resumed.get()).isEqualTo(paused.get());
+        assertThat(limiter.getInFlight()).isZero();
+    }
+    
+    @Test
+    void shouldNotifyListenerAndRejectWhenAtLimit() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            1, 1, 1, LATENCY_THRESHOLD_MS, 0.9, 20);
+        AtomicInteger paused = new AtomicInteger();
+        AtomicInteger resumed = new AtomicInteger();
+        limiter.setLimitListener(new AdaptiveConcurrencyLimiter.LimitListener() {
+            @Override
+            public void onLimitReached() {
+                paused.incrementAndGet();
+            }
+            
+            @Override
+            public void onCapacityAvailable() {
+                resumed.incrementAndGet();
+            }
+        });
+        
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        // When - 첫 호출이 슬롯을 점유한 상태에서 두 번째 호출
+        Future<Boolean> blocking = executor.submit(() -> limiter.execute(() -> {
+            started.countDown();
+            release.await();
+            return true;
+        }));
+        started.await();
+        
+        // Then
+        assertThat(paused.get()).isEqualTo(1);
+        assertThatThrownBy(() -> limiter.execute(() -> gateway.authorize("TXN-1", orderEvent)))
+            .isInstanceOf(ConcurrencyLimitExceededException.class);
+        assertThat(limiter.getRejections()).isEqualTo(1);
+        
+        release.countDown();
+        blocking.get();
+        assertThat(resumed.get()).isEqualTo(1);
+    }
+    
+    private void runConcurrently(AdaptiveConcurrencyLimiter limiter, int threads, int calls) throws Exception {
+        List<Future<Boolean>> futures = new ArrayList<>();
+        CountDownLatch ready = new CountDownLatch(1);
+        for (int i = 0; i < calls; i++) {
+            String transactionId = "TXN-" + i;
+            futures.add(executor.submit(() -> {
+                ready.await();
+                return limiter.execute(() -> gateway.authorize(transactionId, orderEvent));
+            }));
+        }
+        ready.countDown();
+        for (Future<Boolean> future : futures) {
+            future.get();
+        }
+    }
+    
+    /**
+     * 지연 시간을 주입할 수 있는 PG 스텁
+     */
+    private static class StubPaymentGateway implements PaymentGateway {
+        
+        private volatile long latencyMs;
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        
+        @Override
+        public boolean authorize(String transactionId, OrderEvent orderEvent) throws InterruptedException {
+            int current = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(latencyMs);
+                return true;
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }
+    }
+}
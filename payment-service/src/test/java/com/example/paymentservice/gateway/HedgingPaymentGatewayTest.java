@@ -0,0 +1,138 @@
+package com.example.paymentservice.gateway;
+
+import com.example.paymentservice.event.OrderEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * HedgingPaymentGateway 단위 테스트
+ * - 느린 엔드포인트 헤지 및 진 요청 취소, 빠른 실패 시 즉시 다음 엔드포인트, 제한 시간 초과 시 전체 취소
+ * - 같은 멱등성 키의 중복 요청은 시뮬레이션 PG에서 한 번만 승인
+ */
+class HedgingPaymentGatewayTest {
+    
+    private final OrderEvent orderEvent = OrderEvent.builder().orderNumber("ORD-HEDGE").build();
+    private HedgingPaymentGateway gateway;
+    
+    @AfterEach
+    void tearDown() {
+        if (gateway != null) {
+            gateway.close();
+        }
+    }
+    
+    @Test
+    void shouldHedgeSlowPrimaryAndCancelTheLosingRequest() throws Exception {
+        // Given - 첫 번째 엔드포인트는 5초, 두 번째는 즉시 응답
+        StubEndpoint slow = new StubEndpoint(5_000);
+        StubEndpoint fast = new StubEndpoint(0);
+        gateway = new HedgingPaymentGateway(List.of(slow, fast), 0.95,
+            Duration.ofMillis(50), Duration.ofMillis(10), 0.1, Duration.ofSeconds(10));
+        
+        // When
+        long started = System.nanoTime();
+        boolean approved = gateway.authorize("AUTH-ORD-HEDGE", orderEvent, Duration.ofSeconds(10));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        
+        // Then - 헤지 지연 뒤 두 번째 응답을 쓰고, 느린 요청은 인터럽트로 취소
+        assertThat(approved).isTrue();
+        assertThat(elapsedMillis).isBetween(40L, 2_000L);
+        assertThat(gateway.getHedges()).isEqualTo(1);
+        assertThat(gateway.getHedgeWins()).isEqualTo(1);
+        assertThat(slow.interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(fast.keys).containsExactly("AUTH-ORD-HEDGE");
+        assertThat(slow.keys).containsExactly("AUTH-ORD-HEDGE");
+    }
+    
+    @Test
+    void shouldFailOverWithoutWaitingForHedgeDelay() throws Exception {
+        // Given - 첫 번째 엔드포인트는 즉시 실패, 헤지 지연은 10초
+        StubEndpoint failing = new StubEndpoint(0);
+        failing.failure = new IllegalStateException("connection refused");
+        StubEndpoint healthy = new StubEndpoint(0);
+        gateway = new HedgingPaymentGateway(List.of(failing, healthy), 0.95,
+            Duration.ofSeconds(10), Duration.ofMillis(10), 0.0, Duration.ofSeconds(30));
+        
+        // When
+        long started = System.nanoTime();
+        boolean approved = gateway.authorize("AUTH-ORD-HEDGE", orderEvent, Duration.ofSeconds(30));
+        
+        // Then - 헤지 예산과 무관하게 바로 다음 엔드포인트로
+        assertThat(approved).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(2_000);
+        assertThat(gateway.getHedges()).isZero();
+        assertThat(healthy.keys).hasSize(1);
+    }
+    
+    @Test
+    void shouldCancelEveryRequestWhenDeadlineExpires() throws Exception {
+        // Given - 모든 엔드포인트가 제한 시간보다 느림
+        StubEndpoint first = new StubEndpoint(5_000);
+        StubEndpoint second = new StubEndpoint(5_000);
+        gateway = new HedgingPaymentGateway(List.of(first, second), 0.95,
+            Duration.ofMillis(50), Duration.ofMillis(10), 0.1, Duration.ofSeconds(10));
+        
+        // When & Then
+        assertThatThrownBy(() -> gateway.authorize("AUTH-ORD-HEDGE", orderEvent, Duration.ofMillis(300)))
+            .isInstanceOf(PaymentDeadlineExceededException.class);
+        assertThat(gateway.getDeadlineExceeded()).isEqualTo(1);
+        assertThat(first.interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+    
+    @Test
+    void shouldAuthorizeDuplicateKeyOnceAcrossEndpoints() throws Exception {
+        // Given - 같은 PG사의 두 엔드포인트 (멱등성 저장소 공유)
+        SimulatedPaymentGateway.Ledger ledger = new SimulatedPaymentGateway.Ledger(100);
+        SimulatedPaymentGateway primary = new SimulatedPaymentGateway("primary", 0, 0, 0, ledger);
+        SimulatedPaymentGateway secondary = new SimulatedPaymentGateway("secondary", 0, 0, 0, ledger);
+        
+        // When - 헤지로 두 요청이 모두 PG사에 도착한 경우
+        boolean first = primary.authorize("AUTH-ORD-HEDGE", orderEvent);
+        boolean second = secondary.authorize("AUTH-ORD-HEDGE", orderEvent);
+        
+        // Then
+        assertThat(second).isEqualTo(first);
+        assertThat(ledger.getAuthorizations()).isEqualTo(1);
+        assertThat(ledger.getDuplicates()).isEqualTo(1);
+    }
+    
+    /**
+     * 지연/실패를 주입하고 인터럽트(취소)를 기록하는 엔드포인트 스텁
+     */
+    private static class StubEndpoint implements PaymentGateway {
+        
+        private final long latencyMs;
+        private final List<String> keys = new CopyOnWriteArrayList<>();
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private volatile RuntimeException failure;
+        
+        StubEndpoint(long latencyMs) {
+            this.latencyMs = latencyMs;
+        }
+        
+        @Override
+        public boolean authorize(String idempotencyKey, OrderEvent orderEvent) throws InterruptedException {
+            keys.add(idempotencyKey);
+            if (failure != null) {
+                throw failure;
+            }
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.paymentservice.gateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PaymentDeadlinePolicy 단위 테스트 - 주문 나이에 따른 제한 시간과 상/하한
+ */
+class PaymentDeadlinePolicyTest {
+    
+    @Test
+    void shouldShrinkTimeoutAsOrderAgesWithinBounds() {
+        // Given - 예산 30초, 제한 시간 [2초, 10초]
+        Clock clock = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneId.of("UTC"));
+        LocalDateTime now = LocalDateTime.now(clock);
+        PaymentDeadlinePolicy policy = new PaymentDeadlinePolicy(
+            Duration.ofSeconds(30), Duration.ofSeconds(2), Duration.ofSeconds(10), clock);
+        
+        // Then
+        assertThat(policy.timeoutFor(now.minusSeconds(1))).isEqualTo(Duration.ofSeconds(10));
+        assertThat(policy.timeoutFor(now.minusSeconds(25))).isEqualTo(Duration.ofSeconds(5));
+        assertThat(policy.timeoutFor(now.minusMinutes(5))).isEqualTo(Duration.ofSeconds(2));
+        assertThat(policy.timeoutFor(null)).isEqualTo(Duration.ofSeconds(10));
+    }
+}
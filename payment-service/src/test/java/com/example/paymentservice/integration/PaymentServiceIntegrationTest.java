@@ -1,8 +1,10 @@
 package com.example.paymentservice.integration;
 
+import com.example.paymentservice.entity.OutboxEvent;
 import com.example.paymentservice.entity.Payment;
 import com.example.paymentservice.entity.ProcessedEvent;
 import com.example.paymentservice.event.OrderEvent;
+import com.example.paymentservice.repository.OutboxEventRepository;
 import com.example.paymentservice.repository.PaymentRepository;
 import com.example.paymentservice.repository.ProcessedEventRepository;
 import com.example.paymentservice.service.PaymentService;
@@ -14,12 +16,18 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -27,6 +35,8 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Payment Service 통합 테스트
  * - 멱등성 검증
  * - 중복 처리 방지 확인
+ * - 선점 후 결과를 기록하지 못한 이벤트의 재처리
+ * - 취소된 주문의 뒤늦은 ORDER_CREATED는 승인하지 않음
  */
 @SpringBootTest
 @Testcontainers
@@ -58,11 +68,18 @@ class PaymentServiceIntegrationTest {
     @Autowired
     private ProcessedEventRepository processedEventRepository;
     
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
     @BeforeEach
     void setUp() {
+        outboxEventRepository.deleteAll();
         processedEventRepository.deleteAll();
         paymentRepository.deleteAll();
     }
@@ -88,6 +105,13 @@ class PaymentServiceIntegrationTest {
         
         assertThat(processedEvent.getEventId()).isEqualTo("ORD-12345");
         assertThat(processedEvent.getResult()).isIn("SUCCESS", "FAILED");
+        
+        // 결제 결과 이벤트가 같은 트랜잭션으로 Outbox에 저장되었는지 확인
+        OutboxEvent outboxEvent = outboxEventRepository.findByAggregateId("ORD-12345")
+            .orElseThrow();
+        
+        assertThat(outboxEvent.getAggregateType()).isEqualTo("PAYMENT");
+        assertThat(outboxEvent.getEventType()).isIn("PAYMENT_COMPLETED", "PAYMENT_FAILED");
     }
     
     @Test
@@ -106,6 +130,7 @@ class PaymentServiceIntegrationTest {
         // Then - 결제는 한 번만 처리되어야 함
         assertThat(paymentCountAfterFirst).isEqualTo(1);
         assertThat(paymentCountAfterSecond).isEqualTo(1); // 증가하지 않음
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
         
         // ProcessedEvent도 하나만 존재
         long processedEventCount = processedEventRepository.count();
@@ -129,6 +154,82 @@ class PaymentServiceIntegrationTest {
         assertThat(processedEventRepository.count()).isEqualTo(3);
     }
     
+    @Test
+    void shouldProcessConcurrentRedeliveryOnlyOnce() throws Exception {
+        // Given - 같은 이벤트가 동시에 재전달되는 상황
+        OrderEvent orderEvent = createTestOrderEvent("ORD-RACE");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> paymentService.processPayment(orderEvent)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        
+        // Then - 유니크 인덱스 기반 선점으로 단 한 번만 처리
+        assertThat(paymentRepository.count()).isEqualTo(1);
+        assertThat(processedEventRepository.count()).isEqualTo(1);
+        assertThat(processedEventRepository.findByEventId("ORD-RACE").orElseThrow().getResult())
+            .isIn("SUCCESS", "FAILED");
+    }
+    
+    @Test
+    void shouldResumeClaimLeftProcessingByEarlierDelivery() throws Exception {
+        // Given - 이전 전달이 선점을 커밋한 뒤 승인 중 실패해 PROCESSING 행만 남은 상황
+        OrderEvent orderEvent = createTestOrderEvent("ORD-RESUME");
+        String payload = objectMapper.writeValueAsString(orderEvent);
+        transactionTemplate.execute(status -> processedEventRepository.claim("ORD-RESUME", "ORDER_CREATED", payload));
+        
+        // When - 재전달
+        paymentService.processPayment(orderEvent);
+        paymentService.processPayment(orderEvent);
+        
+        // Then - 승인부터 다시 처리해 결과를 한 번만 기록
+        assertThat(paymentRepository.count()).isEqualTo(1);
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+        assertThat(processedEventRepository.findByEventId("ORD-RESUME").orElseThrow().getResult())
+            .isIn("SUCCESS", "FAILED");
+    }
+    
+    @Test
+    void shouldNotAuthorizeOrderCreatedArrivingAfterCancellation() {
+        // Given - Saga 타임아웃으로 주문이 취소된 뒤 ORDER_CREATED가 뒤늦게 도착 (재발행, DLT 재처리, 컨슈머 랙)
+        OrderEvent created = createTestOrderEvent("ORD-LATE");
+        paymentService.recordCancellation(createCancelledOrderEvent("ORD-LATE"));
+        
+        // When
+        paymentService.processPayment(created);
+        
+        // Then - 승인도, 결제 결과 이벤트도 없음
+        assertThat(paymentRepository.count()).isZero();
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(processedEventRepository.findByEventId("ORD-LATE").orElseThrow().getResult())
+            .isEqualTo("CANCELLED");
+    }
+    
+    @Test
+    void shouldNotResumeUnfinishedClaimAfterCancellation() throws Exception {
+        // Given - 선점 후 승인 중 실패해 PROCESSING으로 남은 주문이 재전달 전에 취소됨
+        OrderEvent created = createTestOrderEvent("ORD-LATE-RETRY");
+        String payload = objectMapper.writeValueAsString(created);
+        transactionTemplate.execute(status ->
+            processedEventRepository.claim("ORD-LATE-RETRY", "ORDER_CREATED", payload));
+        paymentService.recordCancellation(createCancelledOrderEvent("ORD-LATE-RETRY"));
+        
+        // When - 재시도 토픽에서 재전달
+        paymentService.processPayment(created);
+        
+        // Then
+        assertThat(paymentRepository.count()).isZero();
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(processedEventRepository.findByEventId("ORD-LATE-RETRY").orElseThrow().getResult())
+            .isEqualTo("CANCELLED");
+    }
+    
     private OrderEvent createTestOrderEvent(String orderNumber) {
         return OrderEvent.builder()
             .orderId(1L)
@@ -144,4 +245,11 @@ class PaymentServiceIntegrationTest {
             .eventType("ORDER_CREATED")
             .build();
     }
+    
+    private OrderEvent createCancelledOrderEvent(String orderNumber) {
+        OrderEvent orderEvent = createTestOrderEvent(orderNumber);
+        orderEvent.setStatus("CANCELLED");
+        orderEvent.setEventType("ORDER_CANCELLED");
+        return orderEvent;
+    }
 }
@@ -0,0 +1,74 @@
+package com.example.paymentservice.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 결제 Outbox 백로그 추적 단위 테스트
+ * - 커밋된 적재만 세고 롤백된 적재는 세지 않는지 검증
+ * - 발행으로 비거나 Relay 보정으로 비면 가장 오래된 대기 시간이 0이 되는지 검증
+ */
+class OutboxBacklogTrackerTest {
+    
+    private final OutboxBacklogTracker tracker = new OutboxBacklogTracker();
+    
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    @Test
+    void shouldCountOnlyCommittedEnqueues() {
+        // Given - 커밋되는 트랜잭션과 롤백되는 트랜잭션에서 각각 1건씩 적재
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.recordEnqueuedAfterCommit();
+        assertThat(tracker.getDepth()).isZero();
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+        
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.recordEnqueuedAfterCommit();
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+            TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        TransactionSynchronizationManager.clearSynchronization();
+        
+        // Then
+        assertThat(tracker.getDepth()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldClearOldestAgeWhenBacklogDrains() throws InterruptedException {
+        // Given
+        tracker.recordEnqueued();
+        tracker.recordEnqueued();
+        Thread.sleep(20);
+        assertThat(tracker.getOldestAgeMillis()).isPositive();
+        
+        // When - 일부 발행 뒤 나머지 발행 (재발행으로 실제보다 많이 빠져도 음수가 되지 않음)
+        tracker.recordPublished(1);
+        assertThat(tracker.getOldestAgeMillis()).isPositive();
+        tracker.recordPublished(5);
+        
+        // Then
+        assertThat(tracker.getDepth()).isZero();
+        assertThat(tracker.getOldestAgeMillis()).isZero();
+        
+        // When - Relay 조회로 절대값 보정
+        tracker.reset(3, LocalDateTime.now().minusMinutes(1));
+        
+        // Then
+        assertThat(tracker.getDepth()).isEqualTo(3);
+        assertThat(tracker.getOldestAgeMillis()).isGreaterThanOrEqualTo(60_000);
+        tracker.reset(0, null);
+        assertThat(tracker.getOldestAgeMillis()).isZero();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.entity.OutboxEvent;
+import com.example.paymentservice.repository.OutboxEventRepository;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 결제 Outbox Relay 단위 테스트 (outbox_events는 메모리 목록으로 대신함)
+ * - 가득 찬 배치를 모두 발행하면 대기 없이 다음 배치를 이어서 처리하는지 검증
+ * - 브로커 장애로 가득 찬 배치가 실패하면 같은 배치를 쉬지 않고 다시 조회하지 않는지 검증
+ */
+class OutboxEventRelayServiceTest {
+    
+    private static final int BATCH_SIZE = 100;
+    
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final List<OutboxEvent> outbox = new ArrayList<>();
+    
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    
+    private OutboxEventRelayService relayService;
+    
+    @BeforeEach
+    void setUp() {
+        when(repository.findUnpublishedEvents(anyInt(), any())).thenAnswer(invocation -> {
+            int maxRetryCount = invocation.getArgument(0);
+            Pageable page = invocation.getArgument(1);
+            return outbox.stream()
+                .filter(event -> !event.getPublished() && event.getRetryCount() < maxRetryCount)
+                .limit(page.getPageSize())
+                .toList();
+        });
+        when(repository.markAsPublished(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            outbox.stream().filter(event -> ids.contains(event.getId())).forEach(event -> event.setPublished(true));
+            return ids.size();
+        });
+        when(repository.incrementRetryCount(anyLong(), anyString())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            outbox.stream().filter(event -> event.getId().equals(id))
+                .forEach(event -> event.setRetryCount(event.getRetryCount() + 1));
+            return 1;
+        });
+        relayService = new OutboxEventRelayService(repository, kafkaTemplate, new OutboxBacklogTracker());
+        
+        for (long id = 1; id <= BATCH_SIZE * 2 + 30; id++) {
+            outbox.add(OutboxEvent.builder()
+                .id(id)
+                .aggregateId("ORD-" + id)
+                .aggregateType("PAYMENT")
+                .eventType("PAYMENT_COMPLETED")
+                .payload("{}")
+                .createdAt(LocalDateTime.now().minusSeconds(10))
+                .build());
+        }
+    }
+    
+    @Test
+    void shouldDrainFullBatchesWithoutWaitingForNextTick() {
+        // Given
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        
+        // When
+        relayService.relayUnpublishedEvents();
+        
+        // Then - 가득 찬 배치 2번 + 나머지 30건
+        assertThat(outbox).allMatch(OutboxEvent::getPublished);
+        verify(repository, times(3)).findUnpublishedEvents(anyInt(), any());
+    }
+    
+    @Test
+    void shouldStopAfterFullBatchFailsToPublish() {
+        // Given - 브로커 장애로 모든 발행이 실패
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+            .thenAnswer(invocation -> CompletableFuture.failedFuture(new TimeoutException("broker unavailable")));
+        
+        // When
+        relayService.relayUnpublishedEvents();
+        
+        // Then - 진행이 없으므로 다음 주기까지 기다림 (재시도 횟수는 배치당 한 번만 증가)
+        verify(repository, times(1)).findUnpublishedEvents(anyInt(), any());
+        assertThat(outbox).noneMatch(OutboxEvent::getPublished);
+        assertThat(outbox.subList(0, BATCH_SIZE)).allMatch(event -> event.getRetryCount() == 1);
+        assertThat(outbox.subList(BATCH_SIZE, outbox.size())).allMatch(event -> event.getRetryCount() == 0);
+    }
+}